@@ -368,7 +368,8 @@ Status PInternalServiceImpl::_exec_plan_fragment(const std::string& ser_request,
             RETURN_IF_ERROR(deserialize_thrift_msg(buf, &len, compact, &t_request));
         }
         return _exec_env->fragment_mgr()->exec_plan_fragment(t_request);
-    } else if (version == PFragmentRequestVersion::VERSION_2) {
+    } else if (version == PFragmentRequestVersion::VERSION_2 ||
+               version == PFragmentRequestVersion::VERSION_3) {
         TExecPlanFragmentParamsList t_request;
         {
             const uint8_t* buf = (const uint8_t*)ser_request.data();
@@ -376,7 +377,19 @@ Status PInternalServiceImpl::_exec_plan_fragment(const std::string& ser_request,
             RETURN_IF_ERROR(deserialize_thrift_msg(buf, &len, compact, &t_request));
         }
 
-        for (const TExecPlanFragmentParams& params : t_request.paramsList) {
+        std::vector<TExecPlanFragmentParams>& params_list = t_request.paramsList;
+        for (size_t i = 0; i < params_list.size(); ++i) {
+            TExecPlanFragmentParams& params = params_list[i];
+            if (version == PFragmentRequestVersion::VERSION_3 && i > 0) {
+                // The fragment and query options are only sent with the first instance of a fragment,
+                // the following instances share them.
+                if (!params.__isset.fragment) {
+                    params.__set_fragment(params_list[i - 1].fragment);
+                }
+                if (!params.__isset.query_options) {
+                    params.__set_query_options(params_list[i - 1].query_options);
+                }
+            }
             RETURN_IF_ERROR(_exec_env->fragment_mgr()->exec_plan_fragment(params));
         }
         return Status::OK();
@@ -0,0 +1,95 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.journal.JournalEntity;
+import org.apache.doris.persist.OperationType;
+import org.apache.doris.persist.ReplicaPersistInfo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization and deserialization of edit log entries, the entries are written in batch like a large load
+ * which adds lots of replicas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EditLogBenchmark {
+    @Param({"1000"})
+    private int entryNum;
+
+    private JournalEntity[] entities;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        entities = new JournalEntity[entryNum];
+        for (int i = 0; i < entryNum; i++) {
+            JournalEntity entity = new JournalEntity();
+            entity.setOpCode(OperationType.OP_ADD_REPLICA);
+            entity.setData(ReplicaPersistInfo.createForAdd(1, 2, 3, 4, 10000 + i, i % 30, 20000 + i,
+                    1, 5, 1024, 0, 100, -1, 1));
+            entities[i] = entity;
+        }
+        serialized = write();
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(byteStream);
+        for (JournalEntity entity : entities) {
+            entity.write(out);
+        }
+        out.flush();
+        return byteStream.toByteArray();
+    }
+
+    @Benchmark
+    public JournalEntity read() throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(serialized));
+        JournalEntity entity = null;
+        for (int i = 0; i < entryNum; i++) {
+            entity = new JournalEntity();
+            entity.readFields(in);
+        }
+        return entity;
+    }
+}
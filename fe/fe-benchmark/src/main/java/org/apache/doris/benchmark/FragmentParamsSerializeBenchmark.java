@@ -0,0 +1,156 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.analysis.Analyzer;
+import org.apache.doris.analysis.SqlParser;
+import org.apache.doris.analysis.SqlScanner;
+import org.apache.doris.analysis.StatementBase;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.common.util.SqlParserUtils;
+import org.apache.doris.planner.OriginalPlanner;
+import org.apache.doris.planner.PlanFragment;
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.qe.Coordinator;
+import org.apache.doris.thrift.PaloInternalServiceVersion;
+import org.apache.doris.thrift.TDescriptorTable;
+import org.apache.doris.thrift.TExecPlanFragmentParams;
+import org.apache.doris.thrift.TExecPlanFragmentParamsList;
+import org.apache.doris.thrift.TPlanFragment;
+import org.apache.doris.thrift.TPlanFragmentExecParams;
+import org.apache.doris.thrift.TQueryGlobals;
+import org.apache.doris.thrift.TQueryOptions;
+import org.apache.doris.thrift.TUniqueId;
+
+import com.google.common.collect.Maps;
+import org.apache.thrift.TSerializer;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Build and serialize the fragment instances of a query sent to one BE, like Coordinator.sendFragment.
+ * In "full" mode every instance converts and carries the whole fragment and query options, like before the
+ * fragment is shared. In "shared" mode the fragment is converted once for all the instances, and the params are
+ * simplified by Coordinator.unsetSharedFields, which is called by Coordinator.BackendExecStates.unsetFields.
+ * The serialized bytes of the last invocation are printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class FragmentParamsSerializeBenchmark {
+    @Param({"tpch_q5", "tpch_q10"})
+    private String query;
+
+    // instances of each fragment on the BE
+    @Param({"1", "16", "64"})
+    private int instanceNum;
+
+    @Param({"full", "shared"})
+    private String mode;
+
+    private MockedCluster cluster;
+    private List<PlanFragment> fragments;
+    private TDescriptorTable descTable;
+    private TQueryOptions queryOptions;
+    private TSerializer serializer;
+    private long serializedBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        cluster = new MockedCluster(FragmentParamsSerializeBenchmark.class);
+        ConnectContext ctx = cluster.start();
+        SqlParser parser = new SqlParser(new SqlScanner(new StringReader(TpchQueries.QUERIES.get(query)),
+                ctx.getSessionVariable().getSqlMode()));
+        StatementBase stmt = SqlParserUtils.getFirstStmt(parser);
+        Analyzer analyzer = new Analyzer(Env.getCurrentEnv(), ctx);
+        stmt.analyze(analyzer);
+        OriginalPlanner planner = new OriginalPlanner(analyzer);
+        planner.plan(stmt, ctx.getSessionVariable().toThrift());
+        fragments = planner.getFragments();
+        descTable = analyzer.getDescTbl().toThrift();
+        queryOptions = ctx.getSessionVariable().toThrift();
+        serializer = new TSerializer(new TCompactProtocol.Factory());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.println("serialized bytes: " + serializedBytes);
+        cluster.stop();
+    }
+
+    @Benchmark
+    public int buildAndSerialize() throws Exception {
+        boolean shared = "shared".equals(mode);
+        TUniqueId queryId = new TUniqueId(1, 1);
+        TExecPlanFragmentParamsList paramsList = new TExecPlanFragmentParamsList();
+        long instanceId = 0;
+        for (PlanFragment fragment : fragments) {
+            TPlanFragment sharedFragment = shared ? fragment.toThrift() : null;
+            for (int i = 0; i < instanceNum; i++) {
+                TExecPlanFragmentParams params = new TExecPlanFragmentParams();
+                params.setProtocolVersion(PaloInternalServiceVersion.V1);
+                TPlanFragmentExecParams execParams = new TPlanFragmentExecParams();
+                execParams.setQueryId(queryId);
+                execParams.setFragmentInstanceId(new TUniqueId(1, ++instanceId));
+                execParams.setPerNodeScanRanges(Maps.newHashMap());
+                execParams.setPerExchNumSenders(Maps.newHashMap());
+                execParams.setSenderId(i);
+                execParams.setNumSenders(instanceNum);
+                params.setParams(execParams);
+                params.setFragment(shared ? sharedFragment : fragment.toThrift());
+                params.setQueryOptions(queryOptions);
+                params.setDescTbl(descTable);
+                params.setQueryGlobals(new TQueryGlobals("2022-01-01 00:00:00"));
+                paramsList.addToParamsList(params);
+            }
+        }
+        if (shared) {
+            Coordinator.unsetSharedFields(paramsList.getParamsList());
+        } else {
+            // the common fields of the query were already only carried by the first instance on the BE
+            List<TExecPlanFragmentParams> params = paramsList.getParamsList();
+            for (int i = 1; i < params.size(); i++) {
+                params.get(i).unsetDescTbl();
+                params.get(i).unsetQueryGlobals();
+                params.get(i).setIsSimplifiedParam(true);
+            }
+        }
+        int bytes = serializer.serialize(paramsList).length;
+        serializedBytes = bytes;
+        return bytes;
+    }
+}
@@ -0,0 +1,85 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.catalog.MaterializedIndex;
+import org.apache.doris.catalog.MaterializedIndex.IndexState;
+import org.apache.doris.catalog.Replica;
+import org.apache.doris.catalog.Replica.ReplicaState;
+import org.apache.doris.catalog.Tablet;
+import org.apache.doris.persist.gson.GsonUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip of the catalog image in json, the cost is dominated by tablets and replicas of materialized indexes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class GsonImageBenchmark {
+    private static final int REPLICA_NUM = 3;
+
+    @Param({"100000"})
+    private int tabletNum;
+
+    private MaterializedIndex index;
+    private String json;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new MaterializedIndex(1, IndexState.NORMAL);
+        long replicaId = 0;
+        for (long tabletId = 0; tabletId < tabletNum; tabletId++) {
+            Tablet tablet = new Tablet(tabletId);
+            for (int i = 0; i < REPLICA_NUM; i++) {
+                tablet.addReplica(new Replica(replicaId++, (tabletId + i) % 30, 1, 5, 1024, 0, 100,
+                        ReplicaState.NORMAL, -1, 1), true);
+            }
+            // restore mode, so that the inverted index of Env is not touched
+            index.addTablet(tablet, null, true);
+        }
+        json = serialize();
+    }
+
+    @Benchmark
+    public String serialize() {
+        return GsonUtils.GSON.toJson(index);
+    }
+
+    @Benchmark
+    public MaterializedIndex deserialize() {
+        return GsonUtils.GSON.fromJson(json, MaterializedIndex.class);
+    }
+}
@@ -0,0 +1,57 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.analysis.CreateDbStmt;
+import org.apache.doris.analysis.CreateTableStmt;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.cluster.ClusterNamespace;
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.system.SystemInfoService;
+import org.apache.doris.utframe.UtFrameUtils;
+
+/**
+ * An in process FE with mocked backends, which is the same as the one used by unit tests.
+ * The TPC-H and SSB tables are created in it, so that queries can be planned against a real catalog.
+ */
+public class MockedCluster {
+    private final String runningDir;
+    private ConnectContext ctx;
+
+    public MockedCluster(Class<?> benchmarkClass) {
+        this.runningDir = UtFrameUtils.generateRandomFeRunningDir(benchmarkClass);
+    }
+
+    public ConnectContext start() throws Exception {
+        UtFrameUtils.createDorisCluster(runningDir);
+        ctx = UtFrameUtils.createDefaultCtx();
+        CreateDbStmt createDbStmt = (CreateDbStmt) UtFrameUtils.parseAndAnalyzeStmt(
+                "CREATE DATABASE " + TpchQueries.DB, ctx);
+        Env.getCurrentEnv().createDb(createDbStmt);
+        ctx.setDatabase(ClusterNamespace.getFullName(SystemInfoService.DEFAULT_CLUSTER, TpchQueries.DB));
+        for (String createTableSql : TpchQueries.TABLES) {
+            CreateTableStmt createTableStmt = (CreateTableStmt) UtFrameUtils.parseAndAnalyzeStmt(createTableSql, ctx);
+            Env.getCurrentEnv().createTable(createTableStmt);
+        }
+        return ctx;
+    }
+
+    public void stop() {
+        UtFrameUtils.cleanDorisFeDir(runningDir);
+    }
+}
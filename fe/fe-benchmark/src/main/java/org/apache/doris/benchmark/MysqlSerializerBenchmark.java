@@ -0,0 +1,98 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.mysql.MysqlSerializer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding result rows to mysql text protocol and binary protocol.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MysqlSerializerBenchmark {
+    @Param({"1024"})
+    private int rowNum;
+
+    @Param({"16"})
+    private int columnNum;
+
+    private String[][] rows;
+    private MysqlSerializer serializer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rows = new String[rowNum][columnNum];
+        for (int i = 0; i < rowNum; i++) {
+            for (int j = 0; j < columnNum; j++) {
+                // every 8th column is null
+                rows[i][j] = j % 8 == 7 ? null : "value_" + i + "_" + j;
+            }
+        }
+        serializer = MysqlSerializer.newInstance();
+    }
+
+    private ByteBuffer encodeTextRow(String[] row) {
+        serializer.reset();
+        for (String value : row) {
+            if (value == null) {
+                serializer.writeNull();
+            } else {
+                serializer.writeLenEncodedString(value);
+            }
+        }
+        return serializer.toByteBuffer();
+    }
+
+    @Benchmark
+    public long textRows() {
+        long bytes = 0;
+        for (String[] row : rows) {
+            bytes += encodeTextRow(row).remaining();
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public long binaryRows() {
+        long bytes = 0;
+        for (String[] row : rows) {
+            bytes += MysqlSerializer.toBinaryRow(encodeTextRow(row), columnNum).remaining();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,82 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.analysis.StatementBase;
+import org.apache.doris.nereids.NereidsPlanner;
+import org.apache.doris.nereids.StatementContext;
+import org.apache.doris.nereids.glue.LogicalPlanAdapter;
+import org.apache.doris.nereids.parser.NereidsParser;
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.qe.OriginStatement;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse, analyze, optimize and translate queries with NereidsPlanner.
+ * Only the queries supported by Nereids are listed in the params.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class NereidsPlannerBenchmark {
+    @Param({"tpch_q3", "ssb_q1_1", "point_query"})
+    private String query;
+
+    private String sql;
+    private MockedCluster cluster;
+    private ConnectContext ctx;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        sql = TpchQueries.QUERIES.get(query);
+        cluster = new MockedCluster(NereidsPlannerBenchmark.class);
+        ctx = cluster.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cluster.stop();
+    }
+
+    @Benchmark
+    public NereidsPlanner plan() {
+        ctx.setThreadLocalInfo();
+        StatementBase stmt = LogicalPlanAdapter.of(new NereidsParser().parseSingle(sql));
+        NereidsPlanner planner = new NereidsPlanner(new StatementContext(ctx, new OriginStatement(sql, 0)));
+        planner.plan(stmt);
+        return planner;
+    }
+}
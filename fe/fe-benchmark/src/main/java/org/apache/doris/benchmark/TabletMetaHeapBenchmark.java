@@ -0,0 +1,143 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.catalog.Replica;
+import org.apache.doris.catalog.Replica.ReplicaState;
+import org.apache.doris.catalog.Tablet;
+import org.apache.doris.common.util.LongLongHashMap;
+
+import io.netty.util.collection.LongObjectHashMap;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap footprint of the tablet level metadata of a synthetic catalog, with the boxed maps used before and
+ * the primitive long keyed maps used now:
+ * the replica id -> tablet id map of TabletInvertedIndex, the tablet id -> tablet map of MaterializedIndex
+ * and the replica list of Tablet.
+ * The retained heap after gc is reported by the aux counters, the score is the time to build the catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g", "-XX:+UseParallelGC"})
+public class TabletMetaHeapBenchmark {
+    private static final int REPLICA_NUM = 3;
+
+    @Param({"1000000"})
+    private int tabletNum;
+
+    @Param({"boxed", "primitive"})
+    private String mapType;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapCounters {
+        public long retainedMb;
+        public long bytesPerReplica;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retainedMb = 0;
+            bytesPerReplica = 0;
+        }
+    }
+
+    private static final class BoxedCatalog {
+        private final Map<Long, Long> replicaToTablet = new HashMap<>();
+        private final Map<Long, Tablet> idToTablets = new HashMap<>();
+    }
+
+    private static final class PrimitiveCatalog {
+        private final LongLongHashMap replicaToTablet = new LongLongHashMap();
+        private final LongObjectHashMap<Tablet> idToTablets = new LongObjectHashMap<>();
+    }
+
+    @Benchmark
+    public Object buildCatalog(HeapCounters counters) {
+        long before = usedHeapAfterGc();
+        Object catalog = "boxed".equals(mapType) ? buildBoxed() : buildPrimitive();
+        long retained = usedHeapAfterGc() - before;
+        counters.retainedMb = retained / 1024 / 1024;
+        counters.bytesPerReplica = retained / ((long) tabletNum * REPLICA_NUM);
+        return catalog;
+    }
+
+    private BoxedCatalog buildBoxed() {
+        BoxedCatalog catalog = new BoxedCatalog();
+        long replicaId = 0;
+        for (long tabletId = 0; tabletId < tabletNum; tabletId++) {
+            // the replica list was created with the default capacity
+            Tablet tablet = new Tablet(tabletId, new ArrayList<>());
+            for (int i = 0; i < REPLICA_NUM; i++) {
+                tablet.addReplica(newReplica(replicaId, i), true);
+                catalog.replicaToTablet.put(replicaId++, tabletId);
+            }
+            catalog.idToTablets.put(tabletId, tablet);
+        }
+        return catalog;
+    }
+
+    private PrimitiveCatalog buildPrimitive() {
+        PrimitiveCatalog catalog = new PrimitiveCatalog();
+        long replicaId = 0;
+        for (long tabletId = 0; tabletId < tabletNum; tabletId++) {
+            Tablet tablet = new Tablet(tabletId);
+            for (int i = 0; i < REPLICA_NUM; i++) {
+                tablet.addReplica(newReplica(replicaId, i), true);
+                catalog.replicaToTablet.put(replicaId++, tabletId);
+            }
+            catalog.idToTablets.put(tabletId, tablet);
+        }
+        return catalog;
+    }
+
+    private static Replica newReplica(long replicaId, long backendId) {
+        return new Replica(replicaId, backendId, 1, 5, 0, 0, 0, ReplicaState.NORMAL, -1, 1);
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        // gc several times, so that the garbage of the previous iteration is collected
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memoryBean.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,153 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.catalog.Replica;
+import org.apache.doris.catalog.Replica.ReplicaState;
+import org.apache.doris.catalog.TabletInvertedIndex;
+import org.apache.doris.catalog.TabletMeta;
+import org.apache.doris.thrift.TPartitionVersionInfo;
+import org.apache.doris.thrift.TStorageMedium;
+import org.apache.doris.thrift.TTablet;
+import org.apache.doris.thrift.TTabletInfo;
+
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.apache.commons.lang3.tuple.Triple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tablet report processing of TabletInvertedIndex, with and without concurrent creating and dropping tablets.
+ * Tablets are evenly distributed in backends with 3 replicas each, and one backend reports all its tablets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g"})
+public class TabletReportBenchmark {
+    private static final int REPLICA_NUM = 3;
+
+    @Param({"1000000", "5000000"})
+    private int tabletNum;
+
+    @Param({"30"})
+    private int backendNum;
+
+    private TabletInvertedIndex invertedIndex;
+    // tablets of the reporting backend
+    private Map<Long, TTablet> backendTablets;
+    private long reportBackendId;
+    // id of the tablets created by ddl threads, which are not overlapped with the existing tablets
+    private AtomicLong nextDdlTabletId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        invertedIndex = new TabletInvertedIndex();
+        backendTablets = Maps.newHashMap();
+        reportBackendId = 0;
+        TabletMeta tabletMeta = new TabletMeta(1, 2, 3, 4, 5, TStorageMedium.HDD);
+        long replicaId = 0;
+        for (long tabletId = 0; tabletId < tabletNum; tabletId++) {
+            invertedIndex.addTablet(tabletId, tabletMeta);
+            for (int i = 0; i < REPLICA_NUM; i++) {
+                long backendId = (tabletId + i) % backendNum;
+                invertedIndex.addReplica(tabletId, newReplica(replicaId++, backendId));
+                if (backendId == reportBackendId) {
+                    TTabletInfo tabletInfo = new TTabletInfo(tabletId, 5, 1, 0, 0, 0);
+                    tabletInfo.setPartitionId(3);
+                    backendTablets.put(tabletId, new TTablet(Lists.newArrayList(tabletInfo)));
+                }
+            }
+        }
+        nextDdlTabletId = new AtomicLong(tabletNum);
+    }
+
+    private static Replica newReplica(long replicaId, long backendId) {
+        return new Replica(replicaId, backendId, 1, 5, 0, 0, 0, ReplicaState.NORMAL, -1, 1);
+    }
+
+    private Set<Long> report() {
+        ListMultimap<Long, Long> tabletSyncMap = LinkedListMultimap.create();
+        ListMultimap<Long, Long> tabletDeleteFromMeta = LinkedListMultimap.create();
+        Set<Long> tabletFoundInMeta = Sets.newConcurrentHashSet();
+        ListMultimap<TStorageMedium, Long> tabletMigrationMap = LinkedListMultimap.create();
+        Map<Long, ListMultimap<Long, TPartitionVersionInfo>> transactionsToPublish = Maps.newHashMap();
+        ListMultimap<Long, Long> transactionsToClear = LinkedListMultimap.create();
+        ListMultimap<Long, Long> tabletRecoveryMap = LinkedListMultimap.create();
+        ListMultimap<Long, Long> tabletTooManyVersionsMap = LinkedListMultimap.create();
+        List<Triple<Long, Integer, Boolean>> tabletToInMemory = Lists.newArrayList();
+        invertedIndex.tabletReport(reportBackendId, backendTablets, Maps.newHashMap(), tabletSyncMap,
+                tabletDeleteFromMeta, tabletFoundInMeta, tabletMigrationMap, transactionsToPublish,
+                transactionsToClear, tabletRecoveryMap, tabletTooManyVersionsMap, tabletToInMemory);
+        return tabletFoundInMeta;
+    }
+
+    @Benchmark
+    public Set<Long> tabletReport() {
+        return report();
+    }
+
+    @Benchmark
+    @Group("reportWithDdl")
+    @GroupThreads(1)
+    public Set<Long> reportWithDdl() {
+        return report();
+    }
+
+    // create a table with 16 tablets and drop it
+    @Benchmark
+    @Group("reportWithDdl")
+    @GroupThreads(2)
+    public void ddl() {
+        TabletMeta tabletMeta = new TabletMeta(10, 20, 30, 40, 50, TStorageMedium.HDD);
+        long startTabletId = nextDdlTabletId.getAndAdd(16);
+        for (long tabletId = startTabletId; tabletId < startTabletId + 16; tabletId++) {
+            invertedIndex.addTablet(tabletId, tabletMeta);
+            for (int i = 0; i < REPLICA_NUM; i++) {
+                invertedIndex.addReplica(tabletId, newReplica(tabletId * REPLICA_NUM + i, (tabletId + i) % backendNum));
+            }
+        }
+        for (long tabletId = startTabletId; tabletId < startTabletId + 16; tabletId++) {
+            invertedIndex.deleteTablet(tabletId);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schema and queries of TPC-H and SSB used by the planner benchmarks.
+ */
+public class TpchQueries {
+    public static final String DB = "tpch";
+
+    public static final List<String> TABLES = ImmutableList.of(
+            "CREATE TABLE lineitem (\n"
+                    + "  l_orderkey bigint, l_partkey int, l_suppkey int, l_linenumber int,\n"
+                    + "  l_quantity decimal(15, 2), l_extendedprice decimal(15, 2), l_discount decimal(15, 2),\n"
+                    + "  l_tax decimal(15, 2), l_returnflag char(1), l_linestatus char(1), l_shipdate date,\n"
+                    + "  l_commitdate date, l_receiptdate date, l_shipinstruct char(25), l_shipmode char(10),\n"
+                    + "  l_comment varchar(44)\n"
+                    + ") DUPLICATE KEY(l_orderkey) DISTRIBUTED BY HASH(l_orderkey) BUCKETS 3\n"
+                    + "PROPERTIES ('replication_num' = '1')",
+            "CREATE TABLE orders (\n"
+                    + "  o_orderkey bigint, o_custkey int, o_orderstatus char(1), o_totalprice decimal(15, 2),\n"
+                    + "  o_orderdate date, o_orderpriority char(15), o_clerk char(15), o_shippriority int,\n"
+                    + "  o_comment varchar(79)\n"
+                    + ") DUPLICATE KEY(o_orderkey) DISTRIBUTED BY HASH(o_orderkey) BUCKETS 3\n"
+                    + "PROPERTIES ('replication_num' = '1')",
+            "CREATE TABLE customer (\n"
+                    + "  c_custkey int, c_name varchar(25), c_address varchar(40), c_nationkey int,\n"
+                    + "  c_phone char(15), c_acctbal decimal(15, 2), c_mktsegment char(10), c_comment varchar(117)\n"
+                    + ") DUPLICATE KEY(c_custkey) DISTRIBUTED BY HASH(c_custkey) BUCKETS 3\n"
+                    + "PROPERTIES ('replication_num' = '1')",
+            "CREATE TABLE supplier (\n"
+                    + "  s_suppkey int, s_name char(25), s_address varchar(40), s_nationkey int,\n"
+                    + "  s_phone char(15), s_acctbal decimal(15, 2), s_comment varchar(101)\n"
+                    + ") DUPLICATE KEY(s_suppkey) DISTRIBUTED BY HASH(s_suppkey) BUCKETS 3\n"
+                    + "PROPERTIES ('replication_num' = '1')",
+            "CREATE TABLE nation (\n"
+                    + "  n_nationkey int, n_name char(25), n_regionkey int, n_comment varchar(152)\n"
+                    + ") DUPLICATE KEY(n_nationkey) DISTRIBUTED BY HASH(n_nationkey) BUCKETS 1\n"
+                    + "PROPERTIES ('replication_num' = '1')",
+            "CREATE TABLE region (\n"
+                    + "  r_regionkey int, r_name char(25), r_comment varchar(152)\n"
+                    + ") DUPLICATE KEY(r_regionkey) DISTRIBUTED BY HASH(r_regionkey) BUCKETS 1\n"
+                    + "PROPERTIES ('replication_num' = '1')",
+            "CREATE TABLE lineorder (\n"
+                    + "  lo_orderkey bigint, lo_linenumber int, lo_custkey int, lo_partkey int, lo_suppkey int,\n"
+                    + "  lo_orderdate int, lo_quantity int, lo_extendedprice int, lo_discount int, lo_revenue int\n"
+                    + ") DUPLICATE KEY(lo_orderkey) DISTRIBUTED BY HASH(lo_orderkey) BUCKETS 3\n"
+                    + "PROPERTIES ('replication_num' = '1')",
+            "CREATE TABLE dates (\n"
+                    + "  d_datekey int, d_date char(18), d_year int, d_yearmonthnum int, d_weeknuminyear int\n"
+                    + ") DUPLICATE KEY(d_datekey) DISTRIBUTED BY HASH(d_datekey) BUCKETS 1\n"
+                    + "PROPERTIES ('replication_num' = '1')");
+
+    // query name -> sql
+    public static final Map<String, String> QUERIES = ImmutableMap.<String, String>builder()
+            .put("tpch_q1", "SELECT l_returnflag, l_linestatus, sum(l_quantity) AS sum_qty,\n"
+                    + "  sum(l_extendedprice) AS sum_base_price,\n"
+                    + "  sum(l_extendedprice * (1 - l_discount)) AS sum_disc_price,\n"
+                    + "  sum(l_extendedprice * (1 - l_discount) * (1 + l_tax)) AS sum_charge,\n"
+                    + "  avg(l_quantity) AS avg_qty, avg(l_extendedprice) AS avg_price, avg(l_discount) AS avg_disc,\n"
+                    + "  count(*) AS count_order\n"
+                    + "FROM lineitem WHERE l_shipdate <= date '1998-12-01' - interval 90 day\n"
+                    + "GROUP BY l_returnflag, l_linestatus ORDER BY l_returnflag, l_linestatus")
+            .put("tpch_q3", "SELECT l_orderkey, sum(l_extendedprice * (1 - l_discount)) AS revenue,\n"
+                    + "  o_orderdate, o_shippriority\n"
+                    + "FROM customer, orders, lineitem\n"
+                    + "WHERE c_mktsegment = 'BUILDING' AND c_custkey = o_custkey AND l_orderkey = o_orderkey\n"
+                    + "  AND o_orderdate < date '1995-03-15' AND l_shipdate > date '1995-03-15'\n"
+                    + "GROUP BY l_orderkey, o_orderdate, o_shippriority\n"
+                    + "ORDER BY revenue DESC, o_orderdate LIMIT 10")
+            .put("tpch_q5", "SELECT n_name, sum(l_extendedprice * (1 - l_discount)) AS revenue\n"
+                    + "FROM customer, orders, lineitem, supplier, nation, region\n"
+                    + "WHERE c_custkey = o_custkey AND l_orderkey = o_orderkey AND l_suppkey = s_suppkey\n"
+                    + "  AND c_nationkey = s_nationkey AND s_nationkey = n_nationkey AND n_regionkey = r_regionkey\n"
+                    + "  AND r_name = 'ASIA' AND o_orderdate >= date '1994-01-01'\n"
+                    + "  AND o_orderdate < date '1994-01-01' + interval '1' year\n"
+                    + "GROUP BY n_name ORDER BY revenue DESC")
+            .put("tpch_q6", "SELECT sum(l_extendedprice * l_discount) AS revenue FROM lineitem\n"
+                    + "WHERE l_shipdate >= date '1994-01-01' AND l_shipdate < date '1994-01-01' + interval '1' year\n"
+                    + "  AND l_discount BETWEEN .06 - 0.01 AND .06 + 0.01 AND l_quantity < 24")
+            .put("tpch_q10", "SELECT c_custkey, c_name, sum(l_extendedprice * (1 - l_discount)) AS revenue,\n"
+                    + "  c_acctbal, n_name, c_address, c_phone, c_comment\n"
+                    + "FROM customer, orders, lineitem, nation\n"
+                    + "WHERE c_custkey = o_custkey AND l_orderkey = o_orderkey AND o_orderdate >= date '1993-10-01'\n"
+                    + "  AND o_orderdate < date '1993-10-01' + interval '3' month AND l_returnflag = 'R'\n"
+                    + "  AND c_nationkey = n_nationkey\n"
+                    + "GROUP BY c_custkey, c_name, c_acctbal, c_phone, n_name, c_address, c_comment\n"
+                    + "ORDER BY revenue DESC LIMIT 20")
+            .put("ssb_q1_1", "SELECT sum(lo_extendedprice * lo_discount) AS revenue FROM lineorder, dates\n"
+                    + "WHERE lo_orderdate = d_datekey AND d_year = 1993 AND lo_discount BETWEEN 1 AND 3\n"
+                    + "  AND lo_quantity < 25")
+            // joins of tpch_q5 without the date filters
+            .put("join6", "SELECT n_name, sum(l_extendedprice * (1 - l_discount)) AS revenue\n"
+                    + "FROM customer, orders, lineitem, supplier, nation, region\n"
+                    + "WHERE c_custkey = o_custkey AND l_orderkey = o_orderkey AND l_suppkey = s_suppkey\n"
+                    + "  AND c_nationkey = s_nationkey AND s_nationkey = n_nationkey AND n_regionkey = r_regionkey\n"
+                    + "  AND r_name = 'ASIA'\n"
+                    + "GROUP BY n_name")
+            .put("point_query", "SELECT * FROM orders WHERE o_orderkey = 10")
+            .build();
+}
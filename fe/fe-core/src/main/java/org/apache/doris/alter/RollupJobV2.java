@@ -520,6 +520,8 @@ public class RollupJobV2 extends AlterJobV2 implements GsonPostProcessable {
         this.finishedTimeMs = System.currentTimeMillis();
 
         Env.getCurrentEnv().getEditLog().logAlterJob(this);
+        // the tablets of rollup index can be repaired now
+        Env.getCurrentEnv().getTabletChecker().markTableDirty(dbId, tableId);
         LOG.info("rollup job finished: {}", jobId);
     }
 
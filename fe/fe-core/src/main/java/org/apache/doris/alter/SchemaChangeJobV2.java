@@ -574,6 +574,8 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
         this.finishedTimeMs = System.currentTimeMillis();
 
         Env.getCurrentEnv().getEditLog().logAlterJob(this);
+        // the tablets of new indexes can be repaired now
+        Env.getCurrentEnv().getTabletChecker().markTableDirty(dbId, tableId);
         LOG.info("schema change job finished: {}", jobId);
     }
 
@@ -149,6 +149,7 @@ public class SystemHandler extends AlterHandler {
             for (Backend backend : decommissionBackends) {
                 backend.setDecommissioned(true);
                 Env.getCurrentEnv().getEditLog().logBackendStateChange(backend);
+                Env.getCurrentEnv().getTabletChecker().markBackendDirty(backend.getId());
                 LOG.info("set backend {} to decommission", backend.getId());
             }
 
@@ -239,6 +240,7 @@ public class SystemHandler extends AlterHandler {
         for (Backend backend : backends) {
             if (backend.setDecommissioned(false)) {
                 Env.getCurrentEnv().getEditLog().logBackendStateChange(backend);
+                Env.getCurrentEnv().getTabletChecker().markBackendDirty(backend.getId());
             } else {
                 LOG.info("backend is not decommissioned[{}]", backend.getHost());
             }
@@ -0,0 +1,79 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.analysis;
+
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.thrift.TExprNode;
+
+import com.google.common.base.Preconditions;
+
+// Parameter marker '?' of a server side prepared statement.
+// The parsed statement which contains place holders is kept as a template. Before each execution,
+// the parameters are bound to the place holders and the template is cloned. The clone of a bound
+// place holder is the clone of its literal, so the statement to be analyzed only contains literals.
+public class PlaceHolderExpr extends Expr {
+    // the position of this place holder in the statement, start from 0
+    private final int index;
+    private LiteralExpr literal;
+
+    public PlaceHolderExpr(int index) {
+        this.index = index;
+    }
+
+    protected PlaceHolderExpr(PlaceHolderExpr other) {
+        super(other);
+        this.index = other.index;
+        this.literal = other.literal;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public LiteralExpr getLiteral() {
+        return literal;
+    }
+
+    public void setLiteral(LiteralExpr literal) {
+        this.literal = literal;
+    }
+
+    @Override
+    public Expr clone() {
+        if (literal != null) {
+            return literal.clone();
+        }
+        return new PlaceHolderExpr(this);
+    }
+
+    @Override
+    protected void analyzeImpl(Analyzer analyzer) throws AnalysisException {
+        throw new AnalysisException("Parameter marker '?' is only supported in prepared statement "
+                + "and must be bound before execution");
+    }
+
+    @Override
+    protected String toSqlImpl() {
+        return literal == null ? "?" : literal.toSql();
+    }
+
+    @Override
+    protected void toThrift(TExprNode msg) {
+        Preconditions.checkState(false, "place holder should be replaced by literal before execution");
+    }
+}
@@ -179,6 +179,7 @@ import org.apache.doris.persist.ModifyPartitionInfo;
 import org.apache.doris.persist.ModifyTableDefaultDistributionBucketNumOperationLog;
 import org.apache.doris.persist.ModifyTablePropertyOperationLog;
 import org.apache.doris.persist.OperationType;
+import org.apache.doris.persist.ParallelJournalReplayer;
 import org.apache.doris.persist.PartitionPersistInfo;
 import org.apache.doris.persist.RecoverInfo;
 import org.apache.doris.persist.RefreshExternalTableInfo;
@@ -233,6 +234,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Queues;
+import com.google.common.collect.Sets;
 import com.sleepycat.je.rep.InsufficientLogException;
 import com.sleepycat.je.rep.NetworkRestore;
 import com.sleepycat.je.rep.NetworkRestoreConfig;
@@ -262,8 +264,10 @@ import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
@@ -351,9 +355,21 @@ public class Env {
     private String token;
     // For checkpoint and observer memory replayed marker
     private AtomicLong replayedJournalId;
+    // the max journal id to replay in the latest replay, to compute the lag of replay
+    private volatile long toReplayJournalId = 0L;
+    // replay journals of different databases in parallel, null if Config.journal_replay_thread_num <= 1
+    private ParallelJournalReplayer parallelJournalReplayer;
 
     private static Env CHECKPOINT = null;
     private static long checkpointThreadId = -1;
+    // the threads which save or load meta modules of the image for the checkpoint thread
+    private static final ThreadLocal<Boolean> IS_CHECKPOINT_WORKER = ThreadLocal.withInitial(() -> false);
+    private static final AtomicInteger checkpointWorkerNum = new AtomicInteger(0);
+    // the image loaded by loadImage(), null if no image is loaded
+    private File loadedImageFile = null;
+    // op codes of the journals replayed by the checkpoint thread, used to decide which modules
+    // of the loaded image can be reused in the new image
+    private Set<Short> replayedOpCodes = Sets.newConcurrentHashSet();
     private Checkpoint checkpointer;
     private List<Pair<String, Integer>> helperNodes = Lists.newArrayList();
     private Pair<String, Integer> selfNode = null;
@@ -679,6 +695,10 @@ public class Env {
         return tabletChecker;
     }
 
+    public PublishVersionDaemon getPublishVersionDaemon() {
+        return publishVersionDaemon;
+    }
+
     public AuditEventProcessor getAuditEventProcessor() {
         return auditEventProcessor;
     }
@@ -712,7 +732,24 @@ public class Env {
     }
 
     public static final boolean isCheckpointThread() {
-        return Thread.currentThread().getId() == checkpointThreadId;
+        return Thread.currentThread().getId() == checkpointThreadId
+                || (checkpointWorkerNum.get() > 0 && IS_CHECKPOINT_WORKER.get());
+    }
+
+    /**
+     * Mark the current thread as a worker of the checkpoint thread or not.
+     * A worker gets the checkpoint env, eg, when saving the modules of the image in parallel.
+     */
+    public static void setCheckpointWorker(boolean isWorker) {
+        if (IS_CHECKPOINT_WORKER.get() == isWorker) {
+            return;
+        }
+        IS_CHECKPOINT_WORKER.set(isWorker);
+        if (isWorker) {
+            checkpointWorkerNum.incrementAndGet();
+        } else {
+            checkpointWorkerNum.decrementAndGet();
+        }
     }
 
     public static PluginMgr getCurrentPluginMgr() {
@@ -1260,6 +1297,7 @@ public class Env {
         checkCurrentNodeExist();
 
         editLog.rollEditLog();
+        editLog.startFlushThread();
 
         // Log meta_version
         long journalVersion = MetaContext.get().getMetaVersion();
@@ -1617,6 +1655,16 @@ public class Env {
         }
         replayedJournalId.set(storage.getLatestImageSeq());
         MetaReader.read(curFile, this);
+        loadedImageFile = curFile;
+        replayedOpCodes.clear();
+    }
+
+    public File getLoadedImageFile() {
+        return loadedImageFile;
+    }
+
+    public Set<Short> getReplayedOpCodes() {
+        return replayedOpCodes;
     }
 
     public long loadHeader(DataInputStream dis, MetaHeader metaHeader, long checksum) throws IOException, DdlException {
@@ -2424,6 +2472,9 @@ public class Env {
         if (newToJournalId <= replayedJournalId.get()) {
             return false;
         }
+        if (!isCheckpointThread()) {
+            toReplayJournalId = newToJournalId;
+        }
 
         LOG.info("replayed journal id is {}, replay to journal id is {}", replayedJournalId, newToJournalId);
         JournalCursor cursor = editLog.read(replayedJournalId.get() + 1, newToJournalId);
@@ -2432,23 +2483,39 @@ public class Env {
             return false;
         }
 
+        ParallelJournalReplayer parallelReplayer = getParallelJournalReplayer();
         long startTime = System.currentTimeMillis();
         boolean hasLog = false;
-        while (true) {
-            JournalEntity entity = cursor.next();
-            if (entity == null) {
-                break;
-            }
-            hasLog = true;
-            EditLog.loadJournal(this, entity);
-            replayedJournalId.incrementAndGet();
-            LOG.debug("journal {} replayed.", replayedJournalId);
-            if (feType != FrontendNodeType.MASTER) {
-                journalObservable.notifyObservers(replayedJournalId.get());
+        // id of the journal read from the cursor
+        long journalId = replayedJournalId.get();
+        try {
+            while (true) {
+                JournalEntity entity = cursor.next();
+                if (entity == null) {
+                    break;
+                }
+                hasLog = true;
+                journalId++;
+                if (isCheckpointThread()) {
+                    replayedOpCodes.add(entity.getOpCode());
+                }
+                if (parallelReplayer != null
+                        && parallelReplayer.submit(entity, () -> EditLog.loadJournal(this, entity))) {
+                    // replayed journal id is advanced only when all the journals before it are replayed
+                    if (parallelReplayer.isFull()) {
+                        waitForParallelReplay(parallelReplayer, journalId);
+                    }
+                    continue;
+                }
+                if (parallelReplayer != null) {
+                    waitForParallelReplay(parallelReplayer, journalId - 1);
+                }
+                EditLog.loadJournal(this, entity);
+                onJournalReplayed(journalId);
             }
-            if (MetricRepo.isInit) {
-                // Metric repo may not init after this replay thread start
-                MetricRepo.COUNTER_EDIT_LOG_READ.increase(1L);
+        } finally {
+            if (parallelReplayer != null) {
+                waitForParallelReplay(parallelReplayer, journalId);
             }
         }
         long cost = System.currentTimeMillis() - startTime;
@@ -2459,6 +2526,63 @@ public class Env {
         return hasLog;
     }
 
+    private ParallelJournalReplayer getParallelJournalReplayer() {
+        if (isCheckpointThread() || Config.journal_replay_thread_num <= 1) {
+            return null;
+        }
+        if (parallelJournalReplayer == null) {
+            parallelJournalReplayer = new ParallelJournalReplayer(Config.journal_replay_thread_num);
+        }
+        return parallelJournalReplayer;
+    }
+
+    private void waitForParallelReplay(ParallelJournalReplayer parallelReplayer, long journalId) {
+        if (parallelReplayer.getPendingNum() == 0) {
+            return;
+        }
+        try {
+            parallelReplayer.waitForAll();
+        } catch (InterruptedException | ExecutionException e) {
+            // the journals can not be replayed again, same as failing to replay a journal in EditLog
+            LOG.error("failed to replay journals before {} in parallel", journalId, e);
+            System.exit(-1);
+        }
+        onJournalReplayed(journalId);
+    }
+
+    // All the journals whose id is not larger than journalId have been replayed.
+    private void onJournalReplayed(long journalId) {
+        long replayedNum = journalId - replayedJournalId.getAndSet(journalId);
+        LOG.debug("journal {} replayed.", journalId);
+        if (feType != FrontendNodeType.MASTER) {
+            journalObservable.notifyObservers(journalId);
+        }
+        if (MetricRepo.isInit) {
+            // Metric repo may not init after this replay thread start
+            MetricRepo.COUNTER_EDIT_LOG_READ.increase(replayedNum);
+        }
+    }
+
+    /**
+     * The num of journals which are not replayed yet, 0 for the master.
+     */
+    public long getJournalReplayLag() {
+        if (isMaster()) {
+            return 0L;
+        }
+        return Math.max(0L, toReplayJournalId - replayedJournalId.get());
+    }
+
+    /**
+     * The time in ms since the last timestamp written by the master is replayed, 0 for the master.
+     */
+    public long getJournalReplayDelayMs() {
+        if (isMaster() || synchronizedTimeMs <= 0) {
+            return 0L;
+        }
+        return Math.max(0L, System.currentTimeMillis() - synchronizedTimeMs);
+    }
+
     public void createTimePrinter() {
         // time printer will write timestamp edit log every 10 seconds
         timePrinter = new MasterDaemon("timePrinter", 10 * 1000L) {
@@ -4102,6 +4226,7 @@ public class Env {
                 newDataProperty, replicaAlloc, isInMemory, partitionInfo.getStoragePolicy(partition.getId()),
                 tblProperties);
         editLog.logModifyPartition(info);
+        tabletChecker.markTableDirty(db.getId(), table.getId());
         LOG.debug("modify partition[{}-{}-{}] replica allocation to {}", db.getId(), table.getId(), partition.getName(),
                 replicaAlloc.toCreateStmt());
     }
@@ -4896,6 +5021,7 @@ public class Env {
                             SetReplicaStatusOperationLog log = new SetReplicaStatusOperationLog(backendId, tabletId,
                                     status);
                             getEditLog().logSetReplicaStatus(log);
+                            tabletChecker.markTabletDirty(tabletId);
                         }
                         LOG.info("set replica {} of tablet {} on backend {} as {}. is replay: {}", replica.getId(),
                                 tabletId, backendId, status, isReplay);
@@ -23,14 +23,13 @@ import org.apache.doris.persist.gson.GsonPostProcessable;
 
 import com.google.common.collect.Lists;
 import com.google.gson.annotations.SerializedName;
+import io.netty.util.collection.LongObjectHashMap;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * The OlapTraditional table is a materialized table which stored as rowcolumnar file or columnar file
@@ -62,7 +61,8 @@ public class MaterializedIndex extends MetaObject implements Writable, GsonPostP
     @SerializedName(value = "rowCount")
     private long rowCount;
 
-    private Map<Long, Tablet> idToTablets;
+    // keyed by primitive tablet id, there may be millions of tablets in catalog
+    private LongObjectHashMap<Tablet> idToTablets;
     @SerializedName(value = "tablets")
     // this is for keeping tablet order
     private List<Tablet> tablets;
@@ -75,7 +75,7 @@ public class MaterializedIndex extends MetaObject implements Writable, GsonPostP
 
     public MaterializedIndex() {
         this.state = IndexState.NORMAL;
-        this.idToTablets = new HashMap<>();
+        this.idToTablets = new LongObjectHashMap<>();
         this.tablets = new ArrayList<>();
     }
 
@@ -87,7 +87,7 @@ public class MaterializedIndex extends MetaObject implements Writable, GsonPostP
             this.state = IndexState.NORMAL;
         }
 
-        this.idToTablets = new HashMap<>();
+        this.idToTablets = new LongObjectHashMap<>();
         this.tablets = new ArrayList<>();
 
         this.rowCount = 0;
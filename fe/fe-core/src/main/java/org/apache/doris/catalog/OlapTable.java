@@ -113,6 +113,8 @@ public class OlapTable extends Table {
 
     private KeysType keysType;
     private PartitionInfo partitionInfo;
+    // Kept as a boxed map, unlike the tablet level maps: there is one entry per partition, which is orders of
+    // magnitude fewer than tablets and replicas, so a primitive map would not change the heap footprint.
     private Map<Long, Partition> idToPartition = new HashMap<>();
     private Map<String, Partition> nameToPartition = Maps.newTreeMap(String.CASE_INSENSITIVE_ORDER);
 
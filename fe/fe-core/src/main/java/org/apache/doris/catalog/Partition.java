@@ -66,6 +66,8 @@ public class Partition extends MetaObject implements Writable {
     /**
      * Visible rollup indexes are indexes which are visible to user.
      * User can do query on them, show them in related 'show' stmt.
+     * The index maps stay boxed maps: they hold a few entries per partition, and gson persists them by their
+     * declared map type, so changing the type would also change the image format.
      */
     @SerializedName(value = "idToVisibleRollupIndex")
     private Map<Long, MaterializedIndex> idToVisibleRollupIndex = Maps.newHashMap();
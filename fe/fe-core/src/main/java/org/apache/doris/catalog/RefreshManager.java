@@ -24,6 +24,7 @@ import org.apache.doris.analysis.RefreshTableStmt;
 import org.apache.doris.analysis.TableName;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.UserException;
+import org.apache.doris.datasource.InternalCatalog;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -39,6 +40,13 @@ public class RefreshManager {
         String tableName = stmt.getTblName();
         Env env = Env.getCurrentEnv();
 
+        // refresh table of external catalog only invalidates the cached meta
+        if (!InternalCatalog.INTERNAL_CATALOG_NAME.equals(stmt.getCtl())) {
+            env.getCatalogMgr().refreshExternalTable(stmt.getCtl(), dbName, tableName);
+            LOG.info("Successfully refresh table: {} from db: {} in catalog: {}", tableName, dbName, stmt.getCtl());
+            return;
+        }
+
         // 0. check table type
         Database db = env.getInternalCatalog().getDbOrDdlException(dbName);
         Table table = db.getTableNullable(tableName);
@@ -17,6 +17,7 @@
 
 package org.apache.doris.catalog;
 
+import org.apache.doris.common.Config;
 import org.apache.doris.common.io.Text;
 import org.apache.doris.common.io.Writable;
 
@@ -425,6 +426,15 @@ public class Replica implements Writable {
         return versionCount;
     }
 
+    /**
+     * Whether the version count of the replica goes across min_version_count_indicate_replica_compaction_too_slow
+     * if it is updated to the given one, which may change the health of the tablet.
+     */
+    public boolean isTooManyVersionsChanged(long newVersionCount) {
+        long threshold = Config.min_version_count_indicate_replica_compaction_too_slow;
+        return (versionCount > threshold) != (newVersionCount > threshold);
+    }
+
     public void setVersionCount(long versionCount) {
         this.versionCount = versionCount;
     }
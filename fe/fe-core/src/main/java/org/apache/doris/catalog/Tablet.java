@@ -57,6 +57,9 @@ public class Tablet extends MetaObject implements Writable {
     // QUERYABLE_TIMES_OF_MIN_VERSION_COUNT times the minimum version count,
     // then the replica would not be considered as queryable.
     private static final int QUERYABLE_TIMES_OF_MIN_VERSION_COUNT = 3;
+    // most tablets have 3 replicas, so the replica list is not allocated with the default capacity 10,
+    // which wastes lots of memory when there are millions of tablets.
+    private static final int DEFAULT_REPLICA_NUM = 3;
 
     public enum TabletStatus {
         HEALTHY,
@@ -92,18 +95,18 @@ public class Tablet extends MetaObject implements Writable {
     private long lastStatusCheckTime = -1;
 
     public Tablet() {
-        this(0L, new ArrayList<>());
+        this(0L, new ArrayList<>(DEFAULT_REPLICA_NUM));
     }
 
     public Tablet(long tabletId) {
-        this(tabletId, new ArrayList<>());
+        this(tabletId, new ArrayList<>(DEFAULT_REPLICA_NUM));
     }
 
     public Tablet(long tabletId, List<Replica> replicas) {
         this.id = tabletId;
         this.replicas = replicas;
         if (this.replicas == null) {
-            this.replicas = new ArrayList<>();
+            this.replicas = new ArrayList<>(DEFAULT_REPLICA_NUM);
         }
 
         checkedVersion = -1L;
@@ -19,6 +19,8 @@ package org.apache.doris.catalog;
 
 import org.apache.doris.catalog.Replica.ReplicaState;
 import org.apache.doris.common.Config;
+import org.apache.doris.common.Pair;
+import org.apache.doris.common.util.LongLongHashMap;
 import org.apache.doris.thrift.TPartitionVersionInfo;
 import org.apache.doris.thrift.TStorageMedium;
 import org.apache.doris.thrift.TTablet;
@@ -39,12 +41,15 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Ordering;
 import com.google.common.collect.Table;
 import com.google.common.collect.TreeMultimap;
+import io.netty.util.collection.LongObjectHashMap;
+import io.netty.util.collection.LongObjectMap.PrimitiveEntry;
 import org.apache.commons.lang3.tuple.ImmutableTriple;
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -52,12 +57,18 @@ import java.util.Set;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.locks.StampedLock;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /*
  * this class stores a inverted index
  * key is tablet id. value is the related ids of this tablet
  * Checkpoint thread is no need to modify this inverted index, because this inverted index will not be wrote
  * into images, all meta data are in catalog, and the inverted index will be rebuild when FE restart.
+ *
+ * The index is split into shards by tablet id, and each shard is protected by its own lock.
+ * So that a tablet report, which traverses all replicas of a backend shard by shard, only blocks the
+ * modification of tablets in the shard being traversed, rather than all tablets.
+ * The maps in shard are keyed by primitive long to avoid boxing the tablet, replica and backend ids.
  */
 public class TabletInvertedIndex {
     private static final Logger LOG = LogManager.getLogger(TabletInvertedIndex.class);
@@ -67,13 +78,10 @@ public class TabletInvertedIndex {
     public static final TabletMeta NOT_EXIST_TABLET_META = new TabletMeta(NOT_EXIST_VALUE, NOT_EXIST_VALUE,
             NOT_EXIST_VALUE, NOT_EXIST_VALUE, NOT_EXIST_VALUE, TStorageMedium.HDD);
 
-    private StampedLock lock = new StampedLock();
+    // must be power of 2
+    private static final int SHARD_NUM = 64;
 
-    // tablet id -> tablet meta
-    private Map<Long, TabletMeta> tabletMetaMap = Maps.newHashMap();
-
-    // replica id -> tablet id
-    private Map<Long, Long> replicaToTabletMap = Maps.newHashMap();
+    private final Shard[] shards;
 
     /*
      *  we use this to save memory.
@@ -83,36 +91,68 @@ public class TabletInvertedIndex {
      *  we use 'tabletMetaTable' to do the update things
      *      (eg. update schema hash in TabletMeta)
      *  partition id -> (index id -> tablet meta)
+     *  It is not sharded by tablet id, and protected by itself.
      */
     private Table<Long, Long, TabletMeta> tabletMetaTable = HashBasedTable.create();
 
-    // tablet id -> (backend id -> replica)
-    private Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
-    // backing replica table, for visiting backend replicas faster.
-    // backend id -> (tablet id -> replica)
-    private Table<Long, Long, Replica> backingReplicaMetaTable = HashBasedTable.create();
-
     private volatile ImmutableSet<Long> partitionIdInMemorySet = ImmutableSet.of();
 
     private ForkJoinPool taskPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
 
-    public TabletInvertedIndex() {
-    }
+    private static class Shard {
+        private final StampedLock lock = new StampedLock();
+
+        // tablet id -> tablet meta
+        private final LongObjectHashMap<TabletMeta> tabletMetaMap = new LongObjectHashMap<>();
+
+        // replica id -> tablet id
+        private final LongLongHashMap replicaToTabletMap = new LongLongHashMap();
+
+        // tablet id -> (backend id -> replica)
+        private final LongObjectHashMap<LongObjectHashMap<Replica>> replicaMetaTable = new LongObjectHashMap<>();
+        // backing replica table, for visiting backend replicas faster.
+        // backend id -> (tablet id -> replica)
+        private final LongObjectHashMap<LongObjectHashMap<Replica>> backingReplicaMetaTable =
+                new LongObjectHashMap<>();
+
+        private long readLock() {
+            return lock.readLock();
+        }
+
+        private void readUnlock(long stamp) {
+            lock.unlockRead(stamp);
+        }
+
+        private long writeLock() {
+            return lock.writeLock();
+        }
+
+        private void writeUnlock(long stamp) {
+            lock.unlockWrite(stamp);
+        }
 
-    private long readLock() {
-        return this.lock.readLock();
+        private void clear() {
+            tabletMetaMap.clear();
+            replicaToTabletMap.clear();
+            replicaMetaTable.clear();
+            backingReplicaMetaTable.clear();
+        }
     }
 
-    private void readUnlock(long stamp) {
-        this.lock.unlockRead(stamp);
+    public TabletInvertedIndex() {
+        shards = new Shard[SHARD_NUM];
+        for (int i = 0; i < SHARD_NUM; i++) {
+            shards[i] = new Shard();
+        }
     }
 
-    private long writeLock() {
-        return this.lock.writeLock();
+    private Shard getShard(long tabletId) {
+        return shards[getShardIndex(tabletId)];
     }
 
-    private void writeUnlock(long stamp) {
-        this.lock.unlockWrite(stamp);
+    private static int getShardIndex(long tabletId) {
+        // tablet ids are allocated continuously, so they are evenly distributed in shards
+        return (int) (tabletId & (SHARD_NUM - 1));
     }
 
     public void tabletReport(long backendId, Map<Long, TTablet> backendTablets,
@@ -124,23 +164,28 @@ public class TabletInvertedIndex {
                              Map<Long, ListMultimap<Long, TPartitionVersionInfo>> transactionsToPublish,
                              ListMultimap<Long, Long> transactionsToClear,
                              ListMultimap<Long, Long> tabletRecoveryMap,
+                             ListMultimap<Long, Long> tabletTooManyVersionsMap,
                              List<Triple<Long, Integer, Boolean>> tabletToInMemory) {
-        long stamp = readLock();
         long start = System.currentTimeMillis();
-        try {
-            LOG.debug("begin to do tablet diff with backend[{}]. num: {}", backendId, backendTablets.size());
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                taskPool.submit(() -> {
-                    // traverse replicas in meta with this backend
-                    replicaMetaWithBackend.entrySet().parallelStream().forEach(entry -> {
-                        long tabletId = entry.getKey();
-                        Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-                        TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
+        LOG.debug("begin to do tablet diff with backend[{}]. num: {}", backendId, backendTablets.size());
+        taskPool.submit(() -> {
+            // traverse replicas in meta with this backend, shards are traversed in parallel.
+            // the lock of a shard is only held when traversing the replicas in the shard.
+            Arrays.stream(shards).parallel().forEach(shard -> {
+                long stamp = shard.readLock();
+                try {
+                    LongObjectHashMap<Replica> replicaMetaWithBackend = shard.backingReplicaMetaTable.get(backendId);
+                    if (replicaMetaWithBackend == null) {
+                        return;
+                    }
+                    for (PrimitiveEntry<Replica> entry : replicaMetaWithBackend.entries()) {
+                        long tabletId = entry.key();
+                        Preconditions.checkState(shard.tabletMetaMap.containsKey(tabletId));
+                        TabletMeta tabletMeta = shard.tabletMetaMap.get(tabletId);
 
                         if (backendTablets.containsKey(tabletId)) {
                             TTablet backendTablet = backendTablets.get(tabletId);
-                            Replica replica = entry.getValue();
+                            Replica replica = entry.value();
                             tabletFoundInMeta.add(tabletId);
                             TTabletInfo backendTabletInfo = backendTablet.getTabletInfos().get(0);
                             if (partitionIdInMemorySet.contains(
@@ -244,6 +289,11 @@ public class TabletInvertedIndex {
                             // update replicase's version count
                             // no need to write log, and no need to get db lock.
                             if (backendTabletInfo.isSetVersionCount()) {
+                                if (replica.isTooManyVersionsChanged(backendTabletInfo.getVersionCount())) {
+                                    synchronized (tabletTooManyVersionsMap) {
+                                        tabletTooManyVersionsMap.put(tabletMeta.getDbId(), tabletId);
+                                    }
+                                }
                                 replica.setVersionCount(backendTabletInfo.getVersionCount());
                             }
                         } else {
@@ -254,52 +304,57 @@ public class TabletInvertedIndex {
                                 tabletDeleteFromMeta.put(tabletMeta.getDbId(), tabletId);
                             }
                         }
-                    });
-                }).join();
-            }
-        } finally {
-            readUnlock(stamp);
-        }
+                    }
+                } finally {
+                    shard.readUnlock(stamp);
+                }
+            });
+        }).join();
 
         long end = System.currentTimeMillis();
         LOG.info("finished to do tablet diff with backend[{}]. sync: {}."
                         + " metaDel: {}. foundInMeta: {}. migration: {}. "
                         + "found invalid transactions {}. found republish transactions {}. tabletInMemorySync: {}."
-                        + " need recovery: {}. cost: {} ms", backendId, tabletSyncMap.size(),
-                tabletDeleteFromMeta.size(), tabletFoundInMeta.size(), tabletMigrationMap.size(),
+                        + " need recovery: {}. too many versions changed: {}. cost: {} ms", backendId,
+                tabletSyncMap.size(), tabletDeleteFromMeta.size(), tabletFoundInMeta.size(), tabletMigrationMap.size(),
                 transactionsToClear.size(), transactionsToPublish.size(), tabletToInMemory.size(),
-                tabletRecoveryMap.size(), (end - start));
+                tabletRecoveryMap.size(), tabletTooManyVersionsMap.size(), (end - start));
     }
 
+    // Replica is indexed in the shard of its tablet, so all shards have to be searched.
+    // Callers in the hot path should pass the tablet id along with the replica instead.
     public Long getTabletIdByReplica(long replicaId) {
-        long stamp = readLock();
-        try {
-            return replicaToTabletMap.get(replicaId);
-        } finally {
-            readUnlock(stamp);
+        for (Shard shard : shards) {
+            long stamp = shard.readLock();
+            try {
+                long tabletId = shard.replicaToTabletMap.get(replicaId, NOT_EXIST_VALUE);
+                if (tabletId != NOT_EXIST_VALUE) {
+                    return tabletId;
+                }
+            } finally {
+                shard.readUnlock(stamp);
+            }
         }
+        return null;
     }
 
     public TabletMeta getTabletMeta(long tabletId) {
-        long stamp = readLock();
+        Shard shard = getShard(tabletId);
+        long stamp = shard.readLock();
         try {
-            return tabletMetaMap.get(tabletId);
+            return shard.tabletMetaMap.get(tabletId);
         } finally {
-            readUnlock(stamp);
+            shard.readUnlock(stamp);
         }
     }
 
     public List<TabletMeta> getTabletMetaList(List<Long> tabletIdList) {
         List<TabletMeta> tabletMetaList = new ArrayList<>(tabletIdList.size());
-        long stamp = readLock();
-        try {
-            for (Long tabletId : tabletIdList) {
-                tabletMetaList.add(tabletMetaMap.getOrDefault(tabletId, NOT_EXIST_TABLET_META));
-            }
-            return tabletMetaList;
-        } finally {
-            readUnlock(stamp);
+        for (Long tabletId : tabletIdList) {
+            TabletMeta tabletMeta = getTabletMeta(tabletId);
+            tabletMetaList.add(tabletMeta == null ? NOT_EXIST_TABLET_META : tabletMeta);
         }
+        return tabletMetaList;
     }
 
     private boolean needSync(Replica replicaInFe, TTabletInfo backendTabletInfo) {
@@ -368,20 +423,23 @@ public class TabletInvertedIndex {
         if (Env.isCheckpointThread()) {
             return;
         }
-        long stamp = writeLock();
+        Shard shard = getShard(tabletId);
+        long stamp = shard.writeLock();
         try {
-            if (tabletMetaMap.containsKey(tabletId)) {
+            if (shard.tabletMetaMap.containsKey(tabletId)) {
                 return;
             }
-            tabletMetaMap.put(tabletId, tabletMeta);
-            if (!tabletMetaTable.contains(tabletMeta.getPartitionId(), tabletMeta.getIndexId())) {
-                tabletMetaTable.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), tabletMeta);
-                LOG.debug("add tablet meta: {}", tabletId);
+            shard.tabletMetaMap.put(tabletId, tabletMeta);
+            synchronized (tabletMetaTable) {
+                if (!tabletMetaTable.contains(tabletMeta.getPartitionId(), tabletMeta.getIndexId())) {
+                    tabletMetaTable.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), tabletMeta);
+                    LOG.debug("add tablet meta: {}", tabletId);
+                }
             }
 
             LOG.debug("add tablet: {}", tabletId);
         } finally {
-            writeUnlock(stamp);
+            shard.writeUnlock(stamp);
         }
     }
 
@@ -389,27 +447,27 @@ public class TabletInvertedIndex {
         if (Env.isCheckpointThread()) {
             return;
         }
-        long stamp = writeLock();
+        Shard shard = getShard(tabletId);
+        long stamp = shard.writeLock();
         try {
-            Map<Long, Replica> replicas = replicaMetaTable.rowMap().remove(tabletId);
+            LongObjectHashMap<Replica> replicas = shard.replicaMetaTable.remove(tabletId);
             if (replicas != null) {
-                for (Replica replica : replicas.values()) {
-                    replicaToTabletMap.remove(replica.getId());
-                }
-
-                for (long backendId : replicas.keySet()) {
-                    backingReplicaMetaTable.remove(backendId, tabletId);
+                for (PrimitiveEntry<Replica> entry : replicas.entries()) {
+                    shard.replicaToTabletMap.remove(entry.value().getId());
+                    removeBackingReplica(shard, entry.key(), tabletId);
                 }
             }
-            TabletMeta tabletMeta = tabletMetaMap.remove(tabletId);
+            TabletMeta tabletMeta = shard.tabletMetaMap.remove(tabletId);
             if (tabletMeta != null) {
-                tabletMetaTable.remove(tabletMeta.getPartitionId(), tabletMeta.getIndexId());
+                synchronized (tabletMetaTable) {
+                    tabletMetaTable.remove(tabletMeta.getPartitionId(), tabletMeta.getIndexId());
+                }
                 LOG.debug("delete tablet meta: {}", tabletId);
             }
 
             LOG.debug("delete tablet: {}", tabletId);
         } finally {
-            writeUnlock(stamp);
+            shard.writeUnlock(stamp);
         }
     }
 
@@ -417,125 +475,223 @@ public class TabletInvertedIndex {
         if (Env.isCheckpointThread()) {
             return;
         }
-        long stamp = writeLock();
+        Shard shard = getShard(tabletId);
+        long stamp = shard.writeLock();
         try {
-            Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-            replicaMetaTable.put(tabletId, replica.getBackendId(), replica);
-            replicaToTabletMap.put(replica.getId(), tabletId);
-            backingReplicaMetaTable.put(replica.getBackendId(), tabletId, replica);
+            Preconditions.checkState(shard.tabletMetaMap.containsKey(tabletId));
+            addReplicaToShard(shard, tabletId, replica);
             LOG.debug("add replica {} of tablet {} in backend {}",
                     replica.getId(), tabletId, replica.getBackendId());
         } finally {
-            writeUnlock(stamp);
+            shard.writeUnlock(stamp);
+        }
+    }
+
+    // the write lock of the shard should be held
+    private void addReplicaToShard(Shard shard, long tabletId, Replica replica) {
+        LongObjectHashMap<Replica> replicas = shard.replicaMetaTable.get(tabletId);
+        if (replicas == null) {
+            // most tablets have 3 replicas
+            replicas = new LongObjectHashMap<>(4);
+            shard.replicaMetaTable.put(tabletId, replicas);
+        }
+        replicas.put(replica.getBackendId(), replica);
+        shard.replicaToTabletMap.put(replica.getId(), tabletId);
+        LongObjectHashMap<Replica> backendReplicas = shard.backingReplicaMetaTable.get(replica.getBackendId());
+        if (backendReplicas == null) {
+            backendReplicas = new LongObjectHashMap<>();
+            shard.backingReplicaMetaTable.put(replica.getBackendId(), backendReplicas);
         }
+        backendReplicas.put(tabletId, replica);
+    }
+
+    /**
+     * Add the tablets of materialized indexes and their replicas, eg, when rebuilding the index from the image.
+     * The tablets are grouped by shards first, then shards are filled in parallel,
+     * so that each shard is locked only once and by only one thread.
+     *
+     * @param tabletsOfIndexes tablet meta of a materialized index -> tablets of the index
+     */
+    public void addTablets(List<Pair<TabletMeta, List<Tablet>>> tabletsOfIndexes) {
+        if (Env.isCheckpointThread()) {
+            return;
+        }
+        List<List<Pair<TabletMeta, Tablet>>> tabletsOfShards = Lists.newArrayListWithCapacity(SHARD_NUM);
+        for (int i = 0; i < SHARD_NUM; i++) {
+            tabletsOfShards.add(Lists.newArrayList());
+        }
+        synchronized (tabletMetaTable) {
+            for (Pair<TabletMeta, List<Tablet>> tabletsOfIndex : tabletsOfIndexes) {
+                TabletMeta tabletMeta = tabletsOfIndex.first;
+                if (!tabletsOfIndex.second.isEmpty() && !tabletMetaTable.contains(tabletMeta.getPartitionId(),
+                        tabletMeta.getIndexId())) {
+                    tabletMetaTable.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), tabletMeta);
+                }
+                for (Tablet tablet : tabletsOfIndex.second) {
+                    tabletsOfShards.get(getShardIndex(tablet.getId())).add(Pair.of(tabletMeta, tablet));
+                }
+            }
+        }
+        taskPool.submit(() -> IntStream.range(0, SHARD_NUM).parallel().forEach(i -> {
+            Shard shard = shards[i];
+            long stamp = shard.writeLock();
+            try {
+                for (Pair<TabletMeta, Tablet> pair : tabletsOfShards.get(i)) {
+                    long tabletId = pair.second.getId();
+                    if (shard.tabletMetaMap.containsKey(tabletId)) {
+                        continue;
+                    }
+                    shard.tabletMetaMap.put(tabletId, pair.first);
+                    for (Replica replica : pair.second.getReplicas()) {
+                        addReplicaToShard(shard, tabletId, replica);
+                    }
+                }
+            } finally {
+                shard.writeUnlock(stamp);
+            }
+        })).join();
     }
 
     public void deleteReplica(long tabletId, long backendId) {
         if (Env.isCheckpointThread()) {
             return;
         }
-        long stamp = writeLock();
+        Shard shard = getShard(tabletId);
+        long stamp = shard.writeLock();
         try {
-            Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-            if (replicaMetaTable.containsRow(tabletId)) {
-                Replica replica = replicaMetaTable.remove(tabletId, backendId);
-                replicaToTabletMap.remove(replica.getId());
-                replicaMetaTable.remove(tabletId, backendId);
-                backingReplicaMetaTable.remove(backendId, tabletId);
-                LOG.debug("delete replica {} of tablet {} in backend {}",
-                        replica.getId(), tabletId, backendId);
+            Preconditions.checkState(shard.tabletMetaMap.containsKey(tabletId));
+            LongObjectHashMap<Replica> replicas = shard.replicaMetaTable.get(tabletId);
+            if (replicas != null) {
+                Replica replica = replicas.remove(backendId);
+                if (replicas.isEmpty()) {
+                    shard.replicaMetaTable.remove(tabletId);
+                }
+                if (replica != null) {
+                    shard.replicaToTabletMap.remove(replica.getId());
+                    LOG.debug("delete replica {} of tablet {} in backend {}",
+                            replica.getId(), tabletId, backendId);
+                }
+                removeBackingReplica(shard, backendId, tabletId);
             } else {
                 // this may happen when fe restart after tablet is empty(bug cause)
                 // add log instead of assertion to observe
                 LOG.error("tablet[{}] contains no replica in inverted index", tabletId);
             }
         } finally {
-            writeUnlock(stamp);
+            shard.writeUnlock(stamp);
+        }
+    }
+
+    private void removeBackingReplica(Shard shard, long backendId, long tabletId) {
+        LongObjectHashMap<Replica> backendReplicas = shard.backingReplicaMetaTable.get(backendId);
+        if (backendReplicas != null) {
+            backendReplicas.remove(tabletId);
+            if (backendReplicas.isEmpty()) {
+                shard.backingReplicaMetaTable.remove(backendId);
+            }
         }
     }
 
     public Replica getReplica(long tabletId, long backendId) {
-        long stamp = readLock();
+        Shard shard = getShard(tabletId);
+        long stamp = shard.readLock();
         try {
-            Preconditions.checkState(tabletMetaMap.containsKey(tabletId), tabletId);
-            return replicaMetaTable.get(tabletId, backendId);
+            Preconditions.checkState(shard.tabletMetaMap.containsKey(tabletId), tabletId);
+            LongObjectHashMap<Replica> replicas = shard.replicaMetaTable.get(tabletId);
+            return replicas == null ? null : replicas.get(backendId);
         } finally {
-            readUnlock(stamp);
+            shard.readUnlock(stamp);
         }
     }
 
     public List<Replica> getReplicasByTabletId(long tabletId) {
-        long stamp = readLock();
+        Shard shard = getShard(tabletId);
+        long stamp = shard.readLock();
         try {
-            if (replicaMetaTable.containsRow(tabletId)) {
-                return Lists.newArrayList(replicaMetaTable.row(tabletId).values());
+            LongObjectHashMap<Replica> replicas = shard.replicaMetaTable.get(tabletId);
+            if (replicas != null) {
+                return Lists.newArrayList(replicas.values());
             }
             return Lists.newArrayList();
         } finally {
-            readUnlock(stamp);
+            shard.readUnlock(stamp);
         }
     }
 
     public List<Long> getTabletIdsByBackendId(long backendId) {
         List<Long> tabletIds = Lists.newArrayList();
-        long stamp = readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                tabletIds.addAll(replicaMetaWithBackend.keySet());
+        for (Shard shard : shards) {
+            long stamp = shard.readLock();
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = shard.backingReplicaMetaTable.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    for (PrimitiveEntry<Replica> entry : replicaMetaWithBackend.entries()) {
+                        tabletIds.add(entry.key());
+                    }
+                }
+            } finally {
+                shard.readUnlock(stamp);
             }
-        } finally {
-            readUnlock(stamp);
         }
         return tabletIds;
     }
 
     public List<Long> getTabletIdsByBackendIdAndStorageMedium(long backendId, TStorageMedium storageMedium) {
         List<Long> tabletIds = Lists.newArrayList();
-        long stamp = readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                tabletIds = replicaMetaWithBackend.keySet().stream().filter(
-                        id -> tabletMetaMap.get(id).getStorageMedium() == storageMedium).collect(Collectors.toList());
+        for (Shard shard : shards) {
+            long stamp = shard.readLock();
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = shard.backingReplicaMetaTable.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    for (PrimitiveEntry<Replica> entry : replicaMetaWithBackend.entries()) {
+                        if (shard.tabletMetaMap.get(entry.key()).getStorageMedium() == storageMedium) {
+                            tabletIds.add(entry.key());
+                        }
+                    }
+                }
+            } finally {
+                shard.readUnlock(stamp);
             }
-        } finally {
-            readUnlock(stamp);
         }
         return tabletIds;
     }
 
     public int getTabletNumByBackendId(long backendId) {
-        long stamp = readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                return replicaMetaWithBackend.size();
+        int tabletNum = 0;
+        for (Shard shard : shards) {
+            long stamp = shard.readLock();
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = shard.backingReplicaMetaTable.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    tabletNum += replicaMetaWithBackend.size();
+                }
+            } finally {
+                shard.readUnlock(stamp);
             }
-        } finally {
-            readUnlock(stamp);
         }
-        return 0;
+        return tabletNum;
     }
 
     public Map<TStorageMedium, Long> getReplicaNumByBeIdAndStorageMedium(long backendId) {
         Map<TStorageMedium, Long> replicaNumMap = Maps.newHashMap();
         long hddNum = 0;
         long ssdNum = 0;
-        long stamp = readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                for (long tabletId : replicaMetaWithBackend.keySet()) {
-                    if (tabletMetaMap.get(tabletId).getStorageMedium() == TStorageMedium.HDD) {
-                        hddNum++;
-                    } else {
-                        ssdNum++;
+        for (Shard shard : shards) {
+            long stamp = shard.readLock();
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = shard.backingReplicaMetaTable.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    for (PrimitiveEntry<Replica> entry : replicaMetaWithBackend.entries()) {
+                        if (shard.tabletMetaMap.get(entry.key()).getStorageMedium() == TStorageMedium.HDD) {
+                            hddNum++;
+                        } else {
+                            ssdNum++;
+                        }
                     }
                 }
+            } finally {
+                shard.readUnlock(stamp);
             }
-        } finally {
-            readUnlock(stamp);
         }
         replicaNumMap.put(TStorageMedium.HDD, hddNum);
         replicaNumMap.put(TStorageMedium.SSD, ssdNum);
@@ -544,15 +700,16 @@ public class TabletInvertedIndex {
 
     // just for test
     public void clear() {
-        long stamp = writeLock();
-        try {
-            tabletMetaMap.clear();
-            replicaToTabletMap.clear();
+        for (Shard shard : shards) {
+            long stamp = shard.writeLock();
+            try {
+                shard.clear();
+            } finally {
+                shard.writeUnlock(stamp);
+            }
+        }
+        synchronized (tabletMetaTable) {
             tabletMetaTable.clear();
-            replicaMetaTable.clear();
-            backingReplicaMetaTable.clear();
-        } finally {
-            writeUnlock(stamp);
         }
     }
 
@@ -560,15 +717,9 @@ public class TabletInvertedIndex {
         this.partitionIdInMemorySet = partitionIdInMemorySet;
     }
 
-    public Map<Long, Long> getReplicaToTabletMap() {
-        return replicaToTabletMap;
-    }
-
     // Only build from available bes, exclude colocate tables
     public Map<TStorageMedium, TreeMultimap<Long, PartitionBalanceInfo>> buildPartitionInfoBySkew(
             List<Long> availableBeIds) {
-        long stamp = readLock();
-
         // 1. gen <partitionId-indexId, <beId, replicaCount>>
         // for each replica(all tablets):
         //      find beId, then replicaCount++
@@ -576,41 +727,45 @@ public class TabletInvertedIndex {
         for (TStorageMedium medium : TStorageMedium.values()) {
             partitionReplicasInfoMaps.put(medium, HashBasedTable.create());
         }
-        try {
-            // Changes to the returned set will update the underlying table
-            // tablet id -> (backend id -> replica)
-            Set<Table.Cell<Long, Long, Replica>> cells = replicaMetaTable.cellSet();
-            for (Table.Cell<Long, Long, Replica> cell : cells) {
-                Long tabletId = cell.getRowKey();
-                Long beId = cell.getColumnKey();
-                try {
-                    Preconditions.checkState(availableBeIds.contains(beId), "dead be " + beId);
-                    TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
-                    Preconditions.checkNotNull(tabletMeta, "invalid tablet " + tabletId);
-                    Preconditions.checkState(
-                            !Env.getCurrentColocateIndex().isColocateTable(tabletMeta.getTableId()),
-                            "should not be the colocate table");
-
-                    TStorageMedium medium = tabletMeta.getStorageMedium();
-                    Table<Long, Long, Map<Long, Long>> partitionReplicasInfo = partitionReplicasInfoMaps.get(medium);
-                    Map<Long, Long> countMap = partitionReplicasInfo.get(
-                            tabletMeta.getPartitionId(), tabletMeta.getIndexId());
-                    if (countMap == null) {
-                        // If one be doesn't have any replica of one partition, it should be counted too.
-                        countMap = availableBeIds.stream().collect(Collectors.toMap(i -> i, i -> 0L));
-                    }
+        for (Shard shard : shards) {
+            long stamp = shard.readLock();
+            try {
+                // tablet id -> (backend id -> replica)
+                for (PrimitiveEntry<LongObjectHashMap<Replica>> row : shard.replicaMetaTable.entries()) {
+                    long tabletId = row.key();
+                    for (PrimitiveEntry<Replica> cell : row.value().entries()) {
+                        long beId = cell.key();
+                        try {
+                            Preconditions.checkState(availableBeIds.contains(beId), "dead be " + beId);
+                            TabletMeta tabletMeta = shard.tabletMetaMap.get(tabletId);
+                            Preconditions.checkNotNull(tabletMeta, "invalid tablet " + tabletId);
+                            Preconditions.checkState(
+                                    !Env.getCurrentColocateIndex().isColocateTable(tabletMeta.getTableId()),
+                                    "should not be the colocate table");
+
+                            TStorageMedium medium = tabletMeta.getStorageMedium();
+                            Table<Long, Long, Map<Long, Long>> partitionReplicasInfo
+                                    = partitionReplicasInfoMaps.get(medium);
+                            Map<Long, Long> countMap = partitionReplicasInfo.get(
+                                    tabletMeta.getPartitionId(), tabletMeta.getIndexId());
+                            if (countMap == null) {
+                                // If one be doesn't have any replica of one partition, it should be counted too.
+                                countMap = availableBeIds.stream().collect(Collectors.toMap(i -> i, i -> 0L));
+                            }
 
-                    Long count = countMap.get(beId);
-                    countMap.put(beId, count + 1L);
-                    partitionReplicasInfo.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), countMap);
-                    partitionReplicasInfoMaps.put(medium, partitionReplicasInfo);
-                } catch (IllegalStateException | NullPointerException e) {
-                    // If the tablet or be has some problem, don't count in
-                    LOG.debug(e.getMessage());
+                            Long count = countMap.get(beId);
+                            countMap.put(beId, count + 1L);
+                            partitionReplicasInfo.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), countMap);
+                            partitionReplicasInfoMaps.put(medium, partitionReplicasInfo);
+                        } catch (IllegalStateException | NullPointerException e) {
+                            // If the tablet or be has some problem, don't count in
+                            LOG.debug(e.getMessage());
+                        }
+                    }
                 }
+            } finally {
+                shard.readUnlock(stamp);
             }
-        } finally {
-            readUnlock(stamp);
         }
 
         // 2. Populate ClusterBalanceInfo::table_info_by_skew
@@ -660,13 +815,39 @@ public class TabletInvertedIndex {
         }
     }
 
-    // just for ut
+    // just for ut, returns a copy of the index
     public Table<Long, Long, Replica> getReplicaMetaTable() {
+        Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
+        for (Shard shard : shards) {
+            long stamp = shard.readLock();
+            try {
+                for (PrimitiveEntry<LongObjectHashMap<Replica>> row : shard.replicaMetaTable.entries()) {
+                    for (PrimitiveEntry<Replica> cell : row.value().entries()) {
+                        replicaMetaTable.put(row.key(), cell.key(), cell.value());
+                    }
+                }
+            } finally {
+                shard.readUnlock(stamp);
+            }
+        }
         return replicaMetaTable;
     }
 
-    // just for ut
+    // just for ut, returns a copy of the index
     public Table<Long, Long, Replica> getBackingReplicaMetaTable() {
+        Table<Long, Long, Replica> backingReplicaMetaTable = HashBasedTable.create();
+        for (Shard shard : shards) {
+            long stamp = shard.readLock();
+            try {
+                for (PrimitiveEntry<LongObjectHashMap<Replica>> row : shard.backingReplicaMetaTable.entries()) {
+                    for (PrimitiveEntry<Replica> cell : row.value().entries()) {
+                        backingReplicaMetaTable.put(row.key(), cell.key(), cell.value());
+                    }
+                }
+            } finally {
+                shard.readUnlock(stamp);
+            }
+        }
         return backingReplicaMetaTable;
     }
 
@@ -675,8 +856,19 @@ public class TabletInvertedIndex {
         return tabletMetaTable;
     }
 
-    // just for ut
+    // just for ut, returns a copy of the index
     public Map<Long, TabletMeta> getTabletMetaMap() {
+        Map<Long, TabletMeta> tabletMetaMap = Maps.newHashMap();
+        for (Shard shard : shards) {
+            long stamp = shard.readLock();
+            try {
+                for (PrimitiveEntry<TabletMeta> entry : shard.tabletMetaMap.entries()) {
+                    tabletMetaMap.put(entry.key(), entry.value());
+                }
+            } finally {
+                shard.readUnlock(stamp);
+            }
+        }
         return tabletMetaMap;
     }
 
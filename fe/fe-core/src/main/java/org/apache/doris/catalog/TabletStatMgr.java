@@ -133,6 +133,9 @@ public class TabletStatMgr extends MasterDaemon {
                 if (invertedIndex.getTabletMeta(stat.getTabletId()) != null) {
                     Replica replica = invertedIndex.getReplica(stat.getTabletId(), beId);
                     if (replica != null) {
+                        if (replica.isTooManyVersionsChanged(stat.getVersionCount())) {
+                            Env.getCurrentEnv().getTabletChecker().markTabletDirty(stat.getTabletId());
+                        }
                         replica.updateStat(stat.getDataSize(), stat.getRemoteDataSize(), stat.getRowNum(),
                                 stat.getVersionCount());
                     }
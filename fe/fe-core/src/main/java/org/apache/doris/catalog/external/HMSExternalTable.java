@@ -157,8 +157,7 @@ public class HMSExternalTable extends ExternalTable {
                 if (fullSchema == null) {
                     fullSchema = Lists.newArrayList();
                     try {
-                        for (FieldSchema field : HiveMetaStoreClientHelper.getSchema(dbName, name,
-                                catalog.getHiveMetastoreUris())) {
+                        for (FieldSchema field : catalog.getMetaCache().getSchema(dbName, name)) {
                             fullSchema.add(new Column(field.getName(),
                                     HiveMetaStoreClientHelper.hiveTypeToDorisType(field.getType()), true, null, true,
                                     null, field.getComment()));
@@ -173,25 +172,29 @@ public class HMSExternalTable extends ExternalTable {
 
     /**
      * Get the related remote hive metastore table.
+     * The table is got from the meta cache of catalog, so the refreshed table will be returned
+     * after the cached one is refreshed.
      */
     public org.apache.hadoop.hive.metastore.api.Table getRemoteTable() throws MetaNotFoundException {
-        if (remoteTable == null) {
-            synchronized (this) {
-                if (remoteTable == null) {
-                    try {
-                        remoteTable = HiveMetaStoreClientHelper.getTable(dbName, name, catalog.getHiveMetastoreUris());
-                    } catch (DdlException e) {
-                        LOG.warn("Fail to get remote hive table. db {}, table {}, uri {}", dbName, name,
-                                catalog.getHiveMetastoreUris());
-                        throw new MetaNotFoundException(e);
-                    }
-                }
-            }
+        try {
+            remoteTable = catalog.getMetaCache().getTable(dbName, name);
+        } catch (DdlException e) {
+            LOG.warn("Fail to get remote hive table. db {}, table {}, uri {}", dbName, name,
+                    catalog.getHiveMetastoreUris());
+            throw new MetaNotFoundException(e);
         }
-        // TODO: Refresh cached remoteTable
         return remoteTable;
     }
 
+    /**
+     * Called by REFRESH TABLE, the table will be initialized again with the refreshed meta when it's accessed.
+     */
+    public synchronized void setUnInitialized() {
+        initialized = false;
+        remoteTable = null;
+        fullSchema = null;
+    }
+
     @Override
     public boolean isView() {
         return remoteTable.isSetViewOriginalText() || remoteTable.isSetViewExpandedText();
@@ -284,6 +287,10 @@ public class HMSExternalTable extends ExternalTable {
         return dbName;
     }
 
+    public HMSExternalCatalog getCatalog() {
+        return catalog;
+    }
+
     /**
      * get the dla type for scan node to get right information.
      */
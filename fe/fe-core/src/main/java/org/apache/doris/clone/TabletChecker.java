@@ -23,12 +23,15 @@ import org.apache.doris.catalog.Database;
 import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.MaterializedIndex;
 import org.apache.doris.catalog.MaterializedIndex.IndexExtState;
+import org.apache.doris.catalog.MaterializedIndex.IndexState;
 import org.apache.doris.catalog.OlapTable;
 import org.apache.doris.catalog.Partition;
 import org.apache.doris.catalog.Partition.PartitionState;
 import org.apache.doris.catalog.Table;
 import org.apache.doris.catalog.Tablet;
 import org.apache.doris.catalog.Tablet.TabletStatus;
+import org.apache.doris.catalog.TabletInvertedIndex;
+import org.apache.doris.catalog.TabletMeta;
 import org.apache.doris.clone.TabletScheduler.AddResult;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
@@ -49,6 +52,7 @@ import com.google.common.collect.Table.Cell;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -60,6 +64,11 @@ import java.util.stream.Collectors;
 /*
  * This checker is responsible for checking all unhealthy tablets.
  * It does not responsible for any scheduler of tablet repairing or balance
+ *
+ * All tablets are checked every Config.tablet_checker_full_check_interval_second.
+ * In the rounds between, only the dirty tablets are checked, which are marked when their replicas may be changed,
+ * eg, by tablet reports, heartbeats, decommission and ddl. A dirty tablet is checked in every round until
+ * it is healthy.
  */
 public class TabletChecker extends MasterDaemon {
     private static final Logger LOG = LogManager.getLogger(TabletChecker.class);
@@ -83,6 +92,13 @@ public class TabletChecker extends MasterDaemon {
     // priority of replicas of partitions in this table will be set to VERY_HIGH if not healthy
     private com.google.common.collect.Table<Long, Long, Set<PrioPart>> prios = HashBasedTable.create();
 
+    // the tablets, tables (db id -> tbl id) and backends whose tablets need to be checked in next round
+    private final Set<Long> dirtyTabletIds = Sets.newConcurrentHashSet();
+    private final Set<Pair<Long, Long>> dirtyTables = Sets.newConcurrentHashSet();
+    private final Set<Long> dirtyBackendIds = Sets.newConcurrentHashSet();
+
+    private long lastFullCheckTime = 0;
+
     // represent a partition which need to be repaired preferentially
     public static class PrioPart {
         public long partId;
@@ -171,6 +187,36 @@ public class TabletChecker extends MasterDaemon {
                 repairTabletInfo.dbId, repairTabletInfo.tblId, repairTabletInfo.partIds);
     }
 
+    /*
+     * Mark the tablets to be checked in next round, eg, when their replicas are changed.
+     * The dirty tablets are only tracked by master, a new master checks all tablets in the first round.
+     */
+    public void markTabletsDirty(Collection<Long> tabletIds) {
+        if (env.isMaster()) {
+            dirtyTabletIds.addAll(tabletIds);
+        }
+    }
+
+    public void markTabletDirty(long tabletId) {
+        if (env.isMaster()) {
+            dirtyTabletIds.add(tabletId);
+        }
+    }
+
+    // mark all tablets of the table, eg, when the replica allocation of the table is changed.
+    public void markTableDirty(long dbId, long tblId) {
+        if (env.isMaster()) {
+            dirtyTables.add(Pair.of(dbId, tblId));
+        }
+    }
+
+    // mark all tablets having replica on the backend, eg, when the backend is dead or decommissioned.
+    public void markBackendDirty(long backendId) {
+        if (env.isMaster()) {
+            dirtyBackendIds.add(backendId);
+        }
+    }
+
     private void removePrios(RepairTabletInfo repairTabletInfo) {
         Preconditions.checkArgument(!repairTabletInfo.partIds.isEmpty());
         synchronized (prios) {
@@ -192,7 +238,7 @@ public class TabletChecker extends MasterDaemon {
     }
 
     /*
-     * For each cycle, TabletChecker will check all OlapTable's tablet.
+     * For each cycle, TabletChecker will check all OlapTable's tablet, or only the dirty tablets.
      * If a tablet is not healthy, a TabletInfo will be created and sent to TabletScheduler for repairing.
      */
     @Override
@@ -206,7 +252,13 @@ public class TabletChecker extends MasterDaemon {
             return;
         }
 
-        checkTablets();
+        long now = System.currentTimeMillis();
+        if (now - lastFullCheckTime >= Config.tablet_checker_full_check_interval_second * 1000L) {
+            checkTablets(true);
+            stat.counterTabletFullCheckRound.incrementAndGet();
+        } else {
+            checkTablets(false);
+        }
 
         removePriosIfNecessary();
 
@@ -227,7 +279,15 @@ public class TabletChecker extends MasterDaemon {
         BREAK_OUT
     }
 
-    private void checkTablets() {
+    private enum TabletCheckStatus {
+        HEALTHY,
+        UNHEALTHY,
+        // unrecoverable or already in tablet scheduler
+        SKIPPED,
+        BREAK_OUT
+    }
+
+    private void checkTablets(boolean isFullCheck) {
         long start = System.currentTimeMillis();
         CheckerCounter counter = new CheckerCounter();
 
@@ -273,8 +333,43 @@ public class TabletChecker extends MasterDaemon {
         }
 
         // 2. Traverse other partitions not in "prios"
+        if (isFullCheck) {
+            // the dirty tables and backends are covered by the full check.
+            // the dirty tablets are kept, the unhealthy tablets are checked in every round until they are healthy.
+            dirtyTables.clear();
+            dirtyBackendIds.clear();
+            if (checkAllTablets(start, counter) == LoopControlStatus.CONTINUE) {
+                lastFullCheckTime = start;
+            } else {
+                // not all tablets are checked, do the full check again in next round
+                LOG.info("tablet checker is broken out, do the full check again in next round");
+            }
+        } else {
+            checkDirtyTablets(start, counter);
+        }
+
+        long cost = System.currentTimeMillis() - start;
+        stat.counterTabletCheckCostMs.addAndGet(cost);
+        stat.counterTabletChecked.addAndGet(counter.totalTabletNum);
+        stat.counterUnhealthyTabletNum.addAndGet(counter.unhealthyTabletNum);
+        stat.counterTabletAddToBeScheduled.addAndGet(counter.addToSchedulerTabletNum);
+
+        if (isFullCheck) {
+            // only the full check sees all tablets
+            tabletCountByStatus.get("unhealthy").set(counter.unhealthyTabletNum);
+            tabletCountByStatus.get("total").set(counter.totalTabletNum);
+            tabletCountByStatus.get("added").set(counter.addToSchedulerTabletNum);
+            tabletCountByStatus.get("in_sched").set(counter.tabletInScheduler);
+            tabletCountByStatus.get("not_ready").set(counter.tabletNotReady);
+        }
+
+        LOG.info("finished to check {} tablets. unhealth/total/added/in_sched/not_ready: {}/{}/{}/{}/{}, cost: {} ms",
+                isFullCheck ? "all" : "dirty", counter.unhealthyTabletNum, counter.totalTabletNum,
+                counter.addToSchedulerTabletNum, counter.tabletInScheduler, counter.tabletNotReady, cost);
+    }
+
+    private LoopControlStatus checkAllTablets(long start, CheckerCounter counter) {
         List<Long> dbIds = env.getInternalCatalog().getDbIds();
-        OUT:
         for (Long dbId : dbIds) {
             Database db = env.getInternalCatalog().getDbNullable(dbId);
             if (db == null) {
@@ -305,9 +400,7 @@ public class TabletChecker extends MasterDaemon {
                         LoopControlStatus st = handlePartitionTablet(db, tbl, partition, false,
                                 aliveBeIdsInCluster, start, counter);
                         if (st == LoopControlStatus.BREAK_OUT) {
-                            break OUT;
-                        } else {
-                            continue;
+                            return LoopControlStatus.BREAK_OUT;
                         }
                     } // partitions
                 } finally {
@@ -315,22 +408,139 @@ public class TabletChecker extends MasterDaemon {
                 }
             } // tables
         } // end for dbs
+        return LoopControlStatus.CONTINUE;
+    }
 
-        long cost = System.currentTimeMillis() - start;
-        stat.counterTabletCheckCostMs.addAndGet(cost);
-        stat.counterTabletChecked.addAndGet(counter.totalTabletNum);
-        stat.counterUnhealthyTabletNum.addAndGet(counter.unhealthyTabletNum);
-        stat.counterTabletAddToBeScheduled.addAndGet(counter.addToSchedulerTabletNum);
+    /*
+     * Check the dirty tablets, the tablets which are not healthy are still dirty and checked in next round,
+     * because they may not be added to tablet scheduler, or may be failed to be repaired.
+     */
+    private void checkDirtyTablets(long start, CheckerCounter counter) {
+        TabletInvertedIndex invertedIndex = Env.getCurrentInvertedIndex();
+        Set<Long> tabletIds = Sets.newHashSet();
+        drain(dirtyTabletIds, tabletIds);
+        List<Long> backendIds = Lists.newArrayList();
+        drain(dirtyBackendIds, backendIds);
+        for (long backendId : backendIds) {
+            tabletIds.addAll(invertedIndex.getTabletIdsByBackendId(backendId));
+        }
+        List<Pair<Long, Long>> tables = Lists.newArrayList();
+        drain(dirtyTables, tables);
+        for (Pair<Long, Long> dbTbl : tables) {
+            tabletIds.addAll(getTabletIdsOfTable(dbTbl.first, dbTbl.second));
+        }
+        if (tabletIds.isEmpty()) {
+            return;
+        }
+
+        // db id -> (tbl id -> tablet metas)
+        com.google.common.collect.Table<Long, Long, List<Pair<Long, TabletMeta>>> dbTblToTablets
+                = HashBasedTable.create();
+        for (long tabletId : tabletIds) {
+            TabletMeta tabletMeta = invertedIndex.getTabletMeta(tabletId);
+            if (tabletMeta == null) {
+                // the tablet is dropped
+                continue;
+            }
+            List<Pair<Long, TabletMeta>> tablets = dbTblToTablets.get(tabletMeta.getDbId(), tabletMeta.getTableId());
+            if (tablets == null) {
+                tablets = Lists.newArrayList();
+                dbTblToTablets.put(tabletMeta.getDbId(), tabletMeta.getTableId(), tablets);
+            }
+            tablets.add(Pair.of(tabletId, tabletMeta));
+        }
+
+        // the tablets which are not checked or not healthy are put back to the dirty tablets.
+        Set<Long> stillDirtyTabletIds = Sets.newHashSet(tabletIds);
+        OUT:
+        for (long dbId : dbTblToTablets.rowKeySet()) {
+            Database db = env.getInternalCatalog().getDbNullable(dbId);
+            if (db == null) {
+                continue;
+            }
+            List<Long> aliveBeIdsInCluster = infoService.getClusterBackendIds(db.getClusterName(), true);
+            for (Map.Entry<Long, List<Pair<Long, TabletMeta>>> tblEntry : dbTblToTablets.row(dbId).entrySet()) {
+                Table table = db.getTableNullable(tblEntry.getKey());
+                if (table == null) {
+                    continue;
+                }
+                table.readLock();
+                try {
+                    if (!table.needSchedule()) {
+                        // eg, the tablets of colocate table are checked by ColocateTableCheckerAndBalancer
+                        tblEntry.getValue().forEach(tabletWithMeta -> stillDirtyTabletIds.remove(tabletWithMeta.first));
+                        continue;
+                    }
+                    OlapTable tbl = (OlapTable) table;
+                    for (Pair<Long, TabletMeta> tabletWithMeta : tblEntry.getValue()) {
+                        long tabletId = tabletWithMeta.first;
+                        TabletMeta tabletMeta = tabletWithMeta.second;
+                        Partition partition = tbl.getPartition(tabletMeta.getPartitionId());
+                        if (partition == null) {
+                            stillDirtyTabletIds.remove(tabletId);
+                            continue;
+                        }
+                        if (isInPrios(dbId, tbl.getId(), partition.getId())) {
+                            // has been checked before, keep it dirty until it is removed from prios.
+                            continue;
+                        }
+                        if (partition.getState() != PartitionState.NORMAL) {
+                            // the table will be marked when the alter job is finished
+                            stillDirtyTabletIds.remove(tabletId);
+                            continue;
+                        }
+                        MaterializedIndex idx = partition.getIndex(tabletMeta.getIndexId());
+                        Tablet tablet = idx == null ? null : idx.getTablet(tabletId);
+                        if (tablet == null || idx.getState() == IndexState.SHADOW) {
+                            stillDirtyTabletIds.remove(tabletId);
+                            continue;
+                        }
+                        TabletCheckStatus st = checkTablet(db, tbl, partition, idx, tablet, false,
+                                aliveBeIdsInCluster, start, counter);
+                        if (st == TabletCheckStatus.BREAK_OUT) {
+                            break OUT;
+                        } else if (st == TabletCheckStatus.HEALTHY) {
+                            stillDirtyTabletIds.remove(tabletId);
+                        }
+                    }
+                } finally {
+                    table.readUnlock();
+                }
+            }
+        }
+        dirtyTabletIds.addAll(stillDirtyTabletIds);
+    }
 
-        tabletCountByStatus.get("unhealthy").set(counter.unhealthyTabletNum);
-        tabletCountByStatus.get("total").set(counter.totalTabletNum);
-        tabletCountByStatus.get("added").set(counter.addToSchedulerTabletNum);
-        tabletCountByStatus.get("in_sched").set(counter.tabletInScheduler);
-        tabletCountByStatus.get("not_ready").set(counter.tabletNotReady);
+    private static <T> void drain(Set<T> from, Collection<T> to) {
+        Iterator<T> iter = from.iterator();
+        while (iter.hasNext()) {
+            to.add(iter.next());
+            iter.remove();
+        }
+    }
 
-        LOG.info("finished to check tablets. unhealth/total/added/in_sched/not_ready: {}/{}/{}/{}/{}, cost: {} ms",
-                counter.unhealthyTabletNum, counter.totalTabletNum, counter.addToSchedulerTabletNum,
-                counter.tabletInScheduler, counter.tabletNotReady, cost);
+    private List<Long> getTabletIdsOfTable(long dbId, long tblId) {
+        List<Long> tabletIds = Lists.newArrayList();
+        Database db = env.getInternalCatalog().getDbNullable(dbId);
+        if (db == null) {
+            return tabletIds;
+        }
+        Table table = db.getTableNullable(tblId);
+        if (table == null || !(table instanceof OlapTable)) {
+            return tabletIds;
+        }
+        OlapTable tbl = (OlapTable) table;
+        tbl.readLock();
+        try {
+            for (Partition partition : tbl.getAllPartitions()) {
+                for (MaterializedIndex idx : partition.getMaterializedIndices(IndexExtState.VISIBLE)) {
+                    tabletIds.addAll(idx.getTabletIdsInOrder());
+                }
+            }
+        } finally {
+            tbl.readUnlock();
+        }
+        return tabletIds;
     }
 
     private LoopControlStatus handlePartitionTablet(Database db, OlapTable tbl, Partition partition, boolean isInPrios,
@@ -346,58 +556,18 @@ public class TabletChecker extends MasterDaemon {
          */
         for (MaterializedIndex idx : partition.getMaterializedIndices(IndexExtState.VISIBLE)) {
             for (Tablet tablet : idx.getTablets()) {
-                counter.totalTabletNum++;
-
-                if (tabletScheduler.containsTablet(tablet.getId())) {
-                    counter.tabletInScheduler++;
-                    continue;
+                TabletCheckStatus st = checkTablet(db, tbl, partition, idx, tablet, isInPrios,
+                        aliveBeIdsInCluster, startTime, counter);
+                // keep the tablet dirty until it is healthy, as checkDirtyTablets() does
+                if (st == TabletCheckStatus.HEALTHY) {
+                    dirtyTabletIds.remove(tablet.getId());
+                } else {
+                    dirtyTabletIds.add(tablet.getId());
                 }
-
-                Pair<TabletStatus, TabletSchedCtx.Priority> statusWithPrio = tablet.getHealthStatusWithPriority(
-                        infoService,
-                        db.getClusterName(),
-                        partition.getVisibleVersion(),
-                        tbl.getPartitionInfo().getReplicaAllocation(partition.getId()),
-                        aliveBeIdsInCluster);
-
-                if (statusWithPrio.first == TabletStatus.HEALTHY) {
-                    // Only set last status check time when status is healthy.
-                    tablet.setLastStatusCheckTime(startTime);
-                    continue;
-                } else if (statusWithPrio.first == TabletStatus.UNRECOVERABLE) {
-                    // This tablet is not recoverable, do not set it into tablet scheduler
-                    // all UNRECOVERABLE tablet can be seen from "show proc '/statistic'"
-                    counter.unhealthyTabletNum++;
-                    continue;
-                } else if (isInPrios) {
-                    statusWithPrio.second = TabletSchedCtx.Priority.VERY_HIGH;
-                    prioPartIsHealthy = false;
-                }
-
-                counter.unhealthyTabletNum++;
-
-                if (!tablet.readyToBeRepaired(statusWithPrio.second)) {
-                    counter.tabletNotReady++;
-                    continue;
-                }
-
-                TabletSchedCtx tabletCtx = new TabletSchedCtx(
-                        TabletSchedCtx.Type.REPAIR,
-                        db.getClusterName(),
-                        db.getId(), tbl.getId(),
-                        partition.getId(), idx.getId(), tablet.getId(),
-                        tbl.getPartitionInfo().getReplicaAllocation(partition.getId()),
-                        System.currentTimeMillis());
-                // the tablet status will be set again when being scheduled
-                tabletCtx.setTabletStatus(statusWithPrio.first);
-                tabletCtx.setOrigPriority(statusWithPrio.second);
-
-                AddResult res = tabletScheduler.addTablet(tabletCtx, false /* not force */);
-                if (res == AddResult.LIMIT_EXCEED || res == AddResult.DISABLED) {
-                    LOG.info("tablet scheduler return: {}. stop tablet checker", res.name());
+                if (st == TabletCheckStatus.BREAK_OUT) {
                     return LoopControlStatus.BREAK_OUT;
-                } else if (res == AddResult.ADDED) {
-                    counter.addToSchedulerTabletNum++;
+                } else if (st == TabletCheckStatus.UNHEALTHY) {
+                    prioPartIsHealthy = false;
                 }
             }
         } // indices
@@ -413,6 +583,64 @@ public class TabletChecker extends MasterDaemon {
         return LoopControlStatus.CONTINUE;
     }
 
+    private TabletCheckStatus checkTablet(Database db, OlapTable tbl, Partition partition, MaterializedIndex idx,
+            Tablet tablet, boolean isInPrios, List<Long> aliveBeIdsInCluster, long startTime,
+            CheckerCounter counter) {
+        counter.totalTabletNum++;
+
+        if (tabletScheduler.containsTablet(tablet.getId())) {
+            counter.tabletInScheduler++;
+            return TabletCheckStatus.SKIPPED;
+        }
+
+        Pair<TabletStatus, TabletSchedCtx.Priority> statusWithPrio = tablet.getHealthStatusWithPriority(
+                infoService,
+                db.getClusterName(),
+                partition.getVisibleVersion(),
+                tbl.getPartitionInfo().getReplicaAllocation(partition.getId()),
+                aliveBeIdsInCluster);
+
+        if (statusWithPrio.first == TabletStatus.HEALTHY) {
+            // Only set last status check time when status is healthy.
+            tablet.setLastStatusCheckTime(startTime);
+            return TabletCheckStatus.HEALTHY;
+        } else if (statusWithPrio.first == TabletStatus.UNRECOVERABLE) {
+            // This tablet is not recoverable, do not set it into tablet scheduler
+            // all UNRECOVERABLE tablet can be seen from "show proc '/statistic'"
+            counter.unhealthyTabletNum++;
+            return TabletCheckStatus.SKIPPED;
+        } else if (isInPrios) {
+            statusWithPrio.second = TabletSchedCtx.Priority.VERY_HIGH;
+        }
+
+        counter.unhealthyTabletNum++;
+
+        if (!tablet.readyToBeRepaired(statusWithPrio.second)) {
+            counter.tabletNotReady++;
+            return TabletCheckStatus.UNHEALTHY;
+        }
+
+        TabletSchedCtx tabletCtx = new TabletSchedCtx(
+                TabletSchedCtx.Type.REPAIR,
+                db.getClusterName(),
+                db.getId(), tbl.getId(),
+                partition.getId(), idx.getId(), tablet.getId(),
+                tbl.getPartitionInfo().getReplicaAllocation(partition.getId()),
+                System.currentTimeMillis());
+        // the tablet status will be set again when being scheduled
+        tabletCtx.setTabletStatus(statusWithPrio.first);
+        tabletCtx.setOrigPriority(statusWithPrio.second);
+
+        AddResult res = tabletScheduler.addTablet(tabletCtx, false /* not force */);
+        if (res == AddResult.LIMIT_EXCEED || res == AddResult.DISABLED) {
+            LOG.info("tablet scheduler return: {}. stop tablet checker", res.name());
+            return TabletCheckStatus.BREAK_OUT;
+        } else if (res == AddResult.ADDED) {
+            counter.addToSchedulerTabletNum++;
+        }
+        return TabletCheckStatus.UNHEALTHY;
+    }
+
     private boolean isInPrios(long dbId, long tblId, long partId) {
         synchronized (prios) {
             if (prios.contains(dbId, tblId)) {
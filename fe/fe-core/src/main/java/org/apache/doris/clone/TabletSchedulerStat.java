@@ -46,6 +46,8 @@ public class TabletSchedulerStat {
      */
     @StatField("num of tablet check round")
     public AtomicLong counterTabletCheckRound = new AtomicLong(0L);
+    @StatField("num of tablet check round checking all tablets")
+    public AtomicLong counterTabletFullCheckRound = new AtomicLong(0L);
     @StatField("cost of tablet check(ms)")
     public AtomicLong counterTabletCheckCostMs = new AtomicLong(0L);
     @StatField("num of tablet checked in tablet checker")
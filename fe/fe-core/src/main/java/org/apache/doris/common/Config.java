@@ -1767,4 +1767,164 @@ public class Config extends ConfigBase {
      */
     @ConfField(mutable = true)
     public static boolean enable_new_load_scan_node = false;
+
+    /**
+     * If set to true, the master FE will write edit logs in group commit mode.
+     * Concurrent edit log writes are collected into a batch, and the batch is written to
+     * the journal in one transaction by a dedicated thread. This can increase the edit log
+     * throughput when there are lots of concurrent loads and transactions.
+     */
+    @ConfField(masterOnly = true)
+    public static boolean enable_edit_log_group_commit = false;
+
+    /**
+     * The max number of edit logs in one group commit batch.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int edit_log_group_commit_max_batch_num = 256;
+
+    /**
+     * The max number of server side prepared statements in one connection.
+     */
+    @ConfField(mutable = true)
+    public static int max_prepared_stmt_count_per_connection = 1024;
+
+    /**
+     * The max number of entries of each kind of meta cache (table, schema, partition, file list...)
+     * of an external catalog.
+     */
+    @ConfField
+    public static long max_external_meta_cache_num = 100000;
+
+    /**
+     * Meta cache entries of external catalogs are expired after this time since they are loaded.
+     */
+    @ConfField
+    public static long external_meta_cache_expire_time_minutes = 1440; // 1 day
+
+    /**
+     * Meta cache entries of external catalogs are refreshed asynchronously when they are accessed
+     * after this time since they are loaded. The stale entry is returned before the refresh is done.
+     * Set to 0 to disable the async refresh.
+     */
+    @ConfField
+    public static long external_meta_cache_refresh_time_minutes = 10;
+
+    /**
+     * The thread num to refresh meta cache entries of external catalogs.
+     */
+    @ConfField
+    public static int max_external_meta_cache_loader_thread_num = 16;
+
+    /**
+     * The thread num to list files of the partitions of external tables in parallel when planning.
+     */
+    @ConfField
+    public static int max_external_file_list_thread_num = 32;
+
+    /**
+     * The thread num to handle reports of backends.
+     * Reports of one backend are handled in order by one thread, and reports of different backends
+     * are handled in parallel.
+     */
+    @ConfField(masterOnly = true)
+    public static int report_handler_thread_num = 8;
+
+    /**
+     * The max num of direct buffers cached to send mysql packets. Each buffer is 2MB, and is only held by
+     * a connection when it is sending data, so the cached buffers are shared by all connections.
+     */
+    @ConfField
+    public static int max_mysql_send_buffer_pool_num = 64;
+
+    /**
+     * The thread num of the parallel job scheduler of Nereids, which is shared by all queries.
+     * 0 means the number of processors.
+     */
+    @ConfField
+    public static int nereids_parallel_job_scheduler_thread_num = 0;
+
+    /**
+     * The bucket num of the equi-height histogram of a column, which is collected by statistics jobs
+     * from sampled rows and used by Nereids to estimate the selectivity of range and equal predicates.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int cbo_histogram_bucket_num = 128;
+
+    /**
+     * The max memory in MB of the result cache of fe, which is checked before fetching the sql cache from be.
+     * 0 means disable the result cache of fe.
+     */
+    @ConfField
+    public static long cache_fe_result_max_size_mb = 128;
+
+    /**
+     * The max num of parsed query templates cached by the sql parse cache,
+     * which is used when the session variable enable_sql_parse_cache is true.
+     */
+    @ConfField
+    public static long max_sql_parse_cache_num = 1024;
+
+    /**
+     * The policy to select the replica of a tablet to scan.
+     * round_robin: balance the scan ranges of a query among backends, without considering other queries.
+     * load_aware: also consider the running instances and recent latency of backends, which are shared by
+     * all queries of this frontend, and prefer the least loaded backend.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static String replica_selection_policy = "round_robin";
+
+    /**
+     * The half life in seconds of the latency part of the backend load score used by the load_aware
+     * replica selection policy. The score of a backend without new reports decays to that of an idle one.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static int backend_load_score_decay_second = 60;
+
+    /**
+     * The num of threads to write the meta modules of the image in parallel when doing checkpoint.
+     * Each module is written to a temp file under the image dir, and then appended to the image in order,
+     * so it needs extra disk space as large as the image. 1 means writing the modules one by one.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int checkpoint_image_write_thread_num = 1;
+
+    /**
+     * The num of threads to load the image in parallel, when FE starts or does checkpoint.
+     * Modules which do not depend on the catalog are loaded in parallel, and so are the databases,
+     * if their offsets are saved in the image. 1 means loading the image one module after another.
+     */
+    @ConfField(mutable = true)
+    public static int image_load_thread_num = 1;
+
+    /**
+     * The num of threads to replay journals in parallel, eg, by followers and observers.
+     * The journals of txn states and replicas are replayed by the thread of their database,
+     * and other journals wait for them to be replayed. 1 means replaying journals one by one.
+     */
+    @ConfField
+    public static int journal_replay_thread_num = 1;
+
+    /**
+     * The max num of stream load plans cached by FE, 0 means the cache is disabled.
+     * Small stream loads to the same table with the same load properties reuse the cached plan,
+     * instead of planning again, see StreamLoadPlanCache.
+     */
+    @ConfField
+    public static long stream_load_plan_cache_num = 0;
+
+    /**
+     * A cached stream load plan expires after this time, so that the following loads see the changes
+     * of the replicas of the table.
+     */
+    @ConfField
+    public static long stream_load_plan_cache_expire_second = 10;
+
+    /**
+     * The interval of checking all tablets by TabletChecker.
+     * Between two full checks, TabletChecker only checks the tablets whose replicas are changed,
+     * eg, by tablet reports, heartbeats, decommission and ddl. 0 means checking all tablets in every round.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long tablet_checker_full_check_interval_second = 300;
 }
@@ -0,0 +1,168 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * A hash map with primitive long keys and primitive long values, used to keep huge id mappings
+ * (eg. replica id -> tablet id) in catalog without boxing both keys and values.
+ * It uses open addressing with linear probing, and is not thread safe.
+ *
+ * Long.MIN_VALUE is reserved as the empty slot marker and can not be used as a key,
+ * which is fine for all ids generated by catalog.
+ */
+public class LongLongHashMap {
+    private static final long EMPTY_KEY = Long.MIN_VALUE;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+    private int mask;
+    private int maxSize;
+
+    public LongLongHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongLongHashMap(int expectedSize) {
+        Preconditions.checkArgument(expectedSize >= 0, "expected size must not be negative");
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = Math.max(2, (int) Math.ceil(expectedSize / LOAD_FACTOR));
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY_KEY);
+        values = new long[capacity];
+        mask = capacity - 1;
+        maxSize = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int indexOf(long key) {
+        // spread the bits, ids are usually continuous
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private int findSlot(long key) {
+        int index = indexOf(key);
+        while (keys[index] != EMPTY_KEY) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return key != EMPTY_KEY && findSlot(key) >= 0;
+    }
+
+    /**
+     * Returns the value of the key, or defaultValue if the key does not exist.
+     */
+    public long get(long key, long defaultValue) {
+        if (key == EMPTY_KEY) {
+            return defaultValue;
+        }
+        int slot = findSlot(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    public void put(long key, long value) {
+        Preconditions.checkArgument(key != EMPTY_KEY, "invalid key: " + key);
+        int index = indexOf(key);
+        while (keys[index] != EMPTY_KEY) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > maxSize) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Removes the key, returns true if the key existed.
+     */
+    public boolean remove(long key) {
+        if (key == EMPTY_KEY) {
+            return false;
+        }
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return false;
+        }
+        // shift back the following entries in the same probe sequence,
+        // so that no tombstone is needed.
+        int gap = slot;
+        int index = (gap + 1) & mask;
+        while (keys[index] != EMPTY_KEY) {
+            int ideal = indexOf(keys[index]);
+            // move the entry to the gap if its ideal slot is not in (gap, index]
+            if (((index - ideal) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[gap] = EMPTY_KEY;
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY_KEY);
+        size = 0;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(newCapacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
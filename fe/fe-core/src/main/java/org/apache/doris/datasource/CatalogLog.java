@@ -53,6 +53,12 @@ public class CatalogLog implements Writable {
     @SerializedName(value = "newProps")
     private Map<String, String> newProps;
 
+    @SerializedName(value = "dbName")
+    private String dbName;
+
+    @SerializedName(value = "tableName")
+    private String tableName;
+
     @Override
     public void write(DataOutput out) throws IOException {
         Text.writeString(out, GsonUtils.GSON.toJson(this));
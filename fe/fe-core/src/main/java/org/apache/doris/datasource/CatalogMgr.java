@@ -25,6 +25,9 @@ import org.apache.doris.analysis.RefreshCatalogStmt;
 import org.apache.doris.analysis.ShowCatalogStmt;
 import org.apache.doris.catalog.DatabaseIf;
 import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.TableIf;
+import org.apache.doris.catalog.external.ExternalDatabase;
+import org.apache.doris.catalog.external.HMSExternalTable;
 import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.ErrorCode;
@@ -102,6 +105,7 @@ public class CatalogMgr implements Writable, GsonPostProcessable {
             String catalogName = catalog.getName();
             if (!catalogName.equals(InternalCatalog.INTERNAL_CATALOG_NAME)) {
                 ((ExternalCatalog) catalog).setInitialized(false);
+                MetaObjCache.get().invalidateCatalog(catalogId);
             }
         }
     }
@@ -338,6 +342,50 @@ public class CatalogMgr implements Writable, GsonPostProcessable {
         }
     }
 
+    /**
+     * Refresh the meta of an external table, the cached meta of the table will be invalidated.
+     */
+    public void refreshExternalTable(String catalogName, String dbName, String tableName) throws DdlException {
+        CatalogIf catalog = nameToCatalog.get(catalogName);
+        if (catalog == null) {
+            throw new DdlException("No catalog found with name: " + catalogName);
+        }
+        if (!(catalog instanceof ExternalCatalog)) {
+            throw new DdlException("Only support refresh table in external catalog: " + catalogName);
+        }
+        CatalogLog log = new CatalogLog();
+        log.setCatalogId(catalog.getId());
+        log.setDbName(dbName);
+        log.setTableName(tableName);
+        replayRefreshExternalTable(log);
+        Env.getCurrentEnv().getEditLog().logCatalogLog(OperationType.OP_REFRESH_EXTERNAL_TABLE, log);
+    }
+
+    /**
+     * Reply for refresh external table event.
+     */
+    public void replayRefreshExternalTable(CatalogLog log) {
+        ExternalCatalog catalog = (ExternalCatalog) idToCatalog.get(log.getCatalogId());
+        if (catalog == null) {
+            return;
+        }
+        MetaObjCache.get().invalidateTable(log.getCatalogId(), log.getDbName(), log.getTableName());
+        // tables which are not loaded yet will be initialized with the new meta when they are accessed
+        if (!catalog.isInitialized()) {
+            return;
+        }
+        ExternalDatabase db = catalog.getDbNullable(log.getDbName());
+        if (db == null) {
+            return;
+        }
+        TableIf table = db.getTableNullable(log.getTableName());
+        if (table instanceof HMSExternalTable) {
+            ((HMSExternalTable) table).setUnInitialized();
+        }
+        LOG.info("refresh external table {}.{} in catalog {}", log.getDbName(), log.getTableName(),
+                catalog.getName());
+    }
+
     /**
      * Reply for create catalog event.
      */
@@ -358,6 +406,7 @@ public class CatalogMgr implements Writable, GsonPostProcessable {
         writeLock();
         try {
             removeCatalog(log.getCatalogId());
+            MetaObjCache.get().invalidateCatalog(log.getCatalogId());
         } finally {
             writeUnlock();
         }
@@ -401,6 +450,8 @@ public class CatalogMgr implements Writable, GsonPostProcessable {
         try {
             CatalogIf catalog = idToCatalog.get(log.getCatalogId());
             catalog.modifyCatalogProps(log.getNewProps());
+            // the meta store may be changed
+            MetaObjCache.get().invalidateCatalog(log.getCatalogId());
         } finally {
             writeUnlock();
         }
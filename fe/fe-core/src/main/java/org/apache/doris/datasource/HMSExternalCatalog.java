@@ -21,6 +21,7 @@ import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.external.ExternalDatabase;
 import org.apache.doris.catalog.external.HMSExternalDatabase;
 import org.apache.doris.cluster.ClusterNamespace;
+import org.apache.doris.common.DdlException;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -29,7 +30,6 @@ import org.apache.hadoop.hive.metastore.HiveMetaStoreClient;
 import org.apache.hadoop.hive.metastore.api.MetaException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.thrift.TException;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
@@ -110,8 +110,8 @@ public class HMSExternalCatalog extends ExternalCatalog {
     @Override
     public List<String> listTableNames(SessionContext ctx, String dbName) {
         try {
-            return client.getAllTables(getRealTableName(dbName));
-        } catch (MetaException e) {
+            return getMetaCache().getTableNames(getRealTableName(dbName));
+        } catch (DdlException e) {
             LOG.warn("List Table Names failed. {}", e.getMessage());
         }
         return Lists.newArrayList();
@@ -120,13 +120,17 @@ public class HMSExternalCatalog extends ExternalCatalog {
     @Override
     public boolean tableExist(SessionContext ctx, String dbName, String tblName) {
         try {
-            return client.tableExists(getRealTableName(dbName), tblName);
-        } catch (TException e) {
+            return getMetaCache().getTableNames(getRealTableName(dbName)).contains(tblName);
+        } catch (DdlException e) {
             LOG.warn("Check table exist failed. {}", e.getMessage());
         }
         return false;
     }
 
+    public HiveMetaCache getMetaCache() {
+        return MetaObjCache.get().getHiveMetaCache(this);
+    }
+
     @Nullable
     @Override
     public ExternalDatabase getDbNullable(String dbName) {
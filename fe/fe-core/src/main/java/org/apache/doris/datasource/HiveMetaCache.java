@@ -0,0 +1,535 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource;
+
+import org.apache.doris.catalog.HiveMetaStoreClientHelper;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.DdlException;
+import org.apache.doris.external.hive.util.HiveUtil;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hdfs.HdfsConfiguration;
+import org.apache.hadoop.hive.metastore.HiveMetaStoreClient;
+import org.apache.hadoop.hive.metastore.Warehouse;
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
+import org.apache.hadoop.hive.metastore.api.Partition;
+import org.apache.hadoop.hive.metastore.api.Table;
+import org.apache.hadoop.hive.ql.exec.SerializationUtilities;
+import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.InputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.thrift.TException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Meta cache of a hive metastore catalog.
+ * It caches table names, tables, schemas, partition names, partitions and the file splits of
+ * partition locations, so that planning a query doesn't need to access the metastore and
+ * the file system every time.
+ * Entries are refreshed asynchronously after Config.external_meta_cache_refresh_time_minutes and
+ * expired after Config.external_meta_cache_expire_time_minutes. They can also be invalidated by
+ * REFRESH CATALOG and REFRESH TABLE.
+ */
+public class HiveMetaCache {
+    private static final Logger LOG = LogManager.getLogger(HiveMetaCache.class);
+
+    public static final String TABLE_NAMES = "table_names";
+    public static final String TABLE = "table";
+    public static final String SCHEMA = "schema";
+    public static final String PARTITION_NAMES = "partition_names";
+    public static final String PARTITION = "partition";
+    public static final String PRUNED_PARTITION = "pruned_partition";
+    public static final String FILE = "file";
+    public static final ImmutableList<String> CACHE_NAMES = ImmutableList.of(TABLE_NAMES, TABLE, SCHEMA,
+            PARTITION_NAMES, PARTITION, PRUNED_PARTITION, FILE);
+
+    // max number of idle clients kept in the client pool
+    private static final int MAX_IDLE_CLIENT_NUM = 8;
+
+    private final HMSExternalCatalog catalog;
+    private final Queue<HiveMetaStoreClient> clientPool = new ConcurrentLinkedQueue<>();
+
+    // db name -> table names
+    private final LoadingCache<String, List<String>> tableNamesCache;
+    private final LoadingCache<TableCacheKey, Table> tableCache;
+    private final LoadingCache<TableCacheKey, List<FieldSchema>> schemaCache;
+    private final LoadingCache<TableCacheKey, List<String>> partitionNamesCache;
+    private final LoadingCache<PartitionCacheKey, Partition> partitionCache;
+    // partition filter -> names of the partitions which match the filter
+    private final LoadingCache<PartitionFilterKey, List<String>> prunedPartitionNamesCache;
+    private final LoadingCache<FileCacheKey, List<InputSplit>> fileCache;
+
+    public HiveMetaCache(HMSExternalCatalog catalog, Executor refreshExecutor) {
+        this.catalog = catalog;
+        tableNamesCache = newCache(refreshExecutor, CacheLoader.from(this::loadTableNames));
+        tableCache = newCache(refreshExecutor, CacheLoader.from(this::loadTable));
+        schemaCache = newCache(refreshExecutor, CacheLoader.from(this::loadSchema));
+        partitionNamesCache = newCache(refreshExecutor, CacheLoader.from(this::loadPartitionNames));
+        partitionCache = newCache(refreshExecutor, new CacheLoader<PartitionCacheKey, Partition>() {
+            @Override
+            public Partition load(PartitionCacheKey key) {
+                return loadPartition(key);
+            }
+
+            @Override
+            public Map<PartitionCacheKey, Partition> loadAll(Iterable<? extends PartitionCacheKey> keys) {
+                return loadPartitions(keys);
+            }
+        });
+        prunedPartitionNamesCache = newCache(refreshExecutor, CacheLoader.from(this::loadPrunedPartitionNames));
+        fileCache = newCache(refreshExecutor, CacheLoader.from(this::loadFiles));
+    }
+
+    private static <K, V> LoadingCache<K, V> newCache(Executor refreshExecutor, CacheLoader<K, V> loader) {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+                .maximumSize(Config.max_external_meta_cache_num)
+                .expireAfterWrite(Config.external_meta_cache_expire_time_minutes, TimeUnit.MINUTES)
+                .recordStats();
+        // refresh is meaningless if the entry is expired before it
+        if (Config.external_meta_cache_refresh_time_minutes > 0
+                && Config.external_meta_cache_refresh_time_minutes < Config.external_meta_cache_expire_time_minutes) {
+            builder.refreshAfterWrite(Config.external_meta_cache_refresh_time_minutes, TimeUnit.MINUTES);
+        }
+        return builder.build(CacheLoader.asyncReloading(loader, refreshExecutor));
+    }
+
+    public List<String> getTableNames(String dbName) throws DdlException {
+        return get(tableNamesCache, dbName);
+    }
+
+    public Table getTable(String dbName, String tblName) throws DdlException {
+        return get(tableCache, new TableCacheKey(dbName, tblName));
+    }
+
+    public List<FieldSchema> getSchema(String dbName, String tblName) throws DdlException {
+        return get(schemaCache, new TableCacheKey(dbName, tblName));
+    }
+
+    public List<String> getPartitionNames(String dbName, String tblName) throws DdlException {
+        return get(partitionNamesCache, new TableCacheKey(dbName, tblName));
+    }
+
+    /**
+     * Get the partitions of table which match the partition predicate.
+     * The predicate is evaluated by the metastore only when the result of the same predicate is not cached,
+     * and the partitions are read from the partition cache.
+     * The cached partition names may contain partitions which have been dropped, they are skipped.
+     */
+    public List<Partition> getPartitions(String dbName, String tblName, ExprNodeGenericFuncDesc predicate)
+            throws DdlException {
+        List<String> partitionNames = get(prunedPartitionNamesCache,
+                new PartitionFilterKey(dbName, tblName, predicate));
+        List<PartitionCacheKey> keys = Lists.newArrayListWithCapacity(partitionNames.size());
+        for (String partitionName : partitionNames) {
+            keys.add(new PartitionCacheKey(dbName, tblName, partitionName));
+        }
+        Map<PartitionCacheKey, Partition> partitions = Maps.newHashMap(partitionCache.getAllPresent(keys));
+        List<PartitionCacheKey> missingKeys = keys.stream().filter(key -> !partitions.containsKey(key))
+                .collect(Collectors.toList());
+        if (!missingKeys.isEmpty()) {
+            // Not use partitionCache.getAll(), which fails if any partition is not found.
+            Map<PartitionCacheKey, Partition> loadedPartitions;
+            try {
+                loadedPartitions = loadPartitions(missingKeys);
+            } catch (CacheException | UncheckedExecutionException e) {
+                throw new DdlException("Failed to get partitions of " + dbName + "." + tblName + ": "
+                        + e.getMessage(), e);
+            }
+            partitionCache.putAll(loadedPartitions);
+            partitions.putAll(loadedPartitions);
+            if (loadedPartitions.size() < missingKeys.size()) {
+                LOG.info("skip {} dropped partitions of table {}.{} in catalog {}",
+                        missingKeys.size() - loadedPartitions.size(), dbName, tblName, catalog.getName());
+            }
+        }
+        List<Partition> result = Lists.newArrayListWithCapacity(partitions.size());
+        for (PartitionCacheKey key : keys) {
+            Partition partition = partitions.get(key);
+            if (partition != null) {
+                result.add(partition);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the file splits under the location. Files in sub directories are also included.
+     * The modification time of the partition (or table) is part of the cache key, so the splits will be
+     * listed again after the partition is modified, even if the cached splits are not expired.
+     */
+    public List<InputSplit> getSplits(String location, String inputFormat, long modificationTime)
+            throws DdlException {
+        return get(fileCache, new FileCacheKey(location, inputFormat, modificationTime));
+    }
+
+    private static <K, V> V get(LoadingCache<K, V> cache, K key) throws DdlException {
+        try {
+            return cache.get(key);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new DdlException(e.getCause().getMessage(), e);
+        }
+    }
+
+    public void invalidateTable(String dbName, String tblName) {
+        TableCacheKey key = new TableCacheKey(dbName, tblName);
+        // the files are cached by locations, collect the locations of the table and its cached partitions
+        // before they are invalidated.
+        Set<String> locations = Sets.newHashSet();
+        Table table = tableCache.getIfPresent(key);
+        if (table != null && table.getSd() != null && table.getSd().getLocation() != null) {
+            locations.add(table.getSd().getLocation());
+        }
+        partitionCache.asMap().forEach((k, partition) -> {
+            if (k.dbName.equals(dbName) && k.tblName.equals(tblName)
+                    && partition.getSd() != null && partition.getSd().getLocation() != null) {
+                locations.add(partition.getSd().getLocation());
+            }
+        });
+
+        tableCache.invalidate(key);
+        schemaCache.invalidate(key);
+        partitionNamesCache.invalidate(key);
+        partitionCache.asMap().keySet().removeIf(k -> k.dbName.equals(dbName) && k.tblName.equals(tblName));
+        prunedPartitionNamesCache.asMap().keySet().removeIf(
+                k -> k.dbName.equals(dbName) && k.tblName.equals(tblName));
+        // the partitions are usually under the location of the table, but they may be anywhere
+        if (!locations.isEmpty()) {
+            fileCache.asMap().keySet().removeIf(k -> isUnderLocations(k.location, locations));
+        }
+    }
+
+    private static boolean isUnderLocations(String path, Set<String> locations) {
+        for (String location : locations) {
+            if (path.equals(location) || path.startsWith(location.endsWith("/") ? location : location + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void invalidateAll() {
+        tableNamesCache.invalidateAll();
+        tableCache.invalidateAll();
+        schemaCache.invalidateAll();
+        partitionNamesCache.invalidateAll();
+        partitionCache.invalidateAll();
+        prunedPartitionNamesCache.invalidateAll();
+        fileCache.invalidateAll();
+        HiveMetaStoreClient client;
+        while ((client = clientPool.poll()) != null) {
+            client.close();
+        }
+    }
+
+    public CacheStats getStats(String cacheName) {
+        switch (cacheName) {
+            case TABLE_NAMES:
+                return tableNamesCache.stats();
+            case TABLE:
+                return tableCache.stats();
+            case SCHEMA:
+                return schemaCache.stats();
+            case PARTITION_NAMES:
+                return partitionNamesCache.stats();
+            case PARTITION:
+                return partitionCache.stats();
+            case PRUNED_PARTITION:
+                return prunedPartitionNamesCache.stats();
+            case FILE:
+                return fileCache.stats();
+            default:
+                throw new IllegalArgumentException("Unknown cache: " + cacheName);
+        }
+    }
+
+    private List<String> loadTableNames(String dbName) {
+        return callMetaStore(client -> client.getAllTables(dbName));
+    }
+
+    private Table loadTable(TableCacheKey key) {
+        return callMetaStore(client -> client.getTable(key.dbName, key.tblName));
+    }
+
+    private List<FieldSchema> loadSchema(TableCacheKey key) {
+        return callMetaStore(client -> client.getSchema(key.dbName, key.tblName));
+    }
+
+    private List<String> loadPartitionNames(TableCacheKey key) {
+        return callMetaStore(client -> client.listPartitionNames(key.dbName, key.tblName, (short) -1));
+    }
+
+    private Partition loadPartition(PartitionCacheKey key) {
+        return callMetaStore(client -> client.getPartition(key.dbName, key.tblName, key.partitionName));
+    }
+
+    private Map<PartitionCacheKey, Partition> loadPartitions(Iterable<? extends PartitionCacheKey> keys) {
+        // all keys are of the same table, see getPartitions()
+        List<PartitionCacheKey> keyList = Lists.newArrayList(keys);
+        if (keyList.isEmpty()) {
+            return Maps.newHashMap();
+        }
+        PartitionCacheKey first = keyList.get(0);
+        List<String> partitionNames = Lists.newArrayListWithCapacity(keyList.size());
+        for (PartitionCacheKey key : keyList) {
+            partitionNames.add(key.partitionName);
+        }
+        Table table = getTableUnchecked(first.dbName, first.tblName);
+        List<Partition> partitions = callMetaStore(
+                client -> client.getPartitionsByNames(first.dbName, first.tblName, partitionNames));
+        Map<PartitionCacheKey, Partition> result = Maps.newHashMapWithExpectedSize(partitions.size());
+        for (Partition partition : partitions) {
+            result.put(new PartitionCacheKey(first.dbName, first.tblName,
+                    makePartitionName(table, partition)), partition);
+        }
+        return result;
+    }
+
+    private List<String> loadPrunedPartitionNames(PartitionFilterKey key) {
+        List<Partition> partitions = new ArrayList<>();
+        callMetaStore(client -> client.listPartitionsByExpr(key.dbName, key.tblName,
+                SerializationUtilities.serializeExpressionToKryo(key.predicate), null, (short) -1, partitions));
+        Table table = getTableUnchecked(key.dbName, key.tblName);
+        List<String> partitionNames = Lists.newArrayListWithCapacity(partitions.size());
+        for (Partition partition : partitions) {
+            String partitionName = makePartitionName(table, partition);
+            partitionNames.add(partitionName);
+            // the partitions are fetched anyway, so put them into cache for later use
+            partitionCache.put(new PartitionCacheKey(key.dbName, key.tblName, partitionName), partition);
+        }
+        return partitionNames;
+    }
+
+    private List<InputSplit> loadFiles(FileCacheKey key) {
+        Configuration configuration = new HdfsConfiguration();
+        for (Map.Entry<String, String> entry : catalog.getCatalogProperty().getDfsProperties().entrySet()) {
+            configuration.set(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, String> entry : catalog.getCatalogProperty().getS3Properties().entrySet()) {
+            configuration.set(entry.getKey(), entry.getValue());
+        }
+        try {
+            InputFormat<?, ?> inputFormat = HiveUtil.getInputFormat(configuration, key.inputFormat, false);
+            JobConf jobConf = new JobConf(configuration);
+            // For Tez engine, it may generate subdirectories for "union" query.
+            // So there may be files and directories in the table directory at the same time.
+            // We need to set this config to support visit dir recursively.
+            // Otherwise, getSplits() may throw exception: "Not a file xxx"
+            jobConf.set("mapreduce.input.fileinputformat.input.dir.recursive", "true");
+            FileInputFormat.setInputPaths(jobConf, key.location);
+            InputSplit[] splits = inputFormat.getSplits(jobConf, 0);
+            return Lists.newArrayList(splits);
+        } catch (Exception e) {
+            LOG.warn("Failed to get splits of location {} in catalog {}", key.location, catalog.getName(), e);
+            throw new CacheException("Failed to get splits of location %s: %s", e, key.location, e.getMessage());
+        }
+    }
+
+    private Table getTableUnchecked(String dbName, String tblName) {
+        return tableCache.getUnchecked(new TableCacheKey(dbName, tblName));
+    }
+
+    private static String makePartitionName(Table table, Partition partition) {
+        try {
+            return Warehouse.makePartName(table.getPartitionKeys(), partition.getValues());
+        } catch (TException e) {
+            throw new CacheException("Failed to make partition name of table %s: %s", e,
+                    table.getTableName(), e.getMessage());
+        }
+    }
+
+    private interface MetaStoreCall<T> {
+        T call(HiveMetaStoreClient client) throws TException;
+    }
+
+    // Clients are reused, because creating a client needs to connect to the metastore.
+    // A client which met an exception is closed rather than returned to the pool.
+    private <T> T callMetaStore(MetaStoreCall<T> call) {
+        HiveMetaStoreClient client = clientPool.poll();
+        try {
+            if (client == null) {
+                client = HiveMetaStoreClientHelper.getClient(catalog.getHiveMetastoreUris());
+            }
+            T result = call.call(client);
+            if (clientPool.size() < MAX_IDLE_CLIENT_NUM) {
+                clientPool.offer(client);
+            } else {
+                client.close();
+            }
+            return result;
+        } catch (DdlException | TException e) {
+            if (client != null) {
+                client.close();
+            }
+            LOG.warn("Hive metastore call failed in catalog {}", catalog.getName(), e);
+            throw new CacheException("Hive metastore call failed: %s", e, e.getMessage());
+        }
+    }
+
+    /**
+     * Exception thrown by the cache loaders, it will be converted to DdlException for the callers.
+     */
+    public static class CacheException extends RuntimeException {
+        public CacheException(String format, Throwable cause, Object... args) {
+            super(String.format(format, args), cause);
+        }
+    }
+
+    private static class TableCacheKey {
+        private final String dbName;
+        private final String tblName;
+
+        TableCacheKey(String dbName, String tblName) {
+            this.dbName = dbName;
+            this.tblName = tblName;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TableCacheKey)) {
+                return false;
+            }
+            TableCacheKey other = (TableCacheKey) obj;
+            return dbName.equals(other.dbName) && tblName.equals(other.tblName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dbName, tblName);
+        }
+    }
+
+    private static class PartitionCacheKey {
+        private final String dbName;
+        private final String tblName;
+        private final String partitionName;
+
+        PartitionCacheKey(String dbName, String tblName, String partitionName) {
+            this.dbName = dbName;
+            this.tblName = tblName;
+            this.partitionName = partitionName;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof PartitionCacheKey)) {
+                return false;
+            }
+            PartitionCacheKey other = (PartitionCacheKey) obj;
+            return dbName.equals(other.dbName) && tblName.equals(other.tblName)
+                    && partitionName.equals(other.partitionName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dbName, tblName, partitionName);
+        }
+    }
+
+    // The predicate is compared by its string, which is generated by hive and stable for the same predicate.
+    private static class PartitionFilterKey {
+        private final String dbName;
+        private final String tblName;
+        private final ExprNodeGenericFuncDesc predicate;
+        private final String predicateString;
+
+        PartitionFilterKey(String dbName, String tblName, ExprNodeGenericFuncDesc predicate) {
+            this.dbName = dbName;
+            this.tblName = tblName;
+            this.predicate = predicate;
+            this.predicateString = predicate.getExprString();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof PartitionFilterKey)) {
+                return false;
+            }
+            PartitionFilterKey other = (PartitionFilterKey) obj;
+            return dbName.equals(other.dbName) && tblName.equals(other.tblName)
+                    && predicateString.equals(other.predicateString);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dbName, tblName, predicateString);
+        }
+    }
+
+    private static class FileCacheKey {
+        private final String location;
+        private final String inputFormat;
+        private final long modificationTime;
+
+        FileCacheKey(String location, String inputFormat, long modificationTime) {
+            this.location = location;
+            this.inputFormat = inputFormat;
+            this.modificationTime = modificationTime;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof FileCacheKey)) {
+                return false;
+            }
+            FileCacheKey other = (FileCacheKey) obj;
+            return location.equals(other.location) && inputFormat.equals(other.inputFormat)
+                    && modificationTime == other.modificationTime;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(location, inputFormat, modificationTime);
+        }
+    }
+}
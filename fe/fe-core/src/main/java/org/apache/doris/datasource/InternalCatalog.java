@@ -154,6 +154,7 @@ import org.apache.doris.persist.PartitionPersistInfo;
 import org.apache.doris.persist.RecoverInfo;
 import org.apache.doris.persist.ReplicaPersistInfo;
 import org.apache.doris.persist.TruncateTableInfo;
+import org.apache.doris.persist.meta.MetaBlocks;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.resource.Tag;
 import org.apache.doris.system.Backend;
@@ -330,8 +331,9 @@ public class InternalCatalog implements CatalogIf<Database> {
             return;
         }
 
-        // create inverted index
-        TabletInvertedIndex invertedIndex = Env.getCurrentInvertedIndex();
+        // create inverted index, tablets of all indexes are collected first and then added in parallel shards
+        long start = System.currentTimeMillis();
+        List<Pair<TabletMeta, List<Tablet>>> tabletsOfIndexes = Lists.newArrayList();
         for (Database db : this.fullNameToDb.values()) {
             long dbId = db.getId();
             for (Table table : db.getTables()) {
@@ -350,17 +352,14 @@ public class InternalCatalog implements CatalogIf<Database> {
                         long indexId = index.getId();
                         int schemaHash = olapTable.getSchemaHashByIndexId(indexId);
                         TabletMeta tabletMeta = new TabletMeta(dbId, tableId, partitionId, indexId, schemaHash, medium);
-                        for (Tablet tablet : index.getTablets()) {
-                            long tabletId = tablet.getId();
-                            invertedIndex.addTablet(tabletId, tabletMeta);
-                            for (Replica replica : tablet.getReplicas()) {
-                                invertedIndex.addReplica(tabletId, replica);
-                            }
-                        }
+                        tabletsOfIndexes.add(Pair.of(tabletMeta, index.getTablets()));
                     } // end for indices
                 } // end for partitions
             } // end for tables
         } // end for dbs
+        Env.getCurrentInvertedIndex().addTablets(tabletsOfIndexes);
+        LOG.info("finished to recreate tablet inverted index of {} indexes in {} ms",
+                tabletsOfIndexes.size(), System.currentTimeMillis() - start);
     }
 
     /**
@@ -3244,18 +3243,24 @@ public class InternalCatalog implements CatalogIf<Database> {
             // Don't write information_schema db meta
             if (!InfoSchemaDb.isInfoSchemaDb(dbName)) {
                 checksum ^= entry.getKey();
+                MetaBlocks.markBlock(dos);
                 db.write(dos);
             }
         }
+        MetaBlocks.markBlock(dos);
         return checksum;
     }
 
     public long loadDb(DataInputStream dis, long checksum) throws IOException, DdlException {
         int dbCount = dis.readInt();
         long newChecksum = checksum ^ dbCount;
-        for (long i = 0; i < dbCount; ++i) {
+        // databases may be read in parallel, if the offsets of them are saved in the image
+        List<Database> dbs = MetaBlocks.readBlocks(dis, dbCount, in -> {
             Database db = new Database();
-            db.readFields(dis);
+            db.readFields(in);
+            return db;
+        });
+        for (Database db : dbs) {
             newChecksum ^= db.getId();
             idToDb.put(db.getId(), db);
             fullNameToDb.put(db.getFullName(), db);
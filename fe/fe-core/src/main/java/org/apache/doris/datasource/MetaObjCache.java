@@ -17,11 +17,35 @@
 
 package org.apache.doris.datasource;
 
+import org.apache.doris.common.Config;
+import org.apache.doris.common.ThreadPoolManager;
+
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.Maps;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
 /**
  * MetaObjCache caches and manages all meta objects fetched from external catalogs.
  * So that we don't need to get meta objects every time.
  */
 public class MetaObjCache {
+    private static final Logger LOG = LogManager.getLogger(MetaObjCache.class);
+
+    // catalog id -> meta cache of the catalog
+    private final Map<Long, HiveMetaCache> hiveMetaCaches = Maps.newConcurrentMap();
+    // executor to refresh the cache entries asynchronously
+    private final ExecutorService refreshExecutor = ThreadPoolManager.newDaemonFixedThreadPool(
+            Config.max_external_meta_cache_loader_thread_num, Config.max_external_meta_cache_loader_thread_num * 100,
+            "external-meta-cache-loader", true);
+    // executor to list files of partitions in parallel when planning
+    private final ExecutorService fileListExecutor = ThreadPoolManager.newDaemonFixedThreadPool(
+            Config.max_external_file_list_thread_num, Config.max_external_file_list_thread_num * 100,
+            "external-file-list", true);
+
     private static class SingletonHolder {
         private static final MetaObjCache INSTANCE = new MetaObjCache();
     }
@@ -29,4 +53,42 @@ public class MetaObjCache {
     public static MetaObjCache get() {
         return SingletonHolder.INSTANCE;
     }
+
+    public HiveMetaCache getHiveMetaCache(HMSExternalCatalog catalog) {
+        return hiveMetaCaches.computeIfAbsent(catalog.getId(), id -> new HiveMetaCache(catalog, refreshExecutor));
+    }
+
+    public ExecutorService getFileListExecutor() {
+        return fileListExecutor;
+    }
+
+    /**
+     * Invalidate all cached meta objects of the catalog, called when catalog is refreshed or dropped.
+     */
+    public void invalidateCatalog(long catalogId) {
+        HiveMetaCache cache = hiveMetaCaches.remove(catalogId);
+        if (cache != null) {
+            cache.invalidateAll();
+            LOG.info("invalidate meta cache of catalog {}", catalogId);
+        }
+    }
+
+    public void invalidateTable(long catalogId, String dbName, String tblName) {
+        HiveMetaCache cache = hiveMetaCaches.get(catalogId);
+        if (cache != null) {
+            cache.invalidateTable(dbName, tblName);
+            LOG.info("invalidate meta cache of table {}.{} in catalog {}", dbName, tblName, catalogId);
+        }
+    }
+
+    /**
+     * Get the sum of stats of the specified cache in all catalogs, used for metrics.
+     */
+    public CacheStats getStats(String cacheName) {
+        CacheStats stats = new CacheStats(0, 0, 0, 0, 0, 0);
+        for (HiveMetaCache cache : hiveMetaCaches.values()) {
+            stats = stats.plus(cache.getStats(cacheName));
+        }
+        return stats;
+    }
 }
@@ -0,0 +1,111 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.journal;
+
+import org.apache.doris.common.io.DataOutputBuffer;
+import org.apache.doris.common.io.Writable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * A batch of journals which will be written to the journal in one transaction.
+ * The journal ids of the entities are continuous, started from the id returned by Journal.write(JournalBatch).
+ */
+public class JournalBatch {
+    private static final int OUTPUT_BUFFER_INIT_SIZE = 128;
+
+    private final List<Entity> entities;
+    private long size = 0;
+
+    public JournalBatch() {
+        entities = new ArrayList<>();
+    }
+
+    public JournalBatch(int capacity) {
+        entities = new ArrayList<>(capacity);
+    }
+
+    public void addJournal(short op, Writable data) throws IOException {
+        addJournal(new Entity(op, data));
+    }
+
+    public void addJournal(Entity entity) {
+        entities.add(entity);
+        size += entity.getBinarySize();
+    }
+
+    public List<Entity> getJournalEntities() {
+        return entities;
+    }
+
+    public int getJournalNum() {
+        return entities.size();
+    }
+
+    // The total serialized bytes of all journals in this batch
+    public long getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return entities.isEmpty();
+    }
+
+    /*
+     * A journal entity in the batch.
+     * The entity is serialized when it is created, so that the serialization cost is paid
+     * by the caller thread rather than by the thread who writes the batch.
+     */
+    public static class Entity {
+        private final short op;
+        private final Writable data;
+        private final byte[] binaryData;
+        private final int binarySize;
+
+        public Entity(short op, Writable data) throws IOException {
+            this.op = op;
+            this.data = data;
+
+            // same layout as JournalEntity.write()
+            DataOutputBuffer buffer = new DataOutputBuffer(OUTPUT_BUFFER_INIT_SIZE);
+            buffer.writeShort(op);
+            data.write(buffer);
+            this.binaryData = buffer.getData();
+            this.binarySize = buffer.getLength();
+        }
+
+        public short getOpCode() {
+            return op;
+        }
+
+        public Writable getData() {
+            return data;
+        }
+
+        // The returned array may be longer than the valid size, use it with getBinarySize()
+        public byte[] getBinaryData() {
+            return binaryData;
+        }
+
+        public int getBinarySize() {
+            return binarySize;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.doris.common.io.DataOutputBuffer;
 import org.apache.doris.common.io.Writable;
 import org.apache.doris.common.util.Util;
 import org.apache.doris.journal.Journal;
+import org.apache.doris.journal.JournalBatch;
 import org.apache.doris.journal.JournalCursor;
 import org.apache.doris.journal.JournalEntity;
 import org.apache.doris.metric.MetricRepo;
@@ -34,6 +35,7 @@ import com.sleepycat.je.DatabaseEntry;
 import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.LockMode;
 import com.sleepycat.je.OperationStatus;
+import com.sleepycat.je.Transaction;
 import com.sleepycat.je.rep.InsufficientLogException;
 import com.sleepycat.je.rep.NetworkRestore;
 import com.sleepycat.je.rep.NetworkRestoreConfig;
@@ -59,6 +61,8 @@ public class BDBJEJournal implements Journal { // CHECKSTYLE IGNORE THIS LINE: B
     public static final Logger LOG = LogManager.getLogger(BDBJEJournal.class);
     private static final int OUTPUT_BUFFER_INIT_SIZE = 128;
     private static final int RETRY_TIME = 3;
+    // the base interval to retry a batch which failed to be put, it is increased by each retry
+    private static final long BATCH_PUT_RETRY_INTERVAL_MS = 1000;
 
     private String environmentPath = null;
     private String selfNodeName;
@@ -179,6 +183,91 @@ public class BDBJEJournal implements Journal { // CHECKSTYLE IGNORE THIS LINE: B
         }
     }
 
+    @Override
+    public synchronized long write(JournalBatch batch) throws IOException {
+        List<JournalBatch.Entity> entities = batch.getJournalEntities();
+        int entitySize = entities.size();
+        // ids of the journals in a batch are continuous
+        long firstId = nextJournalId.getAndAdd(entitySize);
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_EDIT_LOG_SIZE_BYTES.increase(batch.getSize());
+        }
+        LOG.debug("write journal batch. first id = {}, journal num = {}, batch size = {}",
+                firstId, entitySize, batch.getSize());
+
+        TupleBinding<Long> idBinding = TupleBinding.getPrimitiveBinding(Long.class);
+        boolean writeSucceed = false;
+        for (int i = 0; i < RETRY_TIME; i++) {
+            Transaction txn = null;
+            try {
+                // All journals in the batch are written in one transaction,
+                // so they are made durable (and replicated) together.
+                txn = bdbEnvironment.getReplicatedEnvironment().beginTransaction(null, null);
+                boolean putSucceed = true;
+                for (int j = 0; j < entitySize; j++) {
+                    JournalBatch.Entity entity = entities.get(j);
+                    DatabaseEntry theKey = new DatabaseEntry();
+                    idBinding.objectToEntry(firstId + j, theKey);
+                    DatabaseEntry theData = new DatabaseEntry(entity.getBinaryData(), 0, entity.getBinarySize());
+                    if (currentJournalDB.put(txn, theKey, theData) != OperationStatus.SUCCESS) {
+                        putSucceed = false;
+                        break;
+                    }
+                }
+                if (!putSucceed) {
+                    txn.abort();
+                    txn = null;
+                    LOG.warn("failed to put journal batch to database. sleep and retry. "
+                            + "first journal id {}, journal num {}", firstId, entitySize);
+                    if (i < RETRY_TIME - 1) {
+                        Thread.sleep(BATCH_PUT_RETRY_INTERVAL_MS * (i + 1));
+                    }
+                    continue;
+                }
+                txn.commit();
+                txn = null;
+                writeSucceed = true;
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("master write journal batch {} - {} finished. db name {}, current time {}",
+                            firstId, firstId + entitySize - 1, currentJournalDB.getDatabaseName(),
+                            System.currentTimeMillis());
+                }
+                break;
+            } catch (InterruptedException e) {
+                LOG.warn("interrupted when waiting to retry writing journal batch. first journal id {}",
+                        firstId, e);
+            } catch (DatabaseException e) {
+                LOG.error("catch an exception when writing journal batch to database. sleep and retry. "
+                        + "first journal id {}, journal num {}", firstId, entitySize, e);
+                try {
+                    Thread.sleep(5 * 1000);
+                } catch (InterruptedException e1) {
+                    e1.printStackTrace();
+                }
+            } finally {
+                if (txn != null) {
+                    txn.abort();
+                }
+            }
+        }
+
+        if (!writeSucceed) {
+            boolean onlyTimestamp = entities.stream().allMatch(e -> e.getOpCode() == OperationType.OP_TIMESTAMP);
+            if (onlyTimestamp) {
+                // Same as write(), do not exit if only OP_TIMESTAMP is written.
+                nextJournalId.set(firstId);
+                LOG.warn("master can not achieve quorum. write timestamp fail. but will not exit.");
+                return -1;
+            }
+            String msg = "write bdb failed. will exit. first journalId: " + firstId + ", journal num: "
+                    + entitySize + ", bdb database Name: " + currentJournalDB.getDatabaseName();
+            LOG.error(msg);
+            Util.stdoutWithTime(msg);
+            System.exit(-1);
+        }
+        return firstId;
+    }
+
     @Override
     public JournalEntity read(long journalId) {
         List<Long> dbNames = getDatabaseNames();
@@ -116,6 +116,8 @@ public class LoadJob implements Writable {
     private Map<Long, ReplicaPersistInfo> replicaPersistInfos;
 
     private Map<Long, Replica> finishedReplicas;
+    // replica id -> tablet id of the finished replicas
+    private Map<Long, Long> finishedReplicaTabletIds;
 
     private List<Predicate> conditions = null;
     private DeleteInfo deleteInfo;
@@ -177,6 +179,7 @@ public class LoadJob implements Writable {
         this.priority = TPriority.NORMAL;
         this.execMemLimit = DEFAULT_EXEC_MEM_LIMIT;
         this.finishedReplicas = Maps.newHashMap();
+        this.finishedReplicaTabletIds = Maps.newHashMap();
 
         // generate table load info
         PartitionLoadInfo partitionLoadInfo = new PartitionLoadInfo(null);
@@ -221,6 +224,7 @@ public class LoadJob implements Writable {
         this.priority = TPriority.NORMAL;
         this.execMemLimit = DEFAULT_EXEC_MEM_LIMIT;
         this.finishedReplicas = Maps.newHashMap();
+        this.finishedReplicaTabletIds = Maps.newHashMap();
     }
 
     public void addTableName(String tableName) {
@@ -605,11 +609,16 @@ public class LoadJob implements Writable {
         return resourceInfo;
     }
 
-    public boolean addFinishedReplica(Replica replica) {
+    public boolean addFinishedReplica(long tabletId, Replica replica) {
         finishedReplicas.put(replica.getId(), replica);
+        finishedReplicaTabletIds.put(replica.getId(), tabletId);
         return true;
     }
 
+    public long getFinishedReplicaTabletId(long replicaId) {
+        return finishedReplicaTabletIds.get(replicaId);
+    }
+
     public boolean isReplicaFinished(long replicaId) {
         return finishedReplicas.containsKey(replicaId);
     }
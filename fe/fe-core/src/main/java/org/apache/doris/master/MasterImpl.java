@@ -369,7 +369,7 @@ public class MasterImpl {
                             olapTable, partition, backendId, tabletId, tabletMeta.getIndexId());
                     // if the replica is under schema change, could not find the replica with aim schema hash
                     if (replica != null) {
-                        job.addFinishedReplica(replica);
+                        job.addFinishedReplica(tabletId, replica);
                     }
                 }
             } else if (pushTask.getPushType() == TPushType.DELETE) {
@@ -494,6 +494,7 @@ public class MasterImpl {
         PublishVersionTask publishVersionTask = (PublishVersionTask) task;
         publishVersionTask.addErrorTablets(errorTabletIds);
         publishVersionTask.setIsFinished(true);
+        Env.getCurrentEnv().getPublishVersionDaemon().onPublishVersionTaskFinished(publishVersionTask);
 
         if (request.getTaskStatus().getStatusCode() != TStatusCode.OK) {
             // not remove the task from queue and be will retry
@@ -33,6 +33,7 @@ import org.apache.doris.catalog.Tablet;
 import org.apache.doris.catalog.Tablet.TabletStatus;
 import org.apache.doris.catalog.TabletInvertedIndex;
 import org.apache.doris.catalog.TabletMeta;
+import org.apache.doris.clone.TabletChecker;
 import org.apache.doris.clone.TabletSchedCtx;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.MetaNotFoundException;
@@ -41,6 +42,7 @@ import org.apache.doris.common.util.Daemon;
 import org.apache.doris.common.util.TimeUtils;
 import org.apache.doris.metric.GaugeMetric;
 import org.apache.doris.metric.Metric.MetricUnit;
+import org.apache.doris.metric.MetricLabel;
 import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.persist.BackendReplicasInfo;
 import org.apache.doris.persist.BackendTabletsInfo;
@@ -72,6 +74,7 @@ import org.apache.doris.thrift.TTablet;
 import org.apache.doris.thrift.TTabletInfo;
 import org.apache.doris.thrift.TTaskType;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
@@ -87,30 +90,66 @@ import org.apache.thrift.TException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
-public class ReportHandler extends Daemon {
+public class ReportHandler {
     private static final Logger LOG = LogManager.getLogger(ReportHandler.class);
 
-    private BlockingQueue<ReportTask> reportQueue = Queues.newLinkedBlockingQueue();
+    // Reports of one backend are always handled by the same worker, so they are handled in order.
+    // Reports of different backends are handled by different workers in parallel.
+    private final ReportWorker[] workers;
+
+    // The pending report tasks. Each backend sends the full state in each report, so if a new report of the
+    // same type comes before the previous one is handled, the previous one is out of date and just replaced.
+    // A report which carries several types is split into one task of each type, so that replacing the pending
+    // task of one type does not drop the other types of the report.
+    private final Map<ReportKey, ReportTask> pendingTasks = Maps.newConcurrentMap();
+    // the number of pending tasks of each report type
+    private final Map<ReportType, AtomicLong> pendingTaskNums = Maps.newEnumMap(ReportType.class);
 
     private enum ReportType {
-        UNKNOWN,
         TASK,
         DISK,
         TABLET
     }
 
     public ReportHandler() {
+        workers = new ReportWorker[Math.max(1, Config.report_handler_thread_num)];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new ReportWorker("report-worker-" + i);
+        }
+
         GaugeMetric<Long> gauge = new GaugeMetric<Long>(
                 "report_queue_size", MetricUnit.NOUNIT, "report queue size") {
             @Override
             public Long getValue() {
-                return (long) reportQueue.size();
+                return (long) pendingTasks.size();
             }
         };
         MetricRepo.DORIS_METRIC_REGISTER.addMetrics(gauge);
+        for (ReportType type : ReportType.values()) {
+            AtomicLong pendingTaskNum = new AtomicLong(0);
+            pendingTaskNums.put(type, pendingTaskNum);
+            GaugeMetric<Long> typeGauge = new GaugeMetric<Long>(
+                    "report_queue_depth", MetricUnit.NOUNIT, "report queue depth of each report type") {
+                @Override
+                public Long getValue() {
+                    return pendingTaskNum.get();
+                }
+            };
+            typeGauge.addLabel(new MetricLabel("type", type.name().toLowerCase()));
+            MetricRepo.DORIS_METRIC_REGISTER.addMetrics(typeGauge);
+        }
+    }
+
+    public void start() {
+        for (ReportWorker worker : workers) {
+            worker.start();
+        }
     }
 
     public TMasterResult handleReport(TReportRequest request) throws TException {
@@ -137,59 +176,77 @@ public class ReportHandler extends Daemon {
         Map<Long, TTablet> tablets = null;
         long reportVersion = -1;
 
-        ReportType reportType = ReportType.UNKNOWN;
+        List<ReportTask> reportTasks = Lists.newArrayList();
 
         if (request.isSetTasks()) {
             tasks = request.getTasks();
-            reportType = ReportType.TASK;
+            reportTasks.add(new ReportTask(beId, ReportType.TASK, tasks, null, null, reportVersion));
         }
 
         if (request.isSetDisks()) {
             disks = request.getDisks();
-            reportType = ReportType.DISK;
+            reportTasks.add(new ReportTask(beId, ReportType.DISK, null, disks, null, reportVersion));
         }
 
         if (request.isSetTablets()) {
             tablets = request.getTablets();
             reportVersion = request.getReportVersion();
-            reportType = ReportType.TABLET;
         } else if (request.isSetTabletList()) {
             // the 'tablets' member will be deprecated in future.
             tablets = buildTabletMap(request.getTabletList());
             reportVersion = request.getReportVersion();
-            reportType = ReportType.TABLET;
+        }
+        if (tablets != null) {
+            reportTasks.add(new ReportTask(beId, ReportType.TABLET, null, null, tablets, reportVersion));
         }
 
         if (request.isSetTabletMaxCompactionScore()) {
             backend.setTabletMaxCompactionScore(request.getTabletMaxCompactionScore());
         }
 
-        ReportTask reportTask = new ReportTask(beId, tasks, disks, tablets, reportVersion);
         try {
-            putToQueue(reportTask);
+            putToQueue(reportTasks);
         } catch (Exception e) {
             tStatus.setStatusCode(TStatusCode.INTERNAL_ERROR);
             List<String> errorMsgs = Lists.newArrayList();
-            errorMsgs.add("failed to put report task to queue. queue size: " + reportQueue.size());
+            errorMsgs.add("failed to put report task to queue. queue size: " + pendingTasks.size());
             errorMsgs.add("err: " + e.getMessage());
             tStatus.setErrorMsgs(errorMsgs);
             return result;
         }
 
         LOG.info("receive report from be {}. type: {}, current queue size: {}",
-                backend.getId(), reportType, reportQueue.size());
+                backend.getId(), reportTasks.stream().map(task -> task.type).collect(Collectors.toList()),
+                pendingTasks.size());
         return result;
     }
 
-    private void putToQueue(ReportTask reportTask) throws Exception {
-        int currentSize = reportQueue.size();
-        if (currentSize > Config.report_queue_size) {
+    private void putToQueue(List<ReportTask> reportTasks) throws Exception {
+        int currentSize = pendingTasks.size();
+        // a report which replaces the pending ones does not increase the queue size
+        if (currentSize > Config.report_queue_size && reportTasks.stream()
+                .anyMatch(task -> !pendingTasks.containsKey(new ReportKey(task.beId, task.type)))) {
             LOG.warn("the report queue size exceeds the limit: {}. current: {}", Config.report_queue_size, currentSize);
             throw new Exception(
                     "the report queue size exceeds the limit: "
                             + Config.report_queue_size + ". current: " + currentSize);
         }
-        reportQueue.put(reportTask);
+        for (ReportTask reportTask : reportTasks) {
+            ReportKey key = new ReportKey(reportTask.beId, reportTask.type);
+            // The key is only added to the worker queue if there is no pending task of the same key.
+            // Otherwise the key is still in the worker queue, and the worker will take the new task when it
+            // takes the key, because the task is removed from pending tasks after the key is taken.
+            // count the task before it can be taken by the worker, so that the number never goes below 0
+            pendingTaskNums.get(key.type).incrementAndGet();
+            ReportTask outdatedTask = pendingTasks.put(key, reportTask);
+            if (outdatedTask == null) {
+                workers[(int) Math.floorMod(key.beId, (long) workers.length)].queue.put(key);
+            } else {
+                pendingTaskNums.get(key.type).decrementAndGet();
+                LOG.info("drop outdated {} report of backend {}, which was received at {}",
+                        key.type, key.beId, TimeUtils.longToTimeString(outdatedTask.createTime));
+            }
+        }
     }
 
     private Map<Long, TTablet> buildTabletMap(List<TTablet> tabletList) {
@@ -204,18 +261,77 @@ public class ReportHandler extends Daemon {
         return tabletMap;
     }
 
+    private static class ReportKey {
+        private final long beId;
+        private final ReportType type;
+
+        public ReportKey(long beId, ReportType type) {
+            this.beId = beId;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ReportKey)) {
+                return false;
+            }
+            ReportKey other = (ReportKey) obj;
+            return beId == other.beId && type == other.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(beId, type);
+        }
+    }
+
+    private class ReportWorker extends Daemon {
+        private final BlockingQueue<ReportKey> queue = Queues.newLinkedBlockingQueue();
+
+        public ReportWorker(String name) {
+            super(name);
+        }
+
+        @Override
+        protected void runOneCycle() {
+            while (true) {
+                try {
+                    ReportKey key = queue.take();
+                    ReportTask task = pendingTasks.remove(key);
+                    if (task != null) {
+                        pendingTaskNums.get(key.type).decrementAndGet();
+                        task.run();
+                        if (MetricRepo.isInit) {
+                            MetricRepo.getReportLatencyHistogram(key.type.name().toLowerCase())
+                                    .update(System.currentTimeMillis() - task.createTime);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    LOG.warn("got interupted exception when executing report", e);
+                }
+            }
+        }
+    }
+
     private class ReportTask extends MasterTask {
 
         private long beId;
+        private ReportType type;
         private Map<TTaskType, Set<Long>> tasks;
         private Map<String, TDisk> disks;
         private Map<Long, TTablet> tablets;
         private long reportVersion;
+        private long createTime;
 
-        public ReportTask(long beId, Map<TTaskType, Set<Long>> tasks,
+        public ReportTask(long beId, ReportType type, Map<TTaskType, Set<Long>> tasks,
                           Map<String, TDisk> disks,
                           Map<Long, TTablet> tablets, long reportVersion) {
             this.beId = beId;
+            this.type = type;
+            this.createTime = System.currentTimeMillis();
             this.tasks = tasks;
             this.disks = disks;
             this.tablets = tablets;
@@ -242,7 +358,8 @@ public class ReportHandler extends Daemon {
         }
     }
 
-    private static void tabletReport(long backendId, Map<Long, TTablet> backendTablets, long backendReportVersion) {
+    @VisibleForTesting
+    static void tabletReport(long backendId, Map<Long, TTablet> backendTablets, long backendReportVersion) {
         long start = System.currentTimeMillis();
         LOG.info("backend[{}] reports {} tablet(s). report version: {}",
                 backendId, backendTablets.size(), backendReportVersion);
@@ -267,6 +384,9 @@ public class ReportHandler extends Daemon {
         // db id -> tablet id
         ListMultimap<Long, Long> tabletRecoveryMap = LinkedListMultimap.create();
 
+        // db id -> tablet id
+        ListMultimap<Long, Long> tabletTooManyVersionsMap = LinkedListMultimap.create();
+
         List<Triple<Long, Integer, Boolean>> tabletToInMemory = Lists.newArrayList();
 
         // 1. do the diff. find out (intersection) / (be - meta) / (meta - be)
@@ -278,8 +398,17 @@ public class ReportHandler extends Daemon {
                 transactionsToPublish,
                 transactionsToClear,
                 tabletRecoveryMap,
+                tabletTooManyVersionsMap,
                 tabletToInMemory);
 
+        // the replicas of these tablets are changed, let tablet checker check them in next round
+        TabletChecker tabletChecker = Env.getCurrentEnv().getTabletChecker();
+        tabletChecker.markTabletsDirty(tabletSyncMap.values());
+        tabletChecker.markTabletsDirty(tabletDeleteFromMeta.values());
+        tabletChecker.markTabletsDirty(tabletRecoveryMap.values());
+        // the replica compaction may become too slow or catch up
+        tabletChecker.markTabletsDirty(tabletTooManyVersionsMap.values());
+
         // 2. sync
         if (!tabletSyncMap.isEmpty()) {
             sync(backendTablets, tabletSyncMap, backendId, backendReportVersion);
@@ -332,7 +461,8 @@ public class ReportHandler extends Daemon {
         LOG.info("finished to handle tablet report from backend[{}] cost: {} ms", backendId, (end - start));
     }
 
-    private static void taskReport(long backendId, Map<TTaskType, Set<Long>> runningTasks) {
+    @VisibleForTesting
+    static void taskReport(long backendId, Map<TTaskType, Set<Long>> runningTasks) {
         LOG.debug("begin to handle task report from backend {}", backendId);
         long start = System.currentTimeMillis();
 
@@ -377,7 +507,8 @@ public class ReportHandler extends Daemon {
                 backendId, batchTask.getTaskNum(), (System.currentTimeMillis() - start));
     }
 
-    private static void diskReport(long backendId, Map<String, TDisk> backendDisks) {
+    @VisibleForTesting
+    static void diskReport(long backendId, Map<String, TDisk> backendDisks) {
         LOG.info("begin to handle disk report from backend {}", backendId);
         long start = System.currentTimeMillis();
         Backend backend = Env.getCurrentSystemInfo().getBackend(backendId);
@@ -998,17 +1129,4 @@ public class ReportHandler extends Daemon {
             olapTable.writeUnlock();
         }
     }
-
-    @Override
-    protected void runOneCycle() {
-        while (true) {
-            ReportTask task = null;
-            try {
-                task = reportQueue.take();
-                task.exec();
-            } catch (InterruptedException e) {
-                LOG.warn("got interupted exception when executing report", e);
-            }
-        }
-    }
 }
@@ -24,6 +24,8 @@ import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.TabletInvertedIndex;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.datasource.HiveMetaCache;
+import org.apache.doris.datasource.MetaObjCache;
 import org.apache.doris.load.EtlJobType;
 import org.apache.doris.load.loadv2.JobState;
 import org.apache.doris.load.loadv2.LoadManager;
@@ -33,7 +35,9 @@ import org.apache.doris.metric.Metric.MetricUnit;
 import org.apache.doris.monitor.jvm.JvmService;
 import org.apache.doris.monitor.jvm.JvmStats;
 import org.apache.doris.persist.EditLog;
+import org.apache.doris.planner.StreamLoadPlanCache;
 import org.apache.doris.qe.QeProcessorImpl;
+import org.apache.doris.qe.cache.FeResultCache;
 import org.apache.doris.service.ExecuteEnv;
 import org.apache.doris.system.Backend;
 import org.apache.doris.system.SystemInfoService;
@@ -76,6 +80,7 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_CACHE_ADDED_PARTITION;
     public static LongCounterMetric COUNTER_CACHE_HIT_SQL;
     public static LongCounterMetric COUNTER_CACHE_HIT_PARTITION;
+    public static LongCounterMetric COUNTER_CACHE_HIT_FE;
 
     public static LongCounterMetric COUNTER_EDIT_LOG_WRITE;
     public static LongCounterMetric COUNTER_EDIT_LOG_READ;
@@ -101,6 +106,10 @@ public final class MetricRepo {
 
     public static Histogram HISTO_QUERY_LATENCY;
     public static Histogram HISTO_EDIT_LOG_WRITE_LATENCY;
+    public static Histogram HISTO_EDIT_LOG_BATCH_NUM;
+    public static Histogram HISTO_EDIT_LOG_BATCH_BYTES;
+    public static Histogram HISTO_EXEC_FRAGMENT_RPC_BYTES;
+    public static Histogram HISTO_TXN_COMMIT_TO_VISIBLE_LATENCY;
 
     // following metrics will be updated by metric calculator
     public static GaugeMetricImpl<Double> GAUGE_QUERY_PER_SECOND;
@@ -215,6 +224,42 @@ public final class MetricRepo {
         };
         DORIS_METRIC_REGISTER.addMetrics(maxJournalId);
 
+        // lag of journal replay of follower and observer
+        GaugeMetric<Long> journalReplayLag = new GaugeMetric<Long>("journal_replay_lag", MetricUnit.NOUNIT,
+                "num of journals which are not replayed yet") {
+            @Override
+            public Long getValue() {
+                return Env.getCurrentEnv().getJournalReplayLag();
+            }
+        };
+        DORIS_METRIC_REGISTER.addMetrics(journalReplayLag);
+        GaugeMetric<Long> journalReplayDelay = new GaugeMetric<Long>("journal_replay_delay_ms",
+                MetricUnit.MILLISECONDS, "time since the last timestamp of master is replayed") {
+            @Override
+            public Long getValue() {
+                return Env.getCurrentEnv().getJournalReplayDelayMs();
+            }
+        };
+        DORIS_METRIC_REGISTER.addMetrics(journalReplayDelay);
+
+        // result cache of fe
+        GaugeMetric<Double> feResultCacheHitRatio = new GaugeMetric<Double>("cache_fe_hit_ratio",
+                MetricUnit.PERCENT, "hit ratio of the result cache of fe, in percent") {
+            @Override
+            public Double getValue() {
+                return FeResultCache.getInstance().getHitRatio() * 100;
+            }
+        };
+        DORIS_METRIC_REGISTER.addMetrics(feResultCacheHitRatio);
+        GaugeMetric<Long> feResultCacheBytes = new GaugeMetric<Long>("cache_fe_bytes", MetricUnit.BYTES,
+                "used bytes of the result cache of fe") {
+            @Override
+            public Long getValue() {
+                return FeResultCache.getInstance().getUsedBytes();
+            }
+        };
+        DORIS_METRIC_REGISTER.addMetrics(feResultCacheBytes);
+
         // scheduled tablet num
         GaugeMetric<Long> scheduledTabletNum = new GaugeMetric<Long>("scheduled_tablet_num", MetricUnit.NOUNIT,
                 "number of tablets being scheduled") {
@@ -258,6 +303,48 @@ public final class MetricRepo {
             DORIS_METRIC_REGISTER.addMetrics(gauge);
         }
 
+        // hit and miss of stream load plan cache
+        GaugeMetric<Long> streamLoadPlanCacheHit = new GaugeMetric<Long>("stream_load_plan_cache",
+                MetricUnit.REQUESTS, "stream load plan cache statistics") {
+            @Override
+            public Long getValue() {
+                return StreamLoadPlanCache.getInstance().getStats().hitCount();
+            }
+        };
+        streamLoadPlanCacheHit.addLabel(new MetricLabel("type", "hit"));
+        DORIS_METRIC_REGISTER.addMetrics(streamLoadPlanCacheHit);
+        GaugeMetric<Long> streamLoadPlanCacheMiss = new GaugeMetric<Long>("stream_load_plan_cache",
+                MetricUnit.REQUESTS, "stream load plan cache statistics") {
+            @Override
+            public Long getValue() {
+                return StreamLoadPlanCache.getInstance().getStats().missCount();
+            }
+        };
+        streamLoadPlanCacheMiss.addLabel(new MetricLabel("type", "miss"));
+        DORIS_METRIC_REGISTER.addMetrics(streamLoadPlanCacheMiss);
+
+        // hit and miss of external catalog meta cache
+        for (String cacheName : HiveMetaCache.CACHE_NAMES) {
+            GaugeMetric<Long> hitGauge = new GaugeMetric<Long>("external_meta_cache", MetricUnit.NOUNIT,
+                    "external catalog meta cache statistics") {
+                @Override
+                public Long getValue() {
+                    return MetaObjCache.get().getStats(cacheName).hitCount();
+                }
+            };
+            hitGauge.addLabel(new MetricLabel("name", cacheName)).addLabel(new MetricLabel("type", "hit"));
+            DORIS_METRIC_REGISTER.addMetrics(hitGauge);
+            GaugeMetric<Long> missGauge = new GaugeMetric<Long>("external_meta_cache", MetricUnit.NOUNIT,
+                    "external catalog meta cache statistics") {
+                @Override
+                public Long getValue() {
+                    return MetaObjCache.get().getStats(cacheName).missCount();
+                }
+            };
+            missGauge.addLabel(new MetricLabel("name", cacheName)).addLabel(new MetricLabel("type", "miss"));
+            DORIS_METRIC_REGISTER.addMetrics(missGauge);
+        }
+
         // qps, rps and error rate
         // these metrics should be set an init value, in case that metric calculator is not running
         GAUGE_QUERY_PER_SECOND = new GaugeMetricImpl<>("qps", MetricUnit.NOUNIT, "query per second");
@@ -303,6 +390,9 @@ public final class MetricRepo {
                 "total hits query by partition model");
         COUNTER_CACHE_HIT_PARTITION.addLabel(new MetricLabel("type", "partition"));
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_HIT_PARTITION);
+        COUNTER_CACHE_HIT_FE = new LongCounterMetric("cache_fe_hit", MetricUnit.REQUESTS,
+                "total hits query by the result cache of fe");
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_HIT_FE);
 
         COUNTER_EDIT_LOG_WRITE = new LongCounterMetric("edit_log", MetricUnit.OPERATIONS,
                 "counter of edit log write into bdbje");
@@ -390,6 +480,14 @@ public final class MetricRepo {
                 MetricRegistry.name("query", "latency", "ms"));
         HISTO_EDIT_LOG_WRITE_LATENCY = METRIC_REGISTER.histogram(
                 MetricRegistry.name("editlog", "write", "latency", "ms"));
+        HISTO_EDIT_LOG_BATCH_NUM = METRIC_REGISTER.histogram(
+                MetricRegistry.name("editlog", "batch", "num"));
+        HISTO_EDIT_LOG_BATCH_BYTES = METRIC_REGISTER.histogram(
+                MetricRegistry.name("editlog", "batch", "bytes"));
+        HISTO_EXEC_FRAGMENT_RPC_BYTES = METRIC_REGISTER.histogram(
+                MetricRegistry.name("query", "exec_fragment_rpc", "bytes"));
+        HISTO_TXN_COMMIT_TO_VISIBLE_LATENCY = METRIC_REGISTER.histogram(
+                MetricRegistry.name("txn", "commit_to_visible", "latency", "ms"));
 
         // init system metrics
         initSystemMetrics();
@@ -402,6 +500,11 @@ public final class MetricRepo {
         }
     }
 
+    // latency from receiving a report of backend to finishing handling it, of each report type
+    public static Histogram getReportLatencyHistogram(String reportType) {
+        return METRIC_REGISTER.histogram(MetricRegistry.name("report", reportType, "latency", "ms"));
+    }
+
     private static void initSystemMetrics() {
         // TCP retransSegs
         GaugeMetric<Long> tcpRetransSegs = (GaugeMetric<Long>) new GaugeMetric<Long>(
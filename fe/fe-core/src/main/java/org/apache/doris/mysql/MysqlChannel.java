@@ -17,6 +17,8 @@
 
 package org.apache.doris.mysql;
 
+import org.apache.doris.common.Config;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -24,6 +26,9 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class used to read/write MySQL logical packet.
@@ -36,6 +41,13 @@ public class MysqlChannel {
     public static final int MAX_PHYSICAL_PACKET_LENGTH = 0xffffff;
     // MySQL packet header length
     protected static final int PACKET_HEADER_LEN = 4;
+    protected static final int SEND_BUFFER_SIZE = 2 * 1024 * 1024;
+    // Direct buffers to send packets, shared by all channels.
+    // Packets are written to the direct buffer and then to the socket, so there is no extra copy from heap
+    // buffer to the temporary direct buffer inside the socket channel. A channel only holds a send buffer
+    // when it has pending data, so idle connections do not hold any direct memory.
+    private static final Queue<ByteBuffer> SEND_BUFFER_POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger SEND_BUFFER_POOL_SIZE = new AtomicInteger(0);
     // logger for this class
     protected static final Logger LOG = LogManager.getLogger(MysqlChannel.class);
     // next sequence id to receive or send
@@ -46,6 +58,7 @@ public class MysqlChannel {
     protected ByteBuffer headerByteBuffer = ByteBuffer.allocate(PACKET_HEADER_LEN);
     // default packet byte buffer for most packet
     protected ByteBuffer defaultBuffer = ByteBuffer.allocate(16 * 1024);
+    // acquired from the send buffer pool when writing packets, and released after flush
     protected ByteBuffer sendBuffer;
     // for log and show
     protected String remoteHostPortString;
@@ -55,7 +68,6 @@ public class MysqlChannel {
 
     protected MysqlChannel() {
         this.sequenceId = 0;
-        this.sendBuffer = ByteBuffer.allocate(2 * 1024 * 1024);
         this.isSend = false;
         this.remoteHostPortString = "";
         this.remoteIp = "";
@@ -64,7 +76,6 @@ public class MysqlChannel {
     public MysqlChannel(SocketChannel channel) {
         this.sequenceId = 0;
         this.channel = channel;
-        this.sendBuffer = ByteBuffer.allocate(2 * 1024 * 1024);
         this.isSend = false;
         this.remoteHostPortString = "";
         this.remoteIp = "";
@@ -198,7 +209,34 @@ public class MysqlChannel {
         isSend = true;
     }
 
-    public void flush() throws IOException {
+    private static ByteBuffer acquireSendBuffer() {
+        ByteBuffer buffer = SEND_BUFFER_POOL.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(SEND_BUFFER_SIZE);
+        }
+        SEND_BUFFER_POOL_SIZE.decrementAndGet();
+        return buffer;
+    }
+
+    private static void releaseSendBuffer(ByteBuffer buffer) {
+        // buffers exceeding the pool size are freed by GC
+        if (SEND_BUFFER_POOL_SIZE.incrementAndGet() <= Config.max_mysql_send_buffer_pool_num) {
+            buffer.clear();
+            SEND_BUFFER_POOL.offer(buffer);
+        } else {
+            SEND_BUFFER_POOL_SIZE.decrementAndGet();
+        }
+    }
+
+    private ByteBuffer getSendBuffer() {
+        if (sendBuffer == null) {
+            sendBuffer = acquireSendBuffer();
+        }
+        return sendBuffer;
+    }
+
+    // send the buffered data, and keep the send buffer for the following packets
+    private void flushSendBuffer() throws IOException {
         if (null == sendBuffer || sendBuffer.position() == 0) {
             // Nothing to send
             return;
@@ -209,13 +247,18 @@ public class MysqlChannel {
         isSend = true;
     }
 
-    private void writeHeader(int length) throws IOException {
-        if (null == sendBuffer) {
-            return;
+    public void flush() throws IOException {
+        flushSendBuffer();
+        if (sendBuffer != null) {
+            releaseSendBuffer(sendBuffer);
+            sendBuffer = null;
         }
-        long leftLength = sendBuffer.capacity() - sendBuffer.position();
-        if (leftLength < 4) {
-            flush();
+    }
+
+    private void writeHeader(int length) throws IOException {
+        long leftLength = getSendBuffer().remaining();
+        if (leftLength < PACKET_HEADER_LEN) {
+            flushSendBuffer();
         }
 
         long newLen = length;
@@ -227,14 +270,11 @@ public class MysqlChannel {
     }
 
     private void writeBuffer(ByteBuffer buffer) throws IOException {
-        if (null == sendBuffer) {
-            return;
-        }
-        long leftLength = sendBuffer.capacity() - sendBuffer.position();
+        long leftLength = getSendBuffer().remaining();
         // If too long for buffer, send buffered data.
         if (leftLength < buffer.remaining()) {
             // Flush data in buffer.
-            flush();
+            flushSendBuffer();
         }
         // Send this buffer if large enough
         if (buffer.remaining() > sendBuffer.capacity()) {
@@ -270,7 +310,8 @@ public class MysqlChannel {
     public void reset() {
         isSend = false;
         if (null != sendBuffer) {
-            sendBuffer.clear();
+            releaseSendBuffer(sendBuffer);
+            sendBuffer = null;
         }
     }
 
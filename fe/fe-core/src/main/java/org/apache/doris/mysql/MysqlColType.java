@@ -17,6 +17,10 @@
 
 package org.apache.doris.mysql;
 
+import com.google.common.collect.Maps;
+
+import java.util.Map;
+
 // MySQL column type
 // TYPE codes are defined in the file 'mysql/include/mysql_com.h' enum enum_field_types
 // which is also demostrated in
@@ -53,6 +57,14 @@ public enum MysqlColType {
     MYSQL_TYPE_STRING(254, "STRING"),
     MYSQL_TYPE_GEOMETRY(255, "GEOMETRY");
 
+    private static final Map<Integer, MysqlColType> CODE_MAP = Maps.newHashMap();
+
+    static {
+        for (MysqlColType type : MysqlColType.values()) {
+            CODE_MAP.put(type.code, type);
+        }
+    }
+
     private MysqlColType(int code, String desc) {
         this.code = code;
         this.desc = desc;
@@ -66,6 +78,10 @@ public enum MysqlColType {
         return code;
     }
 
+    public static MysqlColType fromCode(int code) {
+        return CODE_MAP.get(code);
+    }
+
     @Override
     public String toString() {
         return desc;
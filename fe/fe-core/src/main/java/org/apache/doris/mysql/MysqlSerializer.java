@@ -41,11 +41,18 @@ public class MysqlSerializer {
     }
 
     public static MysqlSerializer newInstance() {
-        return new MysqlSerializer(new ByteArrayOutputStream());
+        return new MysqlSerializer(new ExposedByteArrayOutputStream());
     }
 
     public static MysqlSerializer newInstance(MysqlCapability capability) {
-        return new MysqlSerializer(new ByteArrayOutputStream(), capability);
+        return new MysqlSerializer(new ExposedByteArrayOutputStream(), capability);
+    }
+
+    // ByteArrayOutputStream which can wrap its content into a ByteBuffer without copying it.
+    private static class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+        private ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
     }
 
     // used after success handshake
@@ -77,7 +84,14 @@ public class MysqlSerializer {
         return out.toByteArray();
     }
 
+    /**
+     * Returns the serialized content. The content is not copied if possible, so the returned buffer is only
+     * valid before the serializer is reset or written again.
+     */
     public ByteBuffer toByteBuffer() {
+        if (out instanceof ExposedByteArrayOutputStream) {
+            return ((ExposedByteArrayOutputStream) out).toByteBuffer();
+        }
         return ByteBuffer.wrap(out.toByteArray());
     }
 
@@ -225,6 +239,47 @@ public class MysqlSerializer {
         writeInt2(0);
     }
 
+    /**
+     * Convert a row of text protocol to a row of binary protocol, which is required by the result of
+     * COM_STMT_EXECUTE. The columns should be declared as string type, so that the value of each column
+     * is still a length encoded string in the binary row, and only the null values need to be moved to
+     * the null bitmap.
+     * @param textRow row sent by BE, each column is a length encoded string, or 0xfb for NULL
+     * @param columnCount number of columns of the row
+     * @return row of binary protocol
+     */
+    public static ByteBuffer toBinaryRow(ByteBuffer textRow, int columnCount) {
+        ByteBuffer src = textRow.duplicate();
+        // the first 2 bits of null bitmap are reserved in binary protocol row
+        byte[] nullBitmap = new byte[(columnCount + 7 + 2) / 8];
+        // the values are the text row without the null values, so the binary row is never larger than
+        // 1 byte header + null bitmap + text row, and the values can be copied into it directly.
+        ByteBuffer row = ByteBuffer.allocate(1 + nullBitmap.length + src.remaining());
+        row.position(1 + nullBitmap.length);
+        for (int i = 0; i < columnCount; ++i) {
+            int start = src.position();
+            if ((src.get(start) & 0xff) == 251) {
+                src.get();
+                int bit = i + 2;
+                nullBitmap[bit / 8] |= (byte) (1 << (bit % 8));
+                continue;
+            }
+            long length = MysqlProto.readVInt(src);
+            int end = src.position() + (int) length;
+            ByteBuffer value = src.duplicate();
+            value.position(start).limit(end);
+            row.put(value);
+            src.position(end);
+        }
+        row.flip();
+        // packet header of binary row
+        row.put(0, (byte) 0x00);
+        for (int i = 0; i < nullBitmap.length; i++) {
+            row.put(1 + i, nullBitmap[i]);
+        }
+        return row;
+    }
+
     /**
      * Specify the display width of the returned data according to the MySQL type
      * todo:The driver determines the number of bytes per character according to different character sets index
@@ -25,6 +25,7 @@ import org.apache.doris.nereids.jobs.rewrite.RewriteTopDownJob;
 import org.apache.doris.nereids.jobs.scheduler.JobPool;
 import org.apache.doris.nereids.jobs.scheduler.JobScheduler;
 import org.apache.doris.nereids.jobs.scheduler.JobStack;
+import org.apache.doris.nereids.jobs.scheduler.ParallelJobScheduler;
 import org.apache.doris.nereids.jobs.scheduler.SimpleJobScheduler;
 import org.apache.doris.nereids.memo.Memo;
 import org.apache.doris.nereids.processor.post.RuntimeFilterContext;
@@ -70,7 +71,8 @@ public class CascadesContext {
         this.statementContext = statementContext;
         this.ruleSet = new RuleSet();
         this.jobPool = new JobStack();
-        this.jobScheduler = new SimpleJobScheduler();
+        this.jobScheduler = getConnectContext().getSessionVariable().isEnableNereidsParallelJobScheduler()
+                ? new ParallelJobScheduler() : new SimpleJobScheduler();
         this.currentJobContext = new JobContext(this, PhysicalProperties.ANY, Double.MAX_VALUE);
         this.subqueryExprIsAnalyzed = new HashMap<>();
         this.runtimeFilterContext = new RuntimeFilterContext(getConnectContext().getSessionVariable());
@@ -92,6 +94,10 @@ public class CascadesContext {
         jobPool.push(job);
     }
 
+    public void pushIndependentJobs(List<Job> jobs) {
+        jobPool.pushIndependent(jobs);
+    }
+
     public Memo getMemo() {
         return memo;
     }
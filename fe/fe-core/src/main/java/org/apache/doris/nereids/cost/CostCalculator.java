@@ -47,6 +47,7 @@ import java.util.List;
  * Inspired by Presto.
  */
 public class CostCalculator {
+    private static final CostWeight COST_WEIGHT = new CostWeight(0.5, 2, 1.5);
 
     /**
      * Constructor.
@@ -56,8 +57,22 @@ public class CostCalculator {
         CostEstimator costCalculator = new CostEstimator();
         CostEstimate costEstimate = groupExpression.getPlan().accept(costCalculator, planContext);
 
-        CostWeight costWeight = new CostWeight(0.5, 2, 1.5);
-        return costWeight.calculate(costEstimate);
+        return COST_WEIGHT.calculate(costEstimate);
+    }
+
+    /**
+     * Calculate the cost of a hash join from the stats of its children and output,
+     * used by join reorder which estimates joins before they are put into the memo.
+     */
+    public static double calculateJoinCost(StatsDeriveResult probeStats, StatsDeriveResult buildStats,
+            StatsDeriveResult outputStats, boolean isCrossJoin) {
+        CostEstimate inputCost = CostEstimate.of(probeStats.computeSize() + buildStats.computeSize(),
+                buildStats.computeSize(), 0);
+        CostEstimate outputCost = CostEstimate.ofCpu(outputStats.computeSize());
+        if (isCrossJoin) {
+            return COST_WEIGHT.calculate(CostEstimate.sum(inputCost, outputCost, outputCost));
+        }
+        return COST_WEIGHT.calculate(CostEstimate.sum(inputCost, outputCost));
     }
 
     private static class CostEstimator extends PlanVisitor<CostEstimate, PlanContext> {
@@ -50,6 +50,10 @@ public abstract class Job {
         context.getCascadesContext().pushJob(job);
     }
 
+    public void pushIndependentJobs(List<Job> jobs) {
+        context.getCascadesContext().pushIndependentJobs(jobs);
+    }
+
     public RuleSet getRuleSet() {
         return context.getCascadesContext().getRuleSet();
     }
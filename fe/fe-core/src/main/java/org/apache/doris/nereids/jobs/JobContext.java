@@ -70,7 +70,8 @@ public class JobContext {
         addRuleInvokeTimes(ruleType);
     }
 
-    private void addRuleInvokeTimes(RuleType ruleType) {
+    // jobs sharing the context may be executed in parallel
+    private synchronized void addRuleInvokeTimes(RuleType ruleType) {
         Integer times = ruleInvokeTimes.get(ruleType);
         if (times == null) {
             times = 0;
@@ -24,6 +24,10 @@ import org.apache.doris.nereids.memo.Group;
 import org.apache.doris.nereids.memo.GroupExpression;
 import org.apache.doris.nereids.stats.StatsCalculator;
 
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
 /**
  * Job to derive stats for {@link GroupExpression} in {@link org.apache.doris.nereids.memo.Memo}.
  */
@@ -59,11 +63,14 @@ public class DeriveStatsJob extends Job {
         if (!deriveChildren) {
             deriveChildren = true;
             pushJob(new DeriveStatsJob(this));
+            // stats of children are derived independently
+            List<Job> deriveChildrenJobs = Lists.newArrayList();
             for (Group child : groupExpression.children()) {
                 if (!child.getLogicalExpressions().isEmpty()) {
-                    pushJob(new DeriveStatsJob(child.getLogicalExpressions().get(0), context));
+                    deriveChildrenJobs.add(new DeriveStatsJob(child.getLogicalExpressions().get(0), context));
                 }
             }
+            pushIndependentJobs(deriveChildrenJobs);
         } else {
             StatsCalculator.estimate(groupExpression);
         }
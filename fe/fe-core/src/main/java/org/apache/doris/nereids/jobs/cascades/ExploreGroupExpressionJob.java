@@ -25,8 +25,12 @@ import org.apache.doris.nereids.memo.GroupExpression;
 import org.apache.doris.nereids.pattern.Pattern;
 import org.apache.doris.nereids.rules.Rule;
 
+import com.google.common.collect.Sets;
+
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Job to explore {@link GroupExpression} in {@link org.apache.doris.nereids.memo.Memo}.
@@ -52,15 +56,19 @@ public class ExploreGroupExpressionJob extends Job {
         List<Rule> validRules = getValidRules(groupExpression, explorationRules);
         validRules.sort(Comparator.comparingInt(o -> o.getRulePromise().promise()));
 
+        Set<Group> childrenToExplore = Sets.newLinkedHashSet();
         for (Rule rule : validRules) {
             pushJob(new ApplyRuleJob(groupExpression, rule, context));
             for (int i = 0; i < rule.getPattern().children().size(); ++i) {
                 Pattern childPattern = rule.getPattern().child(i);
                 if (childPattern.arity() > 0 && !childPattern.isGroup()) {
-                    Group child = groupExpression.child(i);
-                    pushJob(new ExploreGroupJob(child, context));
+                    childrenToExplore.add(groupExpression.child(i));
                 }
             }
         }
+        // explore the children groups in parallel before applying any rule
+        pushIndependentJobs(childrenToExplore.stream()
+                .<Job>map(child -> new ExploreGroupJob(child, context))
+                .collect(Collectors.toList()));
     }
 }
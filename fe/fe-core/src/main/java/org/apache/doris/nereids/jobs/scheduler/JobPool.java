@@ -19,12 +19,20 @@ package org.apache.doris.nereids.jobs.scheduler;
 
 import org.apache.doris.nereids.jobs.Job;
 
+import java.util.List;
+
 /**
  * Pool for all pending jobs.
  */
 public interface JobPool {
     void push(Job job);
 
+    /**
+     * Push jobs which are independent of each other, the scheduler could execute them in parallel.
+     * They are executed after all jobs pushed later, same as pushing them one by one.
+     */
+    void pushIndependent(List<Job> jobs);
+
     Job pop();
 
     boolean isEmpty();
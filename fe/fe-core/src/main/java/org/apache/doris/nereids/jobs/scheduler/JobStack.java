@@ -19,6 +19,7 @@ package org.apache.doris.nereids.jobs.scheduler;
 
 import org.apache.doris.nereids.jobs.Job;
 
+import java.util.List;
 import java.util.Stack;
 
 /**
@@ -32,6 +33,13 @@ public class JobStack implements JobPool {
         stack.push(job);
     }
 
+    @Override
+    public void pushIndependent(List<Job> jobs) {
+        for (Job job : jobs) {
+            stack.push(job);
+        }
+    }
+
     @Override
     public Job pop() {
         return stack.pop();
@@ -0,0 +1,151 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.jobs.scheduler;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.nereids.CascadesContext;
+import org.apache.doris.nereids.exceptions.AnalysisException;
+import org.apache.doris.nereids.jobs.Job;
+import org.apache.doris.qe.ConnectContext;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Multi-thread scheduler, which executes independent jobs in parallel on a fork-join pool.
+ *
+ * Jobs are executed in the same order as {@link SimpleJobScheduler}: all jobs pushed by a job, and jobs
+ * pushed by them recursively, are executed before jobs pushed earlier. So a job could push a job to continue
+ * after its children jobs are done. The only difference is that the jobs pushed by
+ * {@link JobPool#pushIndependent(List)} are executed in parallel, and the scheduler waits for all of them,
+ * including the jobs pushed by them, before executing jobs pushed earlier.
+ */
+public class ParallelJobScheduler implements JobScheduler {
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+            Config.nereids_parallel_job_scheduler_thread_num > 0
+                    ? Config.nereids_parallel_job_scheduler_thread_num
+                    : Runtime.getRuntime().availableProcessors(),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("nereids-job-scheduler-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+
+    // jobs pushed by the job executing in current thread, each element is a list of independent jobs
+    private final ThreadLocal<Deque<List<Job>>> localJobs = new ThreadLocal<>();
+
+    private final JobPool localJobPool = new JobPool() {
+        @Override
+        public void push(Job job) {
+            localJobs.get().push(ImmutableList.of(job));
+        }
+
+        @Override
+        public void pushIndependent(List<Job> jobs) {
+            if (!jobs.isEmpty()) {
+                localJobs.get().push(ImmutableList.copyOf(jobs));
+            }
+        }
+
+        @Override
+        public Job pop() {
+            throw new UnsupportedOperationException("jobs are popped by the scheduler");
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return localJobs.get().isEmpty();
+        }
+    };
+
+    @Override
+    public void executeJob(Job job, CascadesContext context) {
+
+    }
+
+    @Override
+    public void executeJobPool(CascadesContext cascadesContext) throws AnalysisException {
+        JobPool pool = cascadesContext.getJobPool();
+        List<Job> jobs = Lists.newArrayList();
+        while (!pool.isEmpty()) {
+            jobs.add(pool.pop());
+        }
+        // jobs push the new jobs to the pool of cascades context, redirect them to the executing task
+        cascadesContext.setJobPool(localJobPool);
+        try {
+            for (Job job : jobs) {
+                POOL.invoke(new JobTask(job, cascadesContext.getConnectContext()));
+            }
+        } finally {
+            cascadesContext.setJobPool(pool);
+        }
+    }
+
+    /**
+     * Execute a job and all jobs pushed by it recursively.
+     */
+    private class JobTask extends RecursiveAction {
+        private final Job job;
+        private final ConnectContext connectContext;
+
+        JobTask(Job job, ConnectContext connectContext) {
+            this.job = job;
+            this.connectContext = connectContext;
+        }
+
+        @Override
+        protected void compute() {
+            // rules and stats calculator may get the session variables from thread local
+            ConnectContext prevConnectContext = ConnectContext.get();
+            Deque<List<Job>> prevJobs = localJobs.get();
+            connectContext.setThreadLocalInfo();
+            Deque<List<Job>> jobs = new ArrayDeque<>();
+            localJobs.set(jobs);
+            try {
+                jobs.push(ImmutableList.of(job));
+                while (!jobs.isEmpty()) {
+                    List<Job> top = jobs.pop();
+                    if (top.size() == 1) {
+                        top.get(0).execute();
+                    } else {
+                        List<JobTask> tasks = Lists.newArrayListWithCapacity(top.size());
+                        // the last pushed job should be executed first in serial, keep the order when forking
+                        for (int i = top.size() - 1; i >= 0; i--) {
+                            tasks.add(new JobTask(top.get(i), connectContext));
+                        }
+                        invokeAll(tasks);
+                    }
+                }
+            } finally {
+                localJobs.set(prevJobs);
+                if (prevConnectContext == null) {
+                    ConnectContext.remove();
+                } else {
+                    prevConnectContext.setThreadLocalInfo();
+                }
+            }
+        }
+    }
+}
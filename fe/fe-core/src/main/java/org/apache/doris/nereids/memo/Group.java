@@ -29,7 +29,6 @@ import org.apache.doris.statistics.StatsDeriveResult;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
 import java.util.ArrayList;
@@ -38,6 +37,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -48,15 +48,17 @@ public class Group {
     private final GroupId groupId;
     private final IdentityHashMap<GroupExpression, Void> parentExpressions = new IdentityHashMap<>();
 
-    private final List<GroupExpression> logicalExpressions = Lists.newArrayList();
-    private final List<GroupExpression> physicalExpressions = Lists.newArrayList();
+    // group expressions may be added by a job when they are iterated by another job running in parallel,
+    // so copy on write lists are used to iterate the snapshots safely.
+    private final List<GroupExpression> logicalExpressions = new CopyOnWriteArrayList<>();
+    private final List<GroupExpression> physicalExpressions = new CopyOnWriteArrayList<>();
     private LogicalProperties logicalProperties;
 
     // Map of cost lower bounds
     // Map required plan props to cost lower bound of corresponding plan
     private final Map<PhysicalProperties, Pair<Double, GroupExpression>> lowestCostPlans = Maps.newHashMap();
     private double costLowerBound = -1;
-    private boolean isExplored = false;
+    private volatile boolean isExplored = false;
     private boolean hasCost = false;
     private StatsDeriveResult statistics;
 
@@ -295,11 +297,11 @@ public class Group {
         return physicalPlan;
     }
 
-    public List<GroupExpression> getParentGroupExpressions() {
+    public synchronized List<GroupExpression> getParentGroupExpressions() {
         return ImmutableList.copyOf(parentExpressions.keySet());
     }
 
-    public void addParentExpression(GroupExpression parent) {
+    public synchronized void addParentExpression(GroupExpression parent) {
         parentExpressions.put(parent, null);
     }
 
@@ -309,12 +311,12 @@ public class Group {
      * @param parent group expression
      * @return parentExpressions's num
      */
-    public int removeParentExpression(GroupExpression parent) {
+    public synchronized int removeParentExpression(GroupExpression parent) {
         parentExpressions.remove(parent);
         return parentExpressions.size();
     }
 
-    public int parentExpressionNum() {
+    public synchronized int parentExpressionNum() {
         return parentExpressions.size();
     }
 
@@ -128,7 +128,7 @@ public class GroupExpression {
         this.children.set(index, group);
     }
 
-    public boolean hasApplied(Rule rule) {
+    public synchronized boolean hasApplied(Rule rule) {
         return ruleMasks.get(rule.getRuleType().ordinal());
     }
 
@@ -136,16 +136,27 @@ public class GroupExpression {
         return !hasApplied(rule);
     }
 
-    public void setApplied(Rule rule) {
+    public synchronized void setApplied(Rule rule) {
         ruleMasks.set(rule.getRuleType().ordinal());
     }
 
-    public void setApplied(RuleType ruleType) {
+    public synchronized void setApplied(RuleType ruleType) {
         ruleMasks.set(ruleType.ordinal());
     }
 
+    /**
+     * Copy the applied rules of this group expression to toGroupExpression,
+     * the masks are copied under the lock of each expression, since the jobs run in parallel.
+     * @param toGroupExpression the group expression to receive the applied rules
+     */
     public void propagateApplied(GroupExpression toGroupExpression) {
-        toGroupExpression.ruleMasks.or(ruleMasks);
+        BitSet applied;
+        synchronized (this) {
+            applied = (BitSet) ruleMasks.clone();
+        }
+        synchronized (toGroupExpression) {
+            toGroupExpression.ruleMasks.or(applied);
+        }
     }
 
     public boolean isStatDerived() {
@@ -55,7 +55,7 @@ public class Memo {
         return root;
     }
 
-    public List<Group> getGroups() {
+    public synchronized List<Group> getGroups() {
         return ImmutableList.copyOf(groups.values());
     }
 
@@ -74,7 +74,7 @@ public class Memo {
      *                       groupExpression added into memo, and the correspondingExpression
      *                       is the corresponding group expression of the plan
      */
-    public CopyInResult copyIn(Plan plan, @Nullable Group target, boolean rewrite) {
+    public synchronized CopyInResult copyIn(Plan plan, @Nullable Group target, boolean rewrite) {
         if (rewrite) {
             return doRewrite(plan, target);
         } else {
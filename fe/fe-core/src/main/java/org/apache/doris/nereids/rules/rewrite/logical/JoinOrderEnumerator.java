@@ -0,0 +1,399 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.rules.rewrite.logical;
+
+import org.apache.doris.common.Pair;
+import org.apache.doris.nereids.cost.CostCalculator;
+import org.apache.doris.nereids.memo.Group;
+import org.apache.doris.nereids.memo.GroupExpression;
+import org.apache.doris.nereids.stats.FilterSelectivityCalculator;
+import org.apache.doris.nereids.stats.JoinEstimation;
+import org.apache.doris.nereids.stats.StatsCalculator;
+import org.apache.doris.nereids.trees.expressions.EqualTo;
+import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.expressions.Slot;
+import org.apache.doris.nereids.trees.plans.GroupPlan;
+import org.apache.doris.nereids.trees.plans.JoinType;
+import org.apache.doris.nereids.trees.plans.Plan;
+import org.apache.doris.nereids.trees.plans.logical.LogicalFilter;
+import org.apache.doris.nereids.trees.plans.logical.LogicalJoin;
+import org.apache.doris.nereids.util.ExpressionUtils;
+import org.apache.doris.nereids.util.JoinUtils;
+import org.apache.doris.statistics.StatsDeriveResult;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Enumerate the orders of the inner joins of a {@link MultiJoin} and pick the cheapest one.
+ * <p>
+ * Joins of at most maxTableCountUseDphyp inputs are enumerated by DPhyp, see
+ * "Dynamic Programming Strikes Back" by Guido Moerkotte and Thomas Neumann.
+ * It only enumerates pairs of connected sub graphs which have a join condition between them,
+ * and keeps the cheapest plan of each sub graph, so cross joins are never generated.
+ * Larger joins, or joins whose graph is not connected, are reordered greedily:
+ * join the pair of sub plans which results in the cheapest plan until only one plan is left.
+ * <p>
+ * Row counts come from {@link StatsCalculator} and {@link JoinEstimation},
+ * and the cost of each join comes from {@link CostCalculator}.
+ */
+public class JoinOrderEnumerator {
+    // bitmap of the join inputs is a long
+    public static final int MAX_JOIN_INPUT_COUNT = 64;
+
+    private final List<Plan> joinInputs;
+    // conjuncts which reference more than one input, applied by joins
+    private final List<Expression> joinConjuncts = new ArrayList<>();
+    private final List<Long> joinConjunctInputs = new ArrayList<>();
+    // conjuncts which can not be applied by joins, kept in the filter above the joins
+    private final List<Expression> remainingConjuncts = new ArrayList<>();
+    private final List<Edge> edges = new ArrayList<>();
+    // input bitmap -> the cheapest plan of the inputs
+    private final Map<Long, JoinPlan> dpTable = Maps.newHashMap();
+
+    /**
+     * Constructor.
+     *
+     * @param joinInputs inputs of the inner joins, at most {@link #MAX_JOIN_INPUT_COUNT}
+     * @param conjuncts conjuncts of all the joins and the filter above them
+     */
+    public JoinOrderEnumerator(List<Plan> joinInputs, List<Expression> conjuncts) {
+        Preconditions.checkArgument(joinInputs.size() >= 2 && joinInputs.size() <= MAX_JOIN_INPUT_COUNT,
+                "join input count should be in [2, %s]", MAX_JOIN_INPUT_COUNT);
+        this.joinInputs = joinInputs;
+        Map<Slot, Integer> slotToInput = Maps.newHashMap();
+        for (int i = 0; i < joinInputs.size(); i++) {
+            for (Slot slot : joinInputs.get(i).getOutput()) {
+                slotToInput.put(slot, i);
+            }
+        }
+
+        List<List<Expression>> inputFilters = Lists.newArrayList();
+        for (int i = 0; i < joinInputs.size(); i++) {
+            inputFilters.add(Lists.newArrayList());
+        }
+        for (Expression conjunct : conjuncts) {
+            long inputs = getInputs(conjunct, slotToInput);
+            if (inputs == 0) {
+                remainingConjuncts.add(conjunct);
+            } else if (Long.bitCount(inputs) == 1) {
+                // the filter is pushed down to the input by the later rules, only estimate it here
+                remainingConjuncts.add(conjunct);
+                inputFilters.get(Long.numberOfTrailingZeros(inputs)).add(conjunct);
+            } else {
+                joinConjuncts.add(conjunct);
+                joinConjunctInputs.add(inputs);
+                edges.add(createEdge(conjunct, inputs, slotToInput));
+            }
+        }
+
+        for (int i = 0; i < joinInputs.size(); i++) {
+            Plan input = joinInputs.get(i);
+            StatsDeriveResult stats = estimateFilters(deriveStats(input), inputFilters.get(i));
+            dpTable.put(1L << i, new JoinPlan(input, stats, 0));
+        }
+    }
+
+    public List<Expression> getRemainingConjuncts() {
+        return remainingConjuncts;
+    }
+
+    /**
+     * Enumerate the join orders, by DPhyp if there are at most maxTableCountUseDphyp inputs, or else greedily.
+     *
+     * @return the cheapest join tree found
+     */
+    public Plan enumerate(int maxTableCountUseDphyp) {
+        long allInputs = allInputs();
+        if (joinInputs.size() <= maxTableCountUseDphyp) {
+            solveByDphyp();
+            JoinPlan best = dpTable.get(allInputs);
+            if (best != null) {
+                return best.plan;
+            }
+        }
+        return solveGreedily();
+    }
+
+    private long allInputs() {
+        return joinInputs.size() == MAX_JOIN_INPUT_COUNT ? -1L : (1L << joinInputs.size()) - 1;
+    }
+
+    private void solveByDphyp() {
+        for (int i = joinInputs.size() - 1; i >= 0; i--) {
+            long input = 1L << i;
+            emitCsg(input);
+            enumerateCsgRec(input, lowerOrEqualInputs(input));
+        }
+    }
+
+    private void enumerateCsgRec(long csg, long excluded) {
+        long neighbors = neighborhood(csg, excluded);
+        for (long subset = nextSubset(0, neighbors); subset != 0; subset = nextSubset(subset, neighbors)) {
+            if (dpTable.containsKey(csg | subset)) {
+                emitCsg(csg | subset);
+            }
+        }
+        for (long subset = nextSubset(0, neighbors); subset != 0; subset = nextSubset(subset, neighbors)) {
+            enumerateCsgRec(csg | subset, excluded | neighbors);
+        }
+    }
+
+    private void emitCsg(long csg) {
+        long excluded = csg | lowerOrEqualInputs(Long.lowestOneBit(csg));
+        long neighbors = neighborhood(csg, excluded);
+        // from the neighbor of the highest index to the lowest
+        for (long remaining = neighbors; remaining != 0; remaining &= ~Long.highestOneBit(remaining)) {
+            long cmp = Long.highestOneBit(remaining);
+            if (isConnected(csg, cmp)) {
+                emitCsgCmp(csg, cmp);
+            }
+            enumerateCmpRec(csg, cmp, excluded | (neighbors & lowerOrEqualInputs(cmp)));
+        }
+    }
+
+    private void enumerateCmpRec(long csg, long cmp, long excluded) {
+        long neighbors = neighborhood(cmp, excluded);
+        for (long subset = nextSubset(0, neighbors); subset != 0; subset = nextSubset(subset, neighbors)) {
+            if (dpTable.containsKey(cmp | subset) && isConnected(csg, cmp | subset)) {
+                emitCsgCmp(csg, cmp | subset);
+            }
+        }
+        for (long subset = nextSubset(0, neighbors); subset != 0; subset = nextSubset(subset, neighbors)) {
+            enumerateCmpRec(csg, cmp | subset, excluded | neighbors);
+        }
+    }
+
+    private void emitCsgCmp(long csg, long cmp) {
+        JoinPlan left = dpTable.get(csg);
+        JoinPlan right = dpTable.get(cmp);
+        JoinPlan join = join(left, right, csg, cmp, dpTable.get(csg | cmp));
+        if (join != null) {
+            dpTable.put(csg | cmp, join);
+        }
+    }
+
+    private Plan solveGreedily() {
+        List<Long> subPlans = Lists.newArrayList();
+        for (int i = 0; i < joinInputs.size(); i++) {
+            subPlans.add(1L << i);
+        }
+        while (subPlans.size() > 1) {
+            JoinPlan best = null;
+            long bestInputs = 0;
+            // cross join only if there is no join condition between any pair of the sub plans
+            for (boolean allowCrossJoin : new boolean[] {false, true}) {
+                for (int i = 0; i < subPlans.size(); i++) {
+                    for (int j = i + 1; j < subPlans.size(); j++) {
+                        long left = subPlans.get(i);
+                        long right = subPlans.get(j);
+                        if (!allowCrossJoin && !isConnected(left, right)) {
+                            continue;
+                        }
+                        JoinPlan join = join(dpTable.get(left), dpTable.get(right), left, right, best);
+                        if (join != null) {
+                            best = join;
+                            bestInputs = left | right;
+                        }
+                    }
+                }
+                if (best != null) {
+                    break;
+                }
+            }
+            long joined = bestInputs;
+            subPlans.removeIf(inputs -> (inputs & joined) != 0);
+            subPlans.add(joined);
+            dpTable.put(joined, best);
+        }
+        return dpTable.get(subPlans.get(0)).plan;
+    }
+
+    /**
+     * Join the two sub plans, try both sides as the build side.
+     *
+     * @return the cheaper join, or null if it is not cheaper than the current best plan
+     */
+    private JoinPlan join(JoinPlan left, JoinPlan right, long leftInputs, long rightInputs, JoinPlan currentBest) {
+        double childrenCost = left.cost + right.cost;
+        // prune before building the join, the cost of the join itself is not negative
+        if (currentBest != null && childrenCost >= currentBest.cost) {
+            return null;
+        }
+        List<Expression> conditions = Lists.newArrayList();
+        long inputs = leftInputs | rightInputs;
+        for (int i = 0; i < joinConjuncts.size(); i++) {
+            long conjunctInputs = joinConjunctInputs.get(i);
+            if ((conjunctInputs & ~inputs) == 0 && (conjunctInputs & ~leftInputs) != 0
+                    && (conjunctInputs & ~rightInputs) != 0) {
+                conditions.add(joinConjuncts.get(i));
+            }
+        }
+        JoinType joinType = conditions.isEmpty() ? JoinType.CROSS_JOIN : JoinType.INNER_JOIN;
+        // hash conditions are used to estimate the row count
+        Pair<List<Expression>, List<Expression>> hashAndOtherConditions = JoinUtils.extractExpressionForHashTable(
+                left.plan.getOutput(), right.plan.getOutput(), conditions);
+        List<Expression> hashConditions = hashAndOtherConditions.first;
+        Optional<Expression> otherCondition = ExpressionUtils.optionalAnd(hashAndOtherConditions.second);
+        LogicalJoin<Plan, Plan> join = new LogicalJoin<>(joinType, hashConditions, otherCondition,
+                left.plan, right.plan);
+        StatsDeriveResult stats = JoinEstimation.estimate(left.stats, right.stats, join);
+        double leftBuildCost = CostCalculator.calculateJoinCost(right.stats, left.stats, stats,
+                joinType.isCrossJoin());
+        double rightBuildCost = CostCalculator.calculateJoinCost(left.stats, right.stats, stats,
+                joinType.isCrossJoin());
+        double cost = childrenCost + Math.min(leftBuildCost, rightBuildCost);
+        if (currentBest != null && cost >= currentBest.cost) {
+            return null;
+        }
+        if (leftBuildCost < rightBuildCost) {
+            // the right child is the build side of hash join
+            join = new LogicalJoin<>(joinType, hashConditions, otherCondition, right.plan, left.plan);
+        }
+        return new JoinPlan(join, stats, cost);
+    }
+
+    /**
+     * The representative inputs of the hyper edges which connect the inputs with others not excluded.
+     */
+    private long neighborhood(long inputs, long excluded) {
+        long neighbors = 0;
+        long forbidden = inputs | excluded;
+        for (Edge edge : edges) {
+            if ((edge.left & ~inputs) == 0 && (edge.right & forbidden) == 0) {
+                neighbors |= Long.lowestOneBit(edge.right);
+            } else if ((edge.right & ~inputs) == 0 && (edge.left & forbidden) == 0) {
+                neighbors |= Long.lowestOneBit(edge.left);
+            }
+        }
+        return neighbors;
+    }
+
+    private boolean isConnected(long left, long right) {
+        for (Edge edge : edges) {
+            if (((edge.left & ~left) == 0 && (edge.right & ~right) == 0)
+                    || ((edge.left & ~right) == 0 && (edge.right & ~left) == 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // all inputs whose index is not greater than the index of the input
+    private static long lowerOrEqualInputs(long input) {
+        return input | (input - 1);
+    }
+
+    // enumerate the non-empty subsets of the set in ascending order, starts from 0 and ends with 0
+    private static long nextSubset(long subset, long set) {
+        return (subset - set) & set;
+    }
+
+    private static long getInputs(Expression conjunct, Map<Slot, Integer> slotToInput) {
+        long inputs = 0;
+        for (Slot slot : conjunct.getInputSlots()) {
+            Integer input = slotToInput.get(slot);
+            if (input == null) {
+                return 0;
+            }
+            inputs |= 1L << input;
+        }
+        return inputs;
+    }
+
+    private static Edge createEdge(Expression conjunct, long inputs, Map<Slot, Integer> slotToInput) {
+        if (conjunct instanceof EqualTo) {
+            long left = getInputs(conjunct.child(0), slotToInput);
+            long right = getInputs(conjunct.child(1), slotToInput);
+            if (left != 0 && right != 0 && (left & right) == 0) {
+                return new Edge(left, right);
+            }
+        }
+        // other conditions connect their first input with the rest
+        long first = Long.lowestOneBit(inputs);
+        return new Edge(first, inputs & ~first);
+    }
+
+    private static StatsDeriveResult deriveStats(Plan input) {
+        if (input instanceof GroupPlan) {
+            return new StatsDeriveResult(deriveStats(((GroupPlan) input).getGroup()));
+        }
+        Preconditions.checkState(input instanceof LogicalFilter && input.child(0) instanceof GroupPlan,
+                "join input should be a group plan or a filter on it");
+        StatsDeriveResult stats = deriveStats(input.child(0));
+        return estimateFilters(stats, ExpressionUtils.extractConjunction(((LogicalFilter<?>) input).getPredicates()));
+    }
+
+    /**
+     * Stats are derived after rewrite, derive the stats of the inputs here in advance,
+     * they are derived again by DeriveStatsJob after rewrite.
+     */
+    private static StatsDeriveResult deriveStats(Group group) {
+        if (group.getStatistics() == null) {
+            GroupExpression logicalExpression = group.getLogicalExpression();
+            for (Group child : logicalExpression.children()) {
+                deriveStats(child);
+            }
+            StatsCalculator.estimate(logicalExpression);
+        }
+        return group.getStatistics();
+    }
+
+    private static StatsDeriveResult estimateFilters(StatsDeriveResult stats, List<Expression> filters) {
+        if (!filters.isEmpty()) {
+            FilterSelectivityCalculator selectivityCalculator =
+                    new FilterSelectivityCalculator(stats.getSlotToColumnStats());
+            stats.updateRowCountBySelectivity(selectivityCalculator.estimate(ExpressionUtils.and(filters)));
+        }
+        return stats;
+    }
+
+    /**
+     * A join condition connecting the left inputs and the right inputs.
+     */
+    private static class Edge {
+        private final long left;
+        private final long right;
+
+        private Edge(long left, long right) {
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    /**
+     * The cheapest plan of a set of join inputs.
+     */
+    private static class JoinPlan {
+        private final Plan plan;
+        private final StatsDeriveResult stats;
+        private final double cost;
+
+        private JoinPlan(Plan plan, StatsDeriveResult stats, double cost) {
+            this.plan = plan;
+            this.stats = stats;
+            this.cost = cost;
+        }
+    }
+}
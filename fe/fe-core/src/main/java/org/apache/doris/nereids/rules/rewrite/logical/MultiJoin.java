@@ -69,6 +69,20 @@ public class MultiJoin extends PlanVisitor<Void, Void> {
         return Optional.empty();
     }
 
+    /**
+     * Reorder joins by cost, see {@link JoinOrderEnumerator}.
+     *
+     * @return join or filter
+     */
+    public Optional<Plan> reorderJoinsByCost(int maxTableCountUseDphyp) {
+        if (joinInputs.size() >= 2 && joinInputs.size() <= JoinOrderEnumerator.MAX_JOIN_INPUT_COUNT) {
+            JoinOrderEnumerator enumerator = new JoinOrderEnumerator(joinInputs, conjunctsForAllHashJoins);
+            Plan root = enumerator.enumerate(maxTableCountUseDphyp);
+            return Optional.of(PlanUtils.filterOrSelf(enumerator.getRemainingConjuncts(), root));
+        }
+        return reorderJoinsAccordingToConditions();
+    }
+
     /**
      * Reorder join orders according to join conditions to eliminate cross join.
      * <p/>
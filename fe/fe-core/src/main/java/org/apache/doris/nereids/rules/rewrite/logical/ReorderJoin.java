@@ -23,6 +23,7 @@ import org.apache.doris.nereids.rules.rewrite.OneRewriteRuleFactory;
 import org.apache.doris.nereids.trees.plans.Plan;
 import org.apache.doris.nereids.trees.plans.logical.LogicalFilter;
 import org.apache.doris.nereids.trees.plans.logical.LogicalJoin;
+import org.apache.doris.qe.SessionVariable;
 
 /**
  * Try to eliminate cross join via finding join conditions in filters and change the join orders.
@@ -37,6 +38,8 @@ import org.apache.doris.nereids.trees.plans.logical.LogicalJoin;
  * SELECT * FROM t1 JOIN t3 ON t1.id=t3.id JOIN t2 ON t2.id=t3.id
  * </pre>
  * </p>
+ * If enable_dphyp_optimizer is set, the joins are reordered by cost instead, see {@link JoinOrderEnumerator}.
+ * <p>
  * TODO: This is tested by SSB queries currently, add more `unit` test for this rule
  * when we have a plan building and comparing framework.
  */
@@ -45,8 +48,13 @@ public class ReorderJoin extends OneRewriteRuleFactory {
     public Rule build() {
         return logicalFilter(subTree(LogicalJoin.class, LogicalFilter.class)).thenApply(ctx -> {
             LogicalFilter<Plan> filter = ctx.root;
-            if (!ctx.cascadesContext.getConnectContext().getSessionVariable()
-                    .isEnableNereidsReorderToEliminateCrossJoin()) {
+            SessionVariable sessionVariable = ctx.cascadesContext.getConnectContext().getSessionVariable();
+            if (sessionVariable.isEnableDphypOptimizer()) {
+                MultiJoin multiJoin = new MultiJoin();
+                filter.accept(multiJoin, null);
+                return multiJoin.reorderJoinsByCost(sessionVariable.getMaxTableCountUseDphyp()).orElse(filter);
+            }
+            if (!sessionVariable.isEnableNereidsReorderToEliminateCrossJoin()) {
                 return filter;
             }
             MultiJoin multiJoin = new MultiJoin();
@@ -21,16 +21,22 @@ import org.apache.doris.nereids.trees.expressions.ComparisonPredicate;
 import org.apache.doris.nereids.trees.expressions.CompoundPredicate;
 import org.apache.doris.nereids.trees.expressions.EqualTo;
 import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.expressions.GreaterThan;
+import org.apache.doris.nereids.trees.expressions.GreaterThanEqual;
+import org.apache.doris.nereids.trees.expressions.LessThan;
+import org.apache.doris.nereids.trees.expressions.LessThanEqual;
 import org.apache.doris.nereids.trees.expressions.Or;
 import org.apache.doris.nereids.trees.expressions.Slot;
 import org.apache.doris.nereids.trees.expressions.SlotReference;
 import org.apache.doris.nereids.trees.expressions.literal.Literal;
 import org.apache.doris.nereids.trees.expressions.visitor.ExpressionVisitor;
 import org.apache.doris.statistics.ColumnStats;
+import org.apache.doris.statistics.Histogram;
 
 import com.google.common.base.Preconditions;
 
 import java.util.Map;
+import java.util.OptionalDouble;
 
 /**
  * Calculate selectivity of the filter.
@@ -89,9 +95,79 @@ public class FilterSelectivityCalculator extends ExpressionVisitor<Double, Void>
         if (columnStats == null) {
             return DEFAULT_SELECTIVITY;
         }
+        Histogram histogram = columnStats.getHistogram();
+        OptionalDouble value = toDouble(equalTo.right());
+        if (histogram != null && value.isPresent()) {
+            // the value may be missed by sampling, use ndv instead
+            double selectivity = histogram.equalSelectivity(value.getAsDouble());
+            if (selectivity > 0) {
+                return selectivity;
+            }
+        }
         long ndv = columnStats.getNdv();
         return ndv < 0 ? DEFAULT_SELECTIVITY : ndv == 0 ? 0 : 1.0 / columnStats.getNdv();
     }
 
+    @Override
+    public Double visitLessThan(LessThan lessThan, Void context) {
+        return estimateLessThan(lessThan, false).orElse(DEFAULT_SELECTIVITY);
+    }
+
+    @Override
+    public Double visitLessThanEqual(LessThanEqual lessThanEqual, Void context) {
+        return estimateLessThan(lessThanEqual, true).orElse(DEFAULT_SELECTIVITY);
+    }
+
+    @Override
+    public Double visitGreaterThan(GreaterThan greaterThan, Void context) {
+        OptionalDouble lessThanEqual = estimateLessThan(greaterThan, true);
+        return lessThanEqual.isPresent() ? 1 - lessThanEqual.getAsDouble() : DEFAULT_SELECTIVITY;
+    }
+
+    @Override
+    public Double visitGreaterThanEqual(GreaterThanEqual greaterThanEqual, Void context) {
+        OptionalDouble lessThan = estimateLessThan(greaterThanEqual, false);
+        return lessThan.isPresent() ? 1 - lessThan.getAsDouble() : DEFAULT_SELECTIVITY;
+    }
+
+    /**
+     * Estimate the selectivity of "slot < literal", or "slot <= literal" if inclusive,
+     * by the histogram, or by the min and max value assuming the values are evenly distributed.
+     */
+    private OptionalDouble estimateLessThan(ComparisonPredicate cp, boolean inclusive) {
+        ColumnStats columnStats = slotRefToStats.get(cp.child(0));
+        OptionalDouble value = toDouble(cp.child(1));
+        if (columnStats == null || !value.isPresent()) {
+            return OptionalDouble.empty();
+        }
+        if (columnStats.getHistogram() != null) {
+            return OptionalDouble.of(columnStats.getHistogram().lessThanSelectivity(value.getAsDouble(), inclusive));
+        }
+        if (columnStats.getMinValue() == null || columnStats.getMaxValue() == null) {
+            return OptionalDouble.empty();
+        }
+        double min = columnStats.getMinValue().getDoubleValue();
+        double max = columnStats.getMaxValue().getDoubleValue();
+        if (max <= min) {
+            return OptionalDouble.empty();
+        }
+        double selectivity = (value.getAsDouble() - min) / (max - min);
+        return OptionalDouble.of(Math.max(0, Math.min(1, selectivity)));
+    }
+
+    /**
+     * Numeric and date literals are compared as double, the same as the bounds of histogram.
+     */
+    private static OptionalDouble toDouble(Expression expression) {
+        if (!(expression instanceof Literal)) {
+            return OptionalDouble.empty();
+        }
+        Literal literal = (Literal) expression;
+        if (!literal.getDataType().isNumericType() && !literal.getDataType().isDateType()) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(literal.toLegacyLiteral().getDoubleValue());
+    }
+
     // TODO: Should consider the distribution of data.
 }
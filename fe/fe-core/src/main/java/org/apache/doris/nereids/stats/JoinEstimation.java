@@ -21,7 +21,6 @@ import org.apache.doris.common.CheckedMath;
 import org.apache.doris.nereids.trees.expressions.Cast;
 import org.apache.doris.nereids.trees.expressions.Expression;
 import org.apache.doris.nereids.trees.expressions.Slot;
-import org.apache.doris.nereids.trees.expressions.SlotReference;
 import org.apache.doris.nereids.trees.plans.JoinType;
 import org.apache.doris.nereids.trees.plans.algebra.Join;
 import org.apache.doris.statistics.ColumnStats;
@@ -43,7 +42,8 @@ public class JoinEstimation {
 
     /**
      * Do estimate.
-     * // TODO: since we have no column stats here. just use a fix ratio to compute the row count.
+     * The row count of inner join is estimated by the ndv of join keys, other joins or inner join
+     * without column stats use a fix ratio to compute the row count.
      */
     public static StatsDeriveResult estimate(StatsDeriveResult leftStats, StatsDeriveResult rightStats, Join join) {
         JoinType joinType = join.getJoinType();
@@ -59,8 +59,11 @@ public class JoinEstimation {
         } else if (joinType == JoinType.RIGHT_SEMI_JOIN || joinType == JoinType.RIGHT_ANTI_JOIN) {
             rowCount = Math.round(rightStats.getRowCount() / DEFAULT_JOIN_RATIO) + 1;
         } else if (joinType == JoinType.INNER_JOIN) {
-            long childRowCount = Math.max(leftStats.getRowCount(), rightStats.getRowCount());
-            rowCount = Math.round(childRowCount / DEFAULT_JOIN_RATIO) + 1;
+            rowCount = getJoinRowCount(leftStats, rightStats, join.getHashJoinConjuncts());
+            if (rowCount == -1) {
+                long childRowCount = Math.max(leftStats.getRowCount(), rightStats.getRowCount());
+                rowCount = Math.round(childRowCount / DEFAULT_JOIN_RATIO) + 1;
+            }
         } else if (joinType == JoinType.LEFT_OUTER_JOIN) {
             rowCount = leftStats.getRowCount();
         } else if (joinType == JoinType.RIGHT_OUTER_JOIN) {
@@ -146,41 +149,41 @@ public class JoinEstimation {
         return Math.round(rowCount * minSelectivity);
     }
 
+    /**
+     * Estimate the row count of inner join by the ndv of join keys, assume that the keys of the side
+     * with less ndv are all contained in the other side: rows = leftRows * rightRows / max(leftNdv, rightNdv).
+     * The most selective condition is used, return -1 if no condition has ndv on both sides.
+     */
     private static long getJoinRowCount(StatsDeriveResult leftStats, StatsDeriveResult rightStats,
-            List<Expression> eqConjunctList, JoinType joinType) {
+            List<Expression> eqConjunctList) {
         long lhsCard = leftStats.getRowCount();
         long rhsCard = rightStats.getRowCount();
         Map<Slot, ColumnStats> leftSlotToColumnStats = leftStats.getSlotToColumnStats();
         Map<Slot, ColumnStats> rightSlotToColumnStats = rightStats.getSlotToColumnStats();
         if (lhsCard == -1 || rhsCard == -1) {
-            return lhsCard;
+            return -1;
         }
 
         long result = -1;
         for (Expression eqJoinConjunct : eqConjunctList) {
-            Expression left = eqJoinConjunct.child(0);
-            if (!(left instanceof SlotReference)) {
-                continue;
-            }
-            Expression right = eqJoinConjunct.child(1);
-            if (!(right instanceof SlotReference)) {
-                continue;
+            Expression left = removeCast(eqJoinConjunct.child(0));
+            Expression right = removeCast(eqJoinConjunct.child(1));
+            ColumnStats leftColStats = leftSlotToColumnStats.get(left);
+            ColumnStats rightColStats = rightSlotToColumnStats.get(right);
+            if (leftColStats == null || rightColStats == null) {
+                // the condition may be not normalized to the order of children
+                leftColStats = leftSlotToColumnStats.get(right);
+                rightColStats = rightSlotToColumnStats.get(left);
             }
-            SlotReference leftSlot = (SlotReference) left;
-            ColumnStats leftColStats = leftSlotToColumnStats.get(leftSlot);
-            if (leftColStats == null) {
+            if (leftColStats == null || rightColStats == null) {
                 continue;
             }
-            SlotReference rightSlot = (SlotReference) right;
-            ColumnStats rightColStats = rightSlotToColumnStats.get(rightSlot);
-            if (rightColStats == null) {
+            long leftNdv = Math.min(leftColStats.getNdv(), lhsCard);
+            long rightNdv = Math.min(rightColStats.getNdv(), rhsCard);
+            if (leftNdv <= 0 || rightNdv <= 0) {
                 continue;
             }
-            double leftSideNdv = leftColStats.getNdv();
-            double rightSideNdv = rightColStats.getNdv();
-            long tmpNdv = (long) Math.max(1, Math.max(leftSideNdv, rightSideNdv));
-            long joinCard = tmpNdv == rhsCard ? lhsCard : CheckedMath.checkedMultiply(
-                    Math.round((lhsCard / Math.max(1, Math.max(leftSideNdv, rightSideNdv)))), rhsCard);
+            long joinCard = (long) Math.ceil((double) lhsCard * rhsCard / Math.max(leftNdv, rightNdv));
             if (result == -1) {
                 result = joinCard;
             } else {
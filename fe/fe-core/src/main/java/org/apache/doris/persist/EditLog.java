@@ -44,6 +44,7 @@ import org.apache.doris.common.util.SmallFileMgr.SmallFile;
 import org.apache.doris.datasource.CatalogLog;
 import org.apache.doris.ha.MasterInfo;
 import org.apache.doris.journal.Journal;
+import org.apache.doris.journal.JournalBatch;
 import org.apache.doris.journal.JournalCursor;
 import org.apache.doris.journal.JournalEntity;
 import org.apache.doris.journal.bdbje.BDBJEJournal;
@@ -77,7 +78,10 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 
 /**
  * EditLog maintains a log of the memory modifications.
@@ -95,6 +99,11 @@ public class EditLog {
 
     private Journal journal;
 
+    // Pending edit logs in group commit mode, consumed by flushThread.
+    // flushThread is only started on master, because only master writes edit logs.
+    private final BlockingQueue<EditLogItem> logEditQueue = new LinkedBlockingQueue<>();
+    private volatile Thread flushThread = null;
+
     /**
      * The constructor.
      **/
@@ -109,6 +118,30 @@ public class EditLog {
         }
     }
 
+    /**
+     * Start the flush thread of group commit if it is enabled. Called when this FE transfers to master.
+     */
+    public synchronized void startFlushThread() {
+        if (!Config.enable_edit_log_group_commit || flushThread != null) {
+            return;
+        }
+        Thread thread = new Thread(this::flushEditLogLoop, "edit-log-flusher");
+        thread.setDaemon(true);
+        flushThread = thread;
+        thread.start();
+    }
+
+    // only for test
+    public void stopFlushThread() throws InterruptedException {
+        Thread thread = flushThread;
+        if (thread == null) {
+            return;
+        }
+        flushThread = null;
+        thread.interrupt();
+        thread.join();
+    }
+
     public long getMaxJournalId() {
         return journal.getMaxJournalId();
     }
@@ -869,6 +902,11 @@ public class EditLog {
                     env.getCatalogMgr().replayRefreshCatalog(log);
                     break;
                 }
+                case OperationType.OP_REFRESH_EXTERNAL_TABLE: {
+                    CatalogLog log = (CatalogLog) journal.getData();
+                    env.getCatalogMgr().replayRefreshExternalTable(log);
+                    break;
+                }
                 case OperationType.OP_MODIFY_TABLE_ADD_OR_DROP_COLUMNS: {
                     final TableAddOrDropColumnsInfo info = (TableAddOrDropColumnsInfo) journal.getData();
                     env.getSchemaChangeHandler().replayModifyTableAddOrDropColumns(info);
@@ -937,14 +975,35 @@ public class EditLog {
     }
 
     /**
-     * Write an operation to the edit log. Do not sync to persistent store yet.
+     * Write an operation to the edit log and wait until it is persisted.
+     * If edit log group commit is enabled, the operation is added to the current batch and
+     * is written by the flush thread together with other concurrent operations.
      */
-    private synchronized void logEdit(short op, Writable writable) {
+    private void logEdit(short op, Writable writable) {
         if (this.getNumEditStreams() == 0) {
             LOG.error("Fatal Error : no editLog stream", new Exception());
             throw new Error("Fatal Error : no editLog stream");
         }
 
+        if (flushThread == null) {
+            logEditDirectly(op, writable);
+            return;
+        }
+
+        EditLogItem item;
+        try {
+            // serialize in the caller thread, so the flush thread only does the io.
+            item = new EditLogItem(new JournalBatch.Entity(op, writable));
+        } catch (Throwable t) {
+            LOG.error("Fatal Error : write stream Exception", t);
+            System.exit(-1);
+            return;
+        }
+        logEditQueue.add(item);
+        item.await();
+    }
+
+    private synchronized void logEditDirectly(short op, Writable writable) {
         long start = System.currentTimeMillis();
 
         try {
@@ -956,20 +1015,45 @@ public class EditLog {
             System.exit(-1);
         }
 
-        // get a new transactionId
-        txId++;
+        long end = System.currentTimeMillis();
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_EDIT_LOG_WRITE_LATENCY.update((end - start));
+        }
+        afterWrite(1, end - start, op);
+    }
+
+    private synchronized void logEditBatch(JournalBatch batch) {
+        long start = System.currentTimeMillis();
+
+        try {
+            journal.write(batch);
+        } catch (Throwable t) {
+            LOG.error("Fatal Error : write stream Exception", t);
+            System.exit(-1);
+        }
 
-        // update statistics
         long end = System.currentTimeMillis();
-        numTransactions++;
-        totalTimeTransactions += (end - start);
         if (MetricRepo.isInit) {
             MetricRepo.HISTO_EDIT_LOG_WRITE_LATENCY.update((end - start));
+            MetricRepo.HISTO_EDIT_LOG_BATCH_NUM.update(batch.getJournalNum());
+            MetricRepo.HISTO_EDIT_LOG_BATCH_BYTES.update(batch.getSize());
         }
+        List<JournalBatch.Entity> entities = batch.getJournalEntities();
+        afterWrite(entities.size(), end - start, entities.get(entities.size() - 1).getOpCode());
+    }
+
+    // Must be called with the lock of EditLog held.
+    private void afterWrite(int journalNum, long costMs, short lastOp) {
+        // get new transactionIds
+        txId += journalNum;
+
+        // update statistics
+        numTransactions += journalNum;
+        totalTimeTransactions += costMs;
 
         if (LOG.isDebugEnabled()) {
             LOG.debug("nextId = {}, numTransactions = {}, totalTimeTransactions = {}, op = {}", txId, numTransactions,
-                    totalTimeTransactions, op);
+                    totalTimeTransactions, lastOp);
         }
 
         if (txId >= Config.edit_log_roll_num) {
@@ -980,7 +1064,64 @@ public class EditLog {
         }
 
         if (MetricRepo.isInit) {
-            MetricRepo.COUNTER_EDIT_LOG_WRITE.increase(1L);
+            MetricRepo.COUNTER_EDIT_LOG_WRITE.increase((long) journalNum);
+        }
+    }
+
+    /**
+     * Loop of the flush thread in group commit mode.
+     * Take all pending edit logs from the queue, write them in one batch and then wake up the writers.
+     */
+    private void flushEditLogLoop() {
+        List<EditLogItem> items = new ArrayList<>();
+        while (flushThread == Thread.currentThread()) {
+            items.clear();
+            try {
+                items.add(logEditQueue.take());
+            } catch (InterruptedException e) {
+                LOG.warn("edit log flush thread is interrupted", e);
+                continue;
+            }
+            logEditQueue.drainTo(items, Math.max(Config.edit_log_group_commit_max_batch_num - 1, 0));
+
+            JournalBatch batch = new JournalBatch(items.size());
+            for (EditLogItem item : items) {
+                batch.addJournal(item.entity);
+            }
+            logEditBatch(batch);
+
+            for (EditLogItem item : items) {
+                item.finish();
+            }
+        }
+    }
+
+    private static class EditLogItem {
+        private final JournalBatch.Entity entity;
+        private boolean finished = false;
+
+        EditLogItem(JournalBatch.Entity entity) {
+            this.entity = entity;
+        }
+
+        synchronized void finish() {
+            finished = true;
+            notifyAll();
+        }
+
+        synchronized void await() {
+            boolean interrupted = false;
+            while (!finished) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    // the edit log can not be revoked once it is submitted, so we must wait until it is written.
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
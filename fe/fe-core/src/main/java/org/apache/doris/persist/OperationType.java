@@ -238,6 +238,7 @@ public class OperationType {
     public static final short OP_ALTER_CATALOG_NAME = 322;
     public static final short OP_ALTER_CATALOG_PROPS = 323;
     public static final short OP_REFRESH_CATALOG = 324;
+    public static final short OP_REFRESH_EXTERNAL_TABLE = 325;
 
     /**
      * Get opcode name by op code.
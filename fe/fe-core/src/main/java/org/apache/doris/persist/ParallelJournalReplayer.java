@@ -0,0 +1,119 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist;
+
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.common.io.Writable;
+import org.apache.doris.journal.JournalEntity;
+import org.apache.doris.meta.MetaContext;
+import org.apache.doris.transaction.TransactionState;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Function;
+
+/**
+ * Replays the journals of some operations in parallel.
+ * Such an operation only changes the meta of one database, eg, the txn state and the replicas,
+ * so the journals of different databases are commutative. The journals of a database are replayed
+ * in order by the lane of the database. Other journals are barriers, the caller should wait for all the
+ * submitted journals to be replayed by {@link #waitForAll()} before replaying them.
+ */
+public class ParallelJournalReplayer {
+    // the max num of journals which are submitted but not waited for
+    private static final int MAX_PENDING_NUM = 1024;
+
+    // op code -> the function to get the db id from the data of the journal
+    private static final ImmutableMap<Short, Function<Writable, Long>> DB_PARTITIONED_OPS =
+            ImmutableMap.<Short, Function<Writable, Long>>builder()
+                    .put(OperationType.OP_UPSERT_TRANSACTION_STATE, data -> ((TransactionState) data).getDbId())
+                    .put(OperationType.OP_ADD_REPLICA, data -> ((ReplicaPersistInfo) data).getDbId())
+                    .put(OperationType.OP_UPDATE_REPLICA, data -> ((ReplicaPersistInfo) data).getDbId())
+                    .put(OperationType.OP_DELETE_REPLICA, data -> ((ReplicaPersistInfo) data).getDbId())
+                    .build();
+
+    private final ThreadPoolExecutor[] lanes;
+    private final List<Future<?>> pendingFutures = Lists.newArrayList();
+
+    public ParallelJournalReplayer(int laneNum) {
+        lanes = new ThreadPoolExecutor[laneNum];
+        for (int i = 0; i < laneNum; i++) {
+            // a lane has only one thread, so that the journals of a database are replayed in order
+            lanes[i] = ThreadPoolManager.newDaemonFixedThreadPool(1, MAX_PENDING_NUM,
+                    "journal-replayer-" + i, false);
+        }
+    }
+
+    /**
+     * Submit the journal to the lane of its database, if it can be replayed in parallel.
+     *
+     * @return false if the journal is a barrier, which is not submitted
+     */
+    public boolean submit(JournalEntity entity, Runnable replayTask) {
+        Function<Writable, Long> dbIdGetter = DB_PARTITIONED_OPS.get(entity.getOpCode());
+        if (dbIdGetter == null) {
+            return false;
+        }
+        long dbId = dbIdGetter.apply(entity.getData());
+        MetaContext metaContext = MetaContext.get();
+        ThreadPoolExecutor lane = lanes[(int) Math.floorMod(dbId, (long) lanes.length)];
+        pendingFutures.add(lane.submit(() -> {
+            if (metaContext != null) {
+                metaContext.setThreadLocalInfo();
+            }
+            try {
+                replayTask.run();
+            } finally {
+                MetaContext.remove();
+            }
+        }));
+        return true;
+    }
+
+    public boolean isFull() {
+        return pendingFutures.size() >= MAX_PENDING_NUM;
+    }
+
+    public int getPendingNum() {
+        return pendingFutures.size();
+    }
+
+    /**
+     * Wait for all the submitted journals to be replayed.
+     */
+    public void waitForAll() throws InterruptedException, ExecutionException {
+        try {
+            for (Future<?> future : pendingFutures) {
+                future.get();
+            }
+        } finally {
+            pendingFutures.clear();
+        }
+    }
+
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
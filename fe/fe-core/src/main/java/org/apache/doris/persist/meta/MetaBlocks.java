@@ -0,0 +1,143 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.common.io.CountingDataOutputStream;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.CountingInputStream;
+import org.apache.commons.io.IOUtils;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Blocks of a meta module, eg, the databases of module "db".
+ * The offsets of the blocks relative to the start of the module are saved in the footer of the image,
+ * so that the blocks can be read in parallel when loading the image.
+ *
+ * The save method of a module calls {@link #markBlock} before each block and after the last block,
+ * and the load method reads the blocks by {@link #readBlocks}.
+ */
+public class MetaBlocks {
+    private static final ThreadLocal<Recorder> RECORDER = new ThreadLocal<>();
+    private static final ThreadLocal<Source> SOURCE = new ThreadLocal<>();
+
+    public interface BlockReader<T> {
+        T read(DataInputStream dis) throws IOException;
+    }
+
+    private static class Recorder {
+        private final long moduleOffset;
+        private final List<Long> blockOffsets = Lists.newArrayList();
+
+        private Recorder(long moduleOffset) {
+            this.moduleOffset = moduleOffset;
+        }
+    }
+
+    private static class Source {
+        private final File imageFile;
+        private final MetaIndex metaIndex;
+        private final int threadNum;
+
+        private Source(File imageFile, MetaIndex metaIndex, int threadNum) {
+            this.imageFile = imageFile;
+            this.metaIndex = metaIndex;
+            this.threadNum = threadNum;
+        }
+    }
+
+    // Start to record the blocks of the module written to the stream from now on.
+    static void startRecording(CountingDataOutputStream dos) {
+        RECORDER.set(new Recorder(dos.getCount()));
+    }
+
+    // Stop recording and return the offsets of the recorded blocks.
+    static List<Long> stopRecording() {
+        Recorder recorder = RECORDER.get();
+        RECORDER.remove();
+        return recorder == null ? Lists.newArrayList() : recorder.blockOffsets;
+    }
+
+    public static void markBlock(CountingDataOutputStream dos) {
+        Recorder recorder = RECORDER.get();
+        if (recorder != null) {
+            recorder.blockOffsets.add(dos.getCount() - recorder.moduleOffset);
+        }
+    }
+
+    // The module being loaded by the current thread is read from the image file.
+    static void startReading(File imageFile, MetaIndex metaIndex, int threadNum) {
+        SOURCE.set(new Source(imageFile, metaIndex, threadNum));
+    }
+
+    static void stopReading() {
+        SOURCE.remove();
+    }
+
+    /**
+     * Read blockNum blocks from the stream, whose position is the start of the first block.
+     * If the offsets of the blocks are known, the blocks are read in parallel from their own streams,
+     * and then skipped in the given stream, otherwise they are read one by one.
+     */
+    public static <T> List<T> readBlocks(DataInputStream dis, int blockNum, BlockReader<T> reader)
+            throws IOException {
+        Source source = SOURCE.get();
+        if (source == null || source.threadNum <= 1 || blockNum <= 1
+                || source.metaIndex.blockOffsets.size() != blockNum + 1) {
+            List<T> blocks = Lists.newArrayListWithCapacity(blockNum);
+            for (int i = 0; i < blockNum; i++) {
+                blocks.add(reader.read(dis));
+            }
+            return blocks;
+        }
+
+        List<Long> offsets = source.metaIndex.blockOffsets;
+        List<Callable<T>> tasks = Lists.newArrayListWithCapacity(blockNum);
+        for (int i = 0; i < blockNum; i++) {
+            long begin = source.metaIndex.offset + offsets.get(i);
+            long length = offsets.get(i + 1) - offsets.get(i);
+            tasks.add(() -> readBlock(source.imageFile, source.metaIndex.name, begin, length, reader));
+        }
+        List<T> blocks = MetaTaskExecutor.invokeAll("image-block-loader", source.threadNum, tasks);
+        // the blocks still need to be read through the given stream, which checks the crc32 of the module
+        IOUtils.skipFully(dis, offsets.get(blockNum) - offsets.get(0));
+        return blocks;
+    }
+
+    private static <T> T readBlock(File imageFile, String name, long begin, long length, BlockReader<T> reader)
+            throws IOException {
+        FileInputStream fileIn = new FileInputStream(imageFile);
+        fileIn.getChannel().position(begin);
+        CountingInputStream countingIn = new CountingInputStream(new BufferedInputStream(fileIn));
+        try (DataInputStream dis = new DataInputStream(countingIn)) {
+            T block = reader.read(dis);
+            if (countingIn.getCount() != length) {
+                throw new IOException("block of meta module " + name + " at " + begin + " has " + length
+                        + " bytes, but " + countingIn.getCount() + " bytes are read");
+            }
+            return block;
+        }
+    }
+}
@@ -36,6 +36,18 @@ import java.util.List;
  * | | - index b                   |      |
  * | | ...                         |      |
  * | |-----------------------------|      |
+ * | |- section info (optional) ---|      |
+ * | | - index num (4 bytes)       |      |
+ * | | - length, crc32, checksum a |      |
+ * | | - length, crc32, checksum b |      |
+ * | | ...                         |      |
+ * | |-----------------------------|      |
+ * | |- block info (optional) -----|      |
+ * | | - index num (4 bytes)       |      |
+ * | | - block offsets of a        |      |
+ * | | - block offsets of b        |      |
+ * | | ...                         |      |
+ * | |-----------------------------|      |
  * | - other value(undecided)             |
  * |--------------------------------------|
  * - Footer Length (8 bytes)
@@ -81,6 +93,17 @@ public class MetaFooter {
                 MetaIndex index = MetaIndex.read(raf);
                 metaIndices.add(index);
             }
+            // images written by old versions do not have the section info
+            if (raf.getFilePointer() < footerLengthIndex && raf.readInt() == indexNum) {
+                for (MetaIndex index : metaIndices) {
+                    MetaIndex.readSectionInfo(raf, index);
+                }
+                if (raf.getFilePointer() < footerLengthIndex && raf.readInt() == indexNum) {
+                    for (MetaIndex index : metaIndices) {
+                        MetaIndex.readBlockInfo(raf, index);
+                    }
+                }
+            }
             LOG.info("Image footer length: {}, indices: {}", footerLength, metaIndices.toArray());
             return new MetaFooter(metaIndices, checksum, footerLength);
         }
@@ -95,6 +118,16 @@ public class MetaFooter {
             for (MetaIndex metaIndex : metaIndices) {
                 MetaIndex.write(raf, metaIndex);
             }
+            if (metaIndices.stream().allMatch(MetaIndex::hasSectionInfo)) {
+                raf.writeInt(metaIndices.size());
+                for (MetaIndex metaIndex : metaIndices) {
+                    MetaIndex.writeSectionInfo(raf, metaIndex);
+                }
+                raf.writeInt(metaIndices.size());
+                for (MetaIndex metaIndex : metaIndices) {
+                    MetaIndex.writeBlockInfo(raf, metaIndex);
+                }
+            }
             long endIndex = raf.length();
             raf.writeLong(endIndex - startIndex);
             MetaMagicNumber.write(raf);
@@ -108,6 +141,19 @@ public class MetaFooter {
         this.length = length;
     }
 
+    public boolean hasSectionInfo() {
+        return !metaIndices.isEmpty() && metaIndices.stream().allMatch(MetaIndex::hasSectionInfo);
+    }
+
+    public MetaIndex getMetaIndex(String name) {
+        for (MetaIndex metaIndex : metaIndices) {
+            if (metaIndex.name.equals(name)) {
+                return metaIndex;
+            }
+        }
+        return null;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -19,12 +19,24 @@ package org.apache.doris.persist.meta;
 
 import org.apache.doris.common.io.Text;
 
+import com.google.common.collect.Lists;
+
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.util.List;
 
 public class MetaIndex {
     public String name;
     public long offset;
+    // The following section info is saved in the footer after all indices, -1 if the image does not have it.
+    // length of the module in bytes
+    public long length = -1;
+    // crc32 of the bytes of the module
+    public long crc32 = -1;
+    // the checksum returned by the save method of the module, which is xor-ed into the checksum of the image
+    public long checksum = 0;
+    // offsets of the blocks relative to the start of the module, see MetaBlocks, empty if the module has no blocks
+    public List<Long> blockOffsets = Lists.newArrayList();
 
     public MetaIndex() {
     }
@@ -46,8 +58,42 @@ public class MetaIndex {
         raf.writeLong(metaIndex.offset);
     }
 
+    public static void readSectionInfo(RandomAccessFile raf, MetaIndex metaIndex) throws IOException {
+        metaIndex.length = raf.readLong();
+        metaIndex.crc32 = raf.readLong();
+        metaIndex.checksum = raf.readLong();
+    }
+
+    public static void writeSectionInfo(RandomAccessFile raf, MetaIndex metaIndex) throws IOException {
+        raf.writeLong(metaIndex.length);
+        raf.writeLong(metaIndex.crc32);
+        raf.writeLong(metaIndex.checksum);
+    }
+
+    public static void readBlockInfo(RandomAccessFile raf, MetaIndex metaIndex) throws IOException {
+        int blockNum = raf.readInt();
+        metaIndex.blockOffsets = Lists.newArrayListWithCapacity(blockNum);
+        for (int i = 0; i < blockNum; i++) {
+            metaIndex.blockOffsets.add(raf.readLong());
+        }
+    }
+
+    public static void writeBlockInfo(RandomAccessFile raf, MetaIndex metaIndex) throws IOException {
+        raf.writeInt(metaIndex.blockOffsets.size());
+        for (long blockOffset : metaIndex.blockOffsets) {
+            raf.writeLong(blockOffset);
+        }
+    }
+
+    public boolean hasSectionInfo() {
+        return length >= 0;
+    }
+
     @Override
     public String toString() {
-        return name + ":" + offset;
+        if (!hasSectionInfo()) {
+            return name + ":" + offset;
+        }
+        return name + ":" + offset + ":" + length + ":" + crc32;
     }
 }
@@ -18,9 +18,12 @@
 package org.apache.doris.persist.meta;
 
 import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.io.CountingInputStream;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -31,6 +34,10 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 
 /**
  * Image Format:
@@ -57,11 +64,16 @@ import java.lang.reflect.InvocationTargetException;
  * | | | - index b                   |      |     |
  * | | | ...                         |      |     |
  * | | |-----------------------------|      |     |
+ * | | - section info of objects            |     |
  * | | - other value(undecided)             |     |
  * | |--------------------------------------|     |
  * | - Footer Length (8 bytes)                    |
  * | - Magic String (4 bytes)                     |
  * |----------------------------------------------|
+ *
+ * If Config.image_load_thread_num > 1 and the image has the section info, each module is read from its offset.
+ * The independent modules, see {@link PersistMetaModules#INDEPENDENT_MODULES}, are read in parallel,
+ * and so are the blocks of a module, see {@link MetaBlocks}.
  */
 
 public class MetaReader {
@@ -73,12 +85,35 @@ public class MetaReader {
         MetaHeader metaHeader = MetaHeader.read(imageFile);
         MetaFooter metaFooter = MetaFooter.read(imageFile);
 
+        long checksum;
+        int threadNum = Config.image_load_thread_num;
+        if (threadNum > 1 && metaFooter.hasSectionInfo()) {
+            checksum = readInParallel(imageFile, env, metaHeader, metaFooter, threadNum);
+        } else {
+            checksum = readInOrder(imageFile, env, metaHeader, metaFooter);
+        }
+
+        long remoteChecksum = metaFooter.checksum;
+        Preconditions.checkState(remoteChecksum == checksum, remoteChecksum + " vs. " + checksum);
+
+        long loadImageEndTime = System.currentTimeMillis();
+        LOG.info("finished to load image in " + (loadImageEndTime - loadImageStartTime) + " ms");
+    }
+
+    private static long readInOrder(File imageFile, Env env, MetaHeader metaHeader, MetaFooter metaFooter)
+            throws IOException, DdlException {
         long checksum = 0;
-        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(imageFile)))) {
+        CRC32 crc32 = new CRC32();
+        CountingInputStream countingIn = new CountingInputStream(
+                new BufferedInputStream(new FileInputStream(imageFile)));
+        try (DataInputStream dis = new DataInputStream(new CheckedInputStream(countingIn, crc32))) {
             // 1. Skip image file header
             IOUtils.skipFully(dis, metaHeader.getEnd());
             // 2. Read meta header first
+            long start = countingIn.getCount();
+            crc32.reset();
             checksum = env.loadHeader(dis, metaHeader, checksum);
+            checkSection(metaFooter.getMetaIndex("header"), countingIn.getCount() - start, crc32);
             // 3. Read other meta modules
             // Modules must be read in the order in which the metadata was written
             for (MetaIndex metaIndex : metaFooter.metaIndices) {
@@ -86,21 +121,109 @@ public class MetaReader {
                     // skip meta header, which has been read before.
                     continue;
                 }
-                MetaPersistMethod persistMethod = PersistMetaModules.MODULES_MAP.get(metaIndex.name);
-                if (persistMethod == null) {
-                    throw new IOException("Unknown meta module: " + metaIndex.name + ". Known modules: "
-                            + PersistMetaModules.MODULE_NAMES);
-                }
+                MetaPersistMethod persistMethod = getPersistMethod(metaIndex);
+                start = countingIn.getCount();
+                crc32.reset();
                 checksum = (long) persistMethod.readMethod.invoke(env, dis, checksum);
+                checkSection(metaIndex, countingIn.getCount() - start, crc32);
             }
         } catch (InvocationTargetException | IllegalAccessException e) {
             throw new IOException(e);
         }
+        return checksum;
+    }
 
-        long remoteChecksum = metaFooter.checksum;
-        Preconditions.checkState(remoteChecksum == checksum, remoteChecksum + " vs. " + checksum);
+    // Read the modules from their offsets, the independent modules are read in parallel first,
+    // and then the others are read one by one in the order in which they were written.
+    // The checksum of the image is the xor of the checksums of all modules, see MetaWriter.
+    private static long readInParallel(File imageFile, Env env, MetaHeader metaHeader, MetaFooter metaFooter,
+            int threadNum) throws IOException, DdlException {
+        MetaIndex headerIndex = metaFooter.getMetaIndex("header");
+        long checksum = readModule(imageFile, headerIndex, 1, dis -> env.loadHeader(dis, metaHeader, 0L));
 
-        long loadImageEndTime = System.currentTimeMillis();
-        LOG.info("finished to load image in " + (loadImageEndTime - loadImageStartTime) + " ms");
+        List<MetaIndex> independentModules = Lists.newArrayList();
+        List<MetaIndex> dependentModules = Lists.newArrayList();
+        for (MetaIndex metaIndex : metaFooter.metaIndices) {
+            if (metaIndex.name.equals("header")) {
+                continue;
+            }
+            if (PersistMetaModules.INDEPENDENT_MODULES.contains(metaIndex.name)) {
+                independentModules.add(metaIndex);
+            } else {
+                dependentModules.add(metaIndex);
+            }
+        }
+
+        List<Callable<Long>> tasks = Lists.newArrayList();
+        for (MetaIndex metaIndex : independentModules) {
+            MetaPersistMethod persistMethod = getPersistMethod(metaIndex);
+            tasks.add(() -> readModule(imageFile, metaIndex, 1, dis -> invoke(persistMethod, env, dis)));
+        }
+        for (long moduleChecksum : MetaTaskExecutor.invokeAll("image-loader", threadNum, tasks)) {
+            checksum ^= moduleChecksum;
+        }
+
+        for (MetaIndex metaIndex : dependentModules) {
+            MetaPersistMethod persistMethod = getPersistMethod(metaIndex);
+            checksum ^= readModule(imageFile, metaIndex, threadNum, dis -> invoke(persistMethod, env, dis));
+        }
+        return checksum;
+    }
+
+    private interface ReadMethod {
+        long read(DataInputStream dis) throws IOException, DdlException;
+    }
+
+    private static long readModule(File imageFile, MetaIndex metaIndex, int threadNum, ReadMethod method)
+            throws IOException, DdlException {
+        CRC32 crc32 = new CRC32();
+        FileInputStream fileIn = new FileInputStream(imageFile);
+        fileIn.getChannel().position(metaIndex.offset);
+        CountingInputStream countingIn = new CountingInputStream(new BufferedInputStream(fileIn));
+        MetaBlocks.startReading(imageFile, metaIndex, threadNum);
+        try (DataInputStream dis = new DataInputStream(new CheckedInputStream(countingIn, crc32))) {
+            long checksum = method.read(dis);
+            checkSection(metaIndex, countingIn.getCount(), crc32);
+            return checksum;
+        } finally {
+            MetaBlocks.stopReading();
+        }
+    }
+
+    private static long invoke(MetaPersistMethod persistMethod, Env env, DataInputStream dis) throws IOException {
+        try {
+            return (long) persistMethod.readMethod.invoke(env, dis, 0L);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static MetaPersistMethod getPersistMethod(MetaIndex metaIndex) throws IOException {
+        MetaPersistMethod persistMethod = PersistMetaModules.MODULES_MAP.get(metaIndex.name);
+        if (persistMethod == null) {
+            throw new IOException("Unknown meta module: " + metaIndex.name + ". Known modules: "
+                    + PersistMetaModules.MODULE_NAMES);
+        }
+        return persistMethod;
+    }
+
+    // Check the length and crc32 of a module read from the image, if the image has the section info.
+    private static void checkSection(MetaIndex metaIndex, long readLength, CRC32 crc32) throws IOException {
+        if (metaIndex == null || !metaIndex.hasSectionInfo()) {
+            return;
+        }
+        if (readLength != metaIndex.length) {
+            throw new IOException("meta module " + metaIndex.name + " has " + metaIndex.length
+                    + " bytes, but " + readLength + " bytes are read");
+        }
+        if (crc32.getValue() != metaIndex.crc32) {
+            throw new IOException("crc32 of meta module " + metaIndex.name + " mismatch, expected "
+                    + metaIndex.crc32 + ", actual " + crc32.getValue());
+        }
     }
 }
@@ -0,0 +1,84 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.catalog.Env;
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.meta.MetaContext;
+
+import com.google.common.collect.Lists;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Runs the tasks of saving or loading meta modules in parallel.
+ * The tasks see the same env and meta context as the calling thread, eg, the checkpoint env.
+ */
+public class MetaTaskExecutor {
+
+    /**
+     * Run the tasks with threadNum threads, and return their results in the order of the tasks.
+     * If any task fails, the other tasks are cancelled and the exception is thrown.
+     */
+    public static <T> List<T> invokeAll(String name, int threadNum, List<Callable<T>> tasks) throws IOException {
+        if (tasks.isEmpty()) {
+            return Lists.newArrayList();
+        }
+        boolean isCheckpoint = Env.isCheckpointThread();
+        MetaContext metaContext = MetaContext.get();
+        ThreadPoolExecutor executor = ThreadPoolManager.newDaemonFixedThreadPool(
+                Math.min(threadNum, tasks.size()), tasks.size(), name, false);
+        try {
+            List<Future<T>> futures = Lists.newArrayList();
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    Env.setCheckpointWorker(isCheckpoint);
+                    if (metaContext != null) {
+                        metaContext.setThreadLocalInfo();
+                    }
+                    try {
+                        return task.call();
+                    } finally {
+                        Env.setCheckpointWorker(false);
+                        MetaContext.remove();
+                    }
+                }));
+            }
+            List<T> results = Lists.newArrayListWithCapacity(futures.size());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(name + " is interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -18,19 +18,29 @@
 package org.apache.doris.persist.meta;
 
 import org.apache.doris.catalog.Env;
-import org.apache.doris.common.Reference;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.io.CountingDataOutputStream;
 
 import com.google.common.collect.Lists;
+import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 
 /**
  * Image Format:
@@ -57,78 +67,258 @@ import java.util.List;
  * | | | - index b                   |      |     |
  * | | | ...                         |      |     |
  * | | |-----------------------------|      |     |
+ * | | - section info of objects            |     |
  * | | - other value(undecided)             |     |
  * | |--------------------------------------|     |
  * | - Footer Length (8 bytes)                    |
  * | - Magic String (4 bytes)                     |
  * |----------------------------------------------|
+ *
+ * Each object is a meta module, whose length and crc32 are saved in the section info.
+ * If Config.checkpoint_image_write_thread_num > 1, modules are written to temp files in parallel, and then
+ * concatenated into the image in order. Modules which are not changed since the loaded image,
+ * see {@link PersistMetaModules#REUSABLE_MODULE_OPS}, are copied from the loaded image.
  */
 
 public class MetaWriter {
     private static final Logger LOG = LogManager.getLogger(MetaWriter.class);
 
-    public static MetaWriter writer = new MetaWriter();
-
-    private interface Delegate {
-        long doWork(String name, WriteMethod method) throws IOException;
-    }
+    // the dir under the image dir to save the modules written in parallel
+    private static final String SECTION_TMP_DIR = "ckpt_sections";
 
     private interface WriteMethod {
-        long write() throws IOException;
-    }
-
-    private Delegate delegate;
-
-    public void setDelegate(CountingDataOutputStream dos, List<MetaIndex> indices) {
-        this.delegate = (name, method) -> {
-            indices.add(new MetaIndex(name, dos.getCount()));
-            return method.write();
-        };
-    }
-
-    public long doWork(String name, WriteMethod method) throws IOException {
-        if (delegate == null) {
-            return method.write();
-        }
-        return delegate.doWork(name, method);
+        long write(CountingDataOutputStream dos) throws IOException;
     }
 
     public static void write(File imageFile, Env env) throws IOException {
         // save image does not need any lock. because only checkpoint thread will call this method.
         LOG.info("start to save image to {}. is ckpt: {}",
                 imageFile.getAbsolutePath(), Env.isCheckpointThread());
-        final Reference<Long> checksum = new Reference<>(0L);
         long saveImageStartTime = System.currentTimeMillis();
         // MetaHeader should use output stream in the future.
         long startPosition = MetaHeader.write(imageFile);
         List<MetaIndex> metaIndices = Lists.newArrayList();
+        LoadedImage loadedImage = LoadedImage.open(env);
+        CRC32 crc32 = new CRC32();
         FileOutputStream imageFileOut = new FileOutputStream(imageFile, true);
-        try (CountingDataOutputStream dos = new CountingDataOutputStream(new BufferedOutputStream(imageFileOut),
-                startPosition)) {
-            writer.setDelegate(dos, metaIndices);
+        try (CountingDataOutputStream dos = new CountingDataOutputStream(
+                new CheckedOutputStream(new BufferedOutputStream(imageFileOut), crc32), startPosition)) {
             long replayedJournalId = env.getReplayedJournalId();
             // 1. write header first
-            checksum.setRef(
-                    writer.doWork("header", () -> env.saveHeader(dos, replayedJournalId, checksum.getRef())));
+            metaIndices.add(writeModule("header", dos, crc32,
+                    out -> env.saveHeader(out, replayedJournalId, 0L)));
             // 2. write other modules
-            for (MetaPersistMethod m : PersistMetaModules.MODULES_IN_ORDER) {
-                checksum.setRef(writer.doWork(m.name, () -> {
-                    try {
-                        return (long) m.writeMethod.invoke(env, dos, checksum.getRef());
-                    } catch (IllegalAccessException | InvocationTargetException e) {
-                        LOG.warn("failed to write meta module: {}", m.name, e);
-                        throw new RuntimeException(e);
+            int threadNum = Math.min(Config.checkpoint_image_write_thread_num,
+                    PersistMetaModules.MODULES_IN_ORDER.size());
+            if (threadNum > 1) {
+                writeModulesInParallel(imageFile, env, loadedImage, threadNum, dos, crc32, metaIndices);
+            } else {
+                for (MetaPersistMethod m : PersistMetaModules.MODULES_IN_ORDER) {
+                    MetaIndex metaIndex = loadedImage == null ? null : loadedImage.copyModule(m.name, dos, crc32);
+                    if (metaIndex == null) {
+                        metaIndex = writeModule(m.name, dos, crc32, out -> saveModule(m, env, out));
                     }
-                }));
+                    metaIndices.add(metaIndex);
+                }
             }
             // 3. force sync to disk
+            dos.flush();
             imageFileOut.getChannel().force(true);
         }
-        MetaFooter.write(imageFile, metaIndices, checksum.getRef());
+        // the checksum of each module is xor-ed into the checksum of the image,
+        // so it is the same as saving all modules one by one
+        long checksum = 0;
+        for (MetaIndex metaIndex : metaIndices) {
+            checksum ^= metaIndex.checksum;
+        }
+        MetaFooter.write(imageFile, metaIndices, checksum);
 
         long saveImageEndTime = System.currentTimeMillis();
-        LOG.info("finished save image {} in {} ms. checksum is {}", imageFile.getAbsolutePath(),
-                (saveImageEndTime - saveImageStartTime), checksum.getRef());
+        LOG.info("finished save image {} in {} ms. checksum is {}, reused modules: {}", imageFile.getAbsolutePath(),
+                (saveImageEndTime - saveImageStartTime), checksum,
+                loadedImage == null ? "[]" : loadedImage.getCopiedModules());
+    }
+
+    private static long saveModule(MetaPersistMethod m, Env env, CountingDataOutputStream dos) {
+        try {
+            return (long) m.writeMethod.invoke(env, dos, 0L);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            LOG.warn("failed to write meta module: {}", m.name, e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static MetaIndex writeModule(String name, CountingDataOutputStream dos, CRC32 crc32,
+            WriteMethod method) throws IOException {
+        MetaIndex metaIndex = new MetaIndex(name, dos.getCount());
+        crc32.reset();
+        MetaBlocks.startRecording(dos);
+        try {
+            metaIndex.checksum = method.write(dos);
+        } finally {
+            metaIndex.blockOffsets = MetaBlocks.stopRecording();
+        }
+        metaIndex.length = dos.getCount() - metaIndex.offset;
+        metaIndex.crc32 = crc32.getValue();
+        return metaIndex;
+    }
+
+    // Write each module to a temp file in parallel, then append them to the image in order.
+    private static void writeModulesInParallel(File imageFile, Env env, LoadedImage loadedImage, int threadNum,
+            CountingDataOutputStream dos, CRC32 crc32, List<MetaIndex> metaIndices) throws IOException {
+        File tmpDir = new File(imageFile.getParentFile(), SECTION_TMP_DIR);
+        FileUtils.deleteDirectory(tmpDir);
+        if (!tmpDir.mkdirs()) {
+            throw new IOException("failed to create dir " + tmpDir.getAbsolutePath());
+        }
+        try {
+            List<MetaPersistMethod> modules = Lists.newArrayList();
+            List<Callable<MetaIndex>> tasks = Lists.newArrayList();
+            for (MetaPersistMethod m : PersistMetaModules.MODULES_IN_ORDER) {
+                if (loadedImage != null && loadedImage.canReuse(m.name)) {
+                    continue;
+                }
+                modules.add(m);
+                tasks.add(() -> {
+                    File sectionFile = new File(tmpDir, m.name);
+                    CRC32 sectionCrc32 = new CRC32();
+                    try (CountingDataOutputStream sectionDos = new CountingDataOutputStream(new CheckedOutputStream(
+                            new BufferedOutputStream(new FileOutputStream(sectionFile)), sectionCrc32))) {
+                        return writeModule(m.name, sectionDos, sectionCrc32, out -> saveModule(m, env, out));
+                    }
+                });
+            }
+            List<MetaIndex> writtenIndices = MetaTaskExecutor.invokeAll("image-writer", threadNum, tasks);
+
+            for (MetaPersistMethod m : PersistMetaModules.MODULES_IN_ORDER) {
+                int idx = modules.indexOf(m);
+                MetaIndex metaIndex = null;
+                if (idx < 0) {
+                    metaIndex = loadedImage.copyModule(m.name, dos, crc32);
+                    if (metaIndex == null) {
+                        metaIndex = writeModule(m.name, dos, crc32, out -> saveModule(m, env, out));
+                    }
+                } else {
+                    MetaIndex written = writtenIndices.get(idx);
+                    File sectionFile = new File(tmpDir, m.name);
+                    metaIndex = new MetaIndex(m.name, dos.getCount());
+                    try (InputStream in = new BufferedInputStream(new FileInputStream(sectionFile))) {
+                        crc32.reset();
+                        copy(in, dos, written.length);
+                    }
+                    if (crc32.getValue() != written.crc32) {
+                        throw new IOException("crc32 of meta module " + m.name + " changed when copying");
+                    }
+                    metaIndex.length = written.length;
+                    metaIndex.crc32 = written.crc32;
+                    metaIndex.checksum = written.checksum;
+                    metaIndex.blockOffsets = written.blockOffsets;
+                    sectionFile.delete();
+                }
+                metaIndices.add(metaIndex);
+            }
+        } finally {
+            FileUtils.deleteQuietly(tmpDir);
+        }
+    }
+
+    private static void copy(InputStream in, CountingDataOutputStream dos, long length) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long left = length;
+        while (left > 0) {
+            int n = in.read(buffer, 0, (int) Math.min(buffer.length, left));
+            if (n < 0) {
+                throw new IOException("unexpected end of meta module, " + left + " bytes left");
+            }
+            dos.write(buffer, 0, n);
+            left -= n;
+        }
     }
 
+    /**
+     * The image loaded by the checkpoint env, from which unchanged modules are copied to the new image.
+     */
+    private static class LoadedImage {
+        private final File file;
+        private final MetaFooter footer;
+        private final Set<Short> replayedOpCodes;
+        private final List<String> copiedModules = Lists.newArrayList();
+
+        private LoadedImage(File file, MetaFooter footer, Set<Short> replayedOpCodes) {
+            this.file = file;
+            this.footer = footer;
+            this.replayedOpCodes = replayedOpCodes;
+        }
+
+        public static LoadedImage open(Env env) {
+            File file = env.getLoadedImageFile();
+            if (!Env.isCheckpointThread() || file == null || !file.exists()) {
+                return null;
+            }
+            try {
+                MetaFooter footer = MetaFooter.read(file);
+                MetaIndex header = footer.getMetaIndex("header");
+                if (!footer.hasSectionInfo() || header == null) {
+                    return null;
+                }
+                // modules of other meta versions may be converted when loading, so they should be written again
+                try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                    raf.seek(header.offset);
+                    if (raf.readInt() != FeConstants.meta_version) {
+                        return null;
+                    }
+                }
+                return new LoadedImage(file, footer, env.getReplayedOpCodes());
+            } catch (IOException e) {
+                LOG.warn("failed to read the loaded image {}, write all modules", file.getAbsolutePath(), e);
+                return null;
+            }
+        }
+
+        public boolean canReuse(String name) {
+            Set<Short> opCodes = PersistMetaModules.REUSABLE_MODULE_OPS.get(name);
+            if (opCodes == null || footer.getMetaIndex(name) == null) {
+                return false;
+            }
+            for (Short opCode : opCodes) {
+                if (replayedOpCodes.contains(opCode)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Copy the module from the loaded image, return null if it can not be reused.
+        public MetaIndex copyModule(String name, CountingDataOutputStream dos, CRC32 crc32) throws IOException {
+            if (!canReuse(name)) {
+                return null;
+            }
+            MetaIndex loadedIndex = footer.getMetaIndex(name);
+            byte[] bytes = new byte[(int) loadedIndex.length];
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                raf.seek(loadedIndex.offset);
+                raf.readFully(bytes);
+            }
+            CRC32 loadedCrc32 = new CRC32();
+            loadedCrc32.update(bytes);
+            if (loadedCrc32.getValue() != loadedIndex.crc32) {
+                LOG.warn("crc32 of meta module {} in loaded image {} mismatch, write it again",
+                        name, file.getAbsolutePath());
+                return null;
+            }
+            MetaIndex metaIndex = new MetaIndex(name, dos.getCount());
+            crc32.reset();
+            dos.write(bytes);
+            metaIndex.length = loadedIndex.length;
+            metaIndex.crc32 = loadedIndex.crc32;
+            metaIndex.checksum = loadedIndex.checksum;
+            metaIndex.blockOffsets = loadedIndex.blockOffsets;
+            copiedModules.add(name);
+            return metaIndex;
+        }
+
+        public List<String> getCopiedModules() {
+            return copiedModules;
+        }
+    }
 }
@@ -17,7 +17,11 @@
 
 package org.apache.doris.persist.meta;
 
+import org.apache.doris.persist.OperationType;
+
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
@@ -40,6 +44,38 @@ public class PersistMetaModules {
             "paloAuth", "transactionState", "colocateTableIndex", "routineLoadJobs", "loadJobV2", "smallFiles",
             "plugins", "deleteHandler", "sqlBlockRule", "policy");
 
+    // Modules which do not depend on the catalog or other modules when loading,
+    // so they can be loaded in parallel before the other modules.
+    public static final ImmutableSet<String> INDEPENDENT_MODULES = ImmutableSet.of(
+            "masterInfo", "frontends", "backends", "globalVariable", "broker", "resources", "paloAuth",
+            "colocateTableIndex", "smallFiles", "deleteHandler", "sqlBlockRule", "policy");
+
+    // Modules which are only changed by the following journals.
+    // When saving the image of checkpoint, such a module is copied from the loaded image
+    // if none of its journals has been replayed since the image was loaded.
+    // NOTICE: a module whose content may be changed by other journals or time must not be added here,
+    // eg, "recycleBin" contains tablets which are updated by replica journals.
+    public static final ImmutableMap<String, ImmutableSet<Short>> REUSABLE_MODULE_OPS =
+            ImmutableMap.<String, ImmutableSet<Short>>builder()
+                    .put("paloAuth", ImmutableSet.of(OperationType.OP_CREATE_USER, OperationType.OP_NEW_DROP_USER,
+                            OperationType.OP_GRANT_PRIV, OperationType.OP_REVOKE_PRIV, OperationType.OP_SET_PASSWORD,
+                            OperationType.OP_SET_LDAP_PASSWORD, OperationType.OP_CREATE_ROLE,
+                            OperationType.OP_DROP_ROLE, OperationType.OP_UPDATE_USER_PROPERTY,
+                            OperationType.OP_CREATE_CLUSTER, OperationType.OP_DROP_CLUSTER))
+                    .put("broker", ImmutableSet.of(OperationType.OP_ADD_BROKER, OperationType.OP_DROP_BROKER,
+                            OperationType.OP_DROP_ALL_BROKER))
+                    .put("resources", ImmutableSet.of(OperationType.OP_CREATE_RESOURCE,
+                            OperationType.OP_DROP_RESOURCE, OperationType.OP_ALTER_RESOURCE))
+                    .put("smallFiles", ImmutableSet.of(OperationType.OP_CREATE_SMALL_FILE,
+                            OperationType.OP_DROP_SMALL_FILE))
+                    .put("plugins", ImmutableSet.of(OperationType.OP_INSTALL_PLUGIN,
+                            OperationType.OP_UNINSTALL_PLUGIN))
+                    .put("sqlBlockRule", ImmutableSet.of(OperationType.OP_CREATE_SQL_BLOCK_RULE,
+                            OperationType.OP_ALTER_SQL_BLOCK_RULE, OperationType.OP_DROP_SQL_BLOCK_RULE))
+                    .put("policy", ImmutableSet.of(OperationType.OP_CREATE_POLICY, OperationType.OP_DROP_POLICY,
+                            OperationType.OP_ALTER_STORAGE_POLICY))
+                    .build();
+
     static {
         MODULES_MAP = Maps.newHashMap();
         MODULES_IN_ORDER = Lists.newArrayList();
@@ -340,6 +340,10 @@ public class OlapTableSink extends DataSink {
         }
     }
 
+    // TODO: the locations of all the target partitions are sent to every sink, which is large when all the
+    //  partitions of a table with many partitions are targeted, while a load usually hits a few of them.
+    //  Fetching the locations of a partition from FE when it is first hit needs the node channels of the sink
+    //  to be opened incrementally on BE, and the load channel to be closed by the senders which opened it only.
     private List<TOlapTableLocationParam> createLocation(OlapTable table) throws UserException {
         TOlapTableLocationParam locationParam = new TOlapTableLocationParam();
         TOlapTableLocationParam slaveLocationParam = new TOlapTableLocationParam();
@@ -0,0 +1,273 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.planner;
+
+import org.apache.doris.analysis.Expr;
+import org.apache.doris.analysis.FunctionCallExpr;
+import org.apache.doris.analysis.ImportColumnDesc;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.MaterializedIndexMeta;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.UserException;
+import org.apache.doris.task.LoadTaskInfo;
+import org.apache.doris.thrift.TBrokerRangeDesc;
+import org.apache.doris.thrift.TDataSink;
+import org.apache.doris.thrift.TExecPlanFragmentParams;
+import org.apache.doris.thrift.TOlapTableSink;
+import org.apache.doris.thrift.TPlanFragment;
+import org.apache.doris.thrift.TPlanFragmentExecParams;
+import org.apache.doris.thrift.TScanRangeParams;
+import org.apache.doris.thrift.TStreamLoadPutRequest;
+import org.apache.doris.thrift.TUniqueId;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.thrift.TBase;
+import org.apache.thrift.TFieldIdEnum;
+import org.apache.thrift.meta_data.FieldMetaData;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of the plans of stream load, so that the small stream loads to the same table
+ * with the same load properties do not plan again and again.
+ *
+ * The plan is cached by the load properties in the request, the schema and the partitions of the table,
+ * and the alive backends. A following load copies the cached plan and only patches the load id,
+ * the txn id and the query globals of it. The tablet locations in the plan are not checked again,
+ * so the plan expires after Config.stream_load_plan_cache_expire_second to see the changes of replicas.
+ */
+public class StreamLoadPlanCache {
+    private static final Logger LOG = LogManager.getLogger(StreamLoadPlanCache.class);
+
+    private static volatile StreamLoadPlanCache INSTANCE;
+
+    private final Cache<PlanKey, TExecPlanFragmentParams> plans;
+
+    public static StreamLoadPlanCache getInstance() {
+        if (INSTANCE == null) {
+            synchronized (StreamLoadPlanCache.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new StreamLoadPlanCache(Config.stream_load_plan_cache_num,
+                            Config.stream_load_plan_cache_expire_second);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return Config.stream_load_plan_cache_num > 0;
+    }
+
+    StreamLoadPlanCache(long maxNum, long expireSecond) {
+        plans = CacheBuilder.newBuilder().maximumSize(maxNum).expireAfterWrite(expireSecond, TimeUnit.SECONDS)
+                .recordStats().build();
+    }
+
+    private static class PlanKey {
+        // the request without the fields of the load itself, eg, the load id and the txn id
+        private final TStreamLoadPutRequest request;
+        // the version of the schema and the partitions of the table
+        private final List<Long> tableVersion;
+        private final List<Long> aliveBackendIds;
+        private final boolean vectorized;
+
+        private PlanKey(TStreamLoadPutRequest request, List<Long> tableVersion, List<Long> aliveBackendIds) {
+            this.request = request;
+            this.tableVersion = tableVersion;
+            this.aliveBackendIds = aliveBackendIds;
+            this.vectorized = Config.enable_vectorized_load;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PlanKey)) {
+                return false;
+            }
+            PlanKey other = (PlanKey) o;
+            return vectorized == other.vectorized && request.equals(other.request)
+                    && tableVersion.equals(other.tableVersion) && aliveBackendIds.equals(other.aliveBackendIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(request, tableVersion, aliveBackendIds, vectorized);
+        }
+    }
+
+    /**
+     * Get the plan of the stream load from the cache, or create it by StreamLoadPlanner and cache it.
+     * The table should be read locked.
+     */
+    public TExecPlanFragmentParams getOrPlan(Database db, OlapTable table, TStreamLoadPutRequest request,
+            LoadTaskInfo taskInfo, TUniqueId loadId) throws UserException {
+        if (!isCacheable(taskInfo)) {
+            return new StreamLoadPlanner(db, table, taskInfo).plan(loadId);
+        }
+        PlanKey key = new PlanKey(normalizeRequest(request), getTableVersion(table),
+                getSortedIds(Env.getCurrentSystemInfo().getBackendIds(true)));
+        TExecPlanFragmentParams cachedPlan = plans.getIfPresent(key);
+        if (cachedPlan != null) {
+            LOG.debug("stream load plan cache hit, load id: {}, table: {}", loadId, table.getName());
+            return patchPlan(cachedPlan, loadId, taskInfo);
+        }
+        TExecPlanFragmentParams plan = new StreamLoadPlanner(db, table, taskInfo).plan(loadId);
+        // the returned plan is not modified any more, so it can be cached as it is
+        plans.put(key, plan);
+        return plan;
+    }
+
+    public CacheStats getStats() {
+        return plans.stats();
+    }
+
+    public long size() {
+        return plans.size();
+    }
+
+    // The plan is not cached, if it may be changed when it is created again with the same request,
+    // eg, the replica of single replica load is chosen randomly, and the nondeterministic functions,
+    // like now(), may be folded to constants in the plan.
+    private static boolean isCacheable(LoadTaskInfo taskInfo) {
+        if (Config.enable_single_replica_load) {
+            return false;
+        }
+        List<Expr> exprs = Lists.newArrayList(taskInfo.getWhereExpr(), taskInfo.getPrecedingFilter(),
+                taskInfo.getDeleteCondition());
+        for (ImportColumnDesc columnDesc : taskInfo.getColumnExprDescs().descs) {
+            exprs.add(columnDesc.getExpr());
+        }
+        List<Expr> nondeterministicFns = Lists.newArrayList();
+        for (Expr expr : exprs) {
+            if (expr != null) {
+                expr.collect(e -> e instanceof FunctionCallExpr && Env.getCurrentEnv().isNondeterministicFunction(
+                        ((FunctionCallExpr) e).getFnName().getFunction().toLowerCase()), nondeterministicFns);
+            }
+        }
+        return nondeterministicFns.isEmpty();
+    }
+
+    static TStreamLoadPutRequest normalizeRequest(TStreamLoadPutRequest request) {
+        TStreamLoadPutRequest normalized = request.deepCopy();
+        normalized.unsetUser();
+        normalized.unsetPasswd();
+        normalized.unsetUserIp();
+        normalized.unsetLoadId();
+        normalized.unsetTxnId();
+        normalized.unsetAuthCode();
+        normalized.unsetAuthCodeUuid();
+        normalized.unsetThriftRpcTimeoutMs();
+        return normalized;
+    }
+
+    // The plan of the table is changed after the schema is changed or the partitions are added or dropped.
+    private static List<Long> getTableVersion(OlapTable table) {
+        List<Long> version = Lists.newArrayList(table.getId(), (long) table.getState().ordinal());
+        for (long indexId : getSortedIds(table.getIndexIdToMeta().keySet())) {
+            MaterializedIndexMeta indexMeta = table.getIndexMetaByIndexId(indexId);
+            version.add(indexId);
+            version.add((long) indexMeta.getSchemaVersion());
+            version.add((long) indexMeta.getSchemaHash());
+        }
+        List<Long> partitionIds = Lists.newArrayList();
+        for (Partition partition : table.getAllPartitions()) {
+            partitionIds.add(partition.getId());
+        }
+        version.addAll(getSortedIds(partitionIds));
+        return version;
+    }
+
+    private static List<Long> getSortedIds(Iterable<Long> ids) {
+        List<Long> sortedIds = Lists.newArrayList(ids);
+        sortedIds.sort(Long::compare);
+        return sortedIds;
+    }
+
+    // Copy the cached plan with the load id and the txn id of this load.
+    // Only the thrift structs on the paths to the patched fields are copied, others are shared with the cached plan.
+    static TExecPlanFragmentParams patchPlan(TExecPlanFragmentParams cachedPlan, TUniqueId loadId,
+            LoadTaskInfo taskInfo) {
+        TExecPlanFragmentParams plan = shallowCopy(cachedPlan);
+
+        TPlanFragment fragment = shallowCopy(cachedPlan.getFragment());
+        TDataSink dataSink = shallowCopy(fragment.getOutputSink());
+        TOlapTableSink olapTableSink = shallowCopy(dataSink.getOlapTableSink());
+        olapTableSink.setLoadId(loadId);
+        olapTableSink.setTxnId(taskInfo.getTxnId());
+        dataSink.setOlapTableSink(olapTableSink);
+        fragment.setOutputSink(dataSink);
+        plan.setFragment(fragment);
+
+        TPlanFragmentExecParams execParams = shallowCopy(cachedPlan.getParams());
+        execParams.setQueryId(loadId);
+        execParams.setFragmentInstanceId(new TUniqueId(loadId.hi, loadId.lo + 1));
+        Map<Integer, List<TScanRangeParams>> perNodeScanRanges = Maps.newHashMap();
+        for (Map.Entry<Integer, List<TScanRangeParams>> entry : execParams.getPerNodeScanRanges().entrySet()) {
+            List<TScanRangeParams> scanRanges = Lists.newArrayList();
+            for (TScanRangeParams scanRange : entry.getValue()) {
+                // the scan range of stream load is small, just copy it
+                TScanRangeParams newScanRange = scanRange.deepCopy();
+                if (newScanRange.getScanRange().isSetBrokerScanRange()) {
+                    for (TBrokerRangeDesc rangeDesc : newScanRange.getScanRange().getBrokerScanRange().getRanges()) {
+                        if (rangeDesc.isSetLoadId()) {
+                            rangeDesc.setLoadId(loadId);
+                        }
+                    }
+                }
+                scanRanges.add(newScanRange);
+            }
+            perNodeScanRanges.put(entry.getKey(), scanRanges);
+        }
+        execParams.setPerNodeScanRanges(perNodeScanRanges);
+        plan.setParams(execParams);
+
+        plan.setQueryGlobals(StreamLoadPlanner.createQueryGlobals(taskInfo));
+        return plan;
+    }
+
+    // Copy the struct, while the values of its fields are shared.
+    @SuppressWarnings("unchecked")
+    static <T extends TBase<T, F>, F extends TFieldIdEnum> T shallowCopy(T struct) {
+        try {
+            T copy = (T) struct.getClass().getDeclaredConstructor().newInstance();
+            for (F field : ((Map<F, FieldMetaData>) FieldMetaData.getStructMetaDataMap(struct.getClass())).keySet()) {
+                if (struct.isSet(field)) {
+                    copy.setFieldValue(field, struct.getFieldValue(field));
+                }
+            }
+            return copy;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("failed to copy " + struct.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -227,14 +227,7 @@ public class StreamLoadPlanner {
         queryOptions.setEnableVectorizedEngine(Config.enable_vectorized_load);
 
         params.setQueryOptions(queryOptions);
-        TQueryGlobals queryGlobals = new TQueryGlobals();
-        queryGlobals.setNowString(DATE_FORMAT.format(new Date()));
-        queryGlobals.setTimestampMs(System.currentTimeMillis());
-        queryGlobals.setTimeZone(taskInfo.getTimezone());
-        queryGlobals.setLoadZeroTolerance(taskInfo.getMaxFilterRatio() <= 0.0);
-        queryGlobals.setNanoSeconds(LocalDateTime.now().getNano());
-
-        params.setQueryGlobals(queryGlobals);
+        params.setQueryGlobals(createQueryGlobals(taskInfo));
 
         // set load error hub if exist
         LoadErrorHub.Param param = Env.getCurrentEnv().getLoadInstance().getLoadErrorHubInfo();
@@ -249,6 +242,16 @@ public class StreamLoadPlanner {
         return params;
     }
 
+    static TQueryGlobals createQueryGlobals(LoadTaskInfo taskInfo) {
+        TQueryGlobals queryGlobals = new TQueryGlobals();
+        queryGlobals.setNowString(DATE_FORMAT.format(new Date()));
+        queryGlobals.setTimestampMs(System.currentTimeMillis());
+        queryGlobals.setTimeZone(taskInfo.getTimezone());
+        queryGlobals.setLoadZeroTolerance(taskInfo.getMaxFilterRatio() <= 0.0);
+        queryGlobals.setNanoSeconds(LocalDateTime.now().getNano());
+        return queryGlobals;
+    }
+
     // get all specified partition ids.
     // if no partition specified, return null
     private List<Long> getAllPartitionIds() throws DdlException, AnalysisException {
@@ -29,7 +29,8 @@ import org.apache.doris.common.DdlException;
 import org.apache.doris.common.MetaNotFoundException;
 import org.apache.doris.common.UserException;
 import org.apache.doris.common.util.BrokerUtil;
-import org.apache.doris.external.hive.util.HiveUtil;
+import org.apache.doris.datasource.HiveMetaCache;
+import org.apache.doris.datasource.MetaObjCache;
 import org.apache.doris.load.BrokerFileGroup;
 import org.apache.doris.planner.external.ExternalFileScanNode.ParamCreateContext;
 import org.apache.doris.system.Backend;
@@ -54,12 +55,10 @@ import org.apache.hadoop.hdfs.HdfsConfiguration;
 import org.apache.hadoop.hive.metastore.api.FieldSchema;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.Table;
+import org.apache.hadoop.hive.metastore.api.hive_metastoreConstants;
 import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
-import org.apache.hadoop.mapred.FileInputFormat;
 import org.apache.hadoop.mapred.FileSplit;
-import org.apache.hadoop.mapred.InputFormat;
 import org.apache.hadoop.mapred.InputSplit;
-import org.apache.hadoop.mapred.JobConf;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -67,6 +66,11 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 /**
@@ -121,8 +125,21 @@ public class HiveScanProvider implements HMSTableScanProviderIf {
 
     @Override
     public List<InputSplit> getSplits(List<Expr> exprs) throws IOException, UserException {
-        String splitsPath = getRemoteHiveTable().getSd().getLocation();
-        List<String> partitionKeys = getRemoteHiveTable().getPartitionKeys().stream().map(FieldSchema::getName)
+        List<InputSplit> splits = new ArrayList<>();
+        getSplits(exprs, splits::addAll);
+        return splits;
+    }
+
+    /**
+     * Get the splits of the selected partitions and pass them to the consumer partition by partition.
+     * The files of the partitions are listed in parallel, and the splits of a partition are passed to
+     * the consumer in the calling thread as soon as they are listed, so that the consumer doesn't need to
+     * wait for all the partitions.
+     */
+    protected void getSplits(List<Expr> exprs, SplitConsumer consumer) throws IOException, UserException {
+        HiveMetaCache metaCache = hmsTable.getCatalog().getMetaCache();
+        Table remoteTable = getRemoteHiveTable();
+        List<String> partitionKeys = remoteTable.getPartitionKeys().stream().map(FieldSchema::getName)
                 .collect(Collectors.toList());
         List<Partition> hivePartitions = new ArrayList<>();
 
@@ -130,53 +147,81 @@ public class HiveScanProvider implements HMSTableScanProviderIf {
             ExprNodeGenericFuncDesc hivePartitionPredicate = HiveMetaStoreClientHelper.convertToHivePartitionExpr(exprs,
                     partitionKeys, hmsTable.getName());
 
-            String metaStoreUris = getMetaStoreUrl();
-            hivePartitions.addAll(HiveMetaStoreClientHelper.getHivePartitions(metaStoreUris, getRemoteHiveTable(),
+            hivePartitions.addAll(metaCache.getPartitions(hmsTable.getDbName(), hmsTable.getName(),
                     hivePartitionPredicate));
         }
 
-        String inputFormatName = getRemoteHiveTable().getSd().getInputFormat();
+        String inputFormatName = remoteTable.getSd().getInputFormat();
+
+        if (hivePartitions.isEmpty()) {
+            List<InputSplit> splits = metaCache.getSplits(remoteTable.getSd().getLocation(), inputFormatName,
+                    getModificationTime(remoteTable.getParameters()));
+            consumer.accept(pruneSplitsByBuckets(splits, exprs, remoteTable));
+            return;
+        }
 
-        Configuration configuration = setConfiguration();
-        InputFormat<?, ?> inputFormat = HiveUtil.getInputFormat(configuration, inputFormatName, false);
-        List<InputSplit> splits;
-        if (!hivePartitions.isEmpty()) {
-            try {
-                splits = hivePartitions.stream().flatMap(x -> {
-                    try {
-                        return getSplitsByPath(inputFormat, configuration, x.getSd().getLocation()).stream();
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
-                }).collect(Collectors.toList());
-            } catch (RuntimeException e) {
-                throw new IOException(e);
+        CompletionService<List<InputSplit>> completionService =
+                new ExecutorCompletionService<>(MetaObjCache.get().getFileListExecutor());
+        List<Future<List<InputSplit>>> futures = Lists.newArrayListWithCapacity(hivePartitions.size());
+        try {
+            for (Partition partition : hivePartitions) {
+                String location = partition.getSd().getLocation();
+                long modificationTime = getModificationTime(partition.getParameters());
+                futures.add(completionService.submit(
+                        () -> metaCache.getSplits(location, inputFormatName, modificationTime)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                List<InputSplit> splits = completionService.take().get();
+                consumer.accept(pruneSplitsByBuckets(splits, exprs, remoteTable));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UserException("Interrupted when listing files of table " + hmsTable.getName());
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to list files of table " + hmsTable.getName() + ": "
+                    + e.getCause().getMessage(), e.getCause());
+        } catch (RejectedExecutionException e) {
+            // the file list executor is busy, see BlockedPolicy
+            throw new UserException("Failed to list files of table " + hmsTable.getName()
+                    + ", too many files are being listed, please try again later");
+        } finally {
+            // stop listing the remaining partitions if failed
+            for (Future<List<InputSplit>> future : futures) {
+                future.cancel(true);
             }
-        } else {
-            splits = getSplitsByPath(inputFormat, configuration, splitsPath);
         }
+    }
+
+    // Bucket pruning is done for each partition, since a partition may contain files which are not bucket files.
+    private List<InputSplit> pruneSplitsByBuckets(List<InputSplit> splits, List<Expr> exprs, Table remoteTable)
+            throws DdlException {
         return HiveBucketUtil.getPrunedSplitsByBuckets(splits, hmsTable.getName(), exprs,
-                getRemoteHiveTable().getSd().getBucketCols(), getRemoteHiveTable().getSd().getNumBuckets(),
-                getRemoteHiveTable().getParameters());
+                remoteTable.getSd().getBucketCols(), remoteTable.getSd().getNumBuckets(),
+                remoteTable.getParameters());
     }
 
-    private List<InputSplit> getSplitsByPath(InputFormat<?, ?> inputFormat, Configuration configuration,
-            String splitsPath) throws IOException {
-        JobConf jobConf = new JobConf(configuration);
-        // For Tez engine, it may generate subdirectoies for "union" query.
-        // So there may be files and directories in the table directory at the same time. eg:
-        //      /user/hive/warehouse/region_tmp_union_all2/000000_0
-        //      /user/hive/warehouse/region_tmp_union_all2/1
-        //      /user/hive/warehouse/region_tmp_union_all2/2
-        // So we need to set this config to support visit dir recursively.
-        // Otherwise, getSplits() may throw exception: "Not a file xxx"
-        // https://blog.actorsfit.com/a?ID=00550-ce56ec63-1bff-4b0c-a6f7-447b93efaa31
-        jobConf.set("mapreduce.input.fileinputformat.input.dir.recursive", "true");
-        FileInputFormat.setInputPaths(jobConf, splitsPath);
-        InputSplit[] splits = inputFormat.getSplits(jobConf, 0);
-        return Lists.newArrayList(splits);
+    // The last ddl time of table or partition is updated by hive when the data is changed by hive.
+    private static long getModificationTime(Map<String, String> parameters) {
+        if (parameters == null) {
+            return 0;
+        }
+        String lastDdlTime = parameters.get(hive_metastoreConstants.DDL_TIME);
+        if (lastDdlTime == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(lastDdlTime);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 
+    /**
+     * Consumer of splits, see getSplits(List, SplitConsumer).
+     */
+    protected interface SplitConsumer {
+        void accept(List<InputSplit> splits) throws UserException;
+    }
 
     protected Configuration setConfiguration() {
         Configuration conf = new HdfsConfiguration();
@@ -251,14 +296,35 @@ public class HiveScanProvider implements HMSTableScanProviderIf {
     public void createScanRangeLocations(ParamCreateContext context, BackendPolicy backendPolicy,
             List<TScanRangeLocations> scanRangeLocations) throws UserException {
         try {
-            List<InputSplit> inputSplits = getSplits(context.conjuncts);
-            this.inputSplitNum = inputSplits.size();
-            if (inputSplits.isEmpty()) {
-                return;
-            }
+            ScanRangeBuilder builder = new ScanRangeBuilder(context, backendPolicy, scanRangeLocations);
+            getSplits(context.conjuncts, builder::addSplits);
+            builder.finish();
+        } catch (IOException e) {
+            throw new UserException(e);
+        }
+    }
 
-            String fullPath = ((FileSplit) inputSplits.get(0)).getPath().toUri().toString();
-            String filePath = ((FileSplit) inputSplits.get(0)).getPath().toUri().getPath();
+    /**
+     * Build scan ranges with the splits, the splits are added batch by batch when they are listed.
+     */
+    private class ScanRangeBuilder {
+        private final ParamCreateContext context;
+        private final BackendPolicy backendPolicy;
+        private final List<TScanRangeLocations> scanRangeLocations;
+        private final FileSplitStrategy fileSplitStrategy = new FileSplitStrategy();
+        private TScanRangeLocations curLocations = null;
+
+        ScanRangeBuilder(ParamCreateContext context, BackendPolicy backendPolicy,
+                List<TScanRangeLocations> scanRangeLocations) {
+            this.context = context;
+            this.backendPolicy = backendPolicy;
+            this.scanRangeLocations = scanRangeLocations;
+        }
+
+        // The scan params are set with the first split.
+        private void init(FileSplit firstSplit) throws UserException {
+            String fullPath = firstSplit.getPath().toUri().toString();
+            String filePath = firstSplit.getPath().toUri().getPath();
             String fsName = fullPath.replace(filePath, "");
             TFileType locationType = getLocationType();
             context.params.setFileType(locationType);
@@ -273,22 +339,31 @@ public class HiveScanProvider implements HMSTableScanProviderIf {
                 context.params.setProperties(locationProperties);
             }
 
-            TScanRangeLocations curLocations = newLocations(context.params, backendPolicy);
-
-            FileSplitStrategy fileSplitStrategy = new FileSplitStrategy();
+            curLocations = newLocations(context.params, backendPolicy);
+        }
 
+        void addSplits(List<InputSplit> inputSplits) throws UserException {
+            if (inputSplits.isEmpty()) {
+                return;
+            }
+            if (curLocations == null) {
+                init((FileSplit) inputSplits.get(0));
+            }
+            inputSplitNum += inputSplits.size();
+            List<String> pathPartitionKeys = getPathPartitionKeys();
             for (InputSplit split : inputSplits) {
                 FileSplit fileSplit = (FileSplit) split;
                 List<String> partitionValuesFromPath = BrokerUtil.parseColumnsFromPath(fileSplit.getPath().toString(),
-                        getPathPartitionKeys(), false);
+                        pathPartitionKeys, false);
 
                 TFileRangeDesc rangeDesc = createFileRangeDesc(fileSplit, partitionValuesFromPath);
 
                 curLocations.getScanRange().getExtScanRange().getFileScanRange().addToRanges(rangeDesc);
-                LOG.info(
-                        "Assign to backend " + curLocations.getLocations().get(0).getBackendId() + " with table split: "
-                                + fileSplit.getPath() + " ( " + fileSplit.getStart() + "," + fileSplit.getLength() + ")"
-                                + " loaction: " + Joiner.on("|").join(split.getLocations()));
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Assign to backend " + curLocations.getLocations().get(0).getBackendId()
+                            + " with table split: " + fileSplit.getPath() + " ( " + fileSplit.getStart() + ","
+                            + fileSplit.getLength() + ")" + " loaction: " + Joiner.on("|").join(split.getLocations()));
+                }
 
                 fileSplitStrategy.update(fileSplit);
                 // Add a new location when it's can be split
@@ -297,13 +372,15 @@ public class HiveScanProvider implements HMSTableScanProviderIf {
                     curLocations = newLocations(context.params, backendPolicy);
                     fileSplitStrategy.next();
                 }
-                this.inputFileSize += fileSplit.getLength();
+                inputFileSize += fileSplit.getLength();
             }
-            if (curLocations.getScanRange().getExtScanRange().getFileScanRange().getRangesSize() > 0) {
+        }
+
+        void finish() {
+            if (curLocations != null
+                    && curLocations.getScanRange().getExtScanRange().getFileScanRange().getRangesSize() > 0) {
                 scanRangeLocations.add(curLocations);
             }
-        } catch (IOException e) {
-            throw new UserException(e);
         }
     }
 
@@ -94,6 +94,12 @@ public class IcebergScanProvider extends HiveScanProvider {
         return splits;
     }
 
+    @Override
+    protected void getSplits(List<Expr> exprs, SplitConsumer consumer) throws IOException, UserException {
+        // files are planned by iceberg, so all the splits are returned at once
+        consumer.accept(getSplits(exprs));
+    }
+
     private org.apache.iceberg.Table getIcebergTable() throws MetaNotFoundException {
         org.apache.iceberg.hive.HiveCatalog hiveCatalog = new org.apache.iceberg.hive.HiveCatalog();
         Configuration conf = setConfiguration();
@@ -0,0 +1,151 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.common.Config;
+
+import com.google.common.collect.Maps;
+
+import java.util.Map;
+
+/**
+ * Keeps a decaying load score of each backend, which is shared by all queries of this frontend.
+ * The score is fed by the fragment instances sent to the backends and their exec status reports,
+ * and is used by the Coordinator to select the least loaded replica when
+ * Config.replica_selection_policy is "load_aware".
+ *
+ * The score of a backend is (1 + number of running instances) * (latency factor), in which the
+ * latency factor is the ewma of the elapsed time of instances on the backend divided by the average
+ * of all backends. The latency factor decays to 1 with the half life of
+ * Config.backend_load_score_decay_second if the backend reports nothing.
+ */
+public class BackendLoadTracker {
+    public static final String POLICY_ROUND_ROBIN = "round_robin";
+    public static final String POLICY_LOAD_AWARE = "load_aware";
+
+    // the weight of a new sample in the ewma of latency
+    private static final double LATENCY_EWMA_ALPHA = 0.2;
+    // bound the latency factor, so that one extreme sample can not drain or flood a backend
+    private static final double MIN_LATENCY_FACTOR = 0.1;
+    private static final double MAX_LATENCY_FACTOR = 10.0;
+
+    private static final BackendLoadTracker INSTANCE = new BackendLoadTracker();
+
+    private final Map<Long, BackendLoad> backendLoads = Maps.newConcurrentMap();
+
+    public static BackendLoadTracker getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isLoadAware() {
+        return POLICY_LOAD_AWARE.equalsIgnoreCase(Config.replica_selection_policy);
+    }
+
+    public void onInstanceStart(long backendId) {
+        backendLoads.computeIfAbsent(backendId, k -> new BackendLoad()).start();
+    }
+
+    /**
+     * Called when an instance is finished or abandoned.
+     * elapsedMs is the elapsed time of the instance, or a negative value if it should not be sampled.
+     */
+    public void onInstanceFinish(long backendId, long elapsedMs, long nowMs) {
+        backendLoads.computeIfAbsent(backendId, k -> new BackendLoad()).finish(elapsedMs, nowMs);
+    }
+
+    /**
+     * Forget the load of a backend, eg, the backend is dead or restarted.
+     */
+    public void reset(long backendId) {
+        backendLoads.remove(backendId);
+    }
+
+    public int getRunningInstanceNum(long backendId) {
+        BackendLoad load = backendLoads.get(backendId);
+        return load == null ? 0 : load.getRunning();
+    }
+
+    /**
+     * Return a snapshot of the load scores of all known backends.
+     * Backends not in the snapshot should be treated as score 1, which is the score of an idle backend.
+     */
+    public Map<Long, Double> getLoadScores(long nowMs) {
+        double halfLifeMs = Math.max(1, Config.backend_load_score_decay_second) * 1000.0;
+        double latencySum = 0;
+        int sampledNum = 0;
+        for (BackendLoad load : backendLoads.values()) {
+            if (load.getLatencyMs() > 0) {
+                latencySum += load.getLatencyMs();
+                sampledNum++;
+            }
+        }
+        double avgLatency = sampledNum == 0 ? 0 : latencySum / sampledNum;
+
+        Map<Long, Double> scores = Maps.newHashMapWithExpectedSize(backendLoads.size());
+        for (Map.Entry<Long, BackendLoad> entry : backendLoads.entrySet()) {
+            BackendLoad load = entry.getValue();
+            double latencyFactor = 1.0;
+            if (avgLatency > 0 && load.getLatencyMs() > 0) {
+                double ratio = Math.min(MAX_LATENCY_FACTOR,
+                        Math.max(MIN_LATENCY_FACTOR, load.getLatencyMs() / avgLatency));
+                double weight = Math.pow(0.5, Math.max(0, nowMs - load.getLastSampleMs()) / halfLifeMs);
+                latencyFactor = 1.0 + weight * (ratio - 1.0);
+            }
+            scores.put(entry.getKey(), (1 + load.getRunning()) * latencyFactor);
+        }
+        return scores;
+    }
+
+    public void clear() {
+        backendLoads.clear();
+    }
+
+    private static class BackendLoad {
+        private int running = 0;
+        private double latencyMs = 0;
+        private long lastSampleMs = 0;
+
+        public synchronized void start() {
+            running++;
+        }
+
+        public synchronized void finish(long elapsedMs, long nowMs) {
+            if (running > 0) {
+                running--;
+            }
+            if (elapsedMs < 0) {
+                return;
+            }
+            double sample = Math.max(1, elapsedMs);
+            latencyMs = latencyMs <= 0 ? sample : latencyMs + LATENCY_EWMA_ALPHA * (sample - latencyMs);
+            lastSampleMs = nowMs;
+        }
+
+        public synchronized int getRunning() {
+            return running;
+        }
+
+        public synchronized double getLatencyMs() {
+            return latencyMs;
+        }
+
+        public synchronized long getLastSampleMs() {
+            return lastSampleMs;
+        }
+    }
+}
@@ -40,6 +40,7 @@ import org.apache.doris.transaction.TransactionStatus;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import io.opentelemetry.api.trace.Tracer;
 import org.apache.logging.log4j.LogManager;
@@ -47,6 +48,7 @@ import org.apache.logging.log4j.Logger;
 
 import java.nio.channels.SocketChannel;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -146,10 +148,35 @@ public class ConnectContext {
 
     private SessionContext sessionContext;
 
+    // Server side prepared statements of this connection, created by COM_STMT_PREPARE.
+    // Only accessed by the thread which processes this connection.
+    private final Map<Integer, PreparedStatementContext> preparedStmts = Maps.newHashMap();
+    private int nextPreparedStmtId = 1;
+
     public SessionContext getSessionContext() {
         return sessionContext;
     }
 
+    public int getNextPreparedStmtId() {
+        return nextPreparedStmtId++;
+    }
+
+    public int getPreparedStmtNum() {
+        return preparedStmts.size();
+    }
+
+    public void addPreparedStmt(PreparedStatementContext preparedStmt) {
+        preparedStmts.put(preparedStmt.getStmtId(), preparedStmt);
+    }
+
+    public PreparedStatementContext getPreparedStmt(int stmtId) {
+        return preparedStmts.get(stmtId);
+    }
+
+    public void removePreparedStmt(int stmtId) {
+        preparedStmts.remove(stmtId);
+    }
+
     public void setOrUpdateInsertResult(long txnId, String label, String db, String tbl,
                                         TransactionStatus txnStatus, long loadedRows, int filteredRows) {
         if (isTxnModel() && insertResult != null) {
@@ -19,6 +19,9 @@ package org.apache.doris.qe;
 
 import org.apache.doris.analysis.InsertStmt;
 import org.apache.doris.analysis.KillStmt;
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.analysis.NullLiteral;
+import org.apache.doris.analysis.PlaceHolderExpr;
 import org.apache.doris.analysis.Queriable;
 import org.apache.doris.analysis.QueryStmt;
 import org.apache.doris.analysis.SelectStmt;
@@ -29,6 +32,7 @@ import org.apache.doris.analysis.UserIdentity;
 import org.apache.doris.catalog.Column;
 import org.apache.doris.catalog.DatabaseIf;
 import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.PrimitiveType;
 import org.apache.doris.catalog.TableIf;
 import org.apache.doris.cluster.ClusterNamespace;
 import org.apache.doris.common.AnalysisException;
@@ -45,6 +49,7 @@ import org.apache.doris.datasource.CatalogIf;
 import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.mysql.MysqlChannel;
 import org.apache.doris.mysql.MysqlCommand;
+import org.apache.doris.mysql.MysqlEofPacket;
 import org.apache.doris.mysql.MysqlPacket;
 import org.apache.doris.mysql.MysqlProto;
 import org.apache.doris.mysql.MysqlSerializer;
@@ -225,18 +230,17 @@ public class ConnectProcessor {
         Env.getCurrentAuditEventProcessor().handleAuditEvent(ctx.getAuditEventBuilder().build());
     }
 
-    // Process COM_QUERY statement,
-    // only throw an exception when there is a problem interacting with the requesting client
-    private void handleQuery() {
-        MetricRepo.COUNTER_REQUEST_ALL.increase(1L);
-        // convert statement to Java string
+    // convert statement in the packet to Java string
+    private String readStmtString() {
         byte[] bytes = packetBuf.array();
         int ending = packetBuf.limit() - 1;
         while (ending >= 1 && bytes[ending] == '\0') {
             ending--;
         }
-        String originStmt = new String(bytes, 1, ending, StandardCharsets.UTF_8);
+        return new String(bytes, 1, ending, StandardCharsets.UTF_8);
+    }
 
+    private void initAuditEvent(String originStmt) {
         String sqlHash = DigestUtils.md5Hex(originStmt);
         ctx.setSqlHash(sqlHash);
         ctx.getAuditEventBuilder().reset();
@@ -246,6 +250,14 @@ public class ConnectProcessor {
                 .setUser(ClusterNamespace.getNameFromFullName(ctx.getQualifiedUser()))
                 .setDb(ctx.getDatabase())
                 .setSqlHash(ctx.getSqlHash());
+    }
+
+    // Process COM_QUERY statement,
+    // only throw an exception when there is a problem interacting with the requesting client
+    private void handleQuery() {
+        MetricRepo.COUNTER_REQUEST_ALL.increase(1L);
+        String originStmt = readStmtString();
+        initAuditEvent(originStmt);
 
         // execute this query.
         StatementBase parsedStmt = null;
@@ -267,8 +279,27 @@ public class ConnectProcessor {
                 }
             }
             // stmts == null when Nereids cannot planner this query or Nereids is disabled.
+            boolean isSqlParseCacheHit = false;
             if (stmts == null) {
-                stmts = parse(originStmt);
+                SqlParseCache.NormalizedSql normalizedSql = null;
+                if (ctx != null && ctx.getSessionVariable().isEnableSqlParseCache()) {
+                    normalizedSql = SqlParseCache.normalize(originStmt, ctx.getSessionVariable().getSqlMode());
+                }
+                if (normalizedSql != null) {
+                    QueryStmt queryStmt = SqlParseCache.getInstance().get(normalizedSql);
+                    if (queryStmt != null) {
+                        isSqlParseCacheHit = true;
+                    } else {
+                        // parse the template instead of the sql, so that the sql is not parsed twice
+                        queryStmt = SqlParseCache.getInstance().parseAndPut(normalizedSql);
+                    }
+                    if (queryStmt != null) {
+                        stmts = Lists.newArrayList(queryStmt);
+                    }
+                }
+                if (stmts == null) {
+                    stmts = parse(originStmt);
+                }
             }
             for (int i = 0; i < stmts.size(); ++i) {
                 alreadyAddedToAuditInfoList = false;
@@ -285,6 +316,7 @@ public class ConnectProcessor {
                 parsedStmt.setOrigStmt(new OriginStatement(originStmt, i));
                 parsedStmt.setUserInfo(ctx.getCurrentUserIdentity());
                 executor = new StmtExecutor(ctx, parsedStmt);
+                executor.setSqlParseCacheHit(isSqlParseCacheHit);
                 ctx.setExecutor(executor);
                 executor.execute();
 
@@ -337,12 +369,22 @@ public class ConnectProcessor {
 
     // analyze the origin stmt and return multi-statements
     private List<StatementBase> parse(String originStmt) throws AnalysisException, DdlException {
+        return parse(originStmt, null);
+    }
+
+    // placeHolders is used to collect the parameter markers of prepared statement, could be null.
+    private List<StatementBase> parse(String originStmt, List<PlaceHolderExpr> placeHolders)
+            throws AnalysisException, DdlException {
         LOG.debug("the originStmts are: {}", originStmt);
         // Parse statement with parser generated by CUP&FLEX
         SqlScanner input = new SqlScanner(new StringReader(originStmt), ctx.getSessionVariable().getSqlMode());
         SqlParser parser = new SqlParser(input);
         try {
-            return SqlParserUtils.getMultiStmts(parser);
+            List<StatementBase> stmts = SqlParserUtils.getMultiStmts(parser);
+            if (placeHolders != null) {
+                placeHolders.addAll(parser.placeHolders);
+            }
+            return stmts;
         } catch (Error e) {
             throw new AnalysisException("Please check your sql, we meet an error when parsing.", e);
         } catch (AnalysisException | DdlException e) {
@@ -400,6 +442,173 @@ public class ConnectProcessor {
         ctx.getState().setEof();
     }
 
+    // Process COM_STMT_PREPARE, parse the statement and keep it in this connection.
+    private void handleStmtPrepare() throws IOException {
+        String originStmt = readStmtString();
+        if (ctx.getPreparedStmtNum() >= Config.max_prepared_stmt_count_per_connection) {
+            ctx.getState().setError(ErrorCode.ERR_MAX_PREPARED_STMT_COUNT_REACHED,
+                    ErrorCode.ERR_MAX_PREPARED_STMT_COUNT_REACHED.formatErrorMsg(
+                            Config.max_prepared_stmt_count_per_connection));
+            return;
+        }
+
+        List<PlaceHolderExpr> placeHolders = Lists.newArrayList();
+        List<StatementBase> stmts;
+        try {
+            stmts = parse(originStmt, placeHolders);
+        } catch (UserException e) {
+            ctx.getState().setError(e.getMysqlErrorCode(), e.getMessage());
+            ctx.getState().setErrType(QueryState.ErrType.ANALYSIS_ERR);
+            return;
+        }
+        if (stmts.size() != 1) {
+            ctx.getState().setError(ErrorCode.ERR_UNSUPPORTED_PS,
+                    "Prepared statement only supports one statement");
+            return;
+        }
+        StatementBase stmt = stmts.get(0);
+        if (!placeHolders.isEmpty() && !(stmt instanceof QueryStmt)) {
+            ctx.getState().setError(ErrorCode.ERR_UNSUPPORTED_PS,
+                    "Parameter marker is only supported in query statement");
+            return;
+        }
+
+        PreparedStatementContext preparedStmt = new PreparedStatementContext(ctx.getNextPreparedStmtId(),
+                originStmt, stmt, placeHolders);
+        ctx.addPreparedStmt(preparedStmt);
+
+        // send COM_STMT_PREPARE_OK
+        MysqlSerializer serializer = ctx.getSerializer();
+        MysqlChannel channel = ctx.getMysqlChannel();
+        serializer.reset();
+        serializer.writeInt1(0);
+        serializer.writeInt4(preparedStmt.getStmtId());
+        // The columns of result are unknown before analysis, they will be sent in the response of
+        // COM_STMT_EXECUTE.
+        serializer.writeInt2(0);
+        serializer.writeInt2(preparedStmt.getNumParams());
+        // reserved
+        serializer.writeInt1(0);
+        // warning count
+        serializer.writeInt2(0);
+        channel.sendOnePacket(serializer.toByteBuffer());
+        if (preparedStmt.getNumParams() > 0) {
+            for (int i = 0; i < preparedStmt.getNumParams(); i++) {
+                serializer.reset();
+                serializer.writeField("?", PrimitiveType.VARCHAR);
+                channel.sendOnePacket(serializer.toByteBuffer());
+            }
+            serializer.reset();
+            MysqlEofPacket eofPacket = new MysqlEofPacket(ctx.getState());
+            eofPacket.writeTo(serializer);
+            channel.sendOnePacket(serializer.toByteBuffer());
+        }
+        channel.flush();
+        ctx.getState().setNoop();
+    }
+
+    // Process COM_STMT_EXECUTE, bind the parameters to the prepared statement and execute it.
+    // The result is sent in binary protocol.
+    private void handleStmtExecute() {
+        MetricRepo.COUNTER_REQUEST_ALL.increase(1L);
+        int stmtId = MysqlProto.readInt4(packetBuf);
+        PreparedStatementContext preparedStmt = ctx.getPreparedStmt(stmtId);
+        if (preparedStmt == null) {
+            ctx.getState().setError(ErrorCode.ERR_UNKNOWN_STMT_HANDLER,
+                    "Unknown prepared statement handler: " + stmtId);
+            return;
+        }
+        // flags, only CURSOR_TYPE_NO_CURSOR is supported
+        MysqlProto.readInt1(packetBuf);
+        // iteration count, always 1
+        MysqlProto.readInt4(packetBuf);
+
+        initAuditEvent(preparedStmt.getOriginStmt());
+        String boundStmt = preparedStmt.getOriginStmt();
+        StatementBase parsedStmt = null;
+        try {
+            parsedStmt = bindPreparedStmt(preparedStmt);
+            boundStmt = preparedStmt.toBoundSql();
+            parsedStmt.setOrigStmt(new OriginStatement(boundStmt, 0));
+            parsedStmt.setUserInfo(ctx.getCurrentUserIdentity());
+            executor = new StmtExecutor(ctx, parsedStmt);
+            ctx.setExecutor(executor);
+            executor.execute();
+        } catch (IOException e) {
+            // Client failed.
+            LOG.warn("Process one prepared statement failed because IOException: ", e);
+            ctx.getState().setError(ErrorCode.ERR_UNKNOWN_ERROR, "Doris process failed");
+        } catch (UserException e) {
+            LOG.warn("Process one prepared statement failed because.", e);
+            ctx.getState().setError(e.getMysqlErrorCode(), e.getMessage());
+            ctx.getState().setErrType(QueryState.ErrType.ANALYSIS_ERR);
+        } catch (Throwable e) {
+            LOG.warn("Process one prepared statement failed because unknown reason: ", e);
+            ctx.getState().setError(ErrorCode.ERR_UNKNOWN_ERROR,
+                    e.getClass().getSimpleName() + ", msg: " + e.getMessage());
+        }
+
+        if (executor != null) {
+            auditAfterExec(boundStmt.replace("\n", " "), executor.getParsedStmt(),
+                    executor.getQueryStatisticsForAuditLog());
+            executor.addProfileToSpan();
+        } else if (QueryState.ErrType.ANALYSIS_ERR != ctx.getState().getErrType()) {
+            auditAfterExec(boundStmt.replace("\n", " "), null, null);
+        }
+    }
+
+    private StatementBase bindPreparedStmt(PreparedStatementContext preparedStmt) throws UserException {
+        if (!preparedStmt.isQuery()) {
+            // statement without parameters, just parse it again.
+            return parse(preparedStmt.getOriginStmt()).get(0);
+        }
+
+        int numParams = preparedStmt.getNumParams();
+        List<LiteralExpr> params = Lists.newArrayListWithCapacity(numParams);
+        if (numParams > 0) {
+            byte[] nullBitmap = MysqlProto.readFixedString(packetBuf, (numParams + 7) / 8);
+            // new params bound flag, types of parameters are sent only if it is set
+            if (MysqlProto.readInt1(packetBuf) == 1) {
+                int[] types = new int[numParams];
+                for (int i = 0; i < numParams; i++) {
+                    types[i] = MysqlProto.readInt2(packetBuf);
+                }
+                preparedStmt.setParamTypes(types);
+            }
+            int[] types = preparedStmt.getParamTypes();
+            if (types == null) {
+                throw new AnalysisException("Types of parameters are not sent for prepared statement "
+                        + preparedStmt.getStmtId());
+            }
+            for (int i = 0; i < numParams; i++) {
+                if ((nullBitmap[i / 8] & (1 << (i % 8))) != 0) {
+                    params.add(new NullLiteral());
+                } else {
+                    params.add(PreparedStatementContext.readParam(packetBuf, types[i]));
+                }
+            }
+        }
+        return preparedStmt.bind(params);
+    }
+
+    // Process COM_STMT_CLOSE, no response is sent to client.
+    private void handleStmtClose() {
+        int stmtId = MysqlProto.readInt4(packetBuf);
+        ctx.removePreparedStmt(stmtId);
+        ctx.getState().setNoop();
+    }
+
+    // Process COM_STMT_RESET, there is no long data or cursor to reset, just check the statement exists.
+    private void handleStmtReset() {
+        int stmtId = MysqlProto.readInt4(packetBuf);
+        if (ctx.getPreparedStmt(stmtId) == null) {
+            ctx.getState().setError(ErrorCode.ERR_UNKNOWN_STMT_HANDLER,
+                    "Unknown prepared statement handler: " + stmtId);
+            return;
+        }
+        ctx.getState().setOk();
+    }
+
     private void dispatch() throws IOException {
         int code = packetBuf.get();
         MysqlCommand command = MysqlCommand.fromCode(code);
@@ -437,6 +646,27 @@ public class ConnectProcessor {
             case COM_PING:
                 handlePing();
                 break;
+            case COM_STMT_PREPARE:
+                handleStmtPrepare();
+                break;
+            case COM_STMT_EXECUTE:
+                ctx.initTracer("trace");
+                Span executeSpan = ctx.getTracer().spanBuilder("handleStmtExecute").startSpan();
+                try (Scope scope = executeSpan.makeCurrent()) {
+                    handleStmtExecute();
+                } catch (Exception e) {
+                    executeSpan.recordException(e);
+                    throw e;
+                } finally {
+                    executeSpan.end();
+                }
+                break;
+            case COM_STMT_CLOSE:
+                handleStmtClose();
+                break;
+            case COM_STMT_RESET:
+                handleStmtReset();
+                break;
             default:
                 ctx.getState().setError(ErrorCode.ERR_UNKNOWN_COM_ERROR, "Unsupported command(" + command + ")");
                 LOG.warn("Unsupported command(" + command + ")");
@@ -79,6 +79,7 @@ import org.apache.doris.thrift.TExecPlanFragmentParamsList;
 import org.apache.doris.thrift.TLoadErrorHubInfo;
 import org.apache.doris.thrift.TNetworkAddress;
 import org.apache.doris.thrift.TPaloScanRange;
+import org.apache.doris.thrift.TPlanFragment;
 import org.apache.doris.thrift.TPlanFragmentDestination;
 import org.apache.doris.thrift.TPlanFragmentExecParams;
 import org.apache.doris.thrift.TQueryGlobals;
@@ -151,6 +152,8 @@ public class Coordinator {
     Map<TNetworkAddress, Long> addressToBackendID = Maps.newHashMap();
 
     private ImmutableMap<Long, Backend> idToBackend = ImmutableMap.of();
+    // snapshot of the backend load scores, taken when the first scan range is assigned by load
+    private Map<Long, Double> backendLoadScores = null;
 
     // copied from TQueryExecRequest; constant across all fragments
     private final TDescriptorTable descTable;
@@ -1603,6 +1606,9 @@ public class Coordinator {
 
     public TScanRangeLocation selectBackendsByRoundRobin(List<TScanRangeLocation> locations,
             HashMap<TNetworkAddress, Long> assignedBytesPerHost, Reference<Long> backendIdRef) throws UserException {
+        if (BackendLoadTracker.isLoadAware()) {
+            return selectBackendsByLoad(locations, assignedBytesPerHost, backendIdRef);
+        }
         Long minAssignedBytes = Long.MAX_VALUE;
         TScanRangeLocation minLocation = null;
         Long step = 1L;
@@ -1624,6 +1630,37 @@ public class Coordinator {
         return location;
     }
 
+    // Select the available replica with the least cost, which is the number of scan ranges assigned to
+    // the backend in this query, weighted by the load score of the backend shared by all queries.
+    // So the scan ranges are still balanced among backends with the same load.
+    private TScanRangeLocation selectBackendsByLoad(List<TScanRangeLocation> locations,
+            HashMap<TNetworkAddress, Long> assignedBytesPerHost, Reference<Long> backendIdRef) throws UserException {
+        if (backendLoadScores == null) {
+            backendLoadScores = BackendLoadTracker.getInstance().getLoadScores(System.currentTimeMillis());
+        }
+        double minCost = Double.MAX_VALUE;
+        TScanRangeLocation minLocation = null;
+        for (final TScanRangeLocation location : locations) {
+            if (!SimpleScheduler.isAvailable(this.idToBackend.get(location.backend_id))) {
+                continue;
+            }
+            long assignedBytes = findOrInsert(assignedBytesPerHost, location.server, 0L);
+            double cost = (assignedBytes + 1) * backendLoadScores.getOrDefault(location.backend_id, 1.0);
+            if (cost < minCost) {
+                minCost = cost;
+                minLocation = location;
+            }
+        }
+        if (minLocation == null && !locations.isEmpty()) {
+            // no replica is available, let the scheduler report the reason
+            minLocation = locations.get(0);
+        }
+        TScanRangeLocation location = SimpleScheduler.getLocation(minLocation, locations,
+                this.idToBackend, backendIdRef);
+        assignedBytesPerHost.merge(location.server, 1L, Long::sum);
+        return location;
+    }
+
     private void computeScanRangeAssignmentByScheduler(
             final ScanNode scanNode,
             final List<TScanRangeLocations> locations,
@@ -1682,6 +1719,7 @@ public class Coordinator {
             updateStatus(status, params.getFragmentInstanceId());
         }
         if (execState.done) {
+            execState.releaseLoad(status.ok());
             if (params.isSetDeltaUrls()) {
                 updateDeltas(params.getDeltaUrls());
             }
@@ -1714,6 +1752,13 @@ public class Coordinator {
         endProfile(true);
     }
 
+    // release the backend load of the instances which are not reported as done, eg, the query is cancelled.
+    public void releaseBackendLoad() {
+        for (BackendExecState state : backendExecStates) {
+            state.releaseLoad(false);
+        }
+    }
+
     public void endProfile(boolean waitProfileDone) {
         if (backendExecStates.isEmpty()) {
             return;
@@ -2048,6 +2093,9 @@ public class Coordinator {
         Backend backend;
         long lastMissingHeartbeatTime = -1;
         TUniqueId instanceId;
+        // the time the instance is sent to backend, -1 if it is not sent
+        long startTimeMs = -1;
+        boolean loadReleased = false;
 
         public BackendExecState(PlanFragmentId fragmentId, int instanceId, int profileFragmentId,
                                 TExecPlanFragmentParams rpcParams, Map<TNetworkAddress, Long> addressToBackendID) {
@@ -2068,20 +2116,6 @@ public class Coordinator {
             this.lastMissingHeartbeatTime = backend.getLastMissingHeartbeatTime();
         }
 
-        /**
-         * Some information common to all Fragments does not need to be sent repeatedly.
-         * Therefore, when we confirm that a certain BE has accepted the information,
-         * we will delete the information in the subsequent Fragment to avoid repeated sending.
-         * This information can be obtained from the cache of BE.
-         */
-        public void unsetFields() {
-            this.rpcParams.unsetDescTbl();
-            this.rpcParams.unsetCoord();
-            this.rpcParams.unsetQueryGlobals();
-            this.rpcParams.unsetResourceInfo();
-            this.rpcParams.setIsSimplifiedParam(true);
-        }
-
         // update profile.
         // return true if profile is updated. Otherwise, return false.
         public synchronized boolean updateProfile(TReportExecStatusParams params) {
@@ -2096,6 +2130,24 @@ public class Coordinator {
             return true;
         }
 
+        // count the instance in the load of its backend, which is used by the load aware replica selection.
+        public synchronized void startLoad() {
+            this.startTimeMs = System.currentTimeMillis();
+            BackendLoadTracker.getInstance().onInstanceStart(backend.getId());
+        }
+
+        // remove the instance from the load of its backend.
+        // the elapsed time of the instance is sampled only if it is finished successfully.
+        public synchronized void releaseLoad(boolean sampleLatency) {
+            if (startTimeMs < 0 || loadReleased) {
+                return;
+            }
+            loadReleased = true;
+            long now = System.currentTimeMillis();
+            BackendLoadTracker.getInstance().onInstanceFinish(backend.getId(),
+                    sampleLatency ? now - startTimeMs : -1, now);
+        }
+
         public synchronized void printProfile(StringBuilder builder) {
             this.profile.computeTimeInProfile();
             this.profile.prettyPrint(builder, "");
@@ -2174,6 +2226,47 @@ public class Coordinator {
         }
     }
 
+    /**
+     * Some information common to all Fragments does not need to be sent repeatedly.
+     * Therefore, when we confirm that a certain BE has accepted the information,
+     * we will delete the information in the subsequent Fragment to avoid repeated sending.
+     * This information can be obtained from the cache of BE.
+     * The fragment and query options are unset if they are the same objects as the ones carried last,
+     * BE takes them from the previous params.
+     *
+     * @param paramsList the params sent to the same BE, in the order they are sent
+     * @return true if the fragment or query options of some params are unset
+     */
+    public static boolean unsetSharedFields(List<TExecPlanFragmentParams> paramsList) {
+        boolean isSimplifiedFragment = false;
+        // the fragment and query options carried last, the previous params may have been unset
+        TPlanFragment lastFragment = null;
+        TQueryOptions lastQueryOptions = null;
+        for (int i = 0; i < paramsList.size(); i++) {
+            TExecPlanFragmentParams params = paramsList.get(i);
+            if (i > 0) {
+                params.unsetDescTbl();
+                params.unsetCoord();
+                params.unsetQueryGlobals();
+                params.unsetResourceInfo();
+                params.setIsSimplifiedParam(true);
+            }
+            if (lastFragment != null && params.getFragment() == lastFragment) {
+                params.unsetFragment();
+                isSimplifiedFragment = true;
+            } else {
+                lastFragment = params.getFragment();
+            }
+            if (lastQueryOptions != null && params.getQueryOptions() == lastQueryOptions) {
+                params.unsetQueryOptions();
+                isSimplifiedFragment = true;
+            } else {
+                lastQueryOptions = params.getQueryOptions();
+            }
+        }
+        return isSimplifiedFragment;
+    }
+
     /**
      * A set of BackendExecState for same Backend
      */
@@ -2182,6 +2275,8 @@ public class Coordinator {
         TNetworkAddress brpcAddr;
         List<BackendExecState> states = Lists.newArrayList();
         boolean twoPhaseExecution = false;
+        // whether some params share the fragment or query options with the previous params
+        boolean isSimplifiedFragment = false;
         ScopedSpan scopedSpan = new ScopedSpan();
 
         public BackendExecStates(long beId, TNetworkAddress brpcAddr, boolean twoPhaseExecution) {
@@ -2198,16 +2293,15 @@ public class Coordinator {
          * The BackendExecState in states are all send to the same BE.
          * So only the first BackendExecState need to carry some common fields, such as DescriptorTbl,
          * the other BackendExecState does not need those fields. Unset them to reduce size.
+         * The instances of the same fragment are sent together, so the fragment and query options are
+         * only carried by the first instance of each fragment, and shared by the following instances in BE.
          */
         public void unsetFields() {
-            boolean first = true;
+            List<TExecPlanFragmentParams> paramsList = Lists.newArrayListWithCapacity(states.size());
             for (BackendExecState state : states) {
-                if (first) {
-                    first = false;
-                    continue;
-                }
-                state.unsetFields();
+                paramsList.add(state.rpcParams);
             }
+            isSimplifiedFragment = unsetSharedFields(paramsList);
         }
 
         public Future<InternalService.PExecPlanFragmentResult> execRemoteFragmentsAsync() throws TException {
@@ -2215,10 +2309,11 @@ public class Coordinator {
                 TExecPlanFragmentParamsList paramsList = new TExecPlanFragmentParamsList();
                 for (BackendExecState state : states) {
                     state.initiated = true;
+                    state.startLoad();
                     paramsList.addToParamsList(state.rpcParams);
                 }
                 return BackendServiceProxy.getInstance()
-                        .execPlanFragmentsAsync(brpcAddr, paramsList, twoPhaseExecution);
+                        .execPlanFragmentsAsync(brpcAddr, paramsList, twoPhaseExecution, isSimplifiedFragment);
             } catch (RpcException e) {
                 // DO NOT throw exception here, return a complete future with error code,
                 // so that the following logic will cancel the fragment.
@@ -2291,12 +2386,14 @@ public class Coordinator {
 
         List<TExecPlanFragmentParams> toThrift(int backendNum) {
             List<TExecPlanFragmentParams> paramsList = Lists.newArrayList();
+            // the plan of fragment is shared by all instances, only convert it once
+            TPlanFragment tFragment = fragment.toThrift();
 
             for (int i = 0; i < instanceExecParams.size(); ++i) {
                 final FInstanceExecParam instanceExecParam = instanceExecParams.get(i);
                 TExecPlanFragmentParams params = new TExecPlanFragmentParams();
                 params.setProtocolVersion(PaloInternalServiceVersion.V1);
-                params.setFragment(fragment.toThrift());
+                params.setFragment(tFragment);
                 params.setDescTbl(descTable);
                 params.setParams(new TPlanFragmentExecParams());
                 params.setResourceInfo(tResourceInfo);
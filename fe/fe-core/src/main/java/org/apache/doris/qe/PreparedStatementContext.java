@@ -0,0 +1,218 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.analysis.DecimalLiteral;
+import org.apache.doris.analysis.FloatLiteral;
+import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.analysis.LargeIntLiteral;
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.analysis.NullLiteral;
+import org.apache.doris.analysis.PlaceHolderExpr;
+import org.apache.doris.analysis.QueryStmt;
+import org.apache.doris.analysis.StatementBase;
+import org.apache.doris.analysis.StringLiteral;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.mysql.MysqlColType;
+import org.apache.doris.mysql.MysqlProto;
+
+import com.google.common.base.Preconditions;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Server side prepared statement created by COM_STMT_PREPARE.
+ * It is kept in ConnectContext until COM_STMT_CLOSE or the connection is closed.
+ * The statement is parsed only once, and each COM_STMT_EXECUTE binds the parameters to
+ * the place holders of the parsed statement and executes a clone of it.
+ * The clone is analyzed and planned in each execution rather than caching the analyzed statement:
+ * the analyzer and the descriptor table of a statement are changed by planning and can not be
+ * planned again, and the partition and tablet pruning depend on the values of the parameters.
+ */
+public class PreparedStatementContext {
+    private final int stmtId;
+    private final String originStmt;
+    private final StatementBase stmt;
+    private final List<PlaceHolderExpr> placeHolders;
+    // Parameter types are only sent by client in the first execution (or when they are changed),
+    // so they are saved for the following executions.
+    private int[] paramTypes;
+
+    public PreparedStatementContext(int stmtId, String originStmt, StatementBase stmt,
+            List<PlaceHolderExpr> placeHolders) {
+        this.stmtId = stmtId;
+        this.originStmt = originStmt;
+        this.stmt = stmt;
+        this.placeHolders = placeHolders;
+    }
+
+    public int getStmtId() {
+        return stmtId;
+    }
+
+    public String getOriginStmt() {
+        return originStmt;
+    }
+
+    public int getNumParams() {
+        return placeHolders.size();
+    }
+
+    // Only query statement can be cloned, other statements have to be parsed again before each execution.
+    public boolean isQuery() {
+        return stmt instanceof QueryStmt;
+    }
+
+    public int[] getParamTypes() {
+        return paramTypes;
+    }
+
+    public void setParamTypes(int[] paramTypes) {
+        this.paramTypes = paramTypes;
+    }
+
+    /**
+     * Bind the parameters to the place holders and return the statement to execute.
+     * The parsed statement is kept untouched, so it can be executed again with other parameters.
+     */
+    public QueryStmt bind(List<LiteralExpr> params) {
+        Preconditions.checkState(isQuery());
+        Preconditions.checkArgument(params.size() == placeHolders.size());
+        for (int i = 0; i < params.size(); i++) {
+            placeHolders.get(i).setLiteral(params.get(i));
+        }
+        return ((QueryStmt) stmt).clone();
+    }
+
+    // Sql of the statement with the bound parameters, used for audit log and query info.
+    public String toBoundSql() {
+        return isQuery() ? stmt.toSql() : originStmt;
+    }
+
+    /**
+     * Read one parameter of COM_STMT_EXECUTE in binary protocol.
+     * Date and time values are converted to string literals, and will be cast to the type
+     * of the compared column during analysis.
+     */
+    public static LiteralExpr readParam(ByteBuffer buffer, int type) throws AnalysisException {
+        // the high byte is the unsigned flag
+        boolean isUnsigned = (type & 0x8000) != 0;
+        MysqlColType colType = MysqlColType.fromCode(type & 0xff);
+        if (colType == null) {
+            throw new AnalysisException("Unknown parameter type: " + (type & 0xff));
+        }
+        switch (colType) {
+            case MYSQL_TYPE_NULL:
+                return new NullLiteral();
+            case MYSQL_TYPE_TINY:
+                return new IntLiteral(isUnsigned ? MysqlProto.readInt1(buffer) : MysqlProto.readByte(buffer));
+            case MYSQL_TYPE_SHORT:
+            case MYSQL_TYPE_YEAR: {
+                int value = MysqlProto.readInt2(buffer);
+                return new IntLiteral(isUnsigned ? value : (short) value);
+            }
+            case MYSQL_TYPE_LONG:
+            case MYSQL_TYPE_INT24: {
+                int value = MysqlProto.readInt4(buffer);
+                return new IntLiteral(isUnsigned ? value & 0xFFFFFFFFL : value);
+            }
+            case MYSQL_TYPE_LONGLONG: {
+                long value = MysqlProto.readInt8(buffer);
+                if (isUnsigned && value < 0) {
+                    return new LargeIntLiteral(new BigInteger(Long.toUnsignedString(value)));
+                }
+                return new IntLiteral(value);
+            }
+            case MYSQL_TYPE_FLOAT:
+                return new FloatLiteral((double) Float.intBitsToFloat(MysqlProto.readInt4(buffer)));
+            case MYSQL_TYPE_DOUBLE:
+                return new FloatLiteral(Double.longBitsToDouble(MysqlProto.readInt8(buffer)));
+            case MYSQL_TYPE_DATE:
+            case MYSQL_TYPE_DATETIME:
+            case MYSQL_TYPE_TIMESTAMP:
+                return new StringLiteral(readDateTime(buffer, colType == MysqlColType.MYSQL_TYPE_DATE));
+            case MYSQL_TYPE_TIME:
+                return new StringLiteral(readTime(buffer));
+            case MYSQL_TYPE_DECIMAL:
+            case MYSQL_TYPE_NEWDECIMAL:
+                return new DecimalLiteral(readString(buffer));
+            default:
+                // all string and blob types
+                return new StringLiteral(readString(buffer));
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        return new String(MysqlProto.readLenEncodedString(buffer), StandardCharsets.UTF_8);
+    }
+
+    private static String readDateTime(ByteBuffer buffer, boolean isDate) {
+        int length = MysqlProto.readInt1(buffer);
+        int year = 0;
+        int month = 0;
+        int day = 0;
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int microSecond = 0;
+        if (length >= 4) {
+            year = MysqlProto.readInt2(buffer);
+            month = MysqlProto.readInt1(buffer);
+            day = MysqlProto.readInt1(buffer);
+        }
+        if (length >= 7) {
+            hour = MysqlProto.readInt1(buffer);
+            minute = MysqlProto.readInt1(buffer);
+            second = MysqlProto.readInt1(buffer);
+        }
+        if (length >= 11) {
+            microSecond = MysqlProto.readInt4(buffer);
+        }
+        if (isDate) {
+            return String.format("%04d-%02d-%02d", year, month, day);
+        }
+        if (microSecond > 0) {
+            return String.format("%04d-%02d-%02d %02d:%02d:%02d.%06d",
+                    year, month, day, hour, minute, second, microSecond);
+        }
+        return String.format("%04d-%02d-%02d %02d:%02d:%02d", year, month, day, hour, minute, second);
+    }
+
+    private static String readTime(ByteBuffer buffer) {
+        int length = MysqlProto.readInt1(buffer);
+        boolean isNegative = false;
+        long hours = 0;
+        int minute = 0;
+        int second = 0;
+        if (length >= 8) {
+            isNegative = MysqlProto.readInt1(buffer) == 1;
+            hours = MysqlProto.readInt4(buffer) * 24L;
+            hours += MysqlProto.readInt1(buffer);
+            minute = MysqlProto.readInt1(buffer);
+            second = MysqlProto.readInt1(buffer);
+        }
+        if (length >= 12) {
+            // micro seconds are ignored
+            MysqlProto.readInt4(buffer);
+        }
+        return String.format("%s%02d:%02d:%02d", isNegative ? "-" : "", hours, minute, second);
+    }
+}
@@ -69,6 +69,11 @@ public class QueryState {
         stateType = MysqlStateType.EOF;
     }
 
+    // the response has been sent by the handler, or the command needs no response
+    public void setNoop() {
+        stateType = MysqlStateType.NOOP;
+    }
+
     public void setOk() {
         if (stateType == MysqlStateType.OK) {
             return;
@@ -89,6 +89,7 @@ public class SessionVariable implements Serializable, Writable {
     public static final String ENABLE_FOLD_CONSTANT_BY_BE = "enable_fold_constant_by_be";
     public static final String ENABLE_ODBC_TRANSCATION = "enable_odbc_transcation";
     public static final String ENABLE_SQL_CACHE = "enable_sql_cache";
+    public static final String ENABLE_SQL_PARSE_CACHE = "enable_sql_parse_cache";
     public static final String ENABLE_PARTITION_CACHE = "enable_partition_cache";
 
     public static final String ENABLE_COST_BASED_JOIN_REORDER = "enable_cost_based_join_reorder";
@@ -202,6 +203,12 @@ public class SessionVariable implements Serializable, Writable {
     public static final String ENABLE_NEREIDS_REORDER_TO_ELIMINATE_CROSS_JOIN =
             "enable_nereids_reorder_to_eliminate_cross_join";
 
+    public static final String ENABLE_NEREIDS_PARALLEL_JOB_SCHEDULER = "enable_nereids_parallel_job_scheduler";
+
+    public static final String ENABLE_DPHYP_OPTIMIZER = "enable_dphyp_optimizer";
+
+    public static final String MAX_TABLE_COUNT_USE_DPHYP = "max_table_count_use_dphyp";
+
     public static final String ENABLE_REMOVE_NO_CONJUNCTS_RUNTIME_FILTER =
             "enable_remove_no_conjuncts_runtime_filter_policy";
 
@@ -385,6 +392,10 @@ public class SessionVariable implements Serializable, Writable {
     @VariableMgr.VarAttr(name = ENABLE_SQL_CACHE)
     public boolean enableSqlCache = false;
 
+    // Cache the parsed templates of the queries which only differ in literals, to skip parsing.
+    @VariableMgr.VarAttr(name = ENABLE_SQL_PARSE_CACHE)
+    public boolean enableSqlParseCache = false;
+
     @VariableMgr.VarAttr(name = ENABLE_PARTITION_CACHE)
     public boolean enablePartitionCache = false;
 
@@ -523,6 +534,22 @@ public class SessionVariable implements Serializable, Writable {
     @VariableMgr.VarAttr(name = ENABLE_NEREIDS_REORDER_TO_ELIMINATE_CROSS_JOIN)
     private boolean enableNereidsReorderToEliminateCrossJoin = true;
 
+    /**
+     * Execute independent jobs of the cascades optimizer in parallel.
+     */
+    @VariableMgr.VarAttr(name = ENABLE_NEREIDS_PARALLEL_JOB_SCHEDULER)
+    private boolean enableNereidsParallelJobScheduler = false;
+
+    /**
+     * Reorder inner joins by cost with the DPhyp join enumerator, joins of more tables than
+     * max_table_count_use_dphyp are reordered greedily.
+     */
+    @VariableMgr.VarAttr(name = ENABLE_DPHYP_OPTIMIZER)
+    private boolean enableDphypOptimizer = false;
+
+    @VariableMgr.VarAttr(name = MAX_TABLE_COUNT_USE_DPHYP)
+    private int maxTableCountUseDphyp = 12;
+
     @VariableMgr.VarAttr(name = ENABLE_REMOVE_NO_CONJUNCTS_RUNTIME_FILTER)
     public boolean enableRemoveNoConjunctsRuntimeFilterPolicy = false;
 
@@ -796,6 +823,14 @@ public class SessionVariable implements Serializable, Writable {
         this.enableSqlCache = enableSqlCache;
     }
 
+    public boolean isEnableSqlParseCache() {
+        return enableSqlParseCache;
+    }
+
+    public void setEnableSqlParseCache(boolean enableSqlParseCache) {
+        this.enableSqlParseCache = enableSqlParseCache;
+    }
+
     public boolean isEnablePartitionCache() {
         return enablePartitionCache;
     }
@@ -1093,6 +1128,30 @@ public class SessionVariable implements Serializable, Writable {
         this.enableNereidsRuntimeFilter = enableNereidsRuntimeFilter;
     }
 
+    public boolean isEnableNereidsParallelJobScheduler() {
+        return enableNereidsParallelJobScheduler;
+    }
+
+    public void setEnableNereidsParallelJobScheduler(boolean enableNereidsParallelJobScheduler) {
+        this.enableNereidsParallelJobScheduler = enableNereidsParallelJobScheduler;
+    }
+
+    public boolean isEnableDphypOptimizer() {
+        return enableDphypOptimizer;
+    }
+
+    public void setEnableDphypOptimizer(boolean enableDphypOptimizer) {
+        this.enableDphypOptimizer = enableDphypOptimizer;
+    }
+
+    public int getMaxTableCountUseDphyp() {
+        return maxTableCountUseDphyp;
+    }
+
+    public void setMaxTableCountUseDphyp(int maxTableCountUseDphyp) {
+        this.maxTableCountUseDphyp = maxTableCountUseDphyp;
+    }
+
     public boolean isEnableNereidsReorderToEliminateCrossJoin() {
         return enableNereidsReorderToEliminateCrossJoin;
     }
@@ -0,0 +1,297 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.analysis.DecimalLiteral;
+import org.apache.doris.analysis.FloatLiteral;
+import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.analysis.LargeIntLiteral;
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.analysis.PlaceHolderExpr;
+import org.apache.doris.analysis.QueryStmt;
+import org.apache.doris.analysis.SqlParser;
+import org.apache.doris.analysis.SqlParserSymbols;
+import org.apache.doris.analysis.SqlScanner;
+import org.apache.doris.analysis.StatementBase;
+import org.apache.doris.analysis.StringLiteral;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.util.SqlParserUtils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import java_cup.runtime.Scanner;
+import java_cup.runtime.Symbol;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cache of parsed query templates of ad-hoc sql, which is sent again and again with different literals.
+ * The sql is normalized by its tokens with the literals replaced by parameter markers, and the template
+ * is parsed only once from the normalized tokens. The following sql of the same template binds its
+ * literals to the place holders of the template and executes a clone of it like a prepared statement,
+ * so the parsing is skipped, while the analysis and planning, including the partition and tablet pruning,
+ * are done for the bound literals as usual.
+ * The template does not refer to any catalog object, so it is still valid after schema change.
+ */
+public class SqlParseCache {
+    private static final Logger LOG = LogManager.getLogger(SqlParseCache.class);
+
+    private static final Set<Integer> LITERAL_TOKENS = ImmutableSet.of(
+            SqlParserSymbols.INTEGER_LITERAL,
+            SqlParserSymbols.LARGE_INTEGER_LITERAL,
+            SqlParserSymbols.FLOATINGPOINT_LITERAL,
+            SqlParserSymbols.DECIMAL_LITERAL,
+            SqlParserSymbols.STRING_LITERAL);
+
+    // The literals after these tokens are kept in the template, because the parser only accepts
+    // a literal there, or the parsed expression depends on the literal, e.g. "-1" is parsed as a literal
+    // while "-?" is parsed as an arithmetic expression.
+    private static final Set<Integer> LITERAL_PREFIX_TOKENS = ImmutableSet.of(
+            SqlParserSymbols.SUBTRACT,
+            SqlParserSymbols.KW_LIMIT,
+            SqlParserSymbols.KW_OFFSET,
+            SqlParserSymbols.KW_DATE,
+            SqlParserSymbols.KW_DATEV2,
+            SqlParserSymbols.KW_TIMESTAMP);
+
+    // The sql can not be parsed to a query template, e.g. it is not a query, or its literals are not
+    // all in the places of expressions.
+    private static final Template INVALID_TEMPLATE = new Template(null, null);
+
+    private static volatile SqlParseCache INSTANCE;
+
+    private final Cache<String, Template> templates;
+
+    public static SqlParseCache getInstance() {
+        if (INSTANCE == null) {
+            synchronized (SqlParseCache.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new SqlParseCache(Config.max_sql_parse_cache_num);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    SqlParseCache(long maxNum) {
+        templates = CacheBuilder.newBuilder().maximumSize(maxNum).build();
+    }
+
+    /**
+     * Normalize the sql by its tokens, return null if the sql could not be tokenized.
+     */
+    public static NormalizedSql normalize(String sql, long sqlMode) {
+        SqlScanner scanner = new SqlScanner(new StringReader(sql), sqlMode);
+        List<Symbol> tokens = Lists.newArrayList();
+        BitSet params = new BitSet();
+        List<LiteralExpr> literals = Lists.newArrayList();
+        StringBuilder key = new StringBuilder();
+        key.append(sqlMode).append('|');
+        try {
+            while (true) {
+                Symbol token = scanner.next_token();
+                if (token.sym == SqlParserSymbols.UNMATCHED_STRING_LITERAL
+                        || token.sym == SqlParserSymbols.NUMERIC_OVERFLOW
+                        || token.sym == SqlParserSymbols.PLACEHOLDER) {
+                    return null;
+                }
+                if (LITERAL_TOKENS.contains(token.sym) && !isKeptLiteral(tokens)) {
+                    params.set(tokens.size());
+                    literals.add(toLiteral(token));
+                    key.append('?').append(token.sym).append(' ');
+                } else {
+                    key.append(token.sym);
+                    if (token.value != null && !SqlScanner.isKeyword(token.sym)) {
+                        String value = token.value.toString();
+                        key.append(':').append(value.length()).append(':').append(value);
+                    }
+                    key.append(' ');
+                }
+                tokens.add(token);
+                if (token.sym == SqlParserSymbols.EOF) {
+                    break;
+                }
+            }
+        } catch (Exception | Error e) {
+            LOG.debug("failed to normalize sql: {}", sql, e);
+            return null;
+        }
+        return new NormalizedSql(key.toString(), tokens, params, literals);
+    }
+
+    private static boolean isKeptLiteral(List<Symbol> prevTokens) {
+        int size = prevTokens.size();
+        if (size == 0) {
+            return false;
+        }
+        int prev = prevTokens.get(size - 1).sym;
+        // the limit of "LIMIT offset, limit"
+        return LITERAL_PREFIX_TOKENS.contains(prev)
+                || (prev == SqlParserSymbols.COMMA && size >= 3
+                && prevTokens.get(size - 3).sym == SqlParserSymbols.KW_LIMIT);
+    }
+
+    // Create the literal in the same way as the parser.
+    private static LiteralExpr toLiteral(Symbol token) throws AnalysisException {
+        switch (token.sym) {
+            case SqlParserSymbols.INTEGER_LITERAL:
+                return new IntLiteral((Long) token.value);
+            case SqlParserSymbols.LARGE_INTEGER_LITERAL:
+                return new LargeIntLiteral((String) token.value);
+            case SqlParserSymbols.FLOATINGPOINT_LITERAL:
+                return new FloatLiteral((Double) token.value);
+            case SqlParserSymbols.DECIMAL_LITERAL:
+                return new DecimalLiteral((BigDecimal) token.value);
+            default:
+                return new StringLiteral((String) token.value);
+        }
+    }
+
+    /**
+     * Get the statement of the sql by binding its literals to the cached template,
+     * return null if there is no template of the sql.
+     */
+    public QueryStmt get(NormalizedSql sql) {
+        Template template = templates.getIfPresent(sql.key);
+        if (template == null || template == INVALID_TEMPLATE) {
+            return null;
+        }
+        return template.bind(sql.literals);
+    }
+
+    /**
+     * Parse the template of the sql, add it to the cache and bind the literals of the sql to it,
+     * return null if the sql is not a query of a valid template.
+     * It is called instead of parsing the sql when the template is not cached, so that the sql is parsed
+     * only once, and the caller parses the sql itself only if null is returned.
+     */
+    public QueryStmt parseAndPut(NormalizedSql sql) {
+        if (!isQuery(sql) || templates.getIfPresent(sql.key) != null) {
+            return null;
+        }
+        Template template = parseTemplate(sql);
+        Template prev = templates.asMap().putIfAbsent(sql.key, template);
+        if (prev != null) {
+            template = prev;
+        }
+        return template == INVALID_TEMPLATE ? null : template.bind(sql.literals);
+    }
+
+    // Only the sql which starts like a query is parsed as a template, the others are parsed by the caller.
+    private static boolean isQuery(NormalizedSql sql) {
+        int first = sql.tokens.get(0).sym;
+        return first == SqlParserSymbols.KW_SELECT || first == SqlParserSymbols.KW_WITH
+                || first == SqlParserSymbols.LPAREN;
+    }
+
+    private static Template parseTemplate(NormalizedSql sql) {
+        SqlParser parser = new SqlParser(new TemplateScanner(sql));
+        try {
+            List<StatementBase> stmts = SqlParserUtils.getMultiStmts(parser);
+            // every literal should be replaced by a place holder in the same order
+            if (stmts.size() == 1 && stmts.get(0) instanceof QueryStmt
+                    && parser.placeHolders.size() == sql.literals.size()) {
+                return new Template((QueryStmt) stmts.get(0), parser.placeHolders);
+            }
+        } catch (Exception | Error e) {
+            LOG.debug("failed to parse template of sql: {}", sql.key, e);
+        }
+        return INVALID_TEMPLATE;
+    }
+
+    public long size() {
+        return templates.size();
+    }
+
+    /**
+     * The sql normalized by its tokens.
+     */
+    public static class NormalizedSql {
+        private final String key;
+        private final List<Symbol> tokens;
+        // indexes of the tokens which are replaced by place holders
+        private final BitSet params;
+        private final List<LiteralExpr> literals;
+
+        private NormalizedSql(String key, List<Symbol> tokens, BitSet params, List<LiteralExpr> literals) {
+            this.key = key;
+            this.tokens = tokens;
+            this.params = params;
+            this.literals = literals;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public List<LiteralExpr> getLiterals() {
+            return literals;
+        }
+    }
+
+    private static class Template {
+        private final QueryStmt stmt;
+        private final List<PlaceHolderExpr> placeHolders;
+
+        Template(QueryStmt stmt, List<PlaceHolderExpr> placeHolders) {
+            this.stmt = stmt;
+            this.placeHolders = placeHolders;
+        }
+
+        // The template is shared by connections, so the binding and cloning are serialized.
+        synchronized QueryStmt bind(List<LiteralExpr> literals) {
+            for (int i = 0; i < literals.size(); i++) {
+                placeHolders.get(i).setLiteral(literals.get(i));
+            }
+            return stmt.clone();
+        }
+    }
+
+    // Replay the tokens of the normalized sql with the literals replaced by place holders.
+    private static class TemplateScanner implements Scanner {
+        private final NormalizedSql sql;
+        private int index = 0;
+
+        TemplateScanner(NormalizedSql sql) {
+            this.sql = sql;
+        }
+
+        @Override
+        public Symbol next_token() {
+            Symbol token = sql.tokens.get(Math.min(index, sql.tokens.size() - 1));
+            // the parser doesn't accept a symbol which has been used, so always return a new one
+            Symbol symbol;
+            if (sql.params.get(index)) {
+                symbol = new Symbol(SqlParserSymbols.PLACEHOLDER, token.left, token.right, null);
+            } else {
+                symbol = new Symbol(token.sym, token.left, token.right, token.value);
+            }
+            index++;
+            return symbol;
+        }
+    }
+}
@@ -86,6 +86,7 @@ import org.apache.doris.common.util.SqlParserUtils;
 import org.apache.doris.common.util.TimeUtils;
 import org.apache.doris.load.EtlJobType;
 import org.apache.doris.mysql.MysqlChannel;
+import org.apache.doris.mysql.MysqlCommand;
 import org.apache.doris.mysql.MysqlEofPacket;
 import org.apache.doris.mysql.MysqlSerializer;
 import org.apache.doris.mysql.privilege.PrivPredicate;
@@ -181,6 +182,8 @@ public class StmtExecutor implements ProfileWriter {
     private ShowResultSet proxyResultSet = null;
     private Data.PQueryStatistics.Builder statisticsForAuditLog;
     private boolean isCached;
+    // whether the statement is bound from the cached template instead of being parsed
+    private boolean isSqlParseCacheHit;
     private QueryPlannerProfile plannerProfile = new QueryPlannerProfile();
 
     // this constructor is mainly for proxy
@@ -348,6 +351,10 @@ public class StmtExecutor implements ProfileWriter {
         return parsedStmt != null && parsedStmt instanceof QueryStmt;
     }
 
+    public void setSqlParseCacheHit(boolean isSqlParseCacheHit) {
+        this.isSqlParseCacheHit = isSqlParseCacheHit;
+    }
+
     /**
      * Used for audit in ConnectProcessor.
      * <p>
@@ -932,7 +939,7 @@ public class StmtExecutor implements ProfileWriter {
                 isSend = true;
             }
             for (ByteBuffer row : batch.getBatch().getRows()) {
-                channel.sendOnePacket(row);
+                sendRow(channel, row, selectStmt.getColLabels().size());
             }
             context.updateReturnRows(batch.getBatch().getRows().size());
         }
@@ -1037,6 +1044,10 @@ public class StmtExecutor implements ProfileWriter {
 
         if (queryStmt.isExplain()) {
             String explainString = planner.getExplainString(queryStmt.getExplainOptions());
+            if (context.getSessionVariable().isEnableSqlParseCache()) {
+                explainString = "SQL PARSE CACHE: " + (isSqlParseCacheHit ? "HIT" : "MISS") + "\n"
+                        + explainString;
+            }
             handleExplainStmt(explainString);
             return;
         }
@@ -1107,8 +1118,10 @@ public class StmtExecutor implements ProfileWriter {
                         }
                         isSendFields = true;
                     }
+                    int columnCount = isOutfileQuery
+                            ? OutFileClause.RESULT_COL_NAMES.size() : queryStmt.getColLabels().size();
                     for (ByteBuffer row : batch.getBatch().getRows()) {
-                        channel.sendOnePacket(row);
+                        sendRow(channel, row, columnCount);
                     }
                     context.updateReturnRows(batch.getBatch().getRows().size());
                 }
@@ -1563,7 +1576,7 @@ public class StmtExecutor implements ProfileWriter {
         for (Column col : metaData.getColumns()) {
             serializer.reset();
             // TODO(zhaochun): only support varchar type
-            serializer.writeField(col.getName(), col.getType().getPrimitiveType());
+            serializer.writeField(col.getName(), toResultFieldType(col.getType().getPrimitiveType()));
             context.getMysqlChannel().sendOnePacket(serializer.toByteBuffer());
         }
         // send EOF
@@ -1573,6 +1586,24 @@ public class StmtExecutor implements ProfileWriter {
         context.getMysqlChannel().sendOnePacket(serializer.toByteBuffer());
     }
 
+    // The result of COM_STMT_EXECUTE must be sent in binary protocol.
+    private boolean isBinaryProtocol() {
+        return context.getCommand() == MysqlCommand.COM_STMT_EXECUTE;
+    }
+
+    // Rows returned by BE are encoded in text protocol, so in binary protocol all columns are
+    // declared as string, and the values can be sent without being decoded.
+    private PrimitiveType toResultFieldType(PrimitiveType type) {
+        return isBinaryProtocol() ? PrimitiveType.VARCHAR : type;
+    }
+
+    private void sendRow(MysqlChannel channel, ByteBuffer row, int columnCount) throws IOException {
+        if (isBinaryProtocol()) {
+            row = MysqlSerializer.toBinaryRow(row, columnCount);
+        }
+        channel.sendOnePacket(row);
+    }
+
     private void sendFields(List<String> colNames, List<PrimitiveType> types) throws IOException {
         // sends how many columns
         serializer.reset();
@@ -1581,7 +1612,7 @@ public class StmtExecutor implements ProfileWriter {
         // send field one by one
         for (int i = 0; i < colNames.size(); ++i) {
             serializer.reset();
-            serializer.writeField(colNames.get(i), types.get(i));
+            serializer.writeField(colNames.get(i), toResultFieldType(types.get(i)));
             context.getMysqlChannel().sendOnePacket(serializer.toByteBuffer());
         }
         // send EOF
@@ -1606,7 +1637,7 @@ public class StmtExecutor implements ProfileWriter {
                     serializer.writeLenEncodedString(item);
                 }
             }
-            context.getMysqlChannel().sendOnePacket(serializer.toByteBuffer());
+            sendRow(context.getMysqlChannel(), serializer.toByteBuffer(), resultSet.getMetaData().getColumnCount());
         }
 
         context.getState().setEof();
@@ -1645,7 +1676,7 @@ public class StmtExecutor implements ProfileWriter {
         for (String item : result.split("\n")) {
             serializer.reset();
             serializer.writeLenEncodedString(item);
-            context.getMysqlChannel().sendOnePacket(serializer.toByteBuffer());
+            sendRow(context.getMysqlChannel(), serializer.toByteBuffer(), 1);
         }
         context.getState().setEof();
     }
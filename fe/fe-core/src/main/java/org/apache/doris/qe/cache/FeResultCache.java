@@ -0,0 +1,138 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe.cache;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.proto.InternalService;
+import org.apache.doris.proto.Types;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.Weigher;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The in-memory result cache of FE, which is checked before fetching the sql cache from BE.
+ * It is bounded by Config.cache_fe_result_max_size_mb and the least recently used results are evicted.
+ * The key contains the latest version of the queried table, so a result is never returned
+ * after the table is changed, and the stale results are evicted eventually.
+ */
+public class FeResultCache {
+    private static volatile FeResultCache INSTANCE;
+
+    private final com.google.common.cache.Cache<CacheKey, InternalService.PFetchCacheResult> cache;
+    private final AtomicLong usedBytes = new AtomicLong(0);
+
+    public static FeResultCache getInstance() {
+        if (INSTANCE == null) {
+            synchronized (FeResultCache.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new FeResultCache(Config.cache_fe_result_max_size_mb * 1024L * 1024L);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    FeResultCache(long maxBytes) {
+        Weigher<CacheKey, InternalService.PFetchCacheResult> weigher = (key, value) -> value.getSerializedSize();
+        RemovalListener<CacheKey, InternalService.PFetchCacheResult> listener =
+                notification -> usedBytes.addAndGet(-notification.getValue().getSerializedSize());
+        cache = CacheBuilder.newBuilder()
+                .maximumWeight(Math.max(maxBytes, 0))
+                .weigher(weigher)
+                .removalListener(listener)
+                .recordStats()
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return Config.cache_fe_result_max_size_mb > 0;
+    }
+
+    public InternalService.PFetchCacheResult get(Types.PUniqueId sqlKey, long partitionKey, long lastVersion,
+            long lastVersionTime) {
+        if (!isEnabled()) {
+            return null;
+        }
+        return cache.getIfPresent(new CacheKey(sqlKey, partitionKey, lastVersion, lastVersionTime));
+    }
+
+    public void put(Types.PUniqueId sqlKey, long partitionKey, long lastVersion, long lastVersionTime,
+            InternalService.PFetchCacheResult result) {
+        if (!isEnabled()) {
+            return;
+        }
+        CacheKey key = new CacheKey(sqlKey, partitionKey, lastVersion, lastVersionTime);
+        if (cache.getIfPresent(key) != null) {
+            return;
+        }
+        usedBytes.addAndGet(result.getSerializedSize());
+        cache.put(key, result);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public double getHitRatio() {
+        return cache.stats().hitRate();
+    }
+
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    private static class CacheKey {
+        private final Types.PUniqueId sqlKey;
+        private final long partitionKey;
+        private final long lastVersion;
+        private final long lastVersionTime;
+
+        CacheKey(Types.PUniqueId sqlKey, long partitionKey, long lastVersion, long lastVersionTime) {
+            this.sqlKey = sqlKey;
+            this.partitionKey = partitionKey;
+            this.lastVersion = lastVersion;
+            this.lastVersionTime = lastVersionTime;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return partitionKey == other.partitionKey && lastVersion == other.lastVersion
+                    && lastVersionTime == other.lastVersionTime && sqlKey.equals(other.sqlKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sqlKey, partitionKey, lastVersion, lastVersionTime);
+        }
+    }
+}
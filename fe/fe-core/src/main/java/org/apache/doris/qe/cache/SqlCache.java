@@ -51,19 +51,33 @@ public class SqlCache extends Cache {
     }
 
     public InternalService.PFetchCacheResult getCacheData(Status status) {
+        Types.PUniqueId sqlKey = CacheProxy.getMd5(getSqlWithViewStmt());
+        // check the result cache of fe first to save the rpc to be
+        FeResultCache feResultCache = FeResultCache.getInstance();
+        InternalService.PFetchCacheResult cacheResult = feResultCache.get(sqlKey,
+                latestTable.latestPartitionId, latestTable.latestVersion, latestTable.latestTime);
+        if (cacheResult != null) {
+            MetricRepo.COUNTER_CACHE_HIT_SQL.increase(1L);
+            MetricRepo.COUNTER_CACHE_HIT_FE.increase(1L);
+            hitRange = HitRange.Full;
+            return cacheResult;
+        }
+
         InternalService.PFetchCacheRequest request = InternalService.PFetchCacheRequest.newBuilder()
-                .setSqlKey(CacheProxy.getMd5(getSqlWithViewStmt()))
+                .setSqlKey(sqlKey)
                 .addParams(InternalService.PCacheParam.newBuilder()
                         .setPartitionKey(latestTable.latestPartitionId)
                         .setLastVersion(latestTable.latestVersion)
                         .setLastVersionTime(latestTable.latestTime))
                 .build();
 
-        InternalService.PFetchCacheResult cacheResult = proxy.fetchCache(request, 10000, status);
+        cacheResult = proxy.fetchCache(request, 10000, status);
         if (status.ok() && cacheResult != null && cacheResult.getStatus() == InternalService.PCacheStatus.CACHE_OK) {
             cacheResult = cacheResult.toBuilder().setAllCount(1).build();
             MetricRepo.COUNTER_CACHE_HIT_SQL.increase(1L);
             hitRange = HitRange.Full;
+            feResultCache.put(sqlKey, latestTable.latestPartitionId, latestTable.latestVersion,
+                    latestTable.latestTime, cacheResult);
         }
         return cacheResult;
     }
@@ -88,6 +102,13 @@ public class SqlCache extends Cache {
                 rowBatchBuilder.buildSqlUpdateRequest(getSqlWithViewStmt(), latestTable.latestPartitionId,
                         latestTable.latestVersion, latestTable.latestTime);
         if (updateRequest.getValuesCount() > 0) {
+            FeResultCache.getInstance().put(updateRequest.getSqlKey(), latestTable.latestPartitionId,
+                    latestTable.latestVersion, latestTable.latestTime,
+                    InternalService.PFetchCacheResult.newBuilder()
+                            .setStatus(InternalService.PCacheStatus.CACHE_OK)
+                            .addAllValues(updateRequest.getValuesList())
+                            .setAllCount(1)
+                            .build());
             CacheBeProxy proxy = new CacheBeProxy();
             Status status = new Status();
             proxy.updateCache(updateRequest, CacheProxy.UPDATE_TIMEOUT, status);
@@ -18,6 +18,7 @@
 package org.apache.doris.rpc;
 
 import org.apache.doris.common.Config;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.proto.InternalService;
 import org.apache.doris.proto.InternalService.PExecPlanFragmentStartRequest;
 import org.apache.doris.proto.Types;
@@ -28,6 +29,7 @@ import org.apache.doris.thrift.TUniqueId;
 
 import com.google.common.collect.Maps;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TException;
@@ -47,6 +49,11 @@ public class BackendServiceProxy {
     private ReentrantLock lock = new ReentrantLock();
     private final Map<TNetworkAddress, BackendServiceClient> serviceMap;
 
+    // TSerializer is not thread safe, reuse one serializer of each protocol per thread.
+    private static final ThreadLocal<TSerializer> BINARY_SERIALIZER = ThreadLocal.withInitial(TSerializer::new);
+    private static final ThreadLocal<TSerializer> COMPACT_SERIALIZER =
+            ThreadLocal.withInitial(() -> new TSerializer(new TCompactProtocol.Factory()));
+
     public BackendServiceProxy() {
         serviceMap = Maps.newConcurrentMap();
     }
@@ -108,18 +115,36 @@ public class BackendServiceProxy {
 
     public Future<InternalService.PExecPlanFragmentResult> execPlanFragmentsAsync(TNetworkAddress address,
             TExecPlanFragmentParamsList paramsList, boolean twoPhaseExecution) throws TException, RpcException {
+        return execPlanFragmentsAsync(address, paramsList, twoPhaseExecution, false);
+    }
+
+    /**
+     * Send the fragment instances to a BE in one request.
+     * If isSimplified is true, some params don't carry the fragment or query options, which are shared with
+     * the previous params in the list.
+     */
+    public Future<InternalService.PExecPlanFragmentResult> execPlanFragmentsAsync(TNetworkAddress address,
+            TExecPlanFragmentParamsList paramsList, boolean twoPhaseExecution, boolean isSimplified)
+            throws TException, RpcException {
         InternalService.PExecPlanFragmentRequest.Builder builder =
                 InternalService.PExecPlanFragmentRequest.newBuilder();
+        byte[] request;
         if (Config.use_compact_thrift_rpc) {
-            builder.setRequest(
-                    ByteString.copyFrom(new TSerializer(new TCompactProtocol.Factory()).serialize(paramsList)));
+            request = COMPACT_SERIALIZER.get().serialize(paramsList);
             builder.setCompact(true);
         } else {
-            builder.setRequest(ByteString.copyFrom(new TSerializer().serialize(paramsList))).build();
+            request = BINARY_SERIALIZER.get().serialize(paramsList);
             builder.setCompact(false);
         }
+        // the serialized bytes are not shared, wrap them without copy
+        builder.setRequest(UnsafeByteOperations.unsafeWrap(request));
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_EXEC_FRAGMENT_RPC_BYTES.update(request.length);
+        }
         // VERSION 2 means we send TExecPlanFragmentParamsList, not single TExecPlanFragmentParams
-        builder.setVersion(InternalService.PFragmentRequestVersion.VERSION_2);
+        // VERSION 3 means some params share the fragment and query options with the previous params
+        builder.setVersion(isSimplified ? InternalService.PFragmentRequestVersion.VERSION_3
+                : InternalService.PFragmentRequestVersion.VERSION_2);
 
         final InternalService.PExecPlanFragmentRequest pRequest = builder.build();
         try {
@@ -278,7 +303,7 @@ public class BackendServiceProxy {
     public Future<InternalService.PConstantExprResult> foldConstantExpr(
             TNetworkAddress address, TFoldConstantParams tParams) throws RpcException, TException {
         final InternalService.PConstantExprRequest pRequest = InternalService.PConstantExprRequest.newBuilder()
-                .setRequest(ByteString.copyFrom(new TSerializer().serialize(tParams))).build();
+                .setRequest(ByteString.copyFrom(BINARY_SERIALIZER.get().serialize(tParams))).build();
 
         try {
             final BackendServiceClient client = getProxy(address);
@@ -46,6 +46,7 @@ import org.apache.doris.datasource.CatalogIf;
 import org.apache.doris.datasource.InternalCatalog;
 import org.apache.doris.master.MasterImpl;
 import org.apache.doris.mysql.privilege.PrivPredicate;
+import org.apache.doris.planner.StreamLoadPlanCache;
 import org.apache.doris.planner.StreamLoadPlanner;
 import org.apache.doris.policy.Policy;
 import org.apache.doris.policy.PolicyTypeEnum;
@@ -911,8 +912,14 @@ public class FrontendServiceImpl implements FrontendService.Iface {
         }
         try {
             StreamLoadTask streamLoadTask = StreamLoadTask.fromTStreamLoadPutRequest(request);
-            StreamLoadPlanner planner = new StreamLoadPlanner(db, (OlapTable) table, streamLoadTask);
-            TExecPlanFragmentParams plan = planner.plan(streamLoadTask.getId());
+            TExecPlanFragmentParams plan;
+            if (StreamLoadPlanCache.isEnabled()) {
+                plan = StreamLoadPlanCache.getInstance().getOrPlan(db, (OlapTable) table, request, streamLoadTask,
+                        streamLoadTask.getId());
+            } else {
+                StreamLoadPlanner planner = new StreamLoadPlanner(db, (OlapTable) table, streamLoadTask);
+                plan = planner.plan(streamLoadTask.getId());
+            }
             // add table indexes to transaction state
             TransactionState txnState = Env.getCurrentGlobalTransactionMgr()
                     .getTransactionState(db.getId(), request.getTxnId());
@@ -49,6 +49,7 @@ import java.util.function.Predicate;
  * 4. @numNulls: The number of nulls.
  * 5. @minValue: The min value of column.
  * 6. @maxValue: The max value of column.
+ * 7. @histogram: The equi-height histogram of column, null if not collected.
  * <p>
  * The granularity of the statistics is whole table.
  * For example:
@@ -62,6 +63,7 @@ public class ColumnStats {
     public static final StatsType NUM_NULLS = StatsType.NUM_NULLS;
     public static final StatsType MIN_VALUE = StatsType.MIN_VALUE;
     public static final StatsType MAX_VALUE = StatsType.MAX_VALUE;
+    public static final StatsType HISTOGRAM = StatsType.HISTOGRAM;
 
     private static final Predicate<Long> DESIRED_NDV_PRED = (v) -> v >= -1L;
     private static final Predicate<Float> DESIRED_AVG_SIZE_PRED = (v) -> (v == -1) || (v >= 0);
@@ -74,6 +76,7 @@ public class ColumnStats {
     private long numNulls = -1;
     private LiteralExpr minValue;
     private LiteralExpr maxValue;
+    private Histogram histogram;
 
     public static ColumnStats createDefaultColumnStats() {
         ColumnStats columnStats = new ColumnStats();
@@ -95,6 +98,8 @@ public class ColumnStats {
         if (other.maxValue != null) {
             this.maxValue = (LiteralExpr) other.maxValue.clone();
         }
+        // histogram is immutable
+        this.histogram = other.histogram;
     }
 
     public ColumnStats() {
@@ -124,6 +129,10 @@ public class ColumnStats {
         return maxValue;
     }
 
+    public Histogram getHistogram() {
+        return histogram;
+    }
+
     public void setNdv(long ndv) {
         this.ndv = ndv;
     }
@@ -148,6 +157,10 @@ public class ColumnStats {
         this.maxValue = maxValue;
     }
 
+    public void setHistogram(Histogram histogram) {
+        this.histogram = histogram;
+    }
+
     public void updateStats(Type columnType, Map<StatsType, String> statsTypeToValue) throws AnalysisException {
         for (Map.Entry<StatsType, String> entry : statsTypeToValue.entrySet()) {
             StatsType statsType = entry.getKey();
@@ -174,6 +187,13 @@ public class ColumnStats {
                 case MAX_VALUE:
                     maxValue = validateColumnValue(columnType, entry.getValue());
                     break;
+                case HISTOGRAM:
+                    try {
+                        histogram = Histogram.fromJson(entry.getValue());
+                    } catch (Exception e) {
+                        throw new AnalysisException("Invalid histogram: " + entry.getValue());
+                    }
+                    break;
                 default:
                     throw new AnalysisException("Unknown stats type: " + statsType);
             }
@@ -199,7 +219,7 @@ public class ColumnStats {
         return result;
     }
 
-    private LiteralExpr validateColumnValue(Type type, String columnValue) throws AnalysisException {
+    static LiteralExpr validateColumnValue(Type type, String columnValue) throws AnalysisException {
         Preconditions.checkArgument(type.isScalarType());
         ScalarType scalarType = (ScalarType) type;
 
@@ -0,0 +1,147 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.statistics;
+
+import org.apache.doris.persist.gson.GsonUtils;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+/**
+ * Equi-height histogram of a column, each bucket has about the same number of rows.
+ * The bounds of buckets are converted to double by LiteralExpr.getDoubleValue(),
+ * so that numeric and date values can be compared with the values in predicates.
+ * <p>
+ * The histogram is usually built from sampled rows, so only the ratios are meaningful,
+ * e.g. the selectivity of "col < 10" is the ratio of sampled rows less than 10.
+ */
+public class Histogram {
+    @SerializedName(value = "buckets")
+    private final List<Bucket> buckets;
+
+    // sum of the rows of all buckets, computed lazily
+    private transient long totalCount;
+
+    public Histogram(List<Bucket> buckets) {
+        this.buckets = buckets;
+    }
+
+    public List<Bucket> getBuckets() {
+        return buckets;
+    }
+
+    private long getTotalCount() {
+        if (totalCount <= 0) {
+            totalCount = buckets.stream().mapToLong(bucket -> bucket.count).sum();
+        }
+        return totalCount;
+    }
+
+    /**
+     * Selectivity of "col = value", assume that values in a bucket are evenly distributed.
+     */
+    public double equalSelectivity(double value) {
+        if (getTotalCount() == 0) {
+            return 0;
+        }
+        for (Bucket bucket : buckets) {
+            if (value < bucket.lower) {
+                break;
+            }
+            if (value <= bucket.upper) {
+                return (double) bucket.count / Math.max(1, bucket.ndv) / getTotalCount();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Selectivity of "col < value", or "col <= value" if inclusive.
+     * Assume that values in a bucket are evenly distributed between the bounds.
+     */
+    public double lessThanSelectivity(double value, boolean inclusive) {
+        if (getTotalCount() == 0) {
+            return 0;
+        }
+        double count = 0;
+        for (Bucket bucket : buckets) {
+            if (value < bucket.lower || (value == bucket.lower && !inclusive && bucket.lower < bucket.upper)) {
+                break;
+            }
+            if (value > bucket.upper || (value == bucket.upper && inclusive)) {
+                count += bucket.count;
+                continue;
+            }
+            // the value is in the bucket
+            if (bucket.lower < bucket.upper) {
+                count += bucket.count * (value - bucket.lower) / (bucket.upper - bucket.lower);
+            }
+            break;
+        }
+        return count / getTotalCount();
+    }
+
+    public String toJson() {
+        return GsonUtils.GSON.toJson(this);
+    }
+
+    public static Histogram fromJson(String json) {
+        Histogram histogram = GsonUtils.GSON.fromJson(json, Histogram.class);
+        Preconditions.checkArgument(histogram != null && histogram.buckets != null, "invalid histogram: " + json);
+        return histogram;
+    }
+
+    /**
+     * A bucket of histogram, whose values are in [lower, upper].
+     */
+    public static class Bucket {
+        @SerializedName(value = "lower")
+        private final double lower;
+        @SerializedName(value = "upper")
+        private final double upper;
+        @SerializedName(value = "count")
+        private final long count;
+        @SerializedName(value = "ndv")
+        private final long ndv;
+
+        public Bucket(double lower, double upper, long count, long ndv) {
+            this.lower = lower;
+            this.upper = upper;
+            this.count = count;
+            this.ndv = ndv;
+        }
+
+        public double getLower() {
+            return lower;
+        }
+
+        public double getUpper() {
+            return upper;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getNdv() {
+            return ndv;
+        }
+    }
+}
@@ -40,7 +40,7 @@ import java.util.Map;
  * The results of the query will be returned as @StatisticsTaskResult.
  */
 public class SQLStatisticsTask extends StatisticsTask {
-    private String statement;
+    protected String statement;
 
     public SQLStatisticsTask(long jobId, List<StatisticsDesc> statsDescs) {
         super(jobId, statsDescs);
@@ -122,7 +122,7 @@ public class SQLStatisticsTask extends StatisticsTask {
                 + statement + " queryResult: " + queryResult);
     }
 
-    private Map<String, String> getQueryParams(StatisticsDesc statsDesc) throws DdlException {
+    protected Map<String, String> getQueryParams(StatisticsDesc statsDesc) throws DdlException {
         StatsCategory category = statsDesc.getStatsCategory();
         Database db = Env.getCurrentInternalCatalog().getDbOrDdlException(category.getDbId());
         Table table = db.getTableOrDdlException(category.getTableId());
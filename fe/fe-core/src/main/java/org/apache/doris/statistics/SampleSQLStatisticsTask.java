@@ -17,20 +17,101 @@
 
 package org.apache.doris.statistics;
 
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
 import org.apache.doris.common.Config;
+import org.apache.doris.common.DdlException;
+import org.apache.doris.common.InvalidFormatException;
+import org.apache.doris.statistics.StatisticsTaskResult.TaskResult;
+import org.apache.doris.statistics.StatsGranularity.Granularity;
+import org.apache.doris.statistics.util.InternalQuery;
+import org.apache.doris.statistics.util.InternalQueryResult;
+import org.apache.doris.statistics.util.InternalQueryResult.ResultRow;
+import org.apache.doris.statistics.util.InternalSqlTemplate;
+
+import com.google.common.collect.Lists;
 
 import java.util.List;
+import java.util.Map;
 
 /*
 The @SampleSQLStatisticsTask is also a statistical task that executes a query
 and uses the query result as a statistical value (same as @SQLStatisticsTask).
 The only difference from the SQLStatisticsTask is that the query is a sampling table query.
+Rows are sampled by RAND(), so the sampled max size, avg size and histogram are used as is,
+and the sampled num nulls is scaled up by the sample percentage.
+Other statistics types are collected by full table queries.
  */
 public class SampleSQLStatisticsTask extends SQLStatisticsTask {
     private float samplePercentage = Config.cbo_default_sample_percentage;
 
     public SampleSQLStatisticsTask(long jobId, List<StatisticsDesc> statsDescs) {
-        // TODO(wzt): implement sql sampling to collect statistics
         super(jobId, statsDescs);
     }
+
+    public SampleSQLStatisticsTask(long jobId, List<StatisticsDesc> statsDescs, float samplePercentage) {
+        super(jobId, statsDescs);
+        this.samplePercentage = samplePercentage;
+    }
+
+    @Override
+    protected String constructQuery(StatisticsDesc statsDesc) throws DdlException,
+            InvalidFormatException {
+        Map<String, String> params = getQueryParams(statsDesc);
+        params.put(InternalSqlTemplate.SAMPLE_PERCENT, String.valueOf(samplePercentage));
+        params.put(InternalSqlTemplate.BUCKET_NUM, String.valueOf(Config.cbo_histogram_bucket_num));
+        StatsType type = statsDesc.getStatsTypes().get(0);
+        boolean nonPartitioned = statsDesc.getStatsGranularity().getGranularity() != Granularity.PARTITION;
+
+        switch (type) {
+            case MAX_SIZE:
+            case AVG_SIZE:
+                return nonPartitioned ? InternalSqlTemplate.buildStatsSampleMaxAvgSizeSql(params)
+                        : InternalSqlTemplate.buildStatsPartitionSampleMaxAvgSizeSql(params);
+            case NUM_NULLS:
+                return nonPartitioned ? InternalSqlTemplate.buildStatsSampleNumNullsSql(params)
+                        : InternalSqlTemplate.buildStatsPartitionSampleNumNullsSql(params);
+            case HISTOGRAM:
+                if (!nonPartitioned) {
+                    throw new DdlException("Histogram is only collected for the whole table");
+                }
+                return InternalSqlTemplate.buildStatsSampleHistogramSql(params);
+            default:
+                return super.constructQuery(statsDesc);
+        }
+    }
+
+    @Override
+    protected TaskResult executeQuery(StatisticsDesc statsDesc) throws Exception {
+        if (statsDesc.getStatsTypes().get(0) != StatsType.HISTOGRAM) {
+            return super.executeQuery(statsDesc);
+        }
+
+        StatsCategory category = statsDesc.getStatsCategory();
+        Database db = Env.getCurrentInternalCatalog().getDbOrDdlException(category.getDbId());
+        Column column = db.getTableOrDdlException(category.getTableId()).getColumn(category.getColumnName());
+        if (column == null) {
+            throw new DdlException("Column " + category.getColumnName() + " not found");
+        }
+        InternalQuery query = new InternalQuery(db.getFullName(), statement);
+        InternalQueryResult queryResult = query.query();
+
+        // one row per bucket: lower bound, upper bound, row count, ndv
+        List<Histogram.Bucket> buckets = Lists.newArrayList();
+        for (ResultRow resultRow : queryResult.getResultRows()) {
+            if (resultRow.getColumns().size() != 4) {
+                throw new DdlException("Statistics query result is incorrect, statement: "
+                        + statement + " queryResult: " + queryResult);
+            }
+            double lower = ColumnStats.validateColumnValue(column.getType(), resultRow.getString(0)).getDoubleValue();
+            double upper = ColumnStats.validateColumnValue(column.getType(), resultRow.getString(1)).getDoubleValue();
+            buckets.add(new Histogram.Bucket(lower, upper, Long.parseLong(resultRow.getString(2)),
+                    Long.parseLong(resultRow.getString(3))));
+        }
+
+        TaskResult result = createNewTaskResult(category, statsDesc.getStatsGranularity());
+        result.getStatsTypeToValue().put(StatsType.HISTOGRAM, new Histogram(buckets).toJson());
+        return result;
+    }
 }
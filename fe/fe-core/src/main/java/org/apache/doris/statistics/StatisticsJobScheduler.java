@@ -125,10 +125,14 @@ public class StatisticsJobScheduler extends MasterDaemon {
      * - num_nulls: number of nulls.
      * - avg_col_len: the average length of a column, in bytes, is used for memory and network IO evaluation.
      * - max_col_len: the Max length of the column, in bytes, is used for memory and network IO evaluation.
+     * - histogram: equi-height histogram of numeric and date column, used to determine the selectivity
+     *   of range and equivalent expressions.
      * <p>
      * Divide:
      * - min, max, ndv: These three full indicators are collected by a sub-task.
      * - max_col_lens, avg_col_lens: Two sampling indicators were collected by a sub-task.
+     * - num_nulls: sampling indicator of large table, collected by a sub-task.
+     * - histogram: sampling indicator of the whole table, collected by a sub-task.
      * <p>
      * If the table row-count is greater than the maximum number of Be scans for a single BE,
      * we'll divide subtasks by partition. relevant values(3700000000L&600000000L) are derived from test.
@@ -156,6 +160,7 @@ public class StatisticsJobScheduler extends MasterDaemon {
             } else {
                 getStatsTaskByPartition(job, tblId);
             }
+            getHistogramTasks(job, tblId);
         }
     }
 
@@ -262,11 +267,7 @@ public class StatisticsJobScheduler extends MasterDaemon {
         for (String colName : colNames) {
             StatsCategory colCategory = getColumnStatsCategory(job.getDbId(), tableId, colName);
             StatsGranularity colGranularity = getTableGranularity(tableId);
-            StatisticsDesc colStatsDesc = new StatisticsDesc(colCategory,
-                    colGranularity, Collections.singletonList(StatsType.NUM_NULLS));
-            SQLStatisticsTask sqlTask = new SQLStatisticsTask(job.getId(),
-                    Collections.singletonList(colStatsDesc));
-            job.getTasks().add(sqlTask);
+            getColumnNumNullsSqlTask(job, rowCount, colCategory, colGranularity);
         }
 
         // column max value, min value and ndv
@@ -410,11 +411,7 @@ public class StatisticsJobScheduler extends MasterDaemon {
             for (String colName : colNames) {
                 StatsCategory colCategory = getColumnStatsCategory(job.getDbId(), tableId, partitionName, colName);
                 StatsGranularity colGranularity = getPartitionGranularity(partitionId);
-                StatisticsDesc colStatsDesc = new StatisticsDesc(colCategory,
-                        colGranularity, Collections.singletonList(StatsType.NUM_NULLS));
-                SQLStatisticsTask sqlTask = new SQLStatisticsTask(job.getId(),
-                        Collections.singletonList(colStatsDesc));
-                job.getTasks().add(sqlTask);
+                getColumnNumNullsSqlTask(job, rowCount, colCategory, colGranularity);
             }
 
             // column max value, min value and ndv
@@ -458,6 +455,50 @@ public class StatisticsJobScheduler extends MasterDaemon {
         job.getTasks().add(sqlTask);
     }
 
+    private void getColumnNumNullsSqlTask(StatisticsJob job, long rowCount,
+                                          StatsCategory colCategory, StatsGranularity colGranularity) {
+        StatisticsDesc colStatsDesc = new StatisticsDesc(colCategory,
+                colGranularity, Collections.singletonList(StatsType.NUM_NULLS));
+        SQLStatisticsTask sqlTask;
+        if (rowCount < MIN_SAMPLE_ROWS) {
+            sqlTask = new SQLStatisticsTask(job.getId(), Collections.singletonList(colStatsDesc));
+        } else {
+            sqlTask = new SampleSQLStatisticsTask(job.getId(), Collections.singletonList(colStatsDesc));
+        }
+        job.getTasks().add(sqlTask);
+    }
+
+    /**
+     * The histograms of numeric and date columns are collected for the whole table by sampling,
+     * even if the table is partitioned, because they are only used by the optimizer.
+     */
+    private void getHistogramTasks(StatisticsJob job, long tableId) throws DdlException {
+        Database db = Env.getCurrentInternalCatalog().getDbOrDdlException(job.getDbId());
+        OlapTable table = (OlapTable) db.getTableOrDdlException(tableId);
+        List<String> colNames = job.getTableIdToColumnName().get(tableId);
+        long rowCount = table.getRowCount();
+        float samplePercentage = rowCount < MIN_SAMPLE_ROWS ? 100 : Config.cbo_default_sample_percentage;
+
+        for (String colName : colNames) {
+            Column column = table.getColumn(colName);
+            if (column == null) {
+                LOG.info("column {} not found in table {}", colName, table.getName());
+                continue;
+            }
+            Type colType = column.getType();
+            if (!colType.isNumericType() && !colType.isDateType()) {
+                continue;
+            }
+            StatsCategory colCategory = getColumnStatsCategory(job.getDbId(), tableId, colName);
+            StatsGranularity colGranularity = getTableGranularity(tableId);
+            StatisticsDesc colStatsDesc = new StatisticsDesc(colCategory,
+                    colGranularity, Collections.singletonList(StatsType.HISTOGRAM));
+            SampleSQLStatisticsTask sqlTask = new SampleSQLStatisticsTask(job.getId(),
+                    Collections.singletonList(colStatsDesc), samplePercentage);
+            job.getTasks().add(sqlTask);
+        }
+    }
+
     private StatsCategory getTableStatsCategory(long dbId, long tableId) {
         StatsCategory category = new StatsCategory();
         category.setCategory(StatsCategory.Category.TABLE);
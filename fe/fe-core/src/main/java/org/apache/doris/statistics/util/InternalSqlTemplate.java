@@ -39,6 +39,9 @@ public class InternalSqlTemplate {
     public static final String TABLE = "table";
     public static final String PARTITION = "partition";
     public static final String COLUMN = "column";
+    /** parameters of sampling statistics: samplePercent, bucketNum */
+    public static final String SAMPLE_PERCENT = "samplePercent";
+    public static final String BUCKET_NUM = "bucketNum";
 
     /** -------------------------- for statistics begin -------------------------- */
     public static final String MIN_VALUE_SQL = "SELECT MIN(${column}) AS min_value FROM ${table};";
@@ -79,6 +82,26 @@ public class InternalSqlTemplate {
             + " WHERE ${column} IS NULL;";
     public static final String PARTITION_NUM_NULLS_SQL = "SELECT COUNT(1) AS num_nulls FROM"
             + " ${table} PARTITION (${partition}) WHERE ${column} IS NULL;";
+
+    /** sample rows by RAND(), the sampled count is scaled up by the sample percent */
+    public static final String SAMPLE_MAX_AVG_SIZE_SQL = "SELECT MAX(LENGTH(${column})) AS max_size,"
+            + " AVG(LENGTH(${column})) AS avg_size FROM ${table} WHERE RAND() * 100 < ${samplePercent};";
+    public static final String PARTITION_SAMPLE_MAX_AVG_SIZE_SQL = "SELECT MAX(LENGTH(${column})) AS max_size,"
+            + " AVG(LENGTH(${column})) AS avg_size FROM ${table} PARTITION (${partition})"
+            + " WHERE RAND() * 100 < ${samplePercent};";
+
+    public static final String SAMPLE_NUM_NULLS_SQL = "SELECT CAST(COUNT(1) * 100 / ${samplePercent} AS BIGINT)"
+            + " AS num_nulls FROM ${table} WHERE ${column} IS NULL AND RAND() * 100 < ${samplePercent};";
+    public static final String PARTITION_SAMPLE_NUM_NULLS_SQL = "SELECT CAST(COUNT(1) * 100 / ${samplePercent}"
+            + " AS BIGINT) AS num_nulls FROM ${table} PARTITION (${partition})"
+            + " WHERE ${column} IS NULL AND RAND() * 100 < ${samplePercent};";
+
+    /** equi-height histogram, one row per bucket: lower bound, upper bound, row count, ndv */
+    public static final String SAMPLE_HISTOGRAM_SQL = "SELECT MIN(${column}) AS bucket_lower,"
+            + " MAX(${column}) AS bucket_upper, COUNT(1) AS bucket_count, NDV(${column}) AS bucket_ndv"
+            + " FROM (SELECT ${column}, NTILE(${bucketNum}) OVER (ORDER BY ${column}) AS bucket_id"
+            + " FROM ${table} WHERE ${column} IS NOT NULL AND RAND() * 100 < ${samplePercent}) t"
+            + " GROUP BY bucket_id ORDER BY bucket_id;";
     /** ---------------------------- for statistics end ---------------------------- */
 
     private static final Logger LOG = LogManager.getLogger(InternalSqlTemplate.class);
@@ -276,6 +299,53 @@ public class InternalSqlTemplate {
         }
     }
 
+    public static String buildStatsSampleMaxAvgSizeSql(Map<String, String> params) throws InvalidFormatException {
+        Set<String> requiredParams = getTemplateParams(SAMPLE_MAX_AVG_SIZE_SQL);
+        if (checkParams(requiredParams, params)) {
+            return processTemplate(SAMPLE_MAX_AVG_SIZE_SQL, params);
+        } else {
+            throw new InvalidFormatException("Wrong parameter format. need params: " + requiredParams);
+        }
+    }
+
+    public static String buildStatsPartitionSampleMaxAvgSizeSql(Map<String, String> params)
+            throws InvalidFormatException {
+        Set<String> requiredParams = getTemplateParams(PARTITION_SAMPLE_MAX_AVG_SIZE_SQL);
+        if (checkParams(requiredParams, params)) {
+            return processTemplate(PARTITION_SAMPLE_MAX_AVG_SIZE_SQL, params);
+        } else {
+            throw new InvalidFormatException("Wrong parameter format. need params: " + requiredParams);
+        }
+    }
+
+    public static String buildStatsSampleNumNullsSql(Map<String, String> params) throws InvalidFormatException {
+        Set<String> requiredParams = getTemplateParams(SAMPLE_NUM_NULLS_SQL);
+        if (checkParams(requiredParams, params)) {
+            return processTemplate(SAMPLE_NUM_NULLS_SQL, params);
+        } else {
+            throw new InvalidFormatException("Wrong parameter format. need params: " + requiredParams);
+        }
+    }
+
+    public static String buildStatsPartitionSampleNumNullsSql(Map<String, String> params)
+            throws InvalidFormatException {
+        Set<String> requiredParams = getTemplateParams(PARTITION_SAMPLE_NUM_NULLS_SQL);
+        if (checkParams(requiredParams, params)) {
+            return processTemplate(PARTITION_SAMPLE_NUM_NULLS_SQL, params);
+        } else {
+            throw new InvalidFormatException("Wrong parameter format. need params: " + requiredParams);
+        }
+    }
+
+    public static String buildStatsSampleHistogramSql(Map<String, String> params) throws InvalidFormatException {
+        Set<String> requiredParams = getTemplateParams(SAMPLE_HISTOGRAM_SQL);
+        if (checkParams(requiredParams, params)) {
+            return processTemplate(SAMPLE_HISTOGRAM_SQL, params);
+        } else {
+            throw new InvalidFormatException("Wrong parameter format. need params: " + requiredParams);
+        }
+    }
+
     private static Set<String> getTemplateParams(String template) {
         Matcher matcher = PATTERN.matcher(template);
         Set<String> requiredParams = Sets.newHashSet();
@@ -224,6 +224,7 @@ public class SystemInfoService {
         }
         // log
         Env.getCurrentEnv().getEditLog().logDropBackend(droppedBackend);
+        Env.getCurrentEnv().getTabletChecker().markBackendDirty(droppedBackend.getId());
         LOG.info("finished to drop {}", droppedBackend);
 
         // backends is changed, regenerated tablet number metrics
@@ -1145,6 +1146,10 @@ public class SystemInfoService {
 
             if (shouldModify) {
                 Env.getCurrentEnv().getEditLog().logModifyBackend(be);
+                if (!tagMap.isEmpty()) {
+                    // the replicas on the backend may not match the replica allocation of tag now
+                    Env.getCurrentEnv().getTabletChecker().markBackendDirty(be.getId());
+                }
                 LOG.info("finished to modify backend {} ", be);
             }
         }
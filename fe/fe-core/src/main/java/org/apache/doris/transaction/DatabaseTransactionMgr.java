@@ -67,16 +67,19 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.DataOutput;
 import java.io.IOException;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
@@ -96,17 +99,27 @@ public class DatabaseTransactionMgr {
     // set it to avoid holding lock too long when removing too many txns per round.
     private static final int MAX_REMOVE_TXN_PER_ROUND = 10000;
 
+    // the num of the locks of labels, see lockTransaction()
+    private static final int LABEL_LOCK_NUM = 64;
+
     private final long dbId;
 
     // the lock is used to control the access to transaction states
     // no other locks should be inside this lock
+    // a transaction is modified with the read lock and the lock of its label, see lockTransaction(),
+    // so that the transactions of different labels are begun, committed and finished concurrently.
+    // the write lock is only used to get a consistent view of all transactions.
     private final ReentrantReadWriteLock transactionLock = new ReentrantReadWriteLock(true);
 
+    // the locks of transactions, striped by the label of transaction.
+    // all transactions of a label are checked and modified under the lock of the label.
+    private final ReentrantLock[] labelLocks = new ReentrantLock[LABEL_LOCK_NUM];
+
     // transactionId -> running TransactionState
-    private final Map<Long, TransactionState> idToRunningTransactionState = Maps.newHashMap();
+    private final Map<Long, TransactionState> idToRunningTransactionState = Maps.newConcurrentMap();
 
     // transactionId -> final status TransactionState
-    private final Map<Long, TransactionState> idToFinalStatusTransactionState = Maps.newHashMap();
+    private final Map<Long, TransactionState> idToFinalStatusTransactionState = Maps.newConcurrentMap();
 
     // The following 2 queues are to store transactionStates with final status
     // These queues are mainly used to avoid traversing all txns and speed up the cleaning time
@@ -114,8 +127,10 @@ public class DatabaseTransactionMgr {
     // The "Short" queue is used to store the txns of the expire time
     // controlled by Config.streaming_label_keep_max_second.
     // The "Long" queue is used to store the txns of the expire time controlled by Config.label_keep_max_second.
-    private final ArrayDeque<TransactionState> finalStatusTransactionStateDequeShort = new ArrayDeque<>();
-    private final ArrayDeque<TransactionState> finalStatusTransactionStateDequeLong = new ArrayDeque<>();
+    // The transactions are finished concurrently, so the order of txns in the queues may be a little different
+    // from the order of their finish time, and the order on follower may be different from master.
+    private final Deque<TransactionState> finalStatusTransactionStateDequeShort = new ConcurrentLinkedDeque<>();
+    private final Deque<TransactionState> finalStatusTransactionStateDequeLong = new ConcurrentLinkedDeque<>();
 
     // label -> txn ids
     // this is used for checking if label already used. a label may correspond to multiple txns,
@@ -123,14 +138,15 @@ public class DatabaseTransactionMgr {
     // this member should be consistent with idToTransactionState,
     // which means if a txn exist in idToRunningTransactionState or idToFinalStatusTransactionState
     // it must exists in dbIdToTxnLabels, and vice versa
-    private final Map<String, Set<Long>> labelToTxnIds = Maps.newHashMap();
+    // the txn ids of a label are modified under the lock of the label, and read without lock.
+    private final Map<String, Set<Long>> labelToTxnIds = Maps.newConcurrentMap();
 
 
     // count the number of running txns of database, except for the routine load txn
-    private volatile int runningTxnNums = 0;
+    private final AtomicInteger runningTxnNums = new AtomicInteger(0);
 
     // count only the number of running routine load txns of database
-    private volatile int runningRoutineLoadTxnNums = 0;
+    private final AtomicInteger runningRoutineLoadTxnNums = new AtomicInteger(0);
 
     private final Env env;
 
@@ -159,11 +175,29 @@ public class DatabaseTransactionMgr {
         this.transactionLock.writeLock().unlock();
     }
 
+    // lock the transactions of the label, to check and modify them
+    protected void lockTransaction(String label) {
+        readLock();
+        getLabelLock(label).lock();
+    }
+
+    protected void unlockTransaction(String label) {
+        getLabelLock(label).unlock();
+        readUnlock();
+    }
+
+    private ReentrantLock getLabelLock(String label) {
+        return labelLocks[Math.floorMod(label.hashCode(), LABEL_LOCK_NUM)];
+    }
+
     public DatabaseTransactionMgr(long dbId, Env env, TransactionIdGenerator idGenerator) {
         this.dbId = dbId;
         this.env = env;
         this.idGenerator = idGenerator;
         this.editLog = env.getEditLog();
+        for (int i = 0; i < LABEL_LOCK_NUM; i++) {
+            labelLocks[i] = new ReentrantLock();
+        }
     }
 
     public long getDbId() {
@@ -199,11 +233,11 @@ public class DatabaseTransactionMgr {
     }
 
     public int getRunningTxnNums() {
-        return runningTxnNums;
+        return runningTxnNums.get();
     }
 
     protected int getRunningRoutineLoadTxnNums() {
-        return runningRoutineLoadTxnNums;
+        return runningRoutineLoadTxnNums.get();
     }
 
     @VisibleForTesting
@@ -285,12 +319,12 @@ public class DatabaseTransactionMgr {
             throws DuplicatedRequestException, LabelAlreadyUsedException, BeginTransactionException,
             AnalysisException, QuotaExceedException, MetaNotFoundException {
         checkDatabaseDataQuota();
-        writeLock();
+        Preconditions.checkNotNull(coordinator);
+        Preconditions.checkNotNull(label);
+        FeNameFormat.checkLabel(label);
+        boolean runningTxnSlotReserved = false;
+        lockTransaction(label);
         try {
-            Preconditions.checkNotNull(coordinator);
-            Preconditions.checkNotNull(label);
-            FeNameFormat.checkLabel(label);
-
             /*
              * Check if label already used, by following steps
              * 1. get all existing transactions
@@ -323,7 +357,7 @@ public class DatabaseTransactionMgr {
                 }
             }
 
-            checkRunningTxnExceedLimit(sourceType);
+            runningTxnSlotReserved = reserveRunningTxnSlot(sourceType);
 
             long tid = idGenerator.getNextTransactionId();
             LOG.info("begin transaction: txn id {} with label {} from coordinator {}, listener id: {}",
@@ -331,7 +365,8 @@ public class DatabaseTransactionMgr {
             TransactionState transactionState = new TransactionState(dbId, tableIdList,
                     tid, label, requestId, sourceType, coordinator, listenerId, timeoutSecond * 1000);
             transactionState.setPrepareTime(System.currentTimeMillis());
-            unprotectUpsertTransactionState(transactionState, false);
+            unprotectUpsertTransactionState(transactionState, false, runningTxnSlotReserved);
+            runningTxnSlotReserved = false;
 
             if (MetricRepo.isInit) {
                 MetricRepo.COUNTER_TXN_BEGIN.increase(1L);
@@ -346,7 +381,10 @@ public class DatabaseTransactionMgr {
             }
             throw e;
         } finally {
-            writeUnlock();
+            if (runningTxnSlotReserved) {
+                runningTxnNums.decrementAndGet();
+            }
+            unlockTransaction(label);
         }
     }
 
@@ -408,8 +446,13 @@ public class DatabaseTransactionMgr {
         checkCommitStatus(tableList, transactionState, tabletCommitInfos, txnCommitAttachment, errorReplicaIds,
                           tableToPartition, totalInvolvedBackends);
 
-        unprotectedPreCommitTransaction2PC(transactionState, errorReplicaIds, tableToPartition,
-                totalInvolvedBackends, db);
+        lockTransaction(transactionState.getLabel());
+        try {
+            unprotectedPreCommitTransaction2PC(transactionState, errorReplicaIds, tableToPartition,
+                    totalInvolvedBackends, db);
+        } finally {
+            unlockTransaction(transactionState.getLabel());
+        }
         LOG.info("transaction:[{}] successfully pre-committed", transactionState);
     }
 
@@ -634,7 +677,7 @@ public class DatabaseTransactionMgr {
         transactionState.beforeStateTransform(TransactionStatus.COMMITTED);
         // transaction state transform
         boolean txnOperated = false;
-        writeLock();
+        lockTransaction(transactionState.getLabel());
         try {
             if (is2PC) {
                 unprotectedCommitTransaction2PC(transactionState, db);
@@ -644,7 +687,7 @@ public class DatabaseTransactionMgr {
             }
             txnOperated = true;
         } finally {
-            writeUnlock();
+            unlockTransaction(transactionState.getLabel());
             // after state transform
             transactionState.afterStateTransform(TransactionStatus.COMMITTED, txnOperated);
         }
@@ -690,51 +733,36 @@ public class DatabaseTransactionMgr {
     @Deprecated
     // use replayBatchDeleteTransaction instead
     public void replayDeleteTransaction(TransactionState transactionState) {
-        writeLock();
-        try {
-            // here we only delete the oldest element, so if element exist in finalStatusTransactionStateDeque,
-            // it must at the front of the finalStatusTransactionStateDeque.
-            // check both "short" and "long" queue.
-            if (!finalStatusTransactionStateDequeShort.isEmpty()
-                    && transactionState.getTransactionId()
-                    == finalStatusTransactionStateDequeShort.getFirst().getTransactionId()) {
-                finalStatusTransactionStateDequeShort.pop();
-                clearTransactionState(transactionState.getTransactionId());
-            } else if (!finalStatusTransactionStateDequeLong.isEmpty()
-                    && transactionState.getTransactionId()
-                    == finalStatusTransactionStateDequeLong.getFirst().getTransactionId()) {
-                finalStatusTransactionStateDequeLong.pop();
-                clearTransactionState(transactionState.getTransactionId());
-            }
-        } finally {
-            writeUnlock();
-        }
+        removeFinalStatusTransaction(transactionState.getTransactionId());
     }
 
     public void replayBatchRemoveTransaction(List<Long> txnIds) {
-        writeLock();
+        for (Long txnId : txnIds) {
+            removeFinalStatusTransaction(txnId);
+        }
+    }
+
+    // remove the final status transaction from the queues and clear it.
+    // the transactions are removed from the front of the queues on master,
+    // but they may not be at the front on follower, because the transactions are finished concurrently.
+    private void removeFinalStatusTransaction(long txnId) {
+        TransactionState transactionState = idToFinalStatusTransactionState.get(txnId);
+        if (transactionState == null) {
+            return;
+        }
+        lockTransaction(transactionState.getLabel());
         try {
-            for (Long txnId : txnIds) {
-                // here we only delete the oldest element, so if element exist in finalStatusTransactionStateDeque,
-                // it must at the front of the finalStatusTransactionStateDeque
-                // check both "short" and "long" queue.
-                if (!finalStatusTransactionStateDequeShort.isEmpty()
-                        && txnId == finalStatusTransactionStateDequeShort.getFirst().getTransactionId()) {
-                    finalStatusTransactionStateDequeShort.pop();
-                    clearTransactionState(txnId);
-                } else if (!finalStatusTransactionStateDequeLong.isEmpty()
-                        && txnId == finalStatusTransactionStateDequeLong.getFirst().getTransactionId()) {
-                    finalStatusTransactionStateDequeLong.pop();
-                    clearTransactionState(txnId);
-                }
+            if (finalStatusTransactionStateDequeShort.remove(transactionState)
+                    || finalStatusTransactionStateDequeLong.remove(transactionState)) {
+                clearTransactionState(txnId);
             }
         } finally {
-            writeUnlock();
+            unlockTransaction(transactionState.getLabel());
         }
     }
 
     public TransactionStatus getLabelState(String label) {
-        readLock();
+        lockTransaction(label);
         try {
             Set<Long> existingTxnIds = unprotectedGetTxnIdsByLabel(label);
             if (existingTxnIds == null || existingTxnIds.isEmpty()) {
@@ -744,12 +772,12 @@ public class DatabaseTransactionMgr {
             long maxTxnId = existingTxnIds.stream().max(Comparator.comparingLong(Long::valueOf)).get();
             return unprotectedGetTransactionState(maxTxnId).getTransactionStatus();
         } finally {
-            readUnlock();
+            unlockTransaction(label);
         }
     }
 
     public Long getTransactionId(String label) {
-        readLock();
+        lockTransaction(label);
         try {
             Set<Long> existingTxnIds = unprotectedGetTxnIdsByLabel(label);
             if (existingTxnIds == null || existingTxnIds.isEmpty()) {
@@ -758,7 +786,7 @@ public class DatabaseTransactionMgr {
             // find the latest txn (which id is largest)
             return existingTxnIds.stream().max(Comparator.comparingLong(Long::valueOf)).get();
         } finally {
-            readUnlock();
+            unlockTransaction(label);
         }
     }
 
@@ -919,7 +947,7 @@ public class DatabaseTransactionMgr {
                 return;
             }
             boolean txnOperated = false;
-            writeLock();
+            lockTransaction(transactionState.getLabel());
             try {
                 transactionState.setErrorReplicas(errorReplicaIds);
                 transactionState.setFinishTime(System.currentTimeMillis());
@@ -933,7 +961,7 @@ public class DatabaseTransactionMgr {
                 // So I add a log here for observation.
                 LOG.debug("after set transaction {} to visible", transactionState);
             } finally {
-                writeUnlock();
+                unlockTransaction(transactionState.getLabel());
                 transactionState.afterStateTransform(TransactionStatus.VISIBLE, txnOperated);
             }
             updateCatalogAfterVisible(transactionState, db);
@@ -1054,6 +1082,12 @@ public class DatabaseTransactionMgr {
 
     // for add/update/delete TransactionState
     protected void unprotectUpsertTransactionState(TransactionState transactionState, boolean isReplay) {
+        unprotectUpsertTransactionState(transactionState, isReplay, false);
+    }
+
+    // runningTxnSlotReserved means the slot of this txn in runningTxnNums is already taken by reserveRunningTxnSlot()
+    private void unprotectUpsertTransactionState(TransactionState transactionState, boolean isReplay,
+            boolean runningTxnSlotReserved) {
         // if this is a replay operation, we should not log it
         if (!isReplay) {
             if (transactionState.getTransactionStatus() != TransactionStatus.PREPARE
@@ -1068,20 +1102,24 @@ public class DatabaseTransactionMgr {
         if (!transactionState.getTransactionStatus().isFinalStatus()) {
             if (idToRunningTransactionState.put(transactionState.getTransactionId(), transactionState) == null) {
                 if (transactionState.getSourceType() == TransactionState.LoadJobSourceType.ROUTINE_LOAD_TASK) {
-                    runningRoutineLoadTxnNums++;
-                } else {
-                    runningTxnNums++;
+                    runningRoutineLoadTxnNums.incrementAndGet();
+                } else if (!runningTxnSlotReserved) {
+                    runningTxnNums.incrementAndGet();
                 }
+            } else if (runningTxnSlotReserved) {
+                runningTxnNums.decrementAndGet();
             }
         } else {
+            // put it to the final status map before removing it from the running map,
+            // so that the transaction can always be got without lock
+            idToFinalStatusTransactionState.put(transactionState.getTransactionId(), transactionState);
             if (idToRunningTransactionState.remove(transactionState.getTransactionId()) != null) {
                 if (transactionState.getSourceType() == TransactionState.LoadJobSourceType.ROUTINE_LOAD_TASK) {
-                    runningRoutineLoadTxnNums--;
+                    runningRoutineLoadTxnNums.decrementAndGet();
                 } else {
-                    runningTxnNums--;
+                    runningTxnNums.decrementAndGet();
                 }
             }
-            idToFinalStatusTransactionState.put(transactionState.getTransactionId(), transactionState);
             if (transactionState.isShortTxn()) {
                 finalStatusTransactionStateDequeShort.add(transactionState);
             } else {
@@ -1094,7 +1132,7 @@ public class DatabaseTransactionMgr {
     private void updateTxnLabels(TransactionState transactionState) {
         Set<Long> txnIds = labelToTxnIds.get(transactionState.getLabel());
         if (txnIds == null) {
-            txnIds = Sets.newHashSet();
+            txnIds = Sets.newConcurrentHashSet();
             labelToTxnIds.put(transactionState.getLabel(), txnIds);
         }
         txnIds.add(transactionState.getTransactionId());
@@ -1103,7 +1141,7 @@ public class DatabaseTransactionMgr {
     public void abortTransaction(String label, String reason) throws UserException {
         Preconditions.checkNotNull(label);
         long transactionId = -1;
-        readLock();
+        lockTransaction(label);
         try {
             Set<Long> existingTxns = unprotectedGetTxnIdsByLabel(label);
             if (existingTxns == null || existingTxns.isEmpty()) {
@@ -1125,7 +1163,7 @@ public class DatabaseTransactionMgr {
 
             transactionId = prepareTxn.getTransactionId();
         } finally {
-            readUnlock();
+            unlockTransaction(label);
         }
         abortTransaction(transactionId, reason, null);
     }
@@ -1156,11 +1194,11 @@ public class DatabaseTransactionMgr {
         // before state transform
         transactionState.beforeStateTransform(TransactionStatus.ABORTED);
         boolean txnOperated = false;
-        writeLock();
+        lockTransaction(transactionState.getLabel());
         try {
             txnOperated = unprotectAbortTransaction(transactionId, reason);
         } finally {
-            writeUnlock();
+            unlockTransaction(transactionState.getLabel());
             transactionState.afterStateTransform(TransactionStatus.ABORTED, txnOperated, reason);
         }
 
@@ -1198,11 +1236,11 @@ public class DatabaseTransactionMgr {
         // before state transform
         transactionState.beforeStateTransform(TransactionStatus.ABORTED);
         boolean txnOperated = false;
-        writeLock();
+        lockTransaction(transactionState.getLabel());
         try {
             txnOperated = unprotectAbortTransaction(transactionId, "User Abort");
         } finally {
-            writeUnlock();
+            unlockTransaction(transactionState.getLabel());
             transactionState.afterStateTransform(TransactionStatus.ABORTED, txnOperated, "User Abort");
         }
 
@@ -1316,40 +1354,39 @@ public class DatabaseTransactionMgr {
     public void removeExpiredTxns(long currentMillis) {
         List<Long> expiredTxnIds = Lists.newArrayList();
         // delete expired txns
+        // each txn is removed under the lock of its label, the other txns are not blocked
         int leftNum = MAX_REMOVE_TXN_PER_ROUND;
-        writeLock();
-        try {
-            leftNum = unprotectedRemoveExpiredTxns(currentMillis, expiredTxnIds,
-                    finalStatusTransactionStateDequeShort, leftNum);
-            leftNum = unprotectedRemoveExpiredTxns(currentMillis, expiredTxnIds,
-                    finalStatusTransactionStateDequeLong, leftNum);
-
-            if (!expiredTxnIds.isEmpty()) {
-                Map<Long, List<Long>> dbExpiredTxnIds = Maps.newHashMap();
-                dbExpiredTxnIds.put(dbId, expiredTxnIds);
-                BatchRemoveTransactionsOperation op = new BatchRemoveTransactionsOperation(dbExpiredTxnIds);
-                editLog.logBatchRemoveTransactions(op);
-                LOG.info("Remove {} expired transactions", MAX_REMOVE_TXN_PER_ROUND - leftNum);
-            }
-        } finally {
-            writeUnlock();
+        leftNum = removeExpiredTxns(currentMillis, expiredTxnIds, finalStatusTransactionStateDequeShort, leftNum);
+        leftNum = removeExpiredTxns(currentMillis, expiredTxnIds, finalStatusTransactionStateDequeLong, leftNum);
+
+        if (!expiredTxnIds.isEmpty()) {
+            Map<Long, List<Long>> dbExpiredTxnIds = Maps.newHashMap();
+            dbExpiredTxnIds.put(dbId, expiredTxnIds);
+            BatchRemoveTransactionsOperation op = new BatchRemoveTransactionsOperation(dbExpiredTxnIds);
+            editLog.logBatchRemoveTransactions(op);
+            LOG.info("Remove {} expired transactions", expiredTxnIds.size());
         }
     }
 
-    private int unprotectedRemoveExpiredTxns(long currentMillis, List<Long> expiredTxnIds,
-                                             ArrayDeque<TransactionState> finalStatusTransactionStateDequeShort,
-                                             int maxNumber) {
+    private int removeExpiredTxns(long currentMillis, List<Long> expiredTxnIds,
+                                  Deque<TransactionState> finalStatusTransactionStateDeque, int maxNumber) {
         int left = maxNumber;
-        while (!finalStatusTransactionStateDequeShort.isEmpty() && left > 0) {
-            TransactionState transactionState = finalStatusTransactionStateDequeShort.getFirst();
-            if (transactionState.isExpired(currentMillis)) {
-                finalStatusTransactionStateDequeShort.pop();
-                clearTransactionState(transactionState.getTransactionId());
-                expiredTxnIds.add(transactionState.getTransactionId());
-                left--;
-            } else {
+        while (left > 0) {
+            TransactionState transactionState = finalStatusTransactionStateDeque.peekFirst();
+            if (transactionState == null || !transactionState.isExpired(currentMillis)) {
                 break;
             }
+            lockTransaction(transactionState.getLabel());
+            try {
+                // the txn may be removed by cleanLabel() concurrently
+                if (finalStatusTransactionStateDeque.remove(transactionState)) {
+                    clearTransactionState(transactionState.getTransactionId());
+                    expiredTxnIds.add(transactionState.getTransactionId());
+                }
+            } finally {
+                unlockTransaction(transactionState.getLabel());
+            }
+            left--;
         }
         return left;
     }
@@ -1370,8 +1407,7 @@ public class DatabaseTransactionMgr {
     }
 
     public int getTransactionNum() {
-        return idToRunningTransactionState.size() + finalStatusTransactionStateDequeShort.size()
-                + finalStatusTransactionStateDequeLong.size();
+        return idToRunningTransactionState.size() + idToFinalStatusTransactionState.size();
     }
 
 
@@ -1466,7 +1502,13 @@ public class DatabaseTransactionMgr {
         return infos;
     }
 
-    protected void checkRunningTxnExceedLimit(TransactionState.LoadJobSourceType sourceType)
+    /**
+     * Take a slot of the running txns of this db for a new txn, or throw if the limit is reached.
+     * The check and the increment of runningTxnNums are done in one CAS, so that concurrent begins
+     * with different labels can not exceed Config.max_running_txn_num_per_db.
+     * Return true if a slot is taken, and the caller should give it back if the txn is not added.
+     */
+    protected boolean reserveRunningTxnSlot(TransactionState.LoadJobSourceType sourceType)
             throws BeginTransactionException {
         switch (sourceType) {
             case ROUTINE_LOAD_TASK:
@@ -1474,13 +1516,18 @@ public class DatabaseTransactionMgr {
                 // 1. the number of running routine load tasks is limited by Config.max_routine_load_task_num_per_be
                 // 2. if we add routine load txn to runningTxnNums, runningTxnNums will always be occupied by routine
                 //    load, and other txn may not be able to submitted.
-                break;
+                return false;
             default:
-                if (runningTxnNums >= Config.max_running_txn_num_per_db) {
-                    throw new BeginTransactionException("current running txns on db " + dbId + " is "
-                            + runningTxnNums + ", larger than limit " + Config.max_running_txn_num_per_db);
+                while (true) {
+                    int running = runningTxnNums.get();
+                    if (running >= Config.max_running_txn_num_per_db) {
+                        throw new BeginTransactionException("current running txns on db " + dbId + " is "
+                                + running + ", larger than limit " + Config.max_running_txn_num_per_db);
+                    }
+                    if (runningTxnNums.compareAndSet(running, running + 1)) {
+                        return true;
+                    }
                 }
-                break;
         }
     }
 
@@ -1563,6 +1610,7 @@ public class DatabaseTransactionMgr {
                                     // in checkpoint thread
                                     lastFailedVersion = partition.getVisibleVersion();
                                     newVersion = replica.getVersion();
+                                    env.getTabletChecker().markTabletDirty(tablet.getId());
                                 }
 
                                 // success version always move forward
@@ -1578,6 +1626,7 @@ public class DatabaseTransactionMgr {
                                 if (newCommitVersion > lastFailedVersion) {
                                     lastFailedVersion = newCommitVersion;
                                 }
+                                env.getTabletChecker().markTabletDirty(tablet.getId());
                             }
                             replica.updateVersionWithFailedInfo(newVersion, lastFailedVersion, lastSuccessVersion);
                         }
@@ -1596,7 +1645,8 @@ public class DatabaseTransactionMgr {
     }
 
     public boolean isPreviousTransactionsFinished(long endTransactionId, List<Long> tableIdList) {
-        readLock();
+        // use write lock to wait for the txns which already get txn id but not added to the running txns
+        writeLock();
         try {
             for (Map.Entry<Long, TransactionState> entry : idToRunningTransactionState.entrySet()) {
                 if (entry.getValue().getDbId() != dbId || !isIntersectionNotEmpty(entry.getValue().getTableIdList(),
@@ -1610,7 +1660,7 @@ public class DatabaseTransactionMgr {
                 }
             }
         } finally {
-            readUnlock();
+            writeUnlock();
         }
         return true;
     }
@@ -1676,7 +1726,7 @@ public class DatabaseTransactionMgr {
             tableList = db.getTablesOnIdOrderIfExist(transactionState.getTableIdList());
             tableList = MetaLockUtils.writeLockTablesIfExist(tableList);
         }
-        writeLock();
+        lockTransaction(transactionState.getLabel());
         try {
             // set transaction status will call txn state change listener
             transactionState.replaySetTransactionStatus();
@@ -1689,7 +1739,7 @@ public class DatabaseTransactionMgr {
             }
             unprotectUpsertTransactionState(transactionState, true);
         } finally {
-            writeUnlock();
+            unlockTransaction(transactionState.getLabel());
             if (shouldAddTableListLock) {
                 MetaLockUtils.writeUnlockTables(tableList);
             }
@@ -1701,7 +1751,7 @@ public class DatabaseTransactionMgr {
         readLock();
         try {
             infos.add(Lists.newArrayList("running", String.valueOf(
-                    runningTxnNums + runningRoutineLoadTxnNums)));
+                    runningTxnNums.get() + runningRoutineLoadTxnNums.get())));
             long finishedNum = getFinishedTxnNums();
             infos.add(Lists.newArrayList("finished", String.valueOf(finishedNum)));
         } finally {
@@ -1727,28 +1777,14 @@ public class DatabaseTransactionMgr {
 
     public void cleanLabel(String label) {
         Set<Long> removedTxnIds = Sets.newHashSet();
-        writeLock();
-        try {
-            if (Strings.isNullOrEmpty(label)) {
-                Iterator<Map.Entry<String, Set<Long>>> iter = labelToTxnIds.entrySet().iterator();
-                while (iter.hasNext()) {
-                    Set<Long> txnIds = iter.next().getValue();
-                    Iterator<Long> innerIter = txnIds.iterator();
-                    while (innerIter.hasNext()) {
-                        long txnId = innerIter.next();
-                        if (idToFinalStatusTransactionState.remove(txnId) != null) {
-                            innerIter.remove();
-                            removedTxnIds.add(txnId);
-                        }
-                    }
-                    if (txnIds.isEmpty()) {
-                        iter.remove();
-                    }
-                }
-            } else {
-                Set<Long> txnIds = labelToTxnIds.get(label);
+        List<String> labels = Strings.isNullOrEmpty(label)
+                ? Lists.newArrayList(labelToTxnIds.keySet()) : Lists.newArrayList(label);
+        for (String labelToClean : labels) {
+            lockTransaction(labelToClean);
+            try {
+                Set<Long> txnIds = labelToTxnIds.get(labelToClean);
                 if (txnIds == null) {
-                    return;
+                    continue;
                 }
                 Iterator<Long> iter = txnIds.iterator();
                 while (iter.hasNext()) {
@@ -1759,16 +1795,16 @@ public class DatabaseTransactionMgr {
                     }
                 }
                 if (txnIds.isEmpty()) {
-                    labelToTxnIds.remove(label);
+                    labelToTxnIds.remove(labelToClean);
                 }
+            } finally {
+                unlockTransaction(labelToClean);
             }
-            // remove from finalStatusTransactionStateDequeShort and finalStatusTransactionStateDequeLong
-            // So that we can keep consistency in meta image
-            finalStatusTransactionStateDequeShort.removeIf(txn -> removedTxnIds.contains(txn.getTransactionId()));
-            finalStatusTransactionStateDequeLong.removeIf(txn -> removedTxnIds.contains(txn.getTransactionId()));
-        } finally {
-            writeUnlock();
         }
+        // remove from finalStatusTransactionStateDequeShort and finalStatusTransactionStateDequeLong
+        // So that we can keep consistency in meta image
+        finalStatusTransactionStateDequeShort.removeIf(txn -> removedTxnIds.contains(txn.getTransactionId()));
+        finalStatusTransactionStateDequeLong.removeIf(txn -> removedTxnIds.contains(txn.getTransactionId()));
         LOG.info("clean {} labels on db {} with label '{}' in database transaction mgr.", removedTxnIds.size(), dbId,
                 label);
     }
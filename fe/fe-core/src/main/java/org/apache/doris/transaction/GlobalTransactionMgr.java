@@ -228,6 +228,7 @@ public class GlobalTransactionMgr implements Writable {
         LOG.debug("try to commit transaction: {}", transactionId);
         DatabaseTransactionMgr dbTransactionMgr = getDatabaseTransactionMgr(dbId);
         dbTransactionMgr.commitTransaction(tableList, transactionId, tabletCommitInfos, txnCommitAttachment, false);
+        Env.getCurrentEnv().getPublishVersionDaemon().onTransactionCommitted();
     }
 
     private void commitTransaction2PC(long dbId, long transactionId)
@@ -238,6 +239,7 @@ public class GlobalTransactionMgr implements Writable {
 
         DatabaseTransactionMgr dbTransactionMgr = getDatabaseTransactionMgr(dbId);
         dbTransactionMgr.commitTransaction(null, transactionId, null, null, true);
+        Env.getCurrentEnv().getPublishVersionDaemon().onTransactionCommitted();
     }
 
     public boolean commitAndPublishTransaction(Database db, List<Table> tableList, long transactionId,
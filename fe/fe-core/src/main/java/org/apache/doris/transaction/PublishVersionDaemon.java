@@ -28,6 +28,7 @@ import org.apache.doris.catalog.Tablet;
 import org.apache.doris.catalog.TabletInvertedIndex;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.util.MasterDaemon;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.task.AgentBatchTask;
 import org.apache.doris.task.AgentTaskExecutor;
 import org.apache.doris.task.AgentTaskQueue;
@@ -41,20 +42,39 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+/**
+ * Send the publish version tasks of the committed transactions to backends, and finish the transactions.
+ *
+ * The daemon is driven by the events of committing transactions and finishing publish version tasks.
+ * The interval of the daemon is the min interval between two rounds, so that the transactions committed
+ * in the interval are sent to a backend in one rpc. A transaction is only checked to finish when any
+ * of its tasks is finished, or every CHECK_ALL_INTERVAL_MS, for the transactions whose publish is timeout
+ * or whose backends are dead.
+ */
 public class PublishVersionDaemon extends MasterDaemon {
 
     private static final Logger LOG = LogManager.getLogger(PublishVersionDaemon.class);
 
+    private static final long CHECK_ALL_INTERVAL_MS = 1000;
+
+    // the transactions which have publish version tasks finished since last round
+    private final Set<Long> finishedTaskTxnIds = Sets.newConcurrentHashSet();
+    private final Object eventLock = new Object();
+    private boolean hasEvent = false;
+    private long lastCheckAllTime = 0;
+
     public PublishVersionDaemon() {
         super("PUBLISH_VERSION", Config.publish_version_interval_ms);
     }
 
     @Override
     protected void runAfterCatalogReady() {
+        waitForEvent(lastCheckAllTime + CHECK_ALL_INTERVAL_MS - System.currentTimeMillis());
         try {
             publishVersion();
         } catch (Throwable t) {
@@ -62,6 +82,39 @@ public class PublishVersionDaemon extends MasterDaemon {
         }
     }
 
+    public void onTransactionCommitted() {
+        notifyEvent();
+    }
+
+    public void onPublishVersionTaskFinished(PublishVersionTask task) {
+        finishedTaskTxnIds.add(task.getTransactionId());
+        notifyEvent();
+    }
+
+    private void notifyEvent() {
+        synchronized (eventLock) {
+            hasEvent = true;
+            eventLock.notifyAll();
+        }
+    }
+
+    private void waitForEvent(long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        synchronized (eventLock) {
+            long waitMs = timeoutMs;
+            while (!hasEvent && waitMs > 0) {
+                try {
+                    eventLock.wait(waitMs);
+                } catch (InterruptedException e) {
+                    LOG.warn("interrupted while waiting for publish version events", e);
+                    break;
+                }
+                waitMs = deadline - System.currentTimeMillis();
+            }
+            hasEvent = false;
+        }
+    }
+
     private boolean isAllBackendsOfUnfinishedTasksDead(List<PublishVersionTask> unfinishedTasks) {
         for (PublishVersionTask unfinishedTask : unfinishedTasks) {
             if (Env.getCurrentSystemInfo().checkBackendAlive(unfinishedTask.getBackendId())) {
@@ -73,6 +126,18 @@ public class PublishVersionDaemon extends MasterDaemon {
 
     private void publishVersion() {
         GlobalTransactionMgr globalTransactionMgr = Env.getCurrentGlobalTransactionMgr();
+        // take the events before getting the transactions, the events after it are handled in next round
+        Set<Long> txnIdsToCheck = Sets.newHashSet();
+        Iterator<Long> iterator = finishedTaskTxnIds.iterator();
+        while (iterator.hasNext()) {
+            txnIdsToCheck.add(iterator.next());
+            iterator.remove();
+        }
+        boolean checkAll = System.currentTimeMillis() - lastCheckAllTime >= CHECK_ALL_INTERVAL_MS;
+        if (checkAll) {
+            lastCheckAllTime = System.currentTimeMillis();
+        }
+
         List<TransactionState> readyTransactionStates = globalTransactionMgr.getReadyToPublishTransactions();
         if (readyTransactionStates.isEmpty()) {
             return;
@@ -87,8 +152,9 @@ public class PublishVersionDaemon extends MasterDaemon {
         }
         long createPublishVersionTaskTime = System.currentTimeMillis();
         // every backend-transaction identified a single task
+        // the tasks of all transactions to a backend are sent in one rpc by AgentBatchTask
         AgentBatchTask batchTask = new AgentBatchTask();
-        // traverse all ready transactions and dispatch the publish version task to all backends
+        // traverse all ready transactions and dispatch the publish version task to the involved backends
         for (TransactionState transactionState : readyTransactionStates) {
             if (transactionState.hasSendTask()) {
                 continue;
@@ -110,11 +176,13 @@ public class PublishVersionDaemon extends MasterDaemon {
             }
             Set<Long> publishBackends = transactionState.getPublishVersionTasks().keySet();
             // public version tasks are not persisted in catalog, so publishBackends may be empty.
-            // so we have to try publish to all backends;
+            // so we have to try publish to the backends of all replicas of the committed partitions.
             if (publishBackends.isEmpty()) {
                 // could not just add to it, should new a new object, or the back map will destroyed
-                publishBackends = Sets.newHashSet();
-                publishBackends.addAll(allBackends);
+                publishBackends = getBackendsOfCommittedPartitions(transactionState);
+                if (publishBackends.isEmpty()) {
+                    publishBackends.addAll(allBackends);
+                }
             }
 
             for (long backendId : publishBackends) {
@@ -138,124 +206,185 @@ public class PublishVersionDaemon extends MasterDaemon {
 
         TabletInvertedIndex tabletInvertedIndex = Env.getCurrentInvertedIndex();
         // try to finish the transaction, if failed just retry in next loop
+        // the transactions are sorted by commit time, so a transaction is finished after the previous
+        // transactions of the same partitions in the same round.
         for (TransactionState transactionState : readyTransactionStates) {
-            Map<Long, PublishVersionTask> transTasks = transactionState.getPublishVersionTasks();
-            Set<Long> publishErrorReplicaIds = Sets.newHashSet();
-            List<PublishVersionTask> unfinishedTasks = Lists.newArrayList();
-            for (PublishVersionTask publishVersionTask : transTasks.values()) {
-                if (publishVersionTask.isFinished()) {
-                    // sometimes backend finish publish version task,
-                    // but it maybe failed to change transactionid to version for some tablets
-                    // and it will upload the failed tabletinfo to fe and fe will deal with them
-                    List<Long> errorTablets = publishVersionTask.getErrorTablets();
-                    if (errorTablets == null || errorTablets.isEmpty()) {
+            if (checkAll || txnIdsToCheck.contains(transactionState.getTransactionId())) {
+                tryFinishTransaction(globalTransactionMgr, tabletInvertedIndex, transactionState);
+                if (transactionState.getTransactionStatus() != TransactionStatus.VISIBLE
+                        && isAllPublishVersionTasksFinished(transactionState)) {
+                    // all tasks are finished, but it may wait for the previous transactions to be visible,
+                    // check it again in next round, which is triggered by the tasks of the previous transactions.
+                    finishedTaskTxnIds.add(transactionState.getTransactionId());
+                }
+            }
+        }
+    }
+
+    private boolean isAllPublishVersionTasksFinished(TransactionState transactionState) {
+        for (PublishVersionTask task : transactionState.getPublishVersionTasks().values()) {
+            if (!task.isFinished()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // the backends of all replicas of the committed partitions, including the dead backends
+    private Set<Long> getBackendsOfCommittedPartitions(TransactionState transactionState) {
+        Set<Long> backendIds = Sets.newHashSet();
+        Database db = Env.getCurrentInternalCatalog().getDbNullable(transactionState.getDbId());
+        if (db == null) {
+            return backendIds;
+        }
+        for (TableCommitInfo tableCommitInfo : transactionState.getIdToTableCommitInfos().values()) {
+            Table table = db.getTableNullable(tableCommitInfo.getTableId());
+            if (table == null || table.getType() != Table.TableType.OLAP) {
+                continue;
+            }
+            OlapTable olapTable = (OlapTable) table;
+            olapTable.readLock();
+            try {
+                for (PartitionCommitInfo commitInfo : tableCommitInfo.getIdToPartitionCommitInfo().values()) {
+                    Partition partition = olapTable.getPartition(commitInfo.getPartitionId());
+                    if (partition == null) {
                         continue;
-                    } else {
-                        for (long tabletId : errorTablets) {
-                            // tablet inverted index also contains rollingup index
-                            // if tablet meta not contains the tablet, skip this tablet because this tablet is dropped
-                            // from fe
-                            if (tabletInvertedIndex.getTabletMeta(tabletId) == null) {
-                                continue;
-                            }
-                            Replica replica = tabletInvertedIndex.getReplica(
-                                    tabletId, publishVersionTask.getBackendId());
-                            if (replica != null) {
-                                publishErrorReplicaIds.add(replica.getId());
-                            } else {
-                                LOG.info("could not find related replica with tabletid={}, backendid={}",
-                                        tabletId, publishVersionTask.getBackendId());
-                            }
+                    }
+                    for (MaterializedIndex index
+                            : partition.getMaterializedIndices(MaterializedIndex.IndexExtState.ALL)) {
+                        for (Tablet tablet : index.getTablets()) {
+                            backendIds.addAll(tablet.getBackendIds());
                         }
                     }
-                } else {
-                    unfinishedTasks.add(publishVersionTask);
                 }
+            } finally {
+                olapTable.readUnlock();
             }
+        }
+        return backendIds;
+    }
 
-            boolean shouldFinishTxn = false;
-            if (!unfinishedTasks.isEmpty()) {
-                shouldFinishTxn = isAllBackendsOfUnfinishedTasksDead(unfinishedTasks);
-                if (transactionState.isPublishTimeout() || shouldFinishTxn) {
-                    // transaction's publish is timeout, but there still has unfinished tasks.
-                    // we need to collect all error replicas, and try to finish this txn.
-                    for (PublishVersionTask unfinishedTask : unfinishedTasks) {
-                        // set all replicas in the backend to error state
-                        List<TPartitionVersionInfo> versionInfos = unfinishedTask.getPartitionVersionInfos();
-                        Set<Long> errorPartitionIds = Sets.newHashSet();
-                        for (TPartitionVersionInfo versionInfo : versionInfos) {
-                            errorPartitionIds.add(versionInfo.getPartitionId());
-                        }
-                        if (errorPartitionIds.isEmpty()) {
+    private void tryFinishTransaction(GlobalTransactionMgr globalTransactionMgr,
+            TabletInvertedIndex tabletInvertedIndex, TransactionState transactionState) {
+        Map<Long, PublishVersionTask> transTasks = transactionState.getPublishVersionTasks();
+        Set<Long> publishErrorReplicaIds = Sets.newHashSet();
+        List<PublishVersionTask> unfinishedTasks = Lists.newArrayList();
+        for (PublishVersionTask publishVersionTask : transTasks.values()) {
+            if (publishVersionTask.isFinished()) {
+                // sometimes backend finish publish version task,
+                // but it maybe failed to change transactionid to version for some tablets
+                // and it will upload the failed tabletinfo to fe and fe will deal with them
+                List<Long> errorTablets = publishVersionTask.getErrorTablets();
+                if (errorTablets == null || errorTablets.isEmpty()) {
+                    continue;
+                } else {
+                    for (long tabletId : errorTablets) {
+                        // tablet inverted index also contains rollingup index
+                        // if tablet meta not contains the tablet, skip this tablet because this tablet is dropped
+                        // from fe
+                        if (tabletInvertedIndex.getTabletMeta(tabletId) == null) {
                             continue;
                         }
+                        Replica replica = tabletInvertedIndex.getReplica(
+                                tabletId, publishVersionTask.getBackendId());
+                        if (replica != null) {
+                            publishErrorReplicaIds.add(replica.getId());
+                        } else {
+                            LOG.info("could not find related replica with tabletid={}, backendid={}",
+                                    tabletId, publishVersionTask.getBackendId());
+                        }
+                    }
+                }
+            } else {
+                unfinishedTasks.add(publishVersionTask);
+            }
+        }
 
-                        Database db = Env.getCurrentInternalCatalog()
-                                .getDbNullable(transactionState.getDbId());
-                        if (db == null) {
-                            LOG.warn("Database [{}] has been dropped.", transactionState.getDbId());
+        boolean shouldFinishTxn = false;
+        if (!unfinishedTasks.isEmpty()) {
+            shouldFinishTxn = isAllBackendsOfUnfinishedTasksDead(unfinishedTasks);
+            if (transactionState.isPublishTimeout() || shouldFinishTxn) {
+                // transaction's publish is timeout, but there still has unfinished tasks.
+                // we need to collect all error replicas, and try to finish this txn.
+                for (PublishVersionTask unfinishedTask : unfinishedTasks) {
+                    // set all replicas in the backend to error state
+                    List<TPartitionVersionInfo> versionInfos = unfinishedTask.getPartitionVersionInfos();
+                    Set<Long> errorPartitionIds = Sets.newHashSet();
+                    for (TPartitionVersionInfo versionInfo : versionInfos) {
+                        errorPartitionIds.add(versionInfo.getPartitionId());
+                    }
+                    if (errorPartitionIds.isEmpty()) {
+                        continue;
+                    }
+
+                    Database db = Env.getCurrentInternalCatalog()
+                            .getDbNullable(transactionState.getDbId());
+                    if (db == null) {
+                        LOG.warn("Database [{}] has been dropped.", transactionState.getDbId());
+                        continue;
+                    }
+
+                    for (long tableId : transactionState.getTableIdList()) {
+                        Table table = db.getTableNullable(tableId);
+                        if (table == null || table.getType() != Table.TableType.OLAP) {
+                            LOG.warn("Table [{}] in database [{}] has been dropped.", tableId, db.getFullName());
                             continue;
                         }
-
-                        for (long tableId : transactionState.getTableIdList()) {
-                            Table table = db.getTableNullable(tableId);
-                            if (table == null || table.getType() != Table.TableType.OLAP) {
-                                LOG.warn("Table [{}] in database [{}] has been dropped.", tableId, db.getFullName());
-                                continue;
-                            }
-                            OlapTable olapTable = (OlapTable) table;
-                            olapTable.readLock();
-                            try {
-                                for (Long errorPartitionId : errorPartitionIds) {
-                                    Partition partition = olapTable.getPartition(errorPartitionId);
-                                    if (partition != null) {
-                                        List<MaterializedIndex> materializedIndexList
-                                                = partition.getMaterializedIndices(MaterializedIndex.IndexExtState.ALL);
-                                        for (MaterializedIndex materializedIndex : materializedIndexList) {
-                                            for (Tablet tablet : materializedIndex.getTablets()) {
-                                                Replica replica = tablet.getReplicaByBackendId(
-                                                        unfinishedTask.getBackendId());
-                                                if (replica != null) {
-                                                    publishErrorReplicaIds.add(replica.getId());
-                                                }
+                        OlapTable olapTable = (OlapTable) table;
+                        olapTable.readLock();
+                        try {
+                            for (Long errorPartitionId : errorPartitionIds) {
+                                Partition partition = olapTable.getPartition(errorPartitionId);
+                                if (partition != null) {
+                                    List<MaterializedIndex> materializedIndexList
+                                            = partition.getMaterializedIndices(MaterializedIndex.IndexExtState.ALL);
+                                    for (MaterializedIndex materializedIndex : materializedIndexList) {
+                                        for (Tablet tablet : materializedIndex.getTablets()) {
+                                            Replica replica = tablet.getReplicaByBackendId(
+                                                    unfinishedTask.getBackendId());
+                                            if (replica != null) {
+                                                publishErrorReplicaIds.add(replica.getId());
                                             }
                                         }
                                     }
                                 }
-                            } finally {
-                                olapTable.readUnlock();
                             }
+                        } finally {
+                            olapTable.readUnlock();
                         }
                     }
-                    shouldFinishTxn = true;
                 }
-            } else {
-                // all publish tasks are finished, try to finish this txn.
                 shouldFinishTxn = true;
             }
+        } else {
+            // all publish tasks are finished, try to finish this txn.
+            shouldFinishTxn = true;
+        }
 
-            if (shouldFinishTxn) {
-                try {
-                    // one transaction exception should not affect other transaction
-                    globalTransactionMgr.finishTransaction(transactionState.getDbId(),
-                            transactionState.getTransactionId(), publishErrorReplicaIds);
-                } catch (Exception e) {
-                    LOG.warn("error happens when finish transaction {}", transactionState.getTransactionId(), e);
-                }
-                if (transactionState.getTransactionStatus() != TransactionStatus.VISIBLE) {
-                    // if finish transaction state failed, then update publish version time, should check
-                    // to finish after some interval
-                    transactionState.updateSendTaskTime();
-                    LOG.debug("publish version for transaction {} failed, has {} error replicas during publish",
-                            transactionState, publishErrorReplicaIds.size());
-                }
+        if (shouldFinishTxn) {
+            try {
+                // one transaction exception should not affect other transaction
+                globalTransactionMgr.finishTransaction(transactionState.getDbId(),
+                        transactionState.getTransactionId(), publishErrorReplicaIds);
+            } catch (Exception e) {
+                LOG.warn("error happens when finish transaction {}", transactionState.getTransactionId(), e);
             }
+            if (transactionState.getTransactionStatus() != TransactionStatus.VISIBLE) {
+                // if finish transaction state failed, then update publish version time, should check
+                // to finish after some interval
+                transactionState.updateSendTaskTime();
+                LOG.debug("publish version for transaction {} failed, has {} error replicas during publish",
+                        transactionState, publishErrorReplicaIds.size());
+            } else if (MetricRepo.isInit) {
+                MetricRepo.HISTO_TXN_COMMIT_TO_VISIBLE_LATENCY.update(
+                        transactionState.getFinishTime() - transactionState.getCommitTime());
+            }
+        }
 
-            if (transactionState.getTransactionStatus() == TransactionStatus.VISIBLE) {
-                for (PublishVersionTask task : transactionState.getPublishVersionTasks().values()) {
-                    AgentTaskQueue.removeTask(task.getBackendId(), TTaskType.PUBLISH_VERSION, task.getSignature());
-                }
+        if (transactionState.getTransactionStatus() == TransactionStatus.VISIBLE) {
+            for (PublishVersionTask task : transactionState.getPublishVersionTasks().values()) {
+                AgentTaskQueue.removeTask(task.getBackendId(), TTaskType.PUBLISH_VERSION, task.getSignature());
             }
-        } // end for readyTransactionStates
+        }
     }
 }
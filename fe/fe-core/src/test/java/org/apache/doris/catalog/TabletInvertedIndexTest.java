@@ -0,0 +1,175 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.catalog;
+
+import org.apache.doris.catalog.Replica.ReplicaState;
+import org.apache.doris.common.Pair;
+import org.apache.doris.thrift.TPartitionVersionInfo;
+import org.apache.doris.thrift.TStorageMedium;
+import org.apache.doris.thrift.TTablet;
+import org.apache.doris.thrift.TTabletInfo;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.apache.commons.lang3.tuple.Triple;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class TabletInvertedIndexTest {
+    private static final long BACKEND_ID = 10001;
+
+    @Mocked
+    private Env env;
+
+    private TabletInvertedIndex invertedIndex;
+
+    @Before
+    public void setUp() {
+        new Expectations(env) {
+            {
+                Env.isCheckpointThread();
+                minTimes = 0;
+                result = false;
+            }
+        };
+        invertedIndex = new TabletInvertedIndex();
+    }
+
+    private void addTablet(long tabletId, long... backendIds) {
+        invertedIndex.addTablet(tabletId, new TabletMeta(1, 2, 3, 4, 5, TStorageMedium.HDD));
+        for (long backendId : backendIds) {
+            invertedIndex.addReplica(tabletId, new Replica(tabletId * 10 + backendId, backendId, 1, 5, 0, 0, 0,
+                    ReplicaState.NORMAL, -1, 1));
+        }
+    }
+
+    @Test
+    public void testAddAndDelete() {
+        for (long tabletId = 1000; tabletId < 1200; tabletId++) {
+            addTablet(tabletId, BACKEND_ID, BACKEND_ID + 1);
+        }
+        Assert.assertEquals(200, invertedIndex.getTabletNumByBackendId(BACKEND_ID));
+        Assert.assertEquals(200, invertedIndex.getTabletIdsByBackendId(BACKEND_ID + 1).size());
+        Assert.assertEquals(200, invertedIndex.getTabletIdsByBackendIdAndStorageMedium(BACKEND_ID,
+                TStorageMedium.HDD).size());
+        Assert.assertEquals(Long.valueOf(1100), invertedIndex.getTabletIdByReplica(1100 * 10 + BACKEND_ID));
+        Assert.assertEquals(2, invertedIndex.getReplicasByTabletId(1100).size());
+        Assert.assertEquals(400, invertedIndex.getReplicaMetaTable().size());
+        Assert.assertEquals(400, invertedIndex.getBackingReplicaMetaTable().size());
+
+        invertedIndex.deleteReplica(1100, BACKEND_ID);
+        Assert.assertNull(invertedIndex.getReplica(1100, BACKEND_ID));
+        Assert.assertNull(invertedIndex.getTabletIdByReplica(1100 * 10 + BACKEND_ID));
+        // delete a replica which does not exist
+        invertedIndex.deleteReplica(1100, BACKEND_ID);
+        Assert.assertEquals(199, invertedIndex.getTabletNumByBackendId(BACKEND_ID));
+
+        invertedIndex.deleteTablet(1101);
+        Assert.assertNull(invertedIndex.getTabletMeta(1101));
+        Assert.assertTrue(invertedIndex.getReplicasByTabletId(1101).isEmpty());
+        Assert.assertEquals(198, invertedIndex.getTabletNumByBackendId(BACKEND_ID));
+        Assert.assertEquals(199, invertedIndex.getTabletNumByBackendId(BACKEND_ID + 1));
+        Assert.assertEquals(199, invertedIndex.getTabletMetaMap().size());
+    }
+
+    @Test
+    public void testAddTablets() {
+        List<Pair<TabletMeta, List<Tablet>>> tabletsOfIndexes = Lists.newArrayList();
+        long tabletId = 1000;
+        for (long indexId = 1; indexId <= 10; indexId++) {
+            TabletMeta tabletMeta = new TabletMeta(1, 2, 3, indexId, 5, TStorageMedium.SSD);
+            List<Tablet> tablets = Lists.newArrayList();
+            for (int i = 0; i < 100; i++, tabletId++) {
+                tablets.add(new Tablet(tabletId, Lists.newArrayList(
+                        new Replica(tabletId * 10, BACKEND_ID, 1, 5, 0, 0, 0, ReplicaState.NORMAL, -1, 1),
+                        new Replica(tabletId * 10 + 1, BACKEND_ID + 1, 1, 5, 0, 0, 0, ReplicaState.NORMAL, -1, 1))));
+            }
+            tabletsOfIndexes.add(Pair.of(tabletMeta, tablets));
+        }
+        invertedIndex.addTablets(tabletsOfIndexes);
+
+        Assert.assertEquals(1000, invertedIndex.getTabletNumByBackendId(BACKEND_ID));
+        Assert.assertEquals(1000, invertedIndex.getTabletIdsByBackendIdAndStorageMedium(BACKEND_ID + 1,
+                TStorageMedium.SSD).size());
+        Assert.assertEquals(10, invertedIndex.getTabletMetaTable().size());
+        Assert.assertEquals(7, invertedIndex.getTabletMeta(1650).getIndexId());
+        Assert.assertEquals(Long.valueOf(1650), invertedIndex.getTabletIdByReplica(16501));
+        Assert.assertEquals(16500, invertedIndex.getReplica(1650, BACKEND_ID).getId());
+    }
+
+    @Test
+    public void testReportWithConcurrentDdl() throws InterruptedException {
+        int reportedTabletNum = 10000;
+        Map<Long, TTablet> backendTablets = Maps.newHashMap();
+        for (long tabletId = 0; tabletId < reportedTabletNum; tabletId++) {
+            addTablet(tabletId, BACKEND_ID);
+            TTabletInfo tabletInfo = new TTabletInfo(tabletId, 5, 1, 0, 0, 0);
+            tabletInfo.setPartitionId(3);
+            backendTablets.put(tabletId, new TTablet(Lists.newArrayList(tabletInfo)));
+        }
+
+        // tablets of other tables are created and dropped while the backend is reporting,
+        // they should neither block nor corrupt the report.
+        AtomicBoolean stop = new AtomicBoolean(false);
+        Thread ddlThread = new Thread(() -> {
+            long tabletId = reportedTabletNum;
+            while (!stop.get()) {
+                addTablet(tabletId, BACKEND_ID + 1);
+                invertedIndex.deleteTablet(tabletId);
+                tabletId++;
+            }
+        });
+        ddlThread.start();
+
+        try {
+            for (int i = 0; i < 5; i++) {
+                ListMultimap<Long, Long> tabletSyncMap = ArrayListMultimap.create();
+                ListMultimap<Long, Long> tabletDeleteFromMeta = ArrayListMultimap.create();
+                Set<Long> tabletFoundInMeta = Sets.newConcurrentHashSet();
+                ListMultimap<TStorageMedium, Long> tabletMigrationMap = ArrayListMultimap.create();
+                Map<Long, ListMultimap<Long, TPartitionVersionInfo>> transactionsToPublish = Maps.newHashMap();
+                ListMultimap<Long, Long> transactionsToClear = ArrayListMultimap.create();
+                ListMultimap<Long, Long> tabletRecoveryMap = ArrayListMultimap.create();
+                ListMultimap<Long, Long> tabletTooManyVersionsMap = ArrayListMultimap.create();
+                List<Triple<Long, Integer, Boolean>> tabletToInMemory = Lists.newArrayList();
+                invertedIndex.tabletReport(BACKEND_ID, backendTablets, Maps.newHashMap(), tabletSyncMap,
+                        tabletDeleteFromMeta, tabletFoundInMeta, tabletMigrationMap, transactionsToPublish,
+                        transactionsToClear, tabletRecoveryMap, tabletTooManyVersionsMap, tabletToInMemory);
+                Assert.assertEquals(reportedTabletNum, tabletFoundInMeta.size());
+                Assert.assertTrue(tabletSyncMap.isEmpty());
+                Assert.assertTrue(tabletDeleteFromMeta.isEmpty());
+            }
+        } finally {
+            stop.set(true);
+            ddlThread.join();
+        }
+        Assert.assertEquals(reportedTabletNum, invertedIndex.getTabletNumByBackendId(BACKEND_ID));
+        Assert.assertEquals(0, invertedIndex.getTabletNumByBackendId(BACKEND_ID + 1));
+    }
+}
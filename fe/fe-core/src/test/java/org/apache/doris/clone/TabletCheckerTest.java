@@ -0,0 +1,273 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.clone;
+
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.DataProperty;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.HashDistributionInfo;
+import org.apache.doris.catalog.KeysType;
+import org.apache.doris.catalog.MaterializedIndex;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.RangePartitionInfo;
+import org.apache.doris.catalog.Replica;
+import org.apache.doris.catalog.ReplicaAllocation;
+import org.apache.doris.catalog.TabletInvertedIndex;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.FeConstants;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.datasource.InternalCatalog;
+import org.apache.doris.system.SystemInfoService;
+import org.apache.doris.thrift.TStorageMedium;
+import org.apache.doris.thrift.TStorageType;
+
+import com.google.common.collect.Lists;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class TabletCheckerTest {
+    private static final long TABLET_ID_1 = 50000;
+    private static final long TABLET_ID_2 = 60000;
+
+    @Mocked
+    private Env env;
+    @Mocked
+    private InternalCatalog catalog;
+
+    private Database db;
+    private OlapTable olapTable;
+
+    private final SystemInfoService systemInfoService = new SystemInfoService();
+    private final TabletInvertedIndex invertedIndex = new TabletInvertedIndex();
+    private TabletSchedulerStat stat;
+    private TabletScheduler tabletScheduler;
+    private TabletChecker tabletChecker;
+
+    private long oldFullCheckIntervalSecond;
+    private long oldRepairDelayFactorSecond;
+
+    @Before
+    public void setUp() throws Exception {
+        oldFullCheckIntervalSecond = Config.tablet_checker_full_check_interval_second;
+        oldRepairDelayFactorSecond = Config.tablet_repair_delay_factor_second;
+        // only the first round is a full check
+        Config.tablet_checker_full_check_interval_second = 3600;
+        // the unhealthy tablets are not ready to be repaired until the factor is set to 0
+        Config.tablet_repair_delay_factor_second = 3600;
+
+        db = new Database(1, "test db");
+        db.setClusterName(SystemInfoService.DEFAULT_CLUSTER);
+        new Expectations() {
+            {
+                env.isMaster();
+                minTimes = 0;
+                result = true;
+
+                env.getInternalCatalog();
+                minTimes = 0;
+                result = catalog;
+
+                catalog.getDbIds();
+                minTimes = 0;
+                result = Lists.newArrayList(db.getId());
+
+                catalog.getDbNullable(anyLong);
+                minTimes = 0;
+                result = db;
+
+                Env.getCurrentEnv();
+                minTimes = 0;
+                result = env;
+
+                Env.getCurrentEnvJournalVersion();
+                minTimes = 0;
+                result = FeConstants.meta_version;
+
+                Env.getCurrentSystemInfo();
+                minTimes = 0;
+                result = systemInfoService;
+
+                Env.getCurrentInvertedIndex();
+                minTimes = 0;
+                result = invertedIndex;
+            }
+        };
+
+        List<Long> beIds = Lists.newArrayList(10001L, 10002L, 10003L, 10004L);
+        beIds.forEach(id -> systemInfoService.addBackend(RebalancerTestUtil.createBackend(id, 2048, 0)));
+
+        olapTable = new OlapTable(2, "fake table", new ArrayList<>(), KeysType.DUP_KEYS, new RangePartitionInfo(),
+                new HashDistributionInfo());
+        db.createTable(olapTable);
+        MaterializedIndex materializedIndex = new MaterializedIndex(3, null);
+        Partition partition = new Partition(31, "p0", materializedIndex, new HashDistributionInfo());
+        olapTable.addPartition(partition);
+        olapTable.getPartitionInfo().addPartition(partition.getId(), new DataProperty(TStorageMedium.HDD),
+                ReplicaAllocation.DEFAULT_ALLOCATION, false);
+        olapTable.setIndexMeta(materializedIndex.getId(), "fake index", Lists.newArrayList(new Column()),
+                0, 0, (short) 0, TStorageType.COLUMN, KeysType.DUP_KEYS);
+        RebalancerTestUtil.createTablet(invertedIndex, db, olapTable, "p0", TStorageMedium.HDD,
+                (int) TABLET_ID_1, Lists.newArrayList(10001L, 10002L, 10003L));
+        RebalancerTestUtil.createTablet(invertedIndex, db, olapTable, "p0", TStorageMedium.HDD,
+                (int) TABLET_ID_2, Lists.newArrayList(10002L, 10003L, 10004L));
+
+        stat = new TabletSchedulerStat();
+        tabletScheduler = new TabletScheduler(env, systemInfoService, invertedIndex, stat, "");
+        tabletChecker = new TabletChecker(env, systemInfoService, tabletScheduler, stat);
+
+        // the first round checks all tablets, which are healthy
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(1, stat.counterTabletFullCheckRound.get());
+        Assert.assertEquals(2, stat.counterTabletChecked.get());
+        Assert.assertTrue(getDirtyTabletIds().isEmpty());
+    }
+
+    @After
+    public void tearDown() {
+        Config.tablet_checker_full_check_interval_second = oldFullCheckIntervalSecond;
+        Config.tablet_repair_delay_factor_second = oldRepairDelayFactorSecond;
+        Config.disable_tablet_scheduler = false;
+    }
+
+    private Set<Long> getDirtyTabletIds() {
+        return Deencapsulation.getField(tabletChecker, "dirtyTabletIds");
+    }
+
+    private void setReadyToBeRepaired() throws InterruptedException {
+        Config.tablet_repair_delay_factor_second = 0;
+        // make sure the time passed since the last status check is larger than 0
+        Thread.sleep(10);
+    }
+
+    private void setReplicaBad(long tabletId, long backendId) {
+        Replica replica = invertedIndex.getReplica(tabletId, backendId);
+        Assert.assertTrue(replica.setBad(true));
+    }
+
+    @Test
+    public void testMarkTabletDirty() throws Exception {
+        setReplicaBad(TABLET_ID_1, 10001L);
+
+        // the tablet is not checked if it is not marked
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(2, stat.counterTabletChecked.get());
+        Assert.assertFalse(tabletScheduler.containsTablet(TABLET_ID_1));
+
+        // the unhealthy tablet which is not ready to be repaired is still dirty
+        tabletChecker.markTabletDirty(TABLET_ID_1);
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(3, stat.counterTabletChecked.get());
+        Assert.assertFalse(tabletScheduler.containsTablet(TABLET_ID_1));
+        Assert.assertTrue(getDirtyTabletIds().contains(TABLET_ID_1));
+
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(4, stat.counterTabletChecked.get());
+        Assert.assertTrue(getDirtyTabletIds().contains(TABLET_ID_1));
+
+        // it is added to tablet scheduler once it is ready, without full check
+        setReadyToBeRepaired();
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertTrue(tabletScheduler.containsTablet(TABLET_ID_1));
+        Assert.assertFalse(tabletScheduler.containsTablet(TABLET_ID_2));
+        Assert.assertEquals(1, stat.counterTabletFullCheckRound.get());
+    }
+
+    @Test
+    public void testMarkHealthyTabletDirty() {
+        tabletChecker.markTabletDirty(TABLET_ID_2);
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(3, stat.counterTabletChecked.get());
+        Assert.assertTrue(getDirtyTabletIds().isEmpty());
+    }
+
+    @Test
+    public void testMarkBackendDirty() throws Exception {
+        setReadyToBeRepaired();
+        systemInfoService.getBackend(10001L).setAlive(false);
+        tabletChecker.markBackendDirty(10001L);
+        tabletChecker.runAfterCatalogReady();
+        // only the tablet having replica on the backend is checked
+        Assert.assertEquals(3, stat.counterTabletChecked.get());
+        Assert.assertTrue(tabletScheduler.containsTablet(TABLET_ID_1));
+        Assert.assertFalse(tabletScheduler.containsTablet(TABLET_ID_2));
+        Assert.assertEquals(1, stat.counterTabletFullCheckRound.get());
+    }
+
+    @Test
+    public void testMarkTableDirty() throws Exception {
+        setReadyToBeRepaired();
+        setReplicaBad(TABLET_ID_2, 10004L);
+        tabletChecker.markTableDirty(db.getId(), olapTable.getId());
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(4, stat.counterTabletChecked.get());
+        Assert.assertFalse(tabletScheduler.containsTablet(TABLET_ID_1));
+        Assert.assertTrue(tabletScheduler.containsTablet(TABLET_ID_2));
+        Assert.assertEquals(1, stat.counterTabletFullCheckRound.get());
+    }
+
+    @Test
+    public void testFullCheckKeepsUnhealthyTabletDirty() throws Exception {
+        setReplicaBad(TABLET_ID_1, 10001L);
+        Config.tablet_checker_full_check_interval_second = 0;
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(2, stat.counterTabletFullCheckRound.get());
+        Assert.assertFalse(tabletScheduler.containsTablet(TABLET_ID_1));
+        Assert.assertTrue(getDirtyTabletIds().contains(TABLET_ID_1));
+
+        // checked by the dirty check
+        Config.tablet_checker_full_check_interval_second = 3600;
+        setReadyToBeRepaired();
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(2, stat.counterTabletFullCheckRound.get());
+        Assert.assertTrue(tabletScheduler.containsTablet(TABLET_ID_1));
+    }
+
+    @Test
+    public void testFullCheckBrokenOut() throws Exception {
+        setReplicaBad(TABLET_ID_1, 10001L);
+        setReadyToBeRepaired();
+        // the full check is due, and it is broken out because the tablet scheduler is disabled
+        Deencapsulation.setField(tabletChecker, "lastFullCheckTime", 0L);
+        Config.disable_tablet_scheduler = true;
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(2, stat.counterTabletFullCheckRound.get());
+        Assert.assertFalse(tabletScheduler.containsTablet(TABLET_ID_1));
+        Assert.assertTrue(getDirtyTabletIds().contains(TABLET_ID_1));
+
+        // so the next round is still a full check
+        Config.disable_tablet_scheduler = false;
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(3, stat.counterTabletFullCheckRound.get());
+        Assert.assertTrue(tabletScheduler.containsTablet(TABLET_ID_1));
+
+        // and the full check is not due after it is finished
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(3, stat.counterTabletFullCheckRound.get());
+    }
+}
@@ -107,6 +107,8 @@ public class TabletRepairAndBalanceTest {
         System.out.println(runningDir);
         FeConstants.runningUnitTest = true;
         FeConstants.tablet_checker_interval_ms = 1000;
+        // replicas are changed directly in the test, check all tablets in every round
+        Config.tablet_checker_full_check_interval_second = 0;
         Config.tablet_repair_delay_factor_second = 1;
         Config.colocate_group_relocate_delay_second = 1;
         // 5 backends:
@@ -26,6 +26,8 @@ import org.apache.doris.catalog.TabletInvertedIndex;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.ExceptionChecker;
 import org.apache.doris.common.FeConstants;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.master.ReportHandler;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.resource.Tag;
 import org.apache.doris.system.Backend;
@@ -33,6 +35,8 @@ import org.apache.doris.system.Diagnoser;
 import org.apache.doris.system.SystemInfoService;
 import org.apache.doris.thrift.TDisk;
 import org.apache.doris.thrift.TStorageMedium;
+import org.apache.doris.thrift.TTablet;
+import org.apache.doris.thrift.TTabletInfo;
 import org.apache.doris.utframe.UtFrameUtils;
 
 import com.google.common.collect.Lists;
@@ -133,6 +137,9 @@ public class TabletReplicaTooSlowTest {
         Table<Long, Long, Replica> replicaMetaTable = Env.getCurrentInvertedIndex().getReplicaMetaTable();
         int versionCount = 1;
         long tabletId = -1;
+        // backend id -> reported tablets, the version counts are reported by backends,
+        // so that the tablet is checked as a dirty tablet
+        Map<Long, Map<Long, TTablet>> backendTablets = Maps.newHashMap();
         for (Table.Cell<Long, Long, Replica> cell : replicaMetaTable.cellSet()) {
             tabletId = cell.getRowKey();
             long beId = cell.getColumnKey();
@@ -140,10 +147,18 @@ public class TabletReplicaTooSlowTest {
             List<Long> pathHashes = be.getDisks().values().stream()
                     .map(DiskInfo::getPathHash).collect(Collectors.toList());
             Replica replica = cell.getValue();
-            replica.setVersionCount(versionCount);
-            versionCount = versionCount + 200;
-
             replica.setPathHash(pathHashes.get(0));
+
+            TTabletInfo tabletInfo = new TTabletInfo(tabletId, replica.getSchemaHash(), replica.getVersion(), 0,
+                    replica.getRowCount(), replica.getDataSize());
+            tabletInfo.setPathHash(replica.getPathHash());
+            tabletInfo.setVersionCount(versionCount);
+            versionCount = versionCount + 200;
+            backendTablets.computeIfAbsent(beId, k -> Maps.newHashMap())
+                    .put(tabletId, new TTablet(Lists.newArrayList(tabletInfo)));
+        }
+        for (Map.Entry<Long, Map<Long, TTablet>> entry : backendTablets.entrySet()) {
+            Deencapsulation.invoke(ReportHandler.class, "tabletReport", entry.getKey(), entry.getValue(), 1L);
         }
 
         List<List<String>> result = Diagnoser.diagnoseTablet(tabletId);
@@ -0,0 +1,82 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+import com.google.common.collect.Maps;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+public class LongLongHashMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        LongLongHashMap map = new LongLongHashMap();
+        Assert.assertTrue(map.isEmpty());
+        for (long i = 0; i < 1000; i++) {
+            map.put(i, i * 10);
+        }
+        Assert.assertEquals(1000, map.size());
+        Assert.assertEquals(990, map.get(99, -1));
+        Assert.assertEquals(-1, map.get(1000, -1));
+
+        map.put(99, 1);
+        Assert.assertEquals(1000, map.size());
+        Assert.assertEquals(1, map.get(99, -1));
+
+        Assert.assertTrue(map.remove(99));
+        Assert.assertFalse(map.remove(99));
+        Assert.assertFalse(map.containsKey(99));
+        Assert.assertEquals(999, map.size());
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertEquals(-1, map.get(1, -1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidKey() {
+        new LongLongHashMap().put(Long.MIN_VALUE, 1);
+    }
+
+    @Test
+    public void testRandomOperations() {
+        // compare with HashMap, keys are in a small range to make lots of collisions and removals
+        Random random = new Random(0);
+        LongLongHashMap map = new LongLongHashMap(4);
+        Map<Long, Long> expected = Maps.newHashMap();
+        for (int i = 0; i < 100000; i++) {
+            long key = random.nextInt(5000);
+            switch (random.nextInt(3)) {
+                case 0:
+                    map.put(key, i);
+                    expected.put(key, (long) i);
+                    break;
+                case 1:
+                    Assert.assertEquals(expected.remove(key) != null, map.remove(key));
+                    break;
+                default:
+                    Assert.assertEquals((long) expected.getOrDefault(key, -1L), map.get(key, -1));
+                    break;
+            }
+            Assert.assertEquals(expected.size(), map.size());
+        }
+    }
+}
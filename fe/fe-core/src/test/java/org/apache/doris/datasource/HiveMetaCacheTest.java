@@ -0,0 +1,267 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource;
+
+import org.apache.doris.catalog.HiveMetaStoreClientHelper;
+import org.apache.doris.common.DdlException;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.external.hive.util.HiveUtil;
+
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.MoreExecutors;
+import mockit.Delegate;
+import mockit.Expectations;
+import mockit.Mock;
+import mockit.MockUp;
+import mockit.Mocked;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hive.metastore.HiveMetaStoreClient;
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
+import org.apache.hadoop.hive.metastore.api.MetaException;
+import org.apache.hadoop.hive.metastore.api.Partition;
+import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
+import org.apache.hadoop.hive.metastore.api.Table;
+import org.apache.hadoop.hive.ql.exec.SerializationUtilities;
+import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.FileSplit;
+import org.apache.hadoop.mapred.InputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.thrift.TException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class HiveMetaCacheTest {
+    @Mocked
+    private HiveMetaStoreClient client;
+
+    private HiveMetaCache metaCache;
+
+    @Before
+    public void setUp() {
+        new MockUp<HiveMetaStoreClientHelper>() {
+            @Mock
+            public HiveMetaStoreClient getClient(String metaStoreUris) {
+                return client;
+            }
+        };
+        HMSExternalCatalog catalog = new HMSExternalCatalog(1, "hms", Maps.newHashMap());
+        metaCache = new HiveMetaCache(catalog, MoreExecutors.directExecutor());
+    }
+
+    @Test
+    public void testTableNames() throws TException, DdlException {
+        new Expectations() {
+            {
+                client.getAllTables("db1");
+                result = Lists.newArrayList("tbl1", "tbl2");
+                times = 2;
+            }
+        };
+
+        Assert.assertEquals(Lists.newArrayList("tbl1", "tbl2"), metaCache.getTableNames("db1"));
+        // hit the cache
+        Assert.assertEquals(Lists.newArrayList("tbl1", "tbl2"), metaCache.getTableNames("db1"));
+        Assert.assertEquals(1, metaCache.getStats(HiveMetaCache.TABLE_NAMES).hitCount());
+        Assert.assertEquals(1, metaCache.getStats(HiveMetaCache.TABLE_NAMES).missCount());
+
+        // load again after invalidated
+        metaCache.invalidateAll();
+        Assert.assertEquals(Lists.newArrayList("tbl1", "tbl2"), metaCache.getTableNames("db1"));
+    }
+
+    @Test
+    public void testInvalidateTable() throws TException, DdlException {
+        Table table = new Table();
+        table.setDbName("db1");
+        table.setTableName("tbl1");
+        List<FieldSchema> schema = Lists.newArrayList(new FieldSchema("k1", "int", ""));
+        new Expectations() {
+            {
+                client.getTable("db1", "tbl1");
+                result = table;
+                times = 2;
+
+                client.getSchema("db1", "tbl1");
+                result = schema;
+                times = 1;
+            }
+        };
+
+        Assert.assertSame(table, metaCache.getTable("db1", "tbl1"));
+        Assert.assertSame(table, metaCache.getTable("db1", "tbl1"));
+        Assert.assertEquals(schema, metaCache.getSchema("db1", "tbl1"));
+        metaCache.invalidateTable("db1", "tbl1");
+        Assert.assertSame(table, metaCache.getTable("db1", "tbl1"));
+        Assert.assertEquals(1, metaCache.getStats(HiveMetaCache.TABLE).hitCount());
+        Assert.assertEquals(2, metaCache.getStats(HiveMetaCache.TABLE).missCount());
+    }
+
+    @Test(expected = DdlException.class)
+    public void testLoadFailed() throws TException, DdlException {
+        new Expectations() {
+            {
+                client.getAllTables("db1");
+                result = new MetaException("connection refused");
+            }
+        };
+        metaCache.getTableNames("db1");
+    }
+
+    @Test
+    public void testGetPartitionsSkipDroppedPartitions(@Mocked ExprNodeGenericFuncDesc predicate)
+            throws TException, DdlException {
+        Table table = createTable();
+        Partition partition1 = createPartition("1");
+        Partition partition2 = createPartition("2");
+        expectListPartitions(predicate, partition1, partition2);
+        new Expectations() {
+            {
+                client.getTable("db1", "tbl1");
+                result = table;
+
+                // partition dt=2 is dropped after the partition names are cached
+                client.getPartitionsByNames("db1", "tbl1", Lists.newArrayList("dt=1", "dt=2"));
+                result = Lists.newArrayList(partition1);
+                times = 1;
+            }
+        };
+
+        Assert.assertEquals(Lists.newArrayList(partition1, partition2), metaCache.getPartitions("db1", "tbl1", predicate));
+        LoadingCache<?, ?> partitionCache = Deencapsulation.getField(metaCache, "partitionCache");
+        partitionCache.invalidateAll();
+        Assert.assertEquals(Lists.newArrayList(partition1), metaCache.getPartitions("db1", "tbl1", predicate));
+        // the dropped partition is still skipped, and the loaded partition is read from cache
+        Assert.assertEquals(Lists.newArrayList(partition1), metaCache.getPartitions("db1", "tbl1", predicate));
+    }
+
+    @Test
+    public void testInvalidateTableFiles(@Mocked ExprNodeGenericFuncDesc predicate)
+            throws TException, DdlException {
+        Table table = createTable();
+        Partition partition = createPartition("1");
+        // the partition is not under the location of table
+        partition.getSd().setLocation("hdfs://ns/external/dt=1");
+        new MockUp<HiveUtil>() {
+            @Mock
+            public InputFormat<?, ?> getInputFormat(Configuration configuration, String inputFormatName,
+                    boolean symlinkTarget) {
+                return new InputFormat<Object, Object>() {
+                    @Override
+                    public InputSplit[] getSplits(JobConf job, int numSplits) {
+                        return new InputSplit[] {new FileSplit(FileInputFormat.getInputPaths(job)[0], 0, 1,
+                                (String[]) null)};
+                    }
+
+                    @Override
+                    public RecordReader<Object, Object> getRecordReader(InputSplit split, JobConf job,
+                            Reporter reporter) {
+                        return null;
+                    }
+                };
+            }
+        };
+        expectListPartitions(predicate, partition);
+        new Expectations() {
+            {
+                client.getTable("db1", "tbl1");
+                result = table;
+            }
+        };
+
+        String tableFile = table.getSd().getLocation() + "/dt=0";
+        String partitionFile = partition.getSd().getLocation();
+        String otherFile = "hdfs://ns/warehouse/db1.db/tbl10/dt=0";
+        // cache the table and the partition
+        Assert.assertEquals(Lists.newArrayList(partition), metaCache.getPartitions("db1", "tbl1", predicate));
+        for (String location : Lists.newArrayList(tableFile, partitionFile, otherFile)) {
+            metaCache.getSplits(location, "format", 0);
+        }
+        Assert.assertEquals(3, metaCache.getStats(HiveMetaCache.FILE).missCount());
+
+        metaCache.invalidateTable("db1", "tbl1");
+        List<String> splitPaths = Lists.newArrayList();
+        for (String location : Lists.newArrayList(tableFile, partitionFile, otherFile)) {
+            splitPaths.addAll(metaCache.getSplits(location, "format", 0).stream()
+                    .map(split -> ((FileSplit) split).getPath().toString()).collect(Collectors.toList()));
+        }
+        Assert.assertEquals(Lists.newArrayList(tableFile, partitionFile, otherFile), splitPaths);
+        // only the files of the table and its partition are listed again
+        Assert.assertEquals(5, metaCache.getStats(HiveMetaCache.FILE).missCount());
+        Assert.assertEquals(1, metaCache.getStats(HiveMetaCache.FILE).hitCount());
+    }
+
+    // listPartitionsByExpr() returns the partitions by its last parameter
+    private void expectListPartitions(ExprNodeGenericFuncDesc predicate, Partition... partitions)
+            throws TException {
+        new MockUp<SerializationUtilities>() {
+            @Mock
+            public byte[] serializeExpressionToKryo(ExprNodeGenericFuncDesc expr) {
+                return new byte[0];
+            }
+        };
+        new Expectations() {
+            {
+                predicate.getExprString();
+                minTimes = 0;
+                result = "dt > '0'";
+
+                client.listPartitionsByExpr("db1", "tbl1", (byte[]) any, null, (short) -1, (List<Partition>) any);
+                result = new Delegate() {
+                    boolean listPartitionsByExpr(String dbName, String tblName, byte[] expr,
+                            String defaultPartitionName, short maxParts, List<Partition> result) {
+                        result.addAll(Lists.newArrayList(partitions));
+                        return false;
+                    }
+                };
+                times = 1;
+            }
+        };
+    }
+
+    private static Table createTable() {
+        Table table = new Table();
+        table.setDbName("db1");
+        table.setTableName("tbl1");
+        table.setPartitionKeys(Lists.newArrayList(new FieldSchema("dt", "string", "")));
+        StorageDescriptor sd = new StorageDescriptor();
+        sd.setLocation("hdfs://ns/warehouse/db1.db/tbl1");
+        table.setSd(sd);
+        return table;
+    }
+
+    private static Partition createPartition(String value) {
+        Partition partition = new Partition();
+        partition.setDbName("db1");
+        partition.setTableName("tbl1");
+        partition.setValues(Lists.newArrayList(value));
+        StorageDescriptor sd = new StorageDescriptor();
+        sd.setLocation("hdfs://ns/warehouse/db1.db/tbl1/dt=" + value);
+        partition.setSd(sd);
+        return partition;
+    }
+}
@@ -0,0 +1,171 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.master;
+
+import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.system.Backend;
+import org.apache.doris.system.SystemInfoService;
+import org.apache.doris.thrift.TBackend;
+import org.apache.doris.thrift.TDisk;
+import org.apache.doris.thrift.TReportRequest;
+import org.apache.doris.thrift.TStatusCode;
+import org.apache.doris.thrift.TTablet;
+import org.apache.doris.thrift.TTaskType;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Uninterruptibles;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ReportHandlerTest {
+    private static final long BACKEND_ID = 10001;
+    private static final String BACKEND_HOST = "127.0.0.1";
+    private static final int BACKEND_PORT = 9060;
+
+    private final SystemInfoService systemInfoService = new SystemInfoService();
+    // the reports handled by the worker, in the order of handling
+    private final List<String> handledReports = Lists.newCopyOnWriteArrayList();
+    private final CountDownLatch firstReportBlocked = new CountDownLatch(1);
+    private final CountDownLatch firstReportReleased = new CountDownLatch(1);
+
+    private int oldReportHandlerThreadNum;
+
+    @Before
+    public void setUp() {
+        oldReportHandlerThreadNum = Config.report_handler_thread_num;
+        Config.report_handler_thread_num = 1;
+
+        Backend backend = new Backend(BACKEND_ID, BACKEND_HOST, 9050);
+        backend.setBePort(BACKEND_PORT);
+        systemInfoService.addBackend(backend);
+
+        new MockUp<Env>() {
+            @Mock
+            public SystemInfoService getCurrentSystemInfo() {
+                return systemInfoService;
+            }
+        };
+
+        new MockUp<ReportHandler>() {
+            @Mock
+            void taskReport(long backendId, Map<TTaskType, Set<Long>> runningTasks) {
+                handledReports.add("task " + runningTasks.get(TTaskType.PUSH));
+                if (firstReportBlocked.getCount() > 0) {
+                    // block the worker, so that the following reports are pending
+                    firstReportBlocked.countDown();
+                    Uninterruptibles.awaitUninterruptibly(firstReportReleased);
+                }
+            }
+
+            @Mock
+            void diskReport(long backendId, Map<String, TDisk> backendDisks) {
+                handledReports.add("disk " + backendDisks.keySet());
+            }
+
+            @Mock
+            void tabletReport(long backendId, Map<Long, TTablet> backendTablets, long backendReportVersion) {
+                handledReports.add("tablet " + backendTablets.keySet());
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        Config.report_handler_thread_num = oldReportHandlerThreadNum;
+    }
+
+    @Test
+    public void testReportsHandledInOrderAndReplaced() throws Exception {
+        ReportHandler reportHandler = new ReportHandler();
+        reportHandler.start();
+
+        handleReport(reportHandler, createRequest(1L, null, null));
+        Assert.assertTrue(firstReportBlocked.await(10, TimeUnit.SECONDS));
+
+        // the task report 2 is replaced by the task report of the mixed report 3,
+        // and the disk report of report 3 is replaced by report 4, but the tablet report of report 3 is kept
+        handleReport(reportHandler, createRequest(2L, null, null));
+        handleReport(reportHandler, createRequest(3L, "disk3", 3L));
+        handleReport(reportHandler, createRequest(null, "disk4", null));
+
+        Map<String, Long> pendingNums = getPendingTaskNums(reportHandler);
+        Assert.assertEquals(Long.valueOf(1), pendingNums.get("TASK"));
+        Assert.assertEquals(Long.valueOf(1), pendingNums.get("DISK"));
+        Assert.assertEquals(Long.valueOf(1), pendingNums.get("TABLET"));
+
+        firstReportReleased.countDown();
+        long deadline = System.currentTimeMillis() + 10000;
+        while (handledReports.size() < 4 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(Lists.newArrayList("task [1]", "task [3]", "disk [disk4]", "tablet [3]"),
+                handledReports);
+        pendingNums = getPendingTaskNums(reportHandler);
+        Assert.assertEquals(Long.valueOf(0), pendingNums.get("TASK"));
+        Assert.assertEquals(Long.valueOf(0), pendingNums.get("DISK"));
+        Assert.assertEquals(Long.valueOf(0), pendingNums.get("TABLET"));
+    }
+
+    private static void handleReport(ReportHandler reportHandler, TReportRequest request) throws Exception {
+        Assert.assertEquals(TStatusCode.OK, reportHandler.handleReport(request).getStatus().getStatusCode());
+    }
+
+    // create a report which carries a task, a disk and a tablet as markers of the report, if they are not null
+    private static TReportRequest createRequest(Long taskSignature, String diskPath, Long tabletId) {
+        TReportRequest request = new TReportRequest(new TBackend(BACKEND_HOST, BACKEND_PORT, 8040));
+        if (taskSignature != null) {
+            Map<TTaskType, Set<Long>> tasks = Maps.newHashMap();
+            tasks.put(TTaskType.PUSH, Sets.newHashSet(taskSignature));
+            request.setTasks(tasks);
+        }
+        if (diskPath != null) {
+            Map<String, TDisk> disks = Maps.newHashMap();
+            disks.put(diskPath, new TDisk(diskPath, 100L, 0L, true));
+            request.setDisks(disks);
+        }
+        if (tabletId != null) {
+            Map<Long, TTablet> tablets = Maps.newHashMap();
+            tablets.put(tabletId, new TTablet());
+            request.setTablets(tablets);
+            request.setReportVersion(1L);
+        }
+        return request;
+    }
+
+    private static Map<String, Long> getPendingTaskNums(ReportHandler reportHandler) {
+        Map<?, AtomicLong> pendingTaskNums = Deencapsulation.getField(reportHandler, "pendingTaskNums");
+        Map<String, Long> nums = Maps.newHashMap();
+        pendingTaskNums.forEach((type, num) -> nums.put(type.toString(), num.get()));
+        return nums;
+    }
+}
@@ -24,10 +24,12 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.Arrays;
 
 public class MysqlChannelTest {
     int packetId = 0;
@@ -255,6 +257,48 @@ public class MysqlChannelTest {
         channel1.sendOnePacket(buf);
     }
 
+    @Test
+    public void testSendAndFlushContent() throws IOException {
+        ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        new Expectations() {
+            {
+                channel.write((ByteBuffer) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    int fakeWrite(ByteBuffer buffer) {
+                        int writeLen = buffer.remaining();
+                        while (buffer.hasRemaining()) {
+                            sent.write(buffer.get());
+                        }
+                        return writeLen;
+                    }
+                };
+            }
+        };
+
+        MysqlChannel channel1 = new MysqlChannel(channel);
+        // packets more than the send buffer, so the send buffer is flushed when it is full
+        int packetNum = 3000;
+        for (int i = 0; i < packetNum; i++) {
+            byte[] packet = new byte[1000];
+            Arrays.fill(packet, (byte) i);
+            channel1.sendOnePacket(ByteBuffer.wrap(packet));
+        }
+        channel1.flush();
+        Assert.assertNull(channel1.sendBuffer);
+        Assert.assertTrue(channel1.isSend());
+
+        ByteBuffer result = ByteBuffer.wrap(sent.toByteArray());
+        for (int i = 0; i < packetNum; i++) {
+            Assert.assertEquals(1000, MysqlProto.readInt3(result));
+            Assert.assertEquals(i & 0xff, MysqlProto.readInt1(result));
+            for (int j = 0; j < 1000; j++) {
+                Assert.assertEquals((byte) i, result.get());
+            }
+        }
+        Assert.assertFalse(result.hasRemaining());
+    }
+
     @Test(expected = IOException.class)
     public void testSendException() throws IOException {
         // mock
@@ -0,0 +1,97 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.jobs.scheduler;
+
+import org.apache.doris.nereids.CascadesContext;
+import org.apache.doris.nereids.jobs.Job;
+import org.apache.doris.nereids.jobs.JobContext;
+import org.apache.doris.nereids.jobs.JobType;
+import org.apache.doris.nereids.properties.PhysicalProperties;
+import org.apache.doris.nereids.util.MemoTestUtils;
+import org.apache.doris.nereids.util.PlanConstructor;
+import org.apache.doris.qe.ConnectContext;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class ParallelJobSchedulerTest {
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+
+    private class RecordJob extends Job {
+        private final String name;
+        private final List<Job> jobs;
+        private final List<Job> independentJobs;
+
+        RecordJob(JobContext context, String name, List<Job> jobs, List<Job> independentJobs) {
+            super(JobType.OPTIMIZE_PLAN, context);
+            this.name = name;
+            this.jobs = jobs;
+            this.independentJobs = independentJobs;
+        }
+
+        @Override
+        public void execute() {
+            Assertions.assertSame(context.getCascadesContext().getConnectContext(), ConnectContext.get());
+            executed.add(name);
+            jobs.forEach(this::pushJob);
+            pushIndependentJobs(independentJobs);
+        }
+    }
+
+    private RecordJob leaf(JobContext context, String name) {
+        return new RecordJob(context, name, Collections.emptyList(), Collections.emptyList());
+    }
+
+    @Test
+    public void testExecuteOrder() {
+        ConnectContext connectContext = MemoTestUtils.createConnectContext();
+        connectContext.getSessionVariable().setEnableNereidsParallelJobScheduler(true);
+        CascadesContext cascadesContext = MemoTestUtils.createCascadesContext(connectContext,
+                PlanConstructor.newLogicalOlapScan(0, "t1", 0));
+        Assertions.assertTrue(cascadesContext.getJobScheduler() instanceof ParallelJobScheduler);
+        JobContext context = new JobContext(cascadesContext, PhysicalProperties.ANY, Double.MAX_VALUE);
+
+        // root pushes 'continue' and then 4 independent jobs, each of them pushes a child job
+        List<Job> independentJobs = ImmutableList.of(
+                new RecordJob(context, "a", ImmutableList.of(leaf(context, "a1")), Collections.emptyList()),
+                new RecordJob(context, "b", ImmutableList.of(leaf(context, "b1")), Collections.emptyList()),
+                new RecordJob(context, "c", ImmutableList.of(leaf(context, "c1")), Collections.emptyList()),
+                new RecordJob(context, "d", ImmutableList.of(leaf(context, "d1")), Collections.emptyList()));
+        cascadesContext.pushJob(leaf(context, "last"));
+        cascadesContext.pushJob(new RecordJob(context, "root",
+                ImmutableList.of(leaf(context, "continue")), independentJobs));
+        cascadesContext.getJobScheduler().executeJobPool(cascadesContext);
+
+        Assertions.assertEquals(11, executed.size());
+        Assertions.assertEquals("root", executed.get(0));
+        for (String name : ImmutableList.of("a", "b", "c", "d")) {
+            Assertions.assertTrue(executed.indexOf(name) < executed.indexOf(name + "1"));
+            Assertions.assertTrue(executed.indexOf(name + "1") < executed.indexOf("continue"));
+        }
+        Assertions.assertEquals("continue", executed.get(9));
+        Assertions.assertEquals("last", executed.get(10));
+        // jobs pushed by the jobs are redirected to the scheduler, and the pool is restored after executed
+        Assertions.assertTrue(cascadesContext.getJobPool() instanceof JobStack);
+        Assertions.assertTrue(cascadesContext.getJobPool().isEmpty());
+    }
+}
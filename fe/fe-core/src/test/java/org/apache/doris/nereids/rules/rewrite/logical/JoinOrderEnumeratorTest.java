@@ -0,0 +1,126 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.rules.rewrite.logical;
+
+import org.apache.doris.nereids.memo.Group;
+import org.apache.doris.nereids.memo.Memo;
+import org.apache.doris.nereids.trees.expressions.EqualTo;
+import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.expressions.literal.IntegerLiteral;
+import org.apache.doris.nereids.trees.plans.GroupPlan;
+import org.apache.doris.nereids.trees.plans.JoinType;
+import org.apache.doris.nereids.trees.plans.Plan;
+import org.apache.doris.nereids.trees.plans.logical.LogicalJoin;
+import org.apache.doris.nereids.util.PlanConstructor;
+import org.apache.doris.statistics.StatsDeriveResult;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class JoinOrderEnumeratorTest {
+
+    private static GroupPlan newInput(long tableId, long rowCount) {
+        Group group = new Memo(PlanConstructor.newLogicalOlapScan(tableId, "t" + tableId, 0)).getRoot();
+        group.setStatistics(new StatsDeriveResult(rowCount, Maps.newHashMap()));
+        return new GroupPlan(group);
+    }
+
+    private static Expression eq(Plan left, Plan right) {
+        return new EqualTo(left.getOutput().get(0), right.getOutput().get(0));
+    }
+
+    private static void collect(Plan plan, List<Plan> leaves, List<LogicalJoin<?, ?>> joins) {
+        if (plan instanceof LogicalJoin) {
+            joins.add((LogicalJoin<?, ?>) plan);
+            collect(plan.child(0), leaves, joins);
+            collect(plan.child(1), leaves, joins);
+        } else {
+            leaves.add(plan);
+        }
+    }
+
+    private static Plan leftMostLeaf(Plan plan) {
+        return plan instanceof LogicalJoin ? leftMostLeaf(plan.child(0)) : plan;
+    }
+
+    private void checkStarJoin(int maxTableCountUseDphyp) {
+        GroupPlan fact = newInput(0, 1000000);
+        List<Plan> inputs = Lists.newArrayList(fact);
+        List<Expression> conjuncts = Lists.newArrayList();
+        for (int i = 1; i <= 5; i++) {
+            GroupPlan dimension = newInput(i, i * 100);
+            inputs.add(dimension);
+            conjuncts.add(eq(fact, dimension));
+        }
+        Expression filter = new EqualTo(fact.getOutput().get(1), new IntegerLiteral(1));
+        conjuncts.add(filter);
+
+        JoinOrderEnumerator enumerator = new JoinOrderEnumerator(inputs, conjuncts);
+        Plan root = enumerator.enumerate(maxTableCountUseDphyp);
+        Assertions.assertEquals(Lists.newArrayList(filter), enumerator.getRemainingConjuncts());
+
+        List<Plan> leaves = Lists.newArrayList();
+        List<LogicalJoin<?, ?>> joins = Lists.newArrayList();
+        collect(root, leaves, joins);
+        Assertions.assertEquals(inputs.size(), leaves.size());
+        Assertions.assertTrue(leaves.containsAll(inputs));
+        // every join of the star has a condition, the fact table is always on the probe side
+        int conditionNum = 0;
+        for (LogicalJoin<?, ?> join : joins) {
+            Assertions.assertEquals(JoinType.INNER_JOIN, join.getJoinType());
+            conditionNum += join.getHashJoinConjuncts().size();
+            Assertions.assertFalse(join.getOtherJoinCondition().isPresent());
+        }
+        Assertions.assertEquals(5, conditionNum);
+        Assertions.assertSame(fact, leftMostLeaf(root));
+    }
+
+    @Test
+    public void testDphyp() {
+        checkStarJoin(12);
+    }
+
+    @Test
+    public void testGreedy() {
+        checkStarJoin(2);
+    }
+
+    @Test
+    public void testCrossJoin() {
+        GroupPlan t1 = newInput(1, 100);
+        GroupPlan t2 = newInput(2, 200);
+        GroupPlan t3 = newInput(3, 300);
+        JoinOrderEnumerator enumerator = new JoinOrderEnumerator(Lists.newArrayList(t1, t2, t3),
+                Lists.newArrayList(eq(t1, t3)));
+        Plan root = enumerator.enumerate(12);
+
+        // t1 and t3 are joined first, t2 is not connected to them and is cross joined at last
+        Assertions.assertTrue(root instanceof LogicalJoin);
+        Assertions.assertEquals(JoinType.CROSS_JOIN, ((LogicalJoin<?, ?>) root).getJoinType());
+        List<Plan> leaves = Lists.newArrayList();
+        List<LogicalJoin<?, ?>> joins = Lists.newArrayList();
+        collect(root, leaves, joins);
+        Assertions.assertEquals(2, joins.size());
+        Assertions.assertEquals(JoinType.INNER_JOIN, joins.get(1).getJoinType());
+        Assertions.assertTrue(joins.get(1).children().containsAll(Lists.newArrayList(t1, t3)));
+    }
+}
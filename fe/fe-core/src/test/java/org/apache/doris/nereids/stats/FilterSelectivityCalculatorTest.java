@@ -0,0 +1,106 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.stats;
+
+import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.nereids.trees.expressions.EqualTo;
+import org.apache.doris.nereids.trees.expressions.GreaterThan;
+import org.apache.doris.nereids.trees.expressions.LessThan;
+import org.apache.doris.nereids.trees.expressions.LessThanEqual;
+import org.apache.doris.nereids.trees.expressions.Slot;
+import org.apache.doris.nereids.trees.expressions.SlotReference;
+import org.apache.doris.nereids.trees.expressions.literal.IntegerLiteral;
+import org.apache.doris.nereids.trees.plans.JoinType;
+import org.apache.doris.nereids.trees.plans.logical.LogicalJoin;
+import org.apache.doris.nereids.trees.plans.logical.LogicalOlapScan;
+import org.apache.doris.nereids.types.IntegerType;
+import org.apache.doris.nereids.util.PlanConstructor;
+import org.apache.doris.statistics.ColumnStats;
+import org.apache.doris.statistics.Histogram;
+import org.apache.doris.statistics.StatsDeriveResult;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+
+public class FilterSelectivityCalculatorTest {
+    private static final double DELTA = 0.0001;
+
+    @Test
+    public void testRange() {
+        SlotReference c1 = new SlotReference("c1", IntegerType.INSTANCE, true, ImmutableList.of("t"));
+        SlotReference c2 = new SlotReference("c2", IntegerType.INSTANCE, true, ImmutableList.of("t"));
+        ColumnStats columnStats1 = new ColumnStats();
+        columnStats1.setNdv(190);
+        columnStats1.setHistogram(new Histogram(Lists.newArrayList(
+                new Histogram.Bucket(0, 10, 100, 10),
+                new Histogram.Bucket(10, 20, 100, 100),
+                new Histogram.Bucket(20, 100, 100, 80))));
+        // no histogram, use min and max value
+        ColumnStats columnStats2 = new ColumnStats();
+        columnStats2.setNdv(100);
+        columnStats2.setMinValue(new IntLiteral(0));
+        columnStats2.setMaxValue(new IntLiteral(100));
+        Map<Slot, ColumnStats> slotToColumnStats = Maps.newHashMap();
+        slotToColumnStats.put(c1, columnStats1);
+        slotToColumnStats.put(c2, columnStats2);
+        FilterSelectivityCalculator calculator = new FilterSelectivityCalculator(slotToColumnStats);
+
+        Assertions.assertEquals(0.5, calculator.estimate(new LessThan(c1, new IntegerLiteral(15))), DELTA);
+        Assertions.assertEquals(0.5, calculator.estimate(new GreaterThan(c1, new IntegerLiteral(15))), DELTA);
+        Assertions.assertEquals(100.0 / 10 / 300, calculator.estimate(new EqualTo(c1, new IntegerLiteral(5))), DELTA);
+        // not sampled, use ndv
+        Assertions.assertEquals(1.0 / 190, calculator.estimate(new EqualTo(c1, new IntegerLiteral(200))), DELTA);
+
+        Assertions.assertEquals(0.25, calculator.estimate(new LessThanEqual(c2, new IntegerLiteral(25))), DELTA);
+        Assertions.assertEquals(0, calculator.estimate(new LessThan(c2, new IntegerLiteral(-10))), DELTA);
+        Assertions.assertEquals(0.01, calculator.estimate(new EqualTo(c2, new IntegerLiteral(25))), DELTA);
+    }
+
+    @Test
+    public void testInnerJoinByNdv() {
+        LogicalOlapScan left = PlanConstructor.newLogicalOlapScan(0, "t0", 0);
+        LogicalOlapScan right = PlanConstructor.newLogicalOlapScan(1, "t1", 0);
+        Slot leftKey = left.getOutput().get(0);
+        Slot rightKey = right.getOutput().get(0);
+        ColumnStats leftKeyStats = new ColumnStats();
+        leftKeyStats.setNdv(100);
+        ColumnStats rightKeyStats = new ColumnStats();
+        rightKeyStats.setNdv(50);
+        Map<Slot, ColumnStats> leftSlotToColumnStats = Maps.newHashMap();
+        leftSlotToColumnStats.put(leftKey, leftKeyStats);
+        Map<Slot, ColumnStats> rightSlotToColumnStats = Maps.newHashMap();
+        rightSlotToColumnStats.put(rightKey, rightKeyStats);
+        StatsDeriveResult leftStats = new StatsDeriveResult(1000, leftSlotToColumnStats);
+        StatsDeriveResult rightStats = new StatsDeriveResult(50, rightSlotToColumnStats);
+
+        // the condition is not in the order of children
+        LogicalJoin<LogicalOlapScan, LogicalOlapScan> join = new LogicalJoin<>(JoinType.INNER_JOIN,
+                Lists.newArrayList(new EqualTo(rightKey, leftKey)), Optional.empty(), left, right);
+        Assertions.assertEquals(1000 * 50 / 100, JoinEstimation.estimate(leftStats, rightStats, join).getRowCount());
+
+        // no ndv, use the default ratio
+        leftKeyStats.setNdv(-1);
+        Assertions.assertEquals(1000 / 10 + 1, JoinEstimation.estimate(leftStats, rightStats, join).getRowCount());
+    }
+}
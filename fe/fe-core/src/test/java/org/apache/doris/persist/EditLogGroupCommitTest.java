@@ -0,0 +1,192 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.io.Writable;
+import org.apache.doris.journal.Journal;
+import org.apache.doris.journal.JournalBatch;
+import org.apache.doris.journal.JournalCursor;
+import org.apache.doris.journal.JournalEntity;
+
+import com.google.common.collect.Lists;
+import mockit.Deencapsulation;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Compare the throughput of writing edit log one by one and in group commit mode.
+ * The journal is mocked and each write costs a fixed time, which simulates the sync of bdbje.
+ */
+public class EditLogGroupCommitTest {
+    private static final Logger LOG = LogManager.getLogger(EditLogGroupCommitTest.class);
+
+    private static final int THREAD_NUM = 32;
+    private static final int OPS_PER_THREAD = 50;
+    private static final long WRITE_COST_MS = 1;
+
+    private String originEditLogType;
+    private boolean originGroupCommit;
+    private final List<EditLog> editLogs = Lists.newArrayList();
+
+    private static class MockJournal implements Journal {
+        private final AtomicLong journalNum = new AtomicLong(0);
+        private final AtomicLong writeNum = new AtomicLong(0);
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void rollJournal() {
+        }
+
+        @Override
+        public long getMaxJournalId() {
+            return journalNum.get();
+        }
+
+        @Override
+        public long getMinJournalId() {
+            return 0;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public JournalEntity read(long journalId) {
+            return null;
+        }
+
+        @Override
+        public JournalCursor read(long fromKey, long toKey) {
+            return null;
+        }
+
+        @Override
+        public synchronized void write(short op, Writable writable) throws IOException {
+            sleep();
+            writeNum.incrementAndGet();
+            journalNum.incrementAndGet();
+        }
+
+        @Override
+        public synchronized long write(JournalBatch batch) throws IOException {
+            sleep();
+            writeNum.incrementAndGet();
+            return journalNum.getAndAdd(batch.getJournalNum()) + 1;
+        }
+
+        @Override
+        public void deleteJournals(long deleteJournalToId) {
+        }
+
+        @Override
+        public long getFinalizedJournalId() {
+            return 0;
+        }
+
+        @Override
+        public List<Long> getDatabaseNames() {
+            return Lists.newArrayList();
+        }
+
+        private void sleep() {
+            try {
+                Thread.sleep(WRITE_COST_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Before
+    public void setUp() {
+        originEditLogType = Config.edit_log_type;
+        originGroupCommit = Config.enable_edit_log_group_commit;
+        Config.edit_log_type = "local";
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        for (EditLog editLog : editLogs) {
+            editLog.stopFlushThread();
+        }
+        Config.edit_log_type = originEditLogType;
+        Config.enable_edit_log_group_commit = originGroupCommit;
+    }
+
+    private MockJournal runWrite(boolean groupCommit) throws InterruptedException {
+        Config.enable_edit_log_group_commit = groupCommit;
+        EditLog editLog = new EditLog("name");
+        editLogs.add(editLog);
+        MockJournal journal = new MockJournal();
+        Deencapsulation.setField(editLog, "journal", journal);
+        // the flush thread is only started on master
+        Assert.assertNull(Deencapsulation.getField(editLog, "flushThread"));
+        editLog.startFlushThread();
+
+        List<Thread> threads = Lists.newArrayList();
+        for (int i = 0; i < THREAD_NUM; i++) {
+            final long base = (long) i * OPS_PER_THREAD;
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < OPS_PER_THREAD; j++) {
+                    editLog.logSaveNextId(base + j);
+                }
+            }));
+        }
+
+        long start = System.currentTimeMillis();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long cost = Math.max(System.currentTimeMillis() - start, 1);
+
+        long total = (long) THREAD_NUM * OPS_PER_THREAD;
+        LOG.info("group commit: {}, write {} edit logs in {} ms with {} journal writes, throughput: {} ops/s",
+                groupCommit, total, cost, journal.writeNum.get(), total * 1000 / cost);
+        return journal;
+    }
+
+    @Test
+    public void testGroupCommit() throws InterruptedException {
+        long total = (long) THREAD_NUM * OPS_PER_THREAD;
+
+        MockJournal directJournal = runWrite(false);
+        Assert.assertEquals(total, directJournal.journalNum.get());
+        Assert.assertEquals(total, directJournal.writeNum.get());
+
+        MockJournal batchJournal = runWrite(true);
+        Assert.assertEquals(total, batchJournal.journalNum.get());
+        // concurrent edit logs must be merged into batches
+        Assert.assertTrue(batchJournal.writeNum.get() < total);
+    }
+}
@@ -0,0 +1,86 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist;
+
+import org.apache.doris.common.io.Writable;
+import org.apache.doris.journal.JournalEntity;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+public class ParallelJournalReplayerTest {
+    private ParallelJournalReplayer replayer;
+
+    @Before
+    public void setUp() {
+        replayer = new ParallelJournalReplayer(4);
+    }
+
+    @After
+    public void tearDown() {
+        replayer.shutdown();
+    }
+
+    private static JournalEntity newEntity(short opCode, Writable data) {
+        JournalEntity entity = new JournalEntity();
+        entity.setOpCode(opCode);
+        entity.setData(data);
+        return entity;
+    }
+
+    @Test
+    public void testReplayInOrderOfDb() throws InterruptedException, ExecutionException {
+        List<Integer> replayedOfDb1 = Collections.synchronizedList(Lists.newArrayList());
+        List<Integer> replayedOfDb2 = Collections.synchronizedList(Lists.newArrayList());
+        for (int i = 0; i < 100; i++) {
+            int seq = i;
+            List<Integer> replayed = i % 2 == 0 ? replayedOfDb1 : replayedOfDb2;
+            ReplicaPersistInfo info = ReplicaPersistInfo.createForClearRollupInfo(i % 2 + 1, 2, 3, 4);
+            Assert.assertTrue(replayer.submit(newEntity(OperationType.OP_UPDATE_REPLICA, info),
+                    () -> replayed.add(seq)));
+        }
+        Assert.assertEquals(100, replayer.getPendingNum());
+        Assert.assertFalse(replayer.isFull());
+        replayer.waitForAll();
+        Assert.assertEquals(0, replayer.getPendingNum());
+
+        Assert.assertEquals(50, replayedOfDb1.size());
+        Assert.assertEquals(50, replayedOfDb2.size());
+        for (int i = 0; i < 50; i++) {
+            Assert.assertEquals(2 * i, (int) replayedOfDb1.get(i));
+            Assert.assertEquals(2 * i + 1, (int) replayedOfDb2.get(i));
+        }
+    }
+
+    @Test
+    public void testBarrier() {
+        List<Integer> replayed = Lists.newArrayList();
+        Assert.assertFalse(replayer.submit(newEntity(OperationType.OP_CREATE_DB, null), () -> replayed.add(1)));
+        Assert.assertFalse(replayer.submit(newEntity(OperationType.OP_BATCH_REMOVE_TXNS, null),
+                () -> replayed.add(2)));
+        Assert.assertEquals(0, replayer.getPendingNum());
+        Assert.assertTrue(replayed.isEmpty());
+    }
+}
@@ -0,0 +1,202 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.catalog.AggregateType;
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.KeysType;
+import org.apache.doris.catalog.MaterializedIndex;
+import org.apache.doris.catalog.MaterializedIndex.IndexState;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.PrimitiveType;
+import org.apache.doris.catalog.RandomDistributionInfo;
+import org.apache.doris.catalog.ScalarType;
+import org.apache.doris.catalog.SinglePartitionInfo;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.FeConstants;
+import org.apache.doris.common.io.CountingDataOutputStream;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.datasource.InternalCatalog;
+import org.apache.doris.thrift.TStorageType;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.CountingInputStream;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+public class MetaBlocksTest {
+    private static final int DB_NUM = 5;
+    // bytes written before the module, so that the module does not start at the beginning of the image
+    private static final int MODULE_OFFSET = 16;
+
+    @Mocked
+    private Env env;
+
+    private File imageFile;
+    private int imageLoadThreadNum;
+
+    @Before
+    public void setUp() throws IOException {
+        new Expectations(env) {
+            {
+                Env.getCurrentEnv();
+                minTimes = 0;
+                result = env;
+
+                Env.getCurrentEnvJournalVersion();
+                minTimes = 0;
+                result = FeConstants.meta_version;
+            }
+        };
+        imageFile = File.createTempFile("image", ".test");
+        imageLoadThreadNum = Config.image_load_thread_num;
+        Config.image_load_thread_num = 4;
+    }
+
+    @After
+    public void tearDown() {
+        Config.image_load_thread_num = imageLoadThreadNum;
+        imageFile.delete();
+    }
+
+    @Test
+    public void testLoadDbInParallel() throws Exception {
+        InternalCatalog catalog = createCatalog();
+        MetaIndex metaIndex = saveDb(catalog, true);
+        Assert.assertEquals(DB_NUM + 1, metaIndex.blockOffsets.size());
+
+        InternalCatalog loadedCatalog = new InternalCatalog();
+        long checksum = loadDb(loadedCatalog, metaIndex);
+        Assert.assertEquals(metaIndex.checksum, checksum);
+        assertCatalogEquals(catalog, loadedCatalog);
+    }
+
+    @Test
+    public void testLoadDbWithoutBlockOffsets() throws Exception {
+        // the image saved by old versions has no block offsets, the databases are read one by one
+        InternalCatalog catalog = createCatalog();
+        MetaIndex metaIndex = saveDb(catalog, false);
+        Assert.assertTrue(metaIndex.blockOffsets.isEmpty());
+
+        InternalCatalog loadedCatalog = new InternalCatalog();
+        long checksum = loadDb(loadedCatalog, metaIndex);
+        Assert.assertEquals(metaIndex.checksum, checksum);
+        assertCatalogEquals(catalog, loadedCatalog);
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadDbWithWrongBlockOffsets() throws Exception {
+        InternalCatalog catalog = createCatalog();
+        MetaIndex metaIndex = saveDb(catalog, true);
+        // the length of the last database does not match the bytes read
+        int last = metaIndex.blockOffsets.size() - 1;
+        metaIndex.blockOffsets.set(last, metaIndex.blockOffsets.get(last) + 1);
+        loadDb(new InternalCatalog(), metaIndex);
+    }
+
+    private MetaIndex saveDb(InternalCatalog catalog, boolean recordBlocks) throws IOException {
+        try (CountingDataOutputStream dos = new CountingDataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(imageFile)))) {
+            dos.write(new byte[MODULE_OFFSET]);
+            MetaIndex metaIndex = new MetaIndex("db", dos.getCount());
+            if (recordBlocks) {
+                MetaBlocks.startRecording(dos);
+            }
+            try {
+                metaIndex.checksum = catalog.saveDb(dos, 0L);
+            } finally {
+                metaIndex.blockOffsets = MetaBlocks.stopRecording();
+            }
+            metaIndex.length = dos.getCount() - metaIndex.offset;
+            return metaIndex;
+        }
+    }
+
+    private long loadDb(InternalCatalog catalog, MetaIndex metaIndex) throws Exception {
+        FileInputStream fileIn = new FileInputStream(imageFile);
+        fileIn.getChannel().position(metaIndex.offset);
+        CountingInputStream countingIn = new CountingInputStream(new BufferedInputStream(fileIn));
+        MetaBlocks.startReading(imageFile, metaIndex, Config.image_load_thread_num);
+        try (DataInputStream dis = new DataInputStream(countingIn)) {
+            long checksum = catalog.loadDb(dis, 0L);
+            Assert.assertEquals(metaIndex.length, countingIn.getCount());
+            return checksum;
+        } finally {
+            MetaBlocks.stopReading();
+        }
+    }
+
+    private InternalCatalog createCatalog() {
+        InternalCatalog catalog = new InternalCatalog();
+        Map<Long, Database> idToDb = Deencapsulation.getField(catalog, "idToDb");
+        Map<String, Database> fullNameToDb = Deencapsulation.getField(catalog, "fullNameToDb");
+        for (int i = 0; i < DB_NUM; i++) {
+            long dbId = 10000L * (i + 1);
+            Database db = new Database(dbId, "db" + i);
+            // databases of different sizes
+            for (int j = 0; j < i; j++) {
+                db.createTable(createTable(dbId + j + 1, "table" + j));
+            }
+            idToDb.put(db.getId(), db);
+            fullNameToDb.put(db.getFullName(), db);
+        }
+        return catalog;
+    }
+
+    private OlapTable createTable(long tableId, String name) {
+        List<Column> columns = Lists.newArrayList(
+                new Column("k1", ScalarType.createType(PrimitiveType.INT), true, null, "", ""),
+                new Column("v1", ScalarType.createType(PrimitiveType.BIGINT), false, AggregateType.SUM, "", ""));
+        long indexId = tableId + 100;
+        MaterializedIndex index = new MaterializedIndex(indexId, IndexState.NORMAL);
+        Partition partition = new Partition(tableId + 200, name, index, new RandomDistributionInfo(10));
+        OlapTable table = new OlapTable(tableId, name, columns, KeysType.AGG_KEYS,
+                new SinglePartitionInfo(), new RandomDistributionInfo(10));
+        table.setIndexMeta(indexId, name, columns, 1, 1, (short) 1, TStorageType.COLUMN, KeysType.AGG_KEYS);
+        table.setBaseIndexId(indexId);
+        table.addPartition(partition);
+        return table;
+    }
+
+    private void assertCatalogEquals(InternalCatalog expected, InternalCatalog actual) {
+        Assert.assertEquals(expected.getDbIds().size(), actual.getDbIds().size());
+        for (long dbId : expected.getDbIds()) {
+            Database expectedDb = expected.getDbNullable(dbId);
+            Database actualDb = actual.getDbNullable(dbId);
+            Assert.assertEquals(expectedDb, actualDb);
+            Assert.assertEquals(actualDb, actual.getDbNullable(expectedDb.getFullName()));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+
+public class MetaFooterTest {
+    private File imageFile;
+
+    @Before
+    public void setUp() throws IOException {
+        imageFile = File.createTempFile("image", ".test");
+        try (RandomAccessFile raf = new RandomAccessFile(imageFile, "rw")) {
+            raf.write(new byte[100]);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        imageFile.delete();
+    }
+
+    @Test
+    public void testSectionInfo() throws IOException {
+        MetaIndex header = new MetaIndex("header", 10);
+        header.length = 30;
+        header.crc32 = 123;
+        header.checksum = 5;
+        MetaIndex db = new MetaIndex("db", 40);
+        db.length = 60;
+        db.crc32 = 456;
+        db.checksum = 6;
+        db.blockOffsets = Lists.newArrayList(4L, 30L, 60L);
+        MetaFooter.write(imageFile, Lists.newArrayList(header, db), 3);
+
+        MetaFooter footer = MetaFooter.read(imageFile);
+        Assert.assertEquals(3, footer.checksum);
+        Assert.assertTrue(footer.hasSectionInfo());
+        MetaIndex index = footer.getMetaIndex("db");
+        Assert.assertEquals(40, index.offset);
+        Assert.assertEquals(60, index.length);
+        Assert.assertEquals(456, index.crc32);
+        Assert.assertEquals(6, index.checksum);
+        Assert.assertEquals(Lists.newArrayList(4L, 30L, 60L), index.blockOffsets);
+        Assert.assertTrue(footer.getMetaIndex("header").blockOffsets.isEmpty());
+        Assert.assertNull(footer.getMetaIndex("paloAuth"));
+    }
+
+    @Test
+    public void testWithoutSectionInfo() throws IOException {
+        // indices of images written by old versions
+        List<MetaIndex> indices = Lists.newArrayList(new MetaIndex("header", 10), new MetaIndex("db", 40));
+        MetaFooter.write(imageFile, indices, 3);
+
+        MetaFooter footer = MetaFooter.read(imageFile);
+        Assert.assertEquals(3, footer.checksum);
+        Assert.assertFalse(footer.hasSectionInfo());
+        Assert.assertEquals(2, footer.metaIndices.size());
+        Assert.assertEquals(40, footer.getMetaIndex("db").offset);
+        Assert.assertEquals(-1, footer.getMetaIndex("db").length);
+    }
+}
@@ -0,0 +1,66 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.common.FeMetaVersion;
+import org.apache.doris.meta.MetaContext;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+public class MetaTaskExecutorTest {
+    @Test
+    public void testInvokeAll() throws IOException {
+        MetaContext metaContext = new MetaContext();
+        metaContext.setMetaVersion(FeMetaVersion.VERSION_CURRENT);
+        metaContext.setThreadLocalInfo();
+        try {
+            List<Callable<Integer>> tasks = Lists.newArrayList();
+            for (int i = 0; i < 10; i++) {
+                int id = i;
+                tasks.add(() -> {
+                    // the meta context is passed to the worker threads
+                    Assert.assertEquals(FeMetaVersion.VERSION_CURRENT, MetaContext.get().getMetaVersion());
+                    Thread.sleep(10 - id);
+                    return id;
+                });
+            }
+            List<Integer> results = MetaTaskExecutor.invokeAll("test", 4, tasks);
+            for (int i = 0; i < 10; i++) {
+                Assert.assertEquals(i, (int) results.get(i));
+            }
+        } finally {
+            MetaContext.remove();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testFailure() throws IOException {
+        List<Callable<Integer>> tasks = Lists.newArrayList();
+        tasks.add(() -> 1);
+        tasks.add(() -> {
+            throw new IOException("failed to write");
+        });
+        MetaTaskExecutor.invokeAll("test", 2, tasks);
+    }
+}
@@ -0,0 +1,112 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.planner;
+
+import org.apache.doris.task.StreamLoadTask;
+import org.apache.doris.thrift.TBrokerRangeDesc;
+import org.apache.doris.thrift.TBrokerScanRange;
+import org.apache.doris.thrift.TDataSink;
+import org.apache.doris.thrift.TDataSinkType;
+import org.apache.doris.thrift.TExecPlanFragmentParams;
+import org.apache.doris.thrift.TFileFormatType;
+import org.apache.doris.thrift.TFileType;
+import org.apache.doris.thrift.TOlapTableLocationParam;
+import org.apache.doris.thrift.TOlapTableSink;
+import org.apache.doris.thrift.TPlanFragment;
+import org.apache.doris.thrift.TPlanFragmentExecParams;
+import org.apache.doris.thrift.TScanRange;
+import org.apache.doris.thrift.TScanRangeParams;
+import org.apache.doris.thrift.TStreamLoadPutRequest;
+import org.apache.doris.thrift.TUniqueId;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StreamLoadPlanCacheTest {
+
+    private static TExecPlanFragmentParams createPlan(TUniqueId loadId, long txnId) {
+        TOlapTableSink olapTableSink = new TOlapTableSink();
+        olapTableSink.setLoadId(loadId);
+        olapTableSink.setTxnId(txnId);
+        olapTableSink.setDbId(1);
+        olapTableSink.setLocation(new TOlapTableLocationParam());
+        TDataSink dataSink = new TDataSink(TDataSinkType.OLAP_TABLE_SINK);
+        dataSink.setOlapTableSink(olapTableSink);
+        TPlanFragment fragment = new TPlanFragment();
+        fragment.setOutputSink(dataSink);
+
+        TBrokerRangeDesc rangeDesc = new TBrokerRangeDesc();
+        rangeDesc.setLoadId(loadId);
+        TBrokerScanRange brokerScanRange = new TBrokerScanRange();
+        brokerScanRange.addToRanges(rangeDesc);
+        TScanRange scanRange = new TScanRange();
+        scanRange.setBrokerScanRange(brokerScanRange);
+        TPlanFragmentExecParams execParams = new TPlanFragmentExecParams();
+        execParams.setQueryId(loadId);
+        execParams.setFragmentInstanceId(new TUniqueId(loadId.hi, loadId.lo + 1));
+        execParams.setPerNodeScanRanges(Maps.newHashMap());
+        execParams.getPerNodeScanRanges().put(0, Lists.newArrayList(new TScanRangeParams(scanRange)));
+
+        TExecPlanFragmentParams plan = new TExecPlanFragmentParams();
+        plan.setFragment(fragment);
+        plan.setParams(execParams);
+        return plan;
+    }
+
+    @Test
+    public void testPatchPlan() {
+        TExecPlanFragmentParams cachedPlan = createPlan(new TUniqueId(1, 2), 100);
+        TExecPlanFragmentParams expectedCachedPlan = cachedPlan.deepCopy();
+        TUniqueId loadId = new TUniqueId(3, 4);
+        StreamLoadTask task = new StreamLoadTask(loadId, 200, TFileType.FILE_STREAM, TFileFormatType.FORMAT_CSV_PLAIN);
+
+        TExecPlanFragmentParams plan = StreamLoadPlanCache.patchPlan(cachedPlan, loadId, task);
+        Assert.assertEquals(createPlan(loadId, 200).getFragment(), plan.getFragment());
+        Assert.assertEquals(createPlan(loadId, 200).getParams(), plan.getParams());
+        Assert.assertTrue(plan.isSetQueryGlobals());
+        // the cached plan is not changed, and the unchanged parts are shared
+        Assert.assertEquals(expectedCachedPlan, cachedPlan);
+        Assert.assertSame(cachedPlan.getFragment().getOutputSink().getOlapTableSink().getLocation(),
+                plan.getFragment().getOutputSink().getOlapTableSink().getLocation());
+    }
+
+    @Test
+    public void testNormalizeRequest() {
+        TStreamLoadPutRequest request1 = new TStreamLoadPutRequest();
+        request1.setUser("user1");
+        request1.setDb("db");
+        request1.setTbl("tbl");
+        request1.setLoadId(new TUniqueId(1, 2));
+        request1.setTxnId(100);
+        request1.setColumns("k1,k2");
+        TStreamLoadPutRequest request2 = request1.deepCopy();
+        request2.setUser("user2");
+        request2.setLoadId(new TUniqueId(3, 4));
+        request2.setTxnId(200);
+        Assert.assertEquals(StreamLoadPlanCache.normalizeRequest(request1),
+                StreamLoadPlanCache.normalizeRequest(request2));
+        // the request is not changed
+        Assert.assertEquals(100, request1.getTxnId());
+
+        request2.setColumns("k2,k1");
+        Assert.assertNotEquals(StreamLoadPlanCache.normalizeRequest(request1),
+                StreamLoadPlanCache.normalizeRequest(request2));
+    }
+}
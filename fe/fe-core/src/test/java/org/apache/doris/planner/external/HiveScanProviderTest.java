@@ -0,0 +1,199 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.planner.external;
+
+import org.apache.doris.analysis.Expr;
+import org.apache.doris.catalog.HiveBucketUtil;
+import org.apache.doris.catalog.HiveMetaStoreClientHelper;
+import org.apache.doris.catalog.external.HMSExternalTable;
+import org.apache.doris.common.ExceptionChecker;
+import org.apache.doris.common.UserException;
+import org.apache.doris.datasource.HMSExternalCatalog;
+import org.apache.doris.datasource.HiveMetaCache;
+import org.apache.doris.datasource.MetaObjCache;
+
+import com.google.common.collect.Lists;
+import mockit.Delegate;
+import mockit.Expectations;
+import mockit.Mock;
+import mockit.MockUp;
+import mockit.Mocked;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
+import org.apache.hadoop.hive.metastore.api.Partition;
+import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
+import org.apache.hadoop.hive.metastore.api.Table;
+import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
+import org.apache.hadoop.mapred.FileSplit;
+import org.apache.hadoop.mapred.InputSplit;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class HiveScanProviderTest {
+    private static final String TABLE_LOCATION = "hdfs://ns/warehouse/db1.db/tbl1";
+
+    @Mocked
+    private HMSExternalTable hmsTable;
+    @Mocked
+    private HMSExternalCatalog catalog;
+    @Mocked
+    private HiveMetaCache metaCache;
+
+    private HiveScanProvider provider;
+
+    @Before
+    public void setUp() throws Exception {
+        new MockUp<HiveMetaStoreClientHelper>() {
+            @Mock
+            public ExprNodeGenericFuncDesc convertToHivePartitionExpr(List<Expr> conjuncts,
+                    List<String> partitionKeys, String tblName) {
+                return null;
+            }
+        };
+        new MockUp<HiveBucketUtil>() {
+            @Mock
+            public List<InputSplit> getPrunedSplitsByBuckets(List<InputSplit> splits, String tableName,
+                    List<Expr> conjuncts, List<String> bucketCols, int numBuckets, Map<String, String> parameters) {
+                return splits;
+            }
+        };
+        Table table = createTable();
+        new Expectations() {
+            {
+                hmsTable.getCatalog();
+                minTimes = 0;
+                result = catalog;
+
+                catalog.getMetaCache();
+                minTimes = 0;
+                result = metaCache;
+
+                hmsTable.getRemoteTable();
+                minTimes = 0;
+                result = table;
+
+                hmsTable.getName();
+                minTimes = 0;
+                result = "tbl1";
+            }
+        };
+        provider = new HiveScanProvider(hmsTable, null);
+    }
+
+    @Test
+    public void testGetSplitsOfPartitionsInParallel() throws Exception {
+        // the listing of dt=0 is blocked until the splits of the other partitions are consumed,
+        // so the splits must be passed to the consumer once a partition is listed
+        CountDownLatch othersConsumed = new CountDownLatch(2);
+        new Expectations() {
+            {
+                metaCache.getPartitions(anyString, anyString, (ExprNodeGenericFuncDesc) any);
+                result = Lists.newArrayList(createPartition("0"), createPartition("1"), createPartition("2"));
+
+                metaCache.getSplits(anyString, anyString, anyLong);
+                result = new Delegate<List<InputSplit>>() {
+                    List<InputSplit> getSplits(String location, String inputFormat, long modificationTime)
+                            throws InterruptedException {
+                        if (location.endsWith("dt=0")) {
+                            Assert.assertTrue(othersConsumed.await(10, TimeUnit.SECONDS));
+                        }
+                        return Lists.newArrayList(new FileSplit(new Path(location), 0, 1, (String[]) null));
+                    }
+                };
+                // the partitions are listed once by each getSplits
+                times = 6;
+            }
+        };
+
+        List<String> consumedLocations = Lists.newArrayList();
+        provider.getSplits(Lists.newArrayList(), splits -> {
+            Assert.assertEquals(1, splits.size());
+            consumedLocations.add(((FileSplit) splits.get(0)).getPath().toString());
+            othersConsumed.countDown();
+        });
+        Assert.assertEquals(3, consumedLocations.size());
+        Assert.assertEquals(TABLE_LOCATION + "/dt=0", consumedLocations.get(2));
+        Assert.assertEquals(3, provider.getSplits(Lists.newArrayList()).size());
+    }
+
+    @Test
+    public void testGetSplitsOfUnpartitionedTable() throws Exception {
+        new Expectations() {
+            {
+                metaCache.getPartitions(anyString, anyString, (ExprNodeGenericFuncDesc) any);
+                result = Lists.newArrayList();
+
+                metaCache.getSplits(TABLE_LOCATION, anyString, anyLong);
+                result = Lists.newArrayList(new FileSplit(new Path(TABLE_LOCATION), 0, 1, (String[]) null));
+            }
+        };
+        List<InputSplit> splits = provider.getSplits(Lists.newArrayList());
+        Assert.assertEquals(1, splits.size());
+        Assert.assertEquals(TABLE_LOCATION, ((FileSplit) splits.get(0)).getPath().toString());
+    }
+
+    @Test
+    public void testFileListExecutorRejected() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        new MockUp<MetaObjCache>() {
+            @Mock
+            public ExecutorService getFileListExecutor() {
+                return executor;
+            }
+        };
+        new Expectations() {
+            {
+                metaCache.getPartitions(anyString, anyString, (ExprNodeGenericFuncDesc) any);
+                result = Lists.newArrayList(createPartition("0"), createPartition("1"));
+            }
+        };
+        ExceptionChecker.expectThrowsWithMsg(UserException.class,
+                "Failed to list files of table tbl1, too many files are being listed",
+                () -> provider.getSplits(Lists.newArrayList()));
+    }
+
+    private static Table createTable() {
+        Table table = new Table();
+        table.setDbName("db1");
+        table.setTableName("tbl1");
+        table.setPartitionKeys(Lists.newArrayList(new FieldSchema("dt", "string", "")));
+        StorageDescriptor sd = new StorageDescriptor();
+        sd.setLocation(TABLE_LOCATION);
+        sd.setInputFormat("org.apache.hadoop.mapred.TextInputFormat");
+        table.setSd(sd);
+        return table;
+    }
+
+    private static Partition createPartition(String value) {
+        Partition partition = new Partition();
+        partition.setValues(Lists.newArrayList(value));
+        StorageDescriptor sd = new StorageDescriptor();
+        sd.setLocation(TABLE_LOCATION + "/dt=" + value);
+        partition.setSd(sd);
+        return partition;
+    }
+}
@@ -0,0 +1,86 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.common.Config;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class BackendLoadTrackerTest {
+    private BackendLoadTracker tracker = BackendLoadTracker.getInstance();
+    private int decaySecond;
+
+    @Before
+    public void setUp() {
+        tracker.clear();
+        decaySecond = Config.backend_load_score_decay_second;
+        Config.backend_load_score_decay_second = 10;
+    }
+
+    @After
+    public void tearDown() {
+        tracker.clear();
+        Config.backend_load_score_decay_second = decaySecond;
+    }
+
+    @Test
+    public void testRunningInstances() {
+        tracker.onInstanceStart(1);
+        tracker.onInstanceStart(1);
+        tracker.onInstanceStart(2);
+        Assert.assertEquals(2, tracker.getRunningInstanceNum(1));
+        Map<Long, Double> scores = tracker.getLoadScores(0);
+        Assert.assertEquals(3.0, scores.get(1L), 0.0001);
+        Assert.assertEquals(2.0, scores.get(2L), 0.0001);
+        Assert.assertFalse(scores.containsKey(3L));
+
+        // an abandoned instance is not sampled
+        tracker.onInstanceFinish(1, -1, 0);
+        tracker.onInstanceFinish(1, -1, 0);
+        tracker.onInstanceFinish(1, -1, 0);
+        Assert.assertEquals(0, tracker.getRunningInstanceNum(1));
+        Assert.assertEquals(1.0, tracker.getLoadScores(0).get(1L), 0.0001);
+
+        tracker.reset(2);
+        Assert.assertEquals(0, tracker.getRunningInstanceNum(2));
+        Assert.assertFalse(tracker.getLoadScores(0).containsKey(2L));
+    }
+
+    @Test
+    public void testLatencyDecay() {
+        tracker.onInstanceStart(1);
+        tracker.onInstanceStart(2);
+        tracker.onInstanceFinish(1, 300, 1000);
+        tracker.onInstanceFinish(2, 100, 1000);
+
+        // avg latency is 200ms, backend 1 is 1.5x slower and backend 2 is 2x faster
+        Map<Long, Double> scores = tracker.getLoadScores(1000);
+        Assert.assertEquals(1.5, scores.get(1L), 0.0001);
+        Assert.assertEquals(0.5, scores.get(2L), 0.0001);
+
+        // decay half to the idle score after a half life
+        scores = tracker.getLoadScores(11000);
+        Assert.assertEquals(1.25, scores.get(1L), 0.0001);
+        Assert.assertEquals(0.75, scores.get(2L), 0.0001);
+    }
+}
@@ -27,6 +27,8 @@ import org.apache.doris.analysis.TupleId;
 import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.HashDistributionInfo;
 import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.Reference;
 import org.apache.doris.common.jmockit.Deencapsulation;
 import org.apache.doris.persist.EditLog;
 import org.apache.doris.planner.DataPartition;
@@ -40,8 +42,12 @@ import org.apache.doris.planner.PlanNodeId;
 import org.apache.doris.planner.ScanNode;
 import org.apache.doris.service.FrontendOptions;
 import org.apache.doris.system.Backend;
+import org.apache.doris.thrift.TDescriptorTable;
+import org.apache.doris.thrift.TExecPlanFragmentParams;
 import org.apache.doris.thrift.TNetworkAddress;
 import org.apache.doris.thrift.TPartitionType;
+import org.apache.doris.thrift.TPlanFragment;
+import org.apache.doris.thrift.TQueryOptions;
 import org.apache.doris.thrift.TScanRangeLocation;
 import org.apache.doris.thrift.TScanRangeLocations;
 import org.apache.doris.thrift.TScanRangeParams;
@@ -845,4 +851,90 @@ public class CoordinatorTest extends Coordinator {
             Assert.assertTrue(host.hostname.equals("0.0.0.2"));
         }
     }
+
+    @Test
+    public void testSelectBackendsByLoad() throws Exception {
+        Coordinator coordinator = new Coordinator(context, analyzer, originalPlanner);
+        List<TScanRangeLocation> locations = new ArrayList<>();
+        ImmutableMap.Builder<Long, Backend> builder = new ImmutableMap.Builder<>();
+        for (int i = 0; i < 3; i++) {
+            TScanRangeLocation location = new TScanRangeLocation();
+            location.backend_id = i;
+            location.server = new TNetworkAddress("0.0.0." + i, 9050);
+            locations.add(location);
+            Backend backend = new Backend(i, "0.0.0." + i, 9060);
+            backend.setAlive(true);
+            backend.setBePort(9050);
+            builder.put((long) i, backend);
+        }
+        Deencapsulation.setField(coordinator, "idToBackend", builder.build());
+
+        String policy = Config.replica_selection_policy;
+        BackendLoadTracker tracker = BackendLoadTracker.getInstance();
+        tracker.clear();
+        try {
+            Config.replica_selection_policy = BackendLoadTracker.POLICY_LOAD_AWARE;
+            // backend 0 runs 3 instances of other queries
+            for (int i = 0; i < 3; i++) {
+                tracker.onInstanceStart(0);
+            }
+            HashMap<TNetworkAddress, Long> assignedBytesPerHost = Maps.newHashMap();
+            Map<Long, Integer> backendToRanges = Maps.newHashMap();
+            for (int i = 0; i < 9; i++) {
+                Reference<Long> backendIdRef = new Reference<>();
+                coordinator.selectBackendsByRoundRobin(locations, assignedBytesPerHost, backendIdRef);
+                backendToRanges.merge(backendIdRef.getRef(), 1, Integer::sum);
+            }
+            // the load score of backend 0 is 4 and others are 1
+            Assert.assertEquals(1, (int) backendToRanges.get(0L));
+            Assert.assertEquals(4, (int) backendToRanges.get(1L));
+            Assert.assertEquals(4, (int) backendToRanges.get(2L));
+        } finally {
+            Config.replica_selection_policy = policy;
+            tracker.clear();
+        }
+    }
+
+    @Test
+    public void testUnsetFieldsOfBackendExecStates() {
+        Coordinator coordinator = new Coordinator(context, analyzer, originalPlanner);
+        Backend backend = new Backend(1L, "127.0.0.1", 9050);
+        backend.setBrpcPort(8060);
+        Deencapsulation.setField(coordinator, "idToBackend", ImmutableMap.of(1L, backend));
+        Map<PlanFragmentId, FragmentExecParams> fragmentExecParamsMap =
+                Deencapsulation.getField(coordinator, "fragmentExecParamsMap");
+        TNetworkAddress host = new TNetworkAddress("127.0.0.1", 9060);
+        Map<TNetworkAddress, Long> addressToBackendID = ImmutableMap.of(host, 1L);
+
+        // 3 instances of each of 2 fragments on the same backend
+        TQueryOptions queryOptions = new TQueryOptions();
+        BackendExecStates states = coordinator.new BackendExecStates(1L, new TNetworkAddress("127.0.0.1", 8060),
+                false);
+        for (int f = 0; f < 2; f++) {
+            PlanFragmentId fragmentId = new PlanFragmentId(f);
+            FragmentExecParams fragmentExecParams = coordinator.new FragmentExecParams(null);
+            fragmentExecParamsMap.put(fragmentId, fragmentExecParams);
+            TPlanFragment fragment = new TPlanFragment();
+            for (int i = 0; i < 3; i++) {
+                fragmentExecParams.instanceExecParams.add(
+                        new FInstanceExecParam(new TUniqueId(f, i), host, i, fragmentExecParams));
+                TExecPlanFragmentParams params = new TExecPlanFragmentParams();
+                params.setFragment(fragment);
+                params.setQueryOptions(queryOptions);
+                params.setDescTbl(new TDescriptorTable());
+                states.addState(coordinator.new BackendExecState(fragmentId, i, f, params, addressToBackendID));
+            }
+        }
+
+        states.unsetFields();
+        Assert.assertTrue(Deencapsulation.getField(states, "isSimplifiedFragment"));
+        for (int i = 0; i < states.states.size(); i++) {
+            TExecPlanFragmentParams params = states.states.get(i).rpcParams;
+            // only the first instance of each fragment carries the fragment
+            Assert.assertEquals("instance " + i, i % 3 == 0, params.isSetFragment());
+            // the query options and descriptor table are only carried by the first instance
+            Assert.assertEquals("instance " + i, i == 0, params.isSetQueryOptions());
+            Assert.assertEquals("instance " + i, i == 0, params.isSetDescTbl());
+        }
+    }
 }
@@ -0,0 +1,107 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.analysis.QueryStmt;
+import org.apache.doris.analysis.SqlParser;
+import org.apache.doris.analysis.SqlScanner;
+import org.apache.doris.analysis.StatementBase;
+import org.apache.doris.analysis.StringLiteral;
+import org.apache.doris.common.util.SqlParserUtils;
+import org.apache.doris.mysql.MysqlColType;
+import org.apache.doris.mysql.MysqlProto;
+import org.apache.doris.mysql.MysqlSerializer;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+
+public class PreparedStatementContextTest {
+
+    private PreparedStatementContext prepare(String sql) throws Exception {
+        SqlParser parser = new SqlParser(new SqlScanner(new StringReader(sql)));
+        StatementBase stmt = SqlParserUtils.getFirstStmt(parser);
+        return new PreparedStatementContext(1, sql, stmt, Lists.newArrayList(parser.placeHolders));
+    }
+
+    @Test
+    public void testBind() throws Exception {
+        PreparedStatementContext preparedStmt = prepare("select k1, v1 from db1.tbl1 where k1 = ? and k2 = ?");
+        Assert.assertTrue(preparedStmt.isQuery());
+        Assert.assertEquals(2, preparedStmt.getNumParams());
+
+        QueryStmt stmt1 = preparedStmt.bind(Lists.newArrayList(new IntLiteral(1), new StringLiteral("a")));
+        String sql1 = stmt1.toSql();
+        Assert.assertTrue(sql1, sql1.contains("= 1") && sql1.contains("= 'a'"));
+        Assert.assertFalse(sql1, sql1.contains("?"));
+
+        // bind again, the first bound statement should not be changed
+        QueryStmt stmt2 = preparedStmt.bind(Lists.newArrayList(new IntLiteral(2), new StringLiteral("b")));
+        String sql2 = stmt2.toSql();
+        Assert.assertTrue(sql2, sql2.contains("= 2") && sql2.contains("= 'b'"));
+        Assert.assertEquals(sql1, stmt1.toSql());
+    }
+
+    @Test
+    public void testReadParam() throws Exception {
+        MysqlSerializer serializer = MysqlSerializer.newInstance();
+        serializer.writeInt4(-5);
+        serializer.writeInt8(123456789012L);
+        serializer.writeLenEncodedString("doris");
+        // date: length, year, month, day
+        serializer.writeInt1(4);
+        serializer.writeInt2(2022);
+        serializer.writeInt1(9);
+        serializer.writeInt1(1);
+        ByteBuffer buffer = serializer.toByteBuffer();
+
+        LiteralExpr intParam = PreparedStatementContext.readParam(buffer, MysqlColType.MYSQL_TYPE_LONG.getCode());
+        Assert.assertEquals(-5, intParam.getLongValue());
+        LiteralExpr bigintParam = PreparedStatementContext.readParam(buffer,
+                MysqlColType.MYSQL_TYPE_LONGLONG.getCode());
+        Assert.assertEquals(123456789012L, bigintParam.getLongValue());
+        LiteralExpr stringParam = PreparedStatementContext.readParam(buffer,
+                MysqlColType.MYSQL_TYPE_VARSTRING.getCode());
+        Assert.assertEquals("doris", stringParam.getStringValue());
+        LiteralExpr dateParam = PreparedStatementContext.readParam(buffer, MysqlColType.MYSQL_TYPE_DATE.getCode());
+        Assert.assertEquals("2022-09-01", dateParam.getStringValue());
+        Assert.assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testToBinaryRow() {
+        MysqlSerializer serializer = MysqlSerializer.newInstance();
+        serializer.writeLenEncodedString("1");
+        serializer.writeNull();
+        serializer.writeLenEncodedString("abc");
+        ByteBuffer row = MysqlSerializer.toBinaryRow(serializer.toByteBuffer(), 3);
+
+        // header
+        Assert.assertEquals(0, MysqlProto.readInt1(row));
+        // null bitmap, the second column is null, bit offset is 2
+        Assert.assertEquals(1 << 3, MysqlProto.readInt1(row));
+        Assert.assertEquals("1", new String(MysqlProto.readLenEncodedString(row)));
+        Assert.assertEquals("abc", new String(MysqlProto.readLenEncodedString(row)));
+        Assert.assertFalse(row.hasRemaining());
+    }
+}
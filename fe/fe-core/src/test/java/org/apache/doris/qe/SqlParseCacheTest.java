@@ -0,0 +1,120 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.analysis.QueryStmt;
+import org.apache.doris.analysis.SqlParser;
+import org.apache.doris.analysis.SqlScanner;
+import org.apache.doris.analysis.StatementBase;
+import org.apache.doris.common.util.SqlParserUtils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+
+public class SqlParseCacheTest {
+
+    private static StatementBase parse(String sql) throws Exception {
+        SqlParser parser = new SqlParser(new SqlScanner(new StringReader(sql)));
+        return SqlParserUtils.getFirstStmt(parser);
+    }
+
+    private static SqlParseCache.NormalizedSql normalize(String sql) {
+        return SqlParseCache.normalize(sql, 0L);
+    }
+
+    @Test
+    public void testNormalize() {
+        SqlParseCache.NormalizedSql sql1 = normalize("select k1 from db1.tbl1 where k1 = 1 and k2 = 'a'");
+        SqlParseCache.NormalizedSql sql2 = normalize("SELECT k1\n FROM db1.tbl1 WHERE k1 = 2 AND k2 = 'b'");
+        Assert.assertEquals(sql1.getKey(), sql2.getKey());
+        Assert.assertEquals(2, sql2.getLiterals().size());
+        Assert.assertEquals(2, sql2.getLiterals().get(0).getLongValue());
+        Assert.assertEquals("b", sql2.getLiterals().get(1).getStringValue());
+
+        // different identifiers or types of literals
+        Assert.assertNotEquals(sql1.getKey(), normalize("select k2 from db1.tbl1 where k1 = 1 and k2 = 'a'").getKey());
+        Assert.assertNotEquals(sql1.getKey(), normalize("select k1 from db1.tbl1 where k1 = 1 and k2 = 1").getKey());
+
+        // literals which are kept in the template
+        Assert.assertNotEquals(normalize("select k1 from db1.tbl1 limit 10").getKey(),
+                normalize("select k1 from db1.tbl1 limit 20").getKey());
+        Assert.assertNotEquals(normalize("select k1 from db1.tbl1 limit 10, 10").getKey(),
+                normalize("select k1 from db1.tbl1 limit 10, 20").getKey());
+        Assert.assertNotEquals(normalize("select k1 from db1.tbl1 where k1 = -1").getKey(),
+                normalize("select k1 from db1.tbl1 where k1 = -2").getKey());
+
+        Assert.assertNull(normalize("select k1 from db1.tbl1 where k2 = 'a"));
+        Assert.assertNull(normalize("select k1 from db1.tbl1 where k1 = ?"));
+    }
+
+    @Test
+    public void testGetAndPut() throws Exception {
+        SqlParseCache cache = new SqlParseCache(10);
+        SqlParseCache.NormalizedSql normalizedSql1 = normalize(
+                "select k1 from db1.tbl1 where k1 = 1 and k2 = 'a' limit 10");
+        Assert.assertNull(cache.get(normalizedSql1));
+        // the template is parsed and bound to the literals of the sql at the first time
+        QueryStmt stmt0 = cache.parseAndPut(normalizedSql1);
+        Assert.assertEquals(1, cache.size());
+        String boundSql0 = stmt0.toSql();
+        Assert.assertTrue(boundSql0, boundSql0.contains("= 1") && boundSql0.contains("= 'a'"));
+        Assert.assertFalse(boundSql0, boundSql0.contains("?"));
+        // the cached template is not parsed again
+        Assert.assertNull(cache.parseAndPut(normalizedSql1));
+
+        QueryStmt stmt1 = cache.get(normalize("select k1 from db1.tbl1 where k1 = 2 and k2 = 'b' limit 10"));
+        Assert.assertNotNull(stmt1);
+        String boundSql1 = stmt1.toSql();
+        Assert.assertTrue(boundSql1, boundSql1.contains("= 2") && boundSql1.contains("= 'b'"));
+        Assert.assertFalse(boundSql1, boundSql1.contains("?"));
+        Assert.assertEquals(boundSql0, stmt0.toSql());
+
+        // bind again, the first bound statement should not be changed
+        QueryStmt stmt2 = cache.get(normalize("select k1 from db1.tbl1 where k1 = 3 and k2 = 'c' limit 10"));
+        String boundSql2 = stmt2.toSql();
+        Assert.assertTrue(boundSql2, boundSql2.contains("= 3") && boundSql2.contains("= 'c'"));
+        Assert.assertEquals(boundSql1, stmt1.toSql());
+
+        // the statement bound to the template is the same as the statement parsed from the sql
+        String sql3 = "select k1 from db1.tbl1 where k1 = 4 and k2 = 'd' limit 10";
+        Assert.assertEquals(parse(sql3).toSql(), cache.get(normalize(sql3)).toSql());
+    }
+
+    @Test
+    public void testInvalidTemplate() throws Exception {
+        SqlParseCache cache = new SqlParseCache(10);
+        // not a query, which is not parsed as a template
+        SqlParseCache.NormalizedSql normalizedSql = normalize("show tables from db1 like 'tbl%'");
+        Assert.assertNull(cache.parseAndPut(normalizedSql));
+        Assert.assertNull(cache.get(normalizedSql));
+        Assert.assertEquals(0, cache.size());
+
+        // literal which could not be replaced by a place holder
+        normalizedSql = normalize("select /*+ SET_VAR(query_timeout = 10) */ k1 from db1.tbl1");
+        Assert.assertNull(cache.parseAndPut(normalizedSql));
+        Assert.assertNull(cache.get(normalizedSql));
+        Assert.assertEquals(1, cache.size());
+
+        // syntax error
+        normalizedSql = normalize("select k1 from db1.tbl1 where k1 = = 1");
+        Assert.assertNull(cache.parseAndPut(normalizedSql));
+        Assert.assertEquals(2, cache.size());
+    }
+}
@@ -0,0 +1,73 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe.cache;
+
+import org.apache.doris.proto.InternalService;
+import org.apache.doris.proto.Types;
+
+import com.google.protobuf.ByteString;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FeResultCacheTest {
+
+    private static InternalService.PFetchCacheResult buildResult(int dataSize) {
+        return InternalService.PFetchCacheResult.newBuilder()
+                .setStatus(InternalService.PCacheStatus.CACHE_OK)
+                .addValues(InternalService.PCacheValue.newBuilder()
+                        .setParam(InternalService.PCacheParam.newBuilder()
+                                .setPartitionKey(1).setLastVersion(1).setLastVersionTime(1))
+                        .setDataSize(dataSize)
+                        .addRows(ByteString.copyFrom(new byte[dataSize])))
+                .setAllCount(1)
+                .build();
+    }
+
+    @Test
+    public void testGetAndPut() {
+        FeResultCache cache = new FeResultCache(1024 * 1024);
+        Types.PUniqueId sqlKey = CacheProxy.getMd5("select * from tbl1");
+        Assert.assertNull(cache.get(sqlKey, 1, 2, 3));
+
+        InternalService.PFetchCacheResult result = buildResult(100);
+        cache.put(sqlKey, 1, 2, 3, result);
+        Assert.assertEquals(result, cache.get(CacheProxy.getMd5("select * from tbl1"), 1, 2, 3));
+        Assert.assertEquals(result.getSerializedSize(), cache.getUsedBytes());
+        Assert.assertEquals(0.5, cache.getHitRatio(), 0.0001);
+
+        // the table is changed
+        Assert.assertNull(cache.get(sqlKey, 1, 3, 4));
+        Assert.assertNull(cache.get(CacheProxy.getMd5("select * from tbl2"), 1, 2, 3));
+
+        cache.clear();
+        Assert.assertNull(cache.get(sqlKey, 1, 2, 3));
+        Assert.assertEquals(0, cache.getUsedBytes());
+    }
+
+    @Test
+    public void testEviction() {
+        FeResultCache cache = new FeResultCache(64 * 1024);
+        for (int i = 0; i < 100; i++) {
+            cache.put(CacheProxy.getMd5("select " + i), 1, 1, 1, buildResult(1024));
+        }
+        Assert.assertTrue(cache.size() < 100);
+        Assert.assertTrue(cache.getUsedBytes() <= 64 * 1024);
+        // the recently added result is kept
+        Assert.assertNotNull(cache.get(CacheProxy.getMd5("select 99"), 1, 1, 1));
+    }
+}
@@ -0,0 +1,59 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.statistics;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HistogramTest {
+    private static final double DELTA = 0.0001;
+
+    private final Histogram histogram = new Histogram(Lists.newArrayList(
+            new Histogram.Bucket(0, 10, 100, 10),
+            new Histogram.Bucket(10, 20, 100, 100),
+            new Histogram.Bucket(20, 100, 100, 80)));
+
+    @Test
+    public void testEqualSelectivity() {
+        Assert.assertEquals(100.0 / 10 / 300, histogram.equalSelectivity(5), DELTA);
+        Assert.assertEquals(100.0 / 80 / 300, histogram.equalSelectivity(50), DELTA);
+        // out of range
+        Assert.assertEquals(0, histogram.equalSelectivity(-1), DELTA);
+        Assert.assertEquals(0, histogram.equalSelectivity(101), DELTA);
+    }
+
+    @Test
+    public void testLessThanSelectivity() {
+        Assert.assertEquals(0, histogram.lessThanSelectivity(-1, true), DELTA);
+        Assert.assertEquals(0, histogram.lessThanSelectivity(0, false), DELTA);
+        Assert.assertEquals(0.5, histogram.lessThanSelectivity(15, false), DELTA);
+        Assert.assertEquals(2.0 / 3, histogram.lessThanSelectivity(20, true), DELTA);
+        Assert.assertEquals(1, histogram.lessThanSelectivity(100, true), DELTA);
+        Assert.assertEquals(1, histogram.lessThanSelectivity(200, false), DELTA);
+    }
+
+    @Test
+    public void testSerialization() {
+        Histogram other = Histogram.fromJson(histogram.toJson());
+        Assert.assertEquals(3, other.getBuckets().size());
+        Assert.assertEquals(20, other.getBuckets().get(2).getLower(), DELTA);
+        Assert.assertEquals(80, other.getBuckets().get(2).getNdv());
+        Assert.assertEquals(0.5, other.lessThanSelectivity(15, true), DELTA);
+    }
+}
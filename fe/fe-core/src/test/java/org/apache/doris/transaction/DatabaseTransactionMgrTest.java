@@ -25,6 +25,7 @@ import org.apache.doris.catalog.Table;
 import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.FeMetaVersion;
+import org.apache.doris.common.LabelAlreadyUsedException;
 import org.apache.doris.common.Pair;
 import org.apache.doris.common.UserException;
 import org.apache.doris.common.util.TimeUtils;
@@ -41,6 +42,8 @@ import org.junit.rules.ExpectedException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class DatabaseTransactionMgrTest {
 
@@ -269,4 +272,173 @@ public class DatabaseTransactionMgrTest {
         Assert.assertEquals(3, masterDbTransMgr.getTransactionNum());
         Assert.assertNull(masterDbTransMgr.unprotectedGetTxnIdsByLabel(CatalogTestUtil.testTxnLabel1));
     }
+
+    @Test
+    public void testConcurrentBeginWithSameLabel() throws Exception {
+        FakeEnv.setEnv(masterEnv);
+        DatabaseTransactionMgr masterDbTransMgr = masterTransMgr.getDatabaseTransactionMgr(CatalogTestUtil.testDbId1);
+        AtomicInteger succeeded = new AtomicInteger(0);
+        AtomicInteger labelUsed = new AtomicInteger(0);
+        runConcurrently(16, i -> {
+            try {
+                masterDbTransMgr.beginTransaction(Lists.newArrayList(CatalogTestUtil.testTableId1), "same_label",
+                        null, transactionSource, TransactionState.LoadJobSourceType.BACKEND_STREAMING, -1,
+                        Config.stream_load_default_timeout_second);
+                succeeded.incrementAndGet();
+            } catch (LabelAlreadyUsedException e) {
+                labelUsed.incrementAndGet();
+            }
+        });
+        Assert.assertEquals(1, succeeded.get());
+        Assert.assertEquals(15, labelUsed.get());
+        Assert.assertEquals(1, masterDbTransMgr.unprotectedGetTxnIdsByLabel("same_label").size());
+        Assert.assertEquals(3, masterDbTransMgr.getRunningTxnNums());
+    }
+
+    @Test
+    public void testConcurrentBeginWithDifferentLabels() throws Exception {
+        FakeEnv.setEnv(masterEnv);
+        DatabaseTransactionMgr masterDbTransMgr = masterTransMgr.getDatabaseTransactionMgr(CatalogTestUtil.testDbId1);
+        int originLimit = Config.max_running_txn_num_per_db;
+        // 2 txns are already running, so only 5 more txns can begin
+        Config.max_running_txn_num_per_db = 7;
+        try {
+            AtomicInteger succeeded = new AtomicInteger(0);
+            AtomicInteger rejected = new AtomicInteger(0);
+            runConcurrently(32, i -> {
+                try {
+                    masterDbTransMgr.beginTransaction(Lists.newArrayList(CatalogTestUtil.testTableId1),
+                            "label_" + i, null, transactionSource,
+                            TransactionState.LoadJobSourceType.BACKEND_STREAMING, -1,
+                            Config.stream_load_default_timeout_second);
+                    succeeded.incrementAndGet();
+                } catch (BeginTransactionException e) {
+                    rejected.incrementAndGet();
+                }
+            });
+            Assert.assertEquals(5, succeeded.get());
+            Assert.assertEquals(27, rejected.get());
+            Assert.assertEquals(7, masterDbTransMgr.getRunningTxnNums());
+            // routine load txns are not limited
+            masterDbTransMgr.beginTransaction(Lists.newArrayList(CatalogTestUtil.testTableId1), "routine_label",
+                    null, transactionSource, TransactionState.LoadJobSourceType.ROUTINE_LOAD_TASK, -1,
+                    Config.stream_load_default_timeout_second);
+            Assert.assertEquals(2, masterDbTransMgr.getRunningRoutineLoadTxnNums());
+            Assert.assertEquals(7, masterDbTransMgr.getRunningTxnNums());
+        } finally {
+            Config.max_running_txn_num_per_db = originLimit;
+        }
+    }
+
+    @Test
+    public void testConcurrentCommitAndRemoveExpiredTxns() throws Exception {
+        FakeEnv.setEnv(masterEnv);
+        DatabaseTransactionMgr masterDbTransMgr = masterTransMgr.getDatabaseTransactionMgr(CatalogTestUtil.testDbId1);
+        Table testTable1 = masterEnv.getInternalCatalog().getDbOrMetaException(CatalogTestUtil.testDbId1)
+                .getTableOrMetaException(CatalogTestUtil.testTableId1);
+        List<TabletCommitInfo> transTablets = Lists.newArrayList(
+                new TabletCommitInfo(CatalogTestUtil.testTabletId1, CatalogTestUtil.testBackendId1),
+                new TabletCommitInfo(CatalogTestUtil.testTabletId1, CatalogTestUtil.testBackendId2),
+                new TabletCommitInfo(CatalogTestUtil.testTabletId1, CatalogTestUtil.testBackendId3));
+        int txnNum = 50;
+        List<Long> txnIds = Lists.newArrayList();
+        for (int i = 0; i < txnNum; i++) {
+            txnIds.add(masterDbTransMgr.beginTransaction(Lists.newArrayList(CatalogTestUtil.testTableId1),
+                    "commit_label_" + i, null, transactionSource, TransactionState.LoadJobSourceType.FRONTEND, -1,
+                    Config.stream_load_default_timeout_second));
+        }
+        int originKeepSecond = Config.label_keep_max_second;
+        Config.label_keep_max_second = -1;
+        try {
+            runConcurrently(2, i -> {
+                if (i == 0) {
+                    for (long txnId : txnIds) {
+                        masterTransMgr.commitTransaction(CatalogTestUtil.testDbId1, Lists.newArrayList(testTable1),
+                                txnId, transTablets);
+                        masterTransMgr.finishTransaction(CatalogTestUtil.testDbId1, txnId, null);
+                    }
+                } else {
+                    for (int round = 0; round < 1000; round++) {
+                        masterDbTransMgr.removeExpiredTxns(System.currentTimeMillis());
+                    }
+                }
+            });
+            masterDbTransMgr.removeExpiredTxns(System.currentTimeMillis());
+        } finally {
+            Config.label_keep_max_second = originKeepSecond;
+        }
+        Assert.assertEquals(2, masterDbTransMgr.getRunningTxnNums());
+        Assert.assertEquals(1, masterDbTransMgr.getRunningRoutineLoadTxnNums());
+        Assert.assertEquals(0, masterDbTransMgr.getFinishedTxnNums());
+        Assert.assertEquals(3, masterDbTransMgr.getTransactionNum());
+        for (int i = 0; i < txnNum; i++) {
+            Assert.assertNull(masterDbTransMgr.unprotectedGetTxnIdsByLabel("commit_label_" + i));
+        }
+    }
+
+    @Test
+    public void testReplayBatchRemoveTransactionNotAtHead() throws UserException {
+        FakeEnv.setEnv(masterEnv);
+        DatabaseTransactionMgr masterDbTransMgr = masterTransMgr.getDatabaseTransactionMgr(CatalogTestUtil.testDbId1);
+        long txnId1 = LabelToTxnId.get(CatalogTestUtil.testTxnLabel1);
+        long txnId3 = LabelToTxnId.get(CatalogTestUtil.testTxnLabel3);
+        long txnId4 = LabelToTxnId.get(CatalogTestUtil.testTxnLabel4);
+        masterDbTransMgr.abortTransaction(txnId3, "test abort transaction", null);
+        masterDbTransMgr.abortTransaction(txnId4, "test abort transaction", null);
+        Assert.assertEquals(3, masterDbTransMgr.getFinishedTxnNums());
+
+        // the txns are finished in another order on master, so txn 4 is not at the head of the queue here
+        masterDbTransMgr.replayBatchRemoveTransaction(Lists.newArrayList(txnId4));
+        Assert.assertEquals(2, masterDbTransMgr.getFinishedTxnNums());
+        Assert.assertEquals(3, masterDbTransMgr.getTransactionNum());
+        Assert.assertNull(masterDbTransMgr.getTransactionState(txnId4));
+        Assert.assertNull(masterDbTransMgr.unprotectedGetTxnIdsByLabel(CatalogTestUtil.testTxnLabel4));
+        Assert.assertNotNull(masterDbTransMgr.getTransactionState(txnId1));
+        Assert.assertNotNull(masterDbTransMgr.getTransactionState(txnId3));
+
+        // removing a txn twice is a no-op
+        masterDbTransMgr.replayBatchRemoveTransaction(Lists.newArrayList(txnId4, txnId3));
+        Assert.assertEquals(1, masterDbTransMgr.getFinishedTxnNums());
+        Assert.assertEquals(2, masterDbTransMgr.getTransactionNum());
+
+        int originKeepSecond = Config.label_keep_max_second;
+        Config.label_keep_max_second = -1;
+        try {
+            masterDbTransMgr.removeExpiredTxns(System.currentTimeMillis());
+        } finally {
+            Config.label_keep_max_second = originKeepSecond;
+        }
+        Assert.assertEquals(0, masterDbTransMgr.getFinishedTxnNums());
+        Assert.assertEquals(1, masterDbTransMgr.getTransactionNum());
+    }
+
+    private interface ConcurrentTask {
+        void run(int index) throws Exception;
+    }
+
+    private static void runConcurrently(int threadNum, ConcurrentTask task) throws Exception {
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Exception> errors = Lists.newCopyOnWriteArrayList();
+        List<Thread> threads = Lists.newArrayList();
+        for (int i = 0; i < threadNum; i++) {
+            final int index = i;
+            Thread thread = new Thread(() -> {
+                try {
+                    startLatch.await();
+                    task.run(index);
+                } catch (Exception e) {
+                    errors.add(e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        startLatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (!errors.isEmpty()) {
+            throw errors.get(0);
+        }
+    }
 }
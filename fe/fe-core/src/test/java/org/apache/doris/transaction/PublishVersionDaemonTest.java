@@ -0,0 +1,227 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.transaction;
+
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.HashDistributionInfo;
+import org.apache.doris.catalog.KeysType;
+import org.apache.doris.catalog.MaterializedIndex;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.RangePartitionInfo;
+import org.apache.doris.catalog.Replica;
+import org.apache.doris.catalog.Tablet;
+import org.apache.doris.catalog.TabletInvertedIndex;
+import org.apache.doris.catalog.TabletMeta;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.datasource.InternalCatalog;
+import org.apache.doris.system.Backend;
+import org.apache.doris.system.SystemInfoService;
+import org.apache.doris.task.AgentTaskExecutor;
+import org.apache.doris.task.AgentTaskQueue;
+import org.apache.doris.task.PublishVersionTask;
+import org.apache.doris.thrift.TStorageMedium;
+import org.apache.doris.transaction.TransactionState.LoadJobSourceType;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import mockit.Delegate;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class PublishVersionDaemonTest {
+    private static final long DB_ID = 1;
+    private static final long TABLE_ID = 2;
+    private static final long PARTITION_ID = 3;
+
+    @Mocked
+    private Env env;
+    @Mocked
+    private InternalCatalog catalog;
+    @Mocked
+    private GlobalTransactionMgr globalTransactionMgr;
+    @Mocked
+    private AgentTaskExecutor agentTaskExecutor;
+
+    private final SystemInfoService systemInfoService = new SystemInfoService();
+    private final TabletInvertedIndex invertedIndex = new TabletInvertedIndex();
+    private final List<TransactionState> transactionStates = Lists.newArrayList();
+    // the ids of transactions which are tried to be finished
+    private final List<Long> finishTxnIds = Lists.newArrayList();
+    private PublishVersionDaemon daemon;
+
+    @Before
+    public void setUp() {
+        for (long beId = 10001; beId <= 10003; beId++) {
+            Backend backend = new Backend(beId, "192.168.0." + beId, 9051);
+            backend.setAlive(true);
+            systemInfoService.addBackend(backend);
+        }
+
+        // the replicas of the partition are on backend 10001 and 10002
+        Database db = new Database(DB_ID, "test db");
+        OlapTable table = new OlapTable(TABLE_ID, "test table", new ArrayList<>(), KeysType.DUP_KEYS,
+                new RangePartitionInfo(), new HashDistributionInfo());
+        MaterializedIndex index = new MaterializedIndex(4, MaterializedIndex.IndexState.NORMAL);
+        Tablet tablet = new Tablet(5);
+        index.addTablet(tablet, new TabletMeta(DB_ID, TABLE_ID, PARTITION_ID, 4, 0, TStorageMedium.HDD), true);
+        tablet.addReplica(new Replica(6, 10001, Replica.ReplicaState.NORMAL, 1, 0), true);
+        tablet.addReplica(new Replica(7, 10002, Replica.ReplicaState.NORMAL, 1, 0), true);
+        table.addPartition(new Partition(PARTITION_ID, "p0", index, new HashDistributionInfo()));
+        db.createTable(table);
+
+        new Expectations() {
+            {
+                Env.getCurrentSystemInfo();
+                minTimes = 0;
+                result = systemInfoService;
+
+                Env.getCurrentInvertedIndex();
+                minTimes = 0;
+                result = invertedIndex;
+
+                Env.getCurrentInternalCatalog();
+                minTimes = 0;
+                result = catalog;
+
+                catalog.getDbNullable(DB_ID);
+                minTimes = 0;
+                result = db;
+
+                Env.getCurrentGlobalTransactionMgr();
+                minTimes = 0;
+                result = globalTransactionMgr;
+
+                globalTransactionMgr.getReadyToPublishTransactions();
+                minTimes = 0;
+                result = new Delegate() {
+                    List<TransactionState> getReadyToPublishTransactions() {
+                        return transactionStates.stream()
+                                .filter(state -> state.getTransactionStatus() == TransactionStatus.COMMITTED)
+                                .collect(Collectors.toList());
+                    }
+                };
+
+                globalTransactionMgr.finishTransaction(anyLong, anyLong, (Set<Long>) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    // a transaction is visible only after the previous transactions are visible
+                    void finishTransaction(long dbId, long transactionId, Set<Long> errorReplicaIds) {
+                        finishTxnIds.add(transactionId);
+                        for (TransactionState state : transactionStates) {
+                            if (state.getTransactionId() == transactionId) {
+                                state.setTransactionStatus(TransactionStatus.VISIBLE);
+                                return;
+                            }
+                            if (state.getTransactionStatus() != TransactionStatus.VISIBLE) {
+                                return;
+                            }
+                        }
+                    }
+                };
+            }
+        };
+
+        daemon = new PublishVersionDaemon();
+        // only the events trigger the rounds and the transactions to check, not the check of all transactions
+        Deencapsulation.setField(daemon, "lastCheckAllTime", System.currentTimeMillis() + 3600 * 1000L);
+    }
+
+    @After
+    public void tearDown() {
+        AgentTaskQueue.clearAllTasks();
+    }
+
+    private TransactionState commitTransaction(long transactionId) {
+        TransactionState state = new TransactionState(DB_ID, Lists.newArrayList(TABLE_ID), transactionId,
+                "label" + transactionId, null, LoadJobSourceType.BACKEND_STREAMING, null, -1, 3600 * 1000L);
+        TableCommitInfo tableCommitInfo = new TableCommitInfo(TABLE_ID);
+        tableCommitInfo.addPartitionCommitInfo(new PartitionCommitInfo(PARTITION_ID, transactionId + 1, 0));
+        state.putIdToTableCommitInfo(TABLE_ID, tableCommitInfo);
+        state.setTransactionStatus(TransactionStatus.COMMITTED);
+        state.setCommitTime(transactionId);
+        transactionStates.add(state);
+        daemon.onTransactionCommitted();
+        return state;
+    }
+
+    private void finishTasks(TransactionState state) {
+        for (PublishVersionTask task : state.getPublishVersionTasks().values()) {
+            task.setFinished(true);
+            daemon.onPublishVersionTaskFinished(task);
+        }
+    }
+
+    @Test
+    public void testSendTasksToBackendsOfCommittedPartitions() {
+        TransactionState state = commitTransaction(1);
+        daemon.runAfterCatalogReady();
+        Assert.assertTrue(state.hasSendTask());
+        // the backend 10003 has no replica of the partition
+        Assert.assertEquals(Sets.newHashSet(10001L, 10002L), state.getPublishVersionTasks().keySet());
+        Assert.assertEquals(TransactionStatus.COMMITTED, state.getTransactionStatus());
+        // no task is finished, the transaction is not checked
+        Assert.assertTrue(finishTxnIds.isEmpty());
+    }
+
+    @Test
+    public void testFinishTransactionWhenTasksFinished() {
+        TransactionState state = commitTransaction(1);
+        daemon.runAfterCatalogReady();
+
+        finishTasks(state);
+        daemon.runAfterCatalogReady();
+        Assert.assertEquals(TransactionStatus.VISIBLE, state.getTransactionStatus());
+        Assert.assertEquals(Lists.newArrayList(1L), finishTxnIds);
+        Assert.assertTrue(((Set<Long>) Deencapsulation.getField(daemon, "finishedTaskTxnIds")).isEmpty());
+    }
+
+    @Test
+    public void testFinishTransactionsOutOfOrder() {
+        TransactionState state1 = commitTransaction(1);
+        TransactionState state2 = commitTransaction(2);
+        daemon.runAfterCatalogReady();
+        Assert.assertTrue(state1.hasSendTask());
+        Assert.assertTrue(state2.hasSendTask());
+
+        // the tasks of txn 2 are finished first, it waits for txn 1
+        finishTasks(state2);
+        daemon.runAfterCatalogReady();
+        Assert.assertEquals(Lists.newArrayList(2L), finishTxnIds);
+        Assert.assertEquals(TransactionStatus.COMMITTED, state1.getTransactionStatus());
+        Assert.assertEquals(TransactionStatus.COMMITTED, state2.getTransactionStatus());
+
+        // txn 2 is finished in the same round with txn 1, without waiting for checking all transactions
+        finishTasks(state1);
+        daemon.runAfterCatalogReady();
+        Assert.assertEquals(Lists.newArrayList(2L, 1L, 2L), finishTxnIds);
+        Assert.assertEquals(TransactionStatus.VISIBLE, state1.getTransactionStatus());
+        Assert.assertEquals(TransactionStatus.VISIBLE, state2.getTransactionStatus());
+    }
+}
@@ -83,6 +83,8 @@ public class DemoMultiBackendsTest {
             FeStartException, NotInitException, DdlException, InterruptedException {
         FeConstants.runningUnitTest = true;
         FeConstants.tablet_checker_interval_ms = 1000;
+        // replicas are changed directly in the test, check all tablets in every round
+        Config.tablet_checker_full_check_interval_second = 0;
         FeConstants.default_scheduler_interval_millisecond = 100;
         Config.tablet_repair_delay_factor_second = 1;
 
@@ -30,6 +30,10 @@ import org.apache.thrift.TException;
 import org.apache.thrift.protocol.TBinaryProtocol;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
@@ -55,6 +59,12 @@ public class UdfExecutor {
     private Object udf;
     // setup by init() and cleared by close()
     private Method method;
+    // handle of 'method' bound to 'udf', which takes all arguments in an Object[] and returns an Object.
+    // setup by init() and cleared by close()
+    private MethodHandle methodHandle;
+    // true if 'method' is a batch evaluate function, which takes arrays of the whole columns and returns
+    // an array of results, e.g. long[] evaluate(int[] a, long[] b).
+    private boolean isBatch;
     // setup by init() and cleared by close()
     private URLClassLoader classLoader;
 
@@ -227,6 +237,7 @@ public class UdfExecutor {
         // We are now un-usable (because the class loader has been
         // closed), so null out method_ and classLoader_.
         method = null;
+        methodHandle = null;
         classLoader = null;
     }
 
@@ -236,6 +247,10 @@ public class UdfExecutor {
      */
     public void evaluate() throws UdfRuntimeException {
         int batchSize = UdfUtils.UNSAFE.getInt(null, batchSizePtr);
+        if (isBatch) {
+            evaluateBatch(batchSize);
+            return;
+        }
         try {
             if (retType.equals(JavaUdfDataType.STRING) || retType.equals(JavaUdfDataType.VARCHAR)
                     || retType.equals(JavaUdfDataType.CHAR)) {
@@ -288,12 +303,90 @@ public class UdfExecutor {
      */
     private Object evaluate(Object... args) throws UdfRuntimeException {
         try {
-            return method.invoke(udf, args);
-        } catch (Exception e) {
-            throw new UdfRuntimeException("UDF failed to evaluate", e);
+            return (Object) methodHandle.invokeExact(args);
+        } catch (Throwable t) {
+            throw new UdfRuntimeException("UDF failed to evaluate", t);
+        }
+    }
+
+    /**
+     * Evaluates the batch UDF with the whole input columns. Input columns are copied to primitive arrays in bulk,
+     * and the returned array is copied to the output column in bulk. A row of the result is null if any of
+     * its arguments is null, the UDF sees the default value of the type for null arguments.
+     */
+    private void evaluateBatch(int batchSize) throws UdfRuntimeException {
+        Object[] columns = new Object[argTypes.length];
+        for (int i = 0; i < argTypes.length; ++i) {
+            columns[i] = readColumn(argTypes[i],
+                    UdfUtils.UNSAFE.getLong(null, UdfUtils.getAddressAtOffset(inputBufferPtrs, i)), batchSize);
+        }
+        Object result = evaluate(columns);
+        if (result == null || Array.getLength(result) != batchSize) {
+            throw new UdfRuntimeException("UDF::evaluate() should return an array of " + batchSize + " rows, but got "
+                    + (result == null ? "null" : Array.getLength(result) + " rows"));
+        }
+        writeColumn(retType, result, UdfUtils.UNSAFE.getLong(null, outputBufferPtr), batchSize);
+
+        long outputNull = UdfUtils.UNSAFE.getLong(null, outputNullPtr);
+        if (outputNull == -1) {
+            return;
+        }
+        UdfUtils.UNSAFE.setMemory(outputNull, batchSize, (byte) 0);
+        for (int i = 0; i < argTypes.length; ++i) {
+            // -1 indicates this column is not nullable
+            long inputNull = UdfUtils.UNSAFE.getLong(null, UdfUtils.getAddressAtOffset(inputNullsPtrs, i));
+            if (inputNull == -1) {
+                continue;
+            }
+            for (int row = 0; row < batchSize; ++row) {
+                if (UdfUtils.UNSAFE.getByte(null, inputNull + row) != 0) {
+                    UdfUtils.UNSAFE.putByte(null, outputNull + row, (byte) 1);
+                }
+            }
+        }
+    }
+
+    // Copy a fixed length column in memory of the backend to a primitive array
+    private static Object readColumn(JavaUdfDataType type, long address, int batchSize)
+            throws UdfRuntimeException {
+        Object column = newColumn(type, batchSize);
+        UdfUtils.copyMemory(null, address, column, UdfUtils.UNSAFE.arrayBaseOffset(column.getClass()),
+                (long) batchSize * type.getLen());
+        return column;
+    }
+
+    // Copy a primitive array to a fixed length column in memory of the backend
+    private static void writeColumn(JavaUdfDataType type, Object column, long address, int batchSize) {
+        UdfUtils.copyMemory(column, UdfUtils.UNSAFE.arrayBaseOffset(column.getClass()), null, address,
+                (long) batchSize * type.getLen());
+    }
+
+    private static Object newColumn(JavaUdfDataType type, int batchSize) throws UdfRuntimeException {
+        switch (type) {
+            case BOOLEAN:
+                return new boolean[batchSize];
+            case TINYINT:
+                return new byte[batchSize];
+            case SMALLINT:
+                return new short[batchSize];
+            case INT:
+                return new int[batchSize];
+            case BIGINT:
+                return new long[batchSize];
+            case FLOAT:
+                return new float[batchSize];
+            case DOUBLE:
+                return new double[batchSize];
+            default:
+                throw new UdfRuntimeException("Unsupported type of batch UDF: " + type);
         }
     }
 
+    // Only fixed length types which are stored as primitive arrays in backend are supported by batch UDF
+    private static boolean isBatchType(Class<?> c) {
+        return c.isArray() && c.getComponentType().isPrimitive() && c.getComponentType() != char.class;
+    }
+
     public Method getMethod() {
         return method;
     }
@@ -429,12 +522,9 @@ public class UdfExecutor {
         }
     }
 
-    // Preallocate the input objects that will be passed to the underlying UDF.
-    // These objects are allocated once and reused across calls to evaluate()
+    // Fill the input objects of 'row' that will be passed to the underlying UDF.
+    // The arrays of input objects are allocated once in init() and reused across rows.
     private void allocateInputObjects(long row) throws UdfRuntimeException {
-        inputObjects = new Object[argTypes.length];
-        inputArgs = new Object[argTypes.length];
-
         for (int i = 0; i < argTypes.length; ++i) {
             switch (argTypes[i]) {
                 case BOOLEAN:
@@ -539,44 +629,53 @@ public class UdfExecutor {
             Method[] methods = c.getMethods();
             for (Method m : methods) {
                 // By convention, the udf must contain the function "evaluate"
-                if (!m.getName().equals(UDF_FUNCTION_NAME)) {
-                    continue;
+                if (m.getName().equals(UDF_FUNCTION_NAME)) {
+                    signatures.add(m.toGenericString());
                 }
-                signatures.add(m.toGenericString());
-                Class<?>[] methodTypes = m.getParameterTypes();
-
-                // Try to match the arguments
-                if (methodTypes.length != parameterTypes.length) {
-                    continue;
-                }
-                method = m;
-                Pair<Boolean, JavaUdfDataType> returnType;
-                if (methodTypes.length == 0 && parameterTypes.length == 0) {
-                    // Special case where the UDF doesn't take any input args
-                    returnType = UdfUtils.setReturnType(funcRetType, m.getReturnType());
+            }
+            // A batch evaluate function is preferred if the udf contains both batch and scalar ones
+            for (boolean batch : new boolean[] {true, false}) {
+                for (Method m : methods) {
+                    if (!m.getName().equals(UDF_FUNCTION_NAME)) {
+                        continue;
+                    }
+                    Class<?>[] methodTypes = m.getParameterTypes();
+                    Class<?> methodRetType = m.getReturnType();
+                    // Try to match the arguments
+                    if (methodTypes.length != parameterTypes.length) {
+                        continue;
+                    }
+                    if (batch) {
+                        if (methodTypes.length == 0 || !isBatchType(methodRetType)
+                                || !Arrays.stream(methodTypes).allMatch(UdfExecutor::isBatchType)) {
+                            continue;
+                        }
+                        methodTypes = Arrays.stream(methodTypes).map(Class::getComponentType).toArray(Class<?>[]::new);
+                        methodRetType = methodRetType.getComponentType();
+                    }
+                    Pair<Boolean, JavaUdfDataType> returnType = UdfUtils.setReturnType(funcRetType, methodRetType);
                     if (!returnType.first) {
                         continue;
-                    } else {
-                        retType = returnType.second;
                     }
-                    argTypes = new JavaUdfDataType[0];
-                    LOG.debug("Loaded UDF '" + udfPath + "' from " + jarPath);
-                    return;
-                }
-                returnType = UdfUtils.setReturnType(funcRetType, m.getReturnType());
-                if (!returnType.first) {
-                    continue;
-                } else {
+                    Pair<Boolean, JavaUdfDataType[]> inputType = UdfUtils.setArgTypes(parameterTypes, methodTypes,
+                            false);
+                    if (!inputType.first) {
+                        continue;
+                    }
                     retType = returnType.second;
-                }
-                Pair<Boolean, JavaUdfDataType[]> inputType = UdfUtils.setArgTypes(parameterTypes, methodTypes, false);
-                if (!inputType.first) {
-                    continue;
-                } else {
                     argTypes = inputType.second;
+                    method = m;
+                    isBatch = batch;
+                    // Invoke by method handle rather than reflection, which avoids the access check and
+                    // argument copying of Method.invoke() for every row.
+                    methodHandle = MethodHandles.lookup().unreflect(m).bindTo(udf)
+                            .asSpreader(Object[].class, argTypes.length)
+                            .asType(MethodType.methodType(Object.class, Object[].class));
+                    inputObjects = new Object[argTypes.length];
+                    inputArgs = new Object[argTypes.length];
+                    LOG.debug("Loaded " + (batch ? "batch " : "") + "UDF '" + udfPath + "' from " + jarPath);
+                    return;
                 }
-                LOG.debug("Loaded UDF '" + udfPath + "' from " + jarPath);
-                return;
             }
 
             StringBuilder sb = new StringBuilder();